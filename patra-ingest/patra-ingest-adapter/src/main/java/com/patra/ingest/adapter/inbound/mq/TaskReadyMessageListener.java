@@ -0,0 +1,59 @@
+package com.patra.ingest.adapter.inbound.mq;
+
+import cn.hutool.core.util.StrUtil;
+import com.patra.ingest.app.execution.HarvestTaskDispatcher;
+import com.patra.ingest.app.execution.command.TaskExecutionCommand;
+import com.patra.ingest.app.outbox.model.TaskReadyMessage;
+import com.patra.starter.rocketmq.listener.AbstractPatraMessageListener;
+import com.patra.starter.rocketmq.model.PatraMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.rocketmq.spring.annotation.RocketMQMessageListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * task-ready 消息消费者：将消息转换为执行命令交给虚拟线程派发器。
+ * <p>派发器在节点在途已满时阻塞当前消费线程，借此放缓拉取速度；任务本身的幂等由租约抢占保证。</p>
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "patra.ingest.executor", name = "enabled", havingValue = "true", matchIfMissing = true)
+@RocketMQMessageListener(
+        topic = "${patra.ingest.executor.topic:DEV.INGEST.TASK}",
+        consumerGroup = "${patra.ingest.executor.consumer-group:ingest-task-executor}",
+        selectorExpression = "READY")
+public class TaskReadyMessageListener extends AbstractPatraMessageListener<TaskReadyMessage> {
+
+    /** 采集任务派发器 */
+    private final HarvestTaskDispatcher dispatcher;
+
+    @Override
+    protected void handleMessage(PatraMessage<TaskReadyMessage> message) {
+        TaskReadyMessage body = message.getPayload();
+        if (body == null || body.payload() == null || body.payload().taskId() == null) {
+            log.warn("Task-ready message without task id ignored, eventId={}", message.getEventId());
+            return;
+        }
+        TaskReadyMessage.Payload payload = body.payload();
+        TaskExecutionCommand command = new TaskExecutionCommand(
+                payload.taskId(),
+                payload.provenance(),
+                payload.operation(),
+                StrUtil.blankToDefault(message.getTraceId(), message.getEventId()),
+                Instant.now(),
+                false);
+        try {
+            dispatcher.dispatch(command);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while dispatching task " + payload.taskId(), ex);
+        }
+    }
+}
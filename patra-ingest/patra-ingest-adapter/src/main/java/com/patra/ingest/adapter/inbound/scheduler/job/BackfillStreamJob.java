@@ -0,0 +1,105 @@
+package com.patra.ingest.adapter.inbound.scheduler.job;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.patra.common.enums.Priority;
+import com.patra.common.enums.ProvenanceCode;
+import com.patra.ingest.adapter.inbound.scheduler.param.BackfillStreamJobParam;
+import com.patra.ingest.app.orchestration.application.BackfillStreamUseCase;
+import com.patra.ingest.app.orchestration.command.BackfillStreamCommand;
+import com.patra.ingest.app.orchestration.dto.BackfillStreamResult;
+import com.patra.ingest.domain.model.enums.Endpoint;
+import com.patra.ingest.domain.model.enums.Scheduler;
+import com.patra.ingest.domain.model.enums.TriggerType;
+import com.xxl.job.core.context.XxlJobHelper;
+import com.xxl.job.core.handler.annotation.XxlJob;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * 流式回灌 XXL-Job 任务处理器。
+ * <p>按固定频率触发，每次从上次位置续接，队列低于低水位时下发下一批有界 BACKFILL 计划；区间下发完毕后可停用任务。</p>
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BackfillStreamJob {
+
+    /** JSON 解析器 */
+    private final ObjectMapper objectMapper;
+    /** 流式回灌用例 */
+    private final BackfillStreamUseCase backfillStreamUseCase;
+
+    /**
+     * XXL-Job 执行入口，解析调度参数并推进回灌流。
+     */
+    @XxlJob("ingestBackfillStreamJob")
+    public void execute() {
+        String rawParam = XxlJobHelper.getJobParam();
+        try {
+            BackfillStreamCommand command = buildCommand(rawParam);
+            BackfillStreamResult result = backfillStreamUseCase.advance(command);
+            XxlJobHelper.handleSuccess("Backfill advanced plans=%d tasks=%d nextFrom=%s completed=%s queued=%d halt=%s".formatted(
+                    result.planIds().size(), result.taskCount(), result.nextFrom(), result.completed(),
+                    result.queuedTasks(), result.haltReason()));
+        } catch (Exception ex) {
+            log.error("Backfill stream execution failed, rawParam={}", rawParam, ex);
+            XxlJobHelper.handleFail("Backfill stream failed: " + ex.getMessage());
+            throw new IllegalStateException("Backfill stream execution failed", ex);
+        }
+    }
+
+    /**
+     * 解析调度参数并构建推进指令。
+     */
+    private BackfillStreamCommand buildCommand(String rawParam) {
+        if (!StringUtils.hasText(rawParam)) {
+            throw new IllegalArgumentException("Backfill stream requires provenanceCode, windowFrom and windowTo");
+        }
+        try {
+            BackfillStreamJobParam param = objectMapper.readValue(rawParam, BackfillStreamJobParam.class);
+            Map<String, Object> triggerParams = objectMapper.readValue(rawParam, new TypeReference<>() {
+            });
+            return new BackfillStreamCommand(
+                    ProvenanceCode.parse(param.provenanceCode()),
+                    StringUtils.hasText(param.endpoint()) ? Endpoint.fromCode(param.endpoint()) : Endpoint.SEARCH,
+                    Instant.parse(param.windowFrom()),
+                    Instant.parse(param.windowTo()),
+                    resolveDuration(param.chunkSpan()),
+                    param.step(),
+                    StringUtils.hasText(param.priority()) ? Priority.valueOf(param.priority().toUpperCase()) : null,
+                    TriggerType.SCHEDULE,
+                    Scheduler.XXL,
+                    XxlJobHelper.getJobId() + "",
+                    "0",
+                    Instant.now(),
+                    triggerParams);
+        } catch (IllegalArgumentException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new IllegalArgumentException("Failed to parse backfill stream param: " + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * 解析持续时间，可接受 ISO8601 或秒数格式。
+     */
+    private Duration resolveDuration(String value) {
+        if (!StringUtils.hasText(value)) {
+            return null;
+        }
+        if (value.startsWith("P")) {
+            return Duration.parse(value);
+        }
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+}
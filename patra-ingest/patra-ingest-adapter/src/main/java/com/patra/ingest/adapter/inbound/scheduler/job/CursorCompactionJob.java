@@ -0,0 +1,44 @@
+package com.patra.ingest.adapter.inbound.scheduler.job;
+
+import com.patra.ingest.app.cursor.CursorCompactionUseCase;
+import com.patra.ingest.app.cursor.dto.CursorCompactionResult;
+import com.xxl.job.core.context.XxlJobHelper;
+import com.xxl.job.core.handler.annotation.XxlJob;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * 游标事件压缩 XXL-Job 任务处理器。
+ * <p>将超过保留期的游标推进事件按命名空间与时间段折叠为快照并分块删除。参数可选，为本轮最多处理的分块数。</p>
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CursorCompactionJob {
+
+    /** 游标事件压缩用例 */
+    private final CursorCompactionUseCase cursorCompactionUseCase;
+
+    /**
+     * XXL-Job 执行入口。
+     */
+    @XxlJob("ingestCursorCompactionJob")
+    public void execute() {
+        String rawParam = XxlJobHelper.getJobParam();
+        try {
+            int maxChunks = StringUtils.hasText(rawParam) ? Integer.parseInt(rawParam.trim()) : 0;
+            CursorCompactionResult result = cursorCompactionUseCase.compact(maxChunks);
+            XxlJobHelper.handleSuccess("Cursor compaction chunks=%d, events=%d, snapshots=%d"
+                    .formatted(result.chunks(), result.events(), result.snapshots()));
+        } catch (Exception ex) {
+            log.error("Cursor compaction execution failed, rawParam={}", rawParam, ex);
+            XxlJobHelper.handleFail("Cursor compaction failed: " + ex.getMessage());
+            throw new IllegalStateException("Cursor compaction execution failed", ex);
+        }
+    }
+}
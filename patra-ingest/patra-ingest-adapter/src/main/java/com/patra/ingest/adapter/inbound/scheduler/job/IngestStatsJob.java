@@ -0,0 +1,52 @@
+package com.patra.ingest.adapter.inbound.scheduler.job;
+
+import com.patra.ingest.adapter.outbound.http.ratelimit.HarvestRateLimiter;
+import com.patra.ingest.adapter.outbound.http.retry.HarvestRetryExecutor;
+import com.patra.ingest.app.cursor.CursorAdvanceCoordinator;
+import com.patra.ingest.app.execution.pipeline.HarvestStageMetrics;
+import com.patra.ingest.app.orchestration.backpressure.TaskQueueGauge;
+import com.xxl.job.core.context.XxlJobHelper;
+import com.xxl.job.core.handler.annotation.XxlJob;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 采集运行统计 XXL-Job 任务处理器。
+ * <p>按调度周期输出一次进程内统计摘要：任务队列深度、流水线阶段、限流桶、断路器与重试、游标写入，
+ * 同时写入 XXL 执行日志，并作为执行结果备注回传调度中心，便于定位吞吐瓶颈。</p>
+ * <p>本服务未引入 actuator，也没有 HTTP 入站端点，统计经应用日志与调度中心的执行记录对外可见。</p>
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IngestStatsJob {
+
+    /** 任务队列深度计量 */
+    private final TaskQueueGauge taskQueueGauge;
+    /** 流水线阶段指标 */
+    private final HarvestStageMetrics stageMetrics;
+    /** 采集限流器 */
+    private final HarvestRateLimiter rateLimiter;
+    /** 采集重试执行器 */
+    private final HarvestRetryExecutor retryExecutor;
+    /** 游标推进协调器 */
+    private final CursorAdvanceCoordinator cursorAdvanceCoordinator;
+
+    /**
+     * XXL-Job 执行入口。
+     */
+    @XxlJob("ingestStatsJob")
+    public void execute() {
+        String summary = "queues=%s, stages=%s, rateLimits=%s, breakers=%s, retries=%d, exhausted=%d, cursorWrites=%s"
+                .formatted(taskQueueGauge.snapshot(), stageMetrics.snapshot(), rateLimiter.snapshot(),
+                        retryExecutor.snapshot(), retryExecutor.retryCount(), retryExecutor.exhaustedCount(),
+                        cursorAdvanceCoordinator.snapshot());
+        log.info("Ingest stats summary, {}", summary);
+        XxlJobHelper.log("{}", summary);
+        XxlJobHelper.handleSuccess(summary);
+    }
+}
@@ -0,0 +1,42 @@
+package com.patra.ingest.adapter.inbound.scheduler.job;
+
+import com.patra.ingest.app.execution.TaskClaimUseCase;
+import com.xxl.job.core.context.XxlJobHelper;
+import com.xxl.job.core.handler.annotation.XxlJob;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * 任务批量领取 XXL-Job 任务处理器（拉取模式）。
+ * <p>作为 task-ready 消息推送的补充：按空闲容量从任务队列领取一批排队任务交给本节点执行器。参数可选，为单次领取上限。</p>
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskClaimJob {
+
+    /** 任务领取用例 */
+    private final TaskClaimUseCase taskClaimUseCase;
+
+    /**
+     * XXL-Job 执行入口。
+     */
+    @XxlJob("ingestTaskClaimJob")
+    public void execute() {
+        String rawParam = XxlJobHelper.getJobParam();
+        try {
+            int limit = StringUtils.hasText(rawParam) ? Integer.parseInt(rawParam.trim()) : 0;
+            int claimed = taskClaimUseCase.claimAndDispatch(limit);
+            XxlJobHelper.handleSuccess("Task claim claimed=%d".formatted(claimed));
+        } catch (Exception ex) {
+            log.error("Task claim execution failed, rawParam={}", rawParam, ex);
+            XxlJobHelper.handleFail("Task claim failed: " + ex.getMessage());
+            throw new IllegalStateException("Task claim execution failed", ex);
+        }
+    }
+}
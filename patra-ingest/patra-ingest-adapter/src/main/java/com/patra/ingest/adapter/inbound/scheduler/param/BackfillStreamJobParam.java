@@ -0,0 +1,23 @@
+package com.patra.ingest.adapter.inbound.scheduler.param;
+
+/**
+ * 流式回灌任务参数。
+ *
+ * @param provenanceCode 来源编码（必填）
+ * @param endpoint 端点名称，默认 SEARCH
+ * @param windowFrom 回灌区间起点（ISO8601，必填）
+ * @param windowTo 回灌区间终点（ISO8601，必填）
+ * @param chunkSpan 单计划跨度（ISO8601 或秒）
+ * @param step 切片步长（ISO8601）
+ * @param priority 调度优先级
+ */
+public record BackfillStreamJobParam(
+        String provenanceCode,
+        String endpoint,
+        String windowFrom,
+        String windowTo,
+        String chunkSpan,
+        String step,
+        String priority
+) {
+}
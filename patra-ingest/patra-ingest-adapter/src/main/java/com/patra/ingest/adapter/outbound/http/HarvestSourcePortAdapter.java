@@ -0,0 +1,241 @@
+package com.patra.ingest.adapter.outbound.http;
+
+import cn.hutool.core.util.StrUtil;
+import com.patra.ingest.adapter.outbound.http.client.HarvestHttpClientFactory;
+import com.patra.ingest.adapter.outbound.http.client.HarvestHttpStream;
+import com.patra.ingest.adapter.outbound.http.config.HarvestResponseProperties;
+import com.patra.ingest.adapter.outbound.http.ratelimit.HarvestRateLimiter;
+import com.patra.ingest.adapter.outbound.http.retry.HarvestRetryExecutor;
+import com.patra.ingest.adapter.outbound.http.retry.RetryableStatusException;
+import com.patra.ingest.adapter.outbound.http.support.HarvestRequestFactory;
+import com.patra.ingest.adapter.outbound.http.support.HarvestResponseReader;
+import com.patra.ingest.adapter.outbound.http.support.StreamingPathExtractor;
+import com.patra.ingest.app.harvest.exception.HarvestFetchException;
+import com.patra.ingest.app.harvest.model.HarvestDetailBatch;
+import com.patra.ingest.app.harvest.model.HarvestPage;
+import com.patra.ingest.app.harvest.model.HarvestPageRequest;
+import com.patra.ingest.app.harvest.model.HarvestQuery;
+import com.patra.ingest.app.port.HarvestSourcePort;
+import com.patra.ingest.domain.model.snapshot.ProvenanceConfigSnapshot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+/**
+ * 采集来源出站适配器：按来源配置选取采集 HTTP 客户端访问外部数据源，按来源重试配置重试与断路。
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HarvestSourcePortAdapter implements HarvestSourcePort {
+
+    /** 未配置分隔符时的 ID 拼接分隔符 */
+    private static final String DEFAULT_IDS_DELIMITER = ",";
+
+    /** 按配置哈希复用的 HTTP 客户端工厂 */
+    private final HarvestHttpClientFactory harvestHttpClientFactory;
+    /** 出站限流引擎 */
+    private final HarvestRateLimiter harvestRateLimiter;
+    /** 重试与断路执行器 */
+    private final HarvestRetryExecutor harvestRetryExecutor;
+    /** 响应解析配置 */
+    private final HarvestResponseProperties harvestResponseProperties;
+
+    /**
+     * 以页大小 1 请求一次并提取命中总数（命中后即停止读取响应体）。
+     */
+    @Override
+    public OptionalLong probeTotalCount(HarvestQuery query) {
+        ProvenanceConfigSnapshot.PaginationConfig pagination = query.configSnapshot().pagination();
+        if (pagination == null
+                || (StrUtil.isBlank(pagination.totalCountJsonpath()) && StrUtil.isBlank(pagination.totalCountXpath()))) {
+            return OptionalLong.empty();
+        }
+        HttpRequest request = HarvestRequestFactory.build(query, probeOverrides(query.configSnapshot()));
+        try {
+            return exchange(query, request, stream -> {
+                if (stream.statusCode() / 100 != 2) {
+                    log.warn("Count probe rejected, provenance={}, status={}", query.provenanceCode().getCode(), stream.statusCode());
+                    return OptionalLong.empty();
+                }
+                StreamingPathExtractor.Result result = HarvestResponseReader.readPage(stream.body(), contentType(stream),
+                        pagination, true, null, harvestResponseProperties.isStreamingEnabled(), null);
+                Long total = parseCount(result.value(HarvestResponseReader.TOTAL_COUNT));
+                return total == null ? OptionalLong.empty() : OptionalLong.of(total);
+            });
+        } catch (IOException | HarvestFetchException ex) {
+            log.warn("Count probe failed, provenance={}, reason={}", query.provenanceCode().getCode(), ex.getMessage());
+            return OptionalLong.empty();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return OptionalLong.empty();
+        }
+    }
+
+    /**
+     * 拉取单页：流式提取总数、下一页令牌与是否还有下一页，并收集记录路径命中的记录标识。
+     */
+    @Override
+    public HarvestPage fetchPage(HarvestQuery query, HarvestPageRequest request) {
+        ProvenanceConfigSnapshot snapshot = query.configSnapshot();
+        HttpRequest httpRequest = HarvestRequestFactory.build(query, pageOverrides(snapshot, request));
+        String recordPath = harvestResponseProperties.recordPath(query.provenanceCode(),
+                snapshot.endpoint() == null ? null : snapshot.endpoint().endpointName());
+        try {
+            return exchange(query, httpRequest, stream -> {
+                if (stream.statusCode() / 100 != 2) {
+                    throw new HarvestFetchException(stream.statusCode(),
+                            "Harvest request rejected, provenance=" + query.provenanceCode().getCode() + ", status=" + stream.statusCode());
+                }
+                List<String> recordKeys = new ArrayList<>();
+                StreamingPathExtractor.Result result = HarvestResponseReader.readPage(stream.body(), contentType(stream),
+                        snapshot.pagination(), false, recordPath, harvestResponseProperties.isStreamingEnabled(), recordKeys::add);
+                return new HarvestPage(
+                        stream.statusCode(),
+                        parseCount(result.value(HarvestResponseReader.TOTAL_COUNT)),
+                        result.value(HarvestResponseReader.NEXT_TOKEN).orElse(null),
+                        result.value(HarvestResponseReader.HAS_MORE).map(String::trim).map(Boolean::parseBoolean).orElse(null),
+                        result.recordCount() == null ? null : Math.toIntExact(result.recordCount()),
+                        recordKeys);
+            });
+        } catch (IOException ex) {
+            throw new HarvestFetchException(HarvestFetchException.NETWORK_ERROR,
+                    "Harvest request failed: " + ex.getMessage(), ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new HarvestFetchException(HarvestFetchException.NETWORK_ERROR, "Harvest request interrupted", ex);
+        }
+    }
+
+    /**
+     * 批量拉取详情：标识按批量配置的分隔符拼入 ID 参数（端点级参数名优先），按记录路径统计返回的记录。
+     */
+    @Override
+    public HarvestDetailBatch fetchDetails(HarvestQuery query, List<String> ids) {
+        ProvenanceConfigSnapshot snapshot = query.configSnapshot();
+        ProvenanceConfigSnapshot.BatchingConfig batching = snapshot.batching();
+        String idsParam = snapshot.endpoint() != null && StrUtil.isNotBlank(snapshot.endpoint().idsParamName())
+                ? snapshot.endpoint().idsParamName()
+                : batching == null ? null : batching.idsParamName();
+        if (StrUtil.isBlank(idsParam)) {
+            throw new IllegalStateException("Ids param is not configured for provenance " + query.provenanceCode().getCode());
+        }
+        String delimiter = batching == null || StrUtil.isEmpty(batching.idsJoinDelimiter())
+                ? DEFAULT_IDS_DELIMITER
+                : batching.idsJoinDelimiter();
+        HttpRequest httpRequest = HarvestRequestFactory.build(query, Map.of(idsParam, String.join(delimiter, ids)));
+        String recordPath = harvestResponseProperties.recordPath(query.provenanceCode(),
+                snapshot.endpoint() == null ? null : snapshot.endpoint().endpointName());
+        try {
+            return exchange(query, httpRequest, stream -> {
+                if (stream.statusCode() / 100 != 2) {
+                    throw new HarvestFetchException(stream.statusCode(),
+                            "Detail request rejected, provenance=" + query.provenanceCode().getCode() + ", status=" + stream.statusCode());
+                }
+                List<String> recordKeys = new ArrayList<>();
+                StreamingPathExtractor.Result result = HarvestResponseReader.readPage(stream.body(), contentType(stream),
+                        null, false, recordPath, harvestResponseProperties.isStreamingEnabled(), recordKeys::add);
+                return new HarvestDetailBatch(stream.statusCode(), ids.size(),
+                        result.recordCount() == null ? null : Math.toIntExact(result.recordCount()), recordKeys);
+            });
+        } catch (IOException ex) {
+            throw new HarvestFetchException(HarvestFetchException.NETWORK_ERROR,
+                    "Detail request failed: " + ex.getMessage(), ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new HarvestFetchException(HarvestFetchException.NETWORK_ERROR, "Detail request interrupted", ex);
+        }
+    }
+
+    /**
+     * 领取限流许可后发送请求，响应反馈给自适应节流；响应体以流方式交给读取方，读取完毕后归还许可与连接。
+     * 可重试的状态码不交给读取方，由重试执行器退避后重新领取许可发送；网络异常按配置重试。
+     */
+    private <T> T exchange(HarvestQuery query, HttpRequest request, ResponseReader<T> reader)
+            throws IOException, InterruptedException {
+        return harvestRetryExecutor.execute(query, policy -> {
+            try (HarvestRateLimiter.Permit permit = harvestRateLimiter.acquire(query, request.uri());
+                 HarvestHttpStream stream = harvestHttpClientFactory.clientFor(query.configSnapshot()).open(request)) {
+                harvestRateLimiter.onResponse(permit, query, stream.statusCode(), stream.headers());
+                if (policy != null && policy.retryable(stream.statusCode())) {
+                    throw new RetryableStatusException(stream.statusCode(),
+                            HarvestRetryExecutor.retryAfterMillis(stream.headers(), query.configSnapshot().http()));
+                }
+                return reader.read(stream);
+            }
+        });
+    }
+
+    private static String contentType(HarvestHttpStream stream) {
+        return stream.headers().firstValue("Content-Type").orElse(null);
+    }
+
+    private static Long parseCount(Optional<String> value) {
+        return value.map(String::trim)
+                .filter(text -> text.matches("\\d+"))
+                .map(Long::parseLong)
+                .orElse(null);
+    }
+
+    private Map<String, String> probeOverrides(ProvenanceConfigSnapshot snapshot) {
+        Map<String, String> overrides = new HashMap<>();
+        String pageSizeParam = pageSizeParam(snapshot);
+        if (StrUtil.isNotBlank(pageSizeParam)) {
+            overrides.put(pageSizeParam, "1");
+        }
+        return overrides;
+    }
+
+    private Map<String, String> pageOverrides(ProvenanceConfigSnapshot snapshot, HarvestPageRequest request) {
+        Map<String, String> overrides = new HashMap<>();
+        if (request == null) {
+            return overrides;
+        }
+        ProvenanceConfigSnapshot.EndpointDefinition endpoint = snapshot.endpoint();
+        ProvenanceConfigSnapshot.PaginationConfig pagination = snapshot.pagination();
+        String pageSizeParam = pageSizeParam(snapshot);
+        if (StrUtil.isNotBlank(pageSizeParam) && request.pageSize() != null) {
+            overrides.put(pageSizeParam, String.valueOf(request.pageSize()));
+        }
+        String pageParam = endpoint != null && StrUtil.isNotBlank(endpoint.pageParamName())
+                ? endpoint.pageParamName()
+                : pagination == null ? null : pagination.pageNumberParamName();
+        if (StrUtil.isNotBlank(pageParam) && request.pageNumber() != null) {
+            overrides.put(pageParam, String.valueOf(request.pageNumber()));
+        }
+        String cursorParam = endpoint != null && StrUtil.isNotBlank(endpoint.cursorParamName())
+                ? endpoint.cursorParamName()
+                : pagination == null ? null : pagination.cursorParamName();
+        if (StrUtil.isNotBlank(cursorParam) && request.token() != null) {
+            overrides.put(cursorParam, request.token());
+        }
+        return overrides;
+    }
+
+    private String pageSizeParam(ProvenanceConfigSnapshot snapshot) {
+        if (snapshot.endpoint() != null && StrUtil.isNotBlank(snapshot.endpoint().pageSizeParamName())) {
+            return snapshot.endpoint().pageSizeParamName();
+        }
+        return snapshot.pagination() == null ? null : snapshot.pagination().pageSizeParamName();
+    }
+
+    /**
+     * 响应流读取方。
+     */
+    @FunctionalInterface
+    private interface ResponseReader<T> {
+        T read(HarvestHttpStream stream) throws IOException;
+    }
+}
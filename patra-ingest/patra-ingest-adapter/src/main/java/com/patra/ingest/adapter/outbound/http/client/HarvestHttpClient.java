@@ -0,0 +1,106 @@
+package com.patra.ingest.adapter.outbound.http.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * 按配置构建的采集 HTTP 客户端：JDK HttpClient（连接复用、可选 HTTP/2）加主机级并发上限。
+ * <p>
+ * 每个请求先占用目标主机的并发许可，响应体以流方式接收并按 Content-Encoding（gzip / deflate）边读边解压，
+ * 许可在响应流关闭时归还。同一配置哈希的任务共享同一实例。
+ * </p>
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+public final class HarvestHttpClient implements AutoCloseable {
+
+    /** 本客户端支持解压的编码，与请求的 Accept-Encoding 保持一致 */
+    public static final String ACCEPT_ENCODING = "gzip, deflate";
+
+    private final String configHash;
+    private final HttpClient delegate;
+    private final int perHostLimit;
+    /** 主机 → 并发许可 */
+    private final ConcurrentMap<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+
+    HarvestHttpClient(String configHash, HttpClient delegate, int perHostLimit) {
+        this.configHash = configHash;
+        this.delegate = delegate;
+        this.perHostLimit = perHostLimit;
+    }
+
+    /**
+     * 发送请求并读取完整响应体。
+     */
+    public HarvestHttpResponse send(HttpRequest request) throws IOException, InterruptedException {
+        try (HarvestHttpStream stream = open(request)) {
+            return stream.readFully();
+        }
+    }
+
+    /**
+     * 发送请求并以流方式返回响应体；调用方必须关闭返回的流。
+     */
+    public HarvestHttpStream open(HttpRequest request) throws IOException, InterruptedException {
+        Semaphore permits = hostPermits.computeIfAbsent(hostOf(request.uri()), host -> new Semaphore(perHostLimit, true));
+        permits.acquire();
+        try {
+            HttpResponse<InputStream> response = delegate.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            String encoding = response.headers().firstValue("Content-Encoding").orElse("");
+            InputStream body;
+            try {
+                body = decode(response.body(), encoding);
+            } catch (IOException ex) {
+                response.body().close();
+                throw ex;
+            }
+            return new HarvestHttpStream(response.statusCode(), response.headers(), response.uri(), body, permits::release);
+        } catch (IOException | InterruptedException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    public String configHash() {
+        return configHash;
+    }
+
+    /**
+     * 各主机当前可用的并发许可。
+     */
+    public int availablePermits(String host) {
+        Semaphore permits = hostPermits.get(host);
+        return permits == null ? perHostLimit : permits.availablePermits();
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    private static InputStream decode(InputStream raw, String encoding) throws IOException {
+        String normalized = encoding.trim().toLowerCase(Locale.ROOT);
+        return switch (normalized) {
+            case "", "identity" -> raw;
+            case "gzip", "x-gzip" -> new GZIPInputStream(raw);
+            case "deflate" -> new InflaterInputStream(raw);
+            default -> throw new IOException("Unsupported Content-Encoding: " + encoding);
+        };
+    }
+
+    private static String hostOf(URI uri) {
+        String host = uri.getHost() == null ? "-" : uri.getHost();
+        return uri.getPort() < 0 ? host : host + ":" + uri.getPort();
+    }
+}
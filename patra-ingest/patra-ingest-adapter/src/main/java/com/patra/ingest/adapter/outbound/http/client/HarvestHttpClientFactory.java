@@ -0,0 +1,166 @@
+package com.patra.ingest.adapter.outbound.http.client;
+
+import cn.hutool.core.util.StrUtil;
+import com.patra.common.util.HashUtils;
+import com.patra.ingest.domain.model.snapshot.ProvenanceConfigSnapshot;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+import java.net.InetSocketAddress;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.security.GeneralSecurityException;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 采集 HTTP 客户端工厂：按 HttpConfig 与 BatchingConfig 中影响连接的字段计算配置哈希，每个哈希复用一个客户端。
+ * <p>
+ * 连接超时、HTTP/2 偏好、代理与 TLS 校验作用于 JDK HttpClient；perHostConcurrencyLimit 作为主机级并发上限，
+ * 未配置时以 httpConnPoolSize 兜底（HTTP/1.1 下并发请求数即连接数）。客户端的异步回调运行在共享的虚拟线程执行器上。
+ * 读取/总超时与默认请求头属于请求级配置，由请求构造器处理，不参与哈希。
+ * </p>
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+@Slf4j
+@Component
+public class HarvestHttpClientFactory {
+
+    /** 未配置连接超时时的默认值 */
+    private static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    /** 未配置主机并发上限时的默认值 */
+    private static final int DEFAULT_PER_HOST_LIMIT = 64;
+
+    /** 配置哈希 → 客户端 */
+    private final ConcurrentMap<String, HarvestHttpClient> clients = new ConcurrentHashMap<>();
+    /** HttpClient 内部异步任务执行器 */
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * 获取与快照连接配置对应的客户端。
+     */
+    public HarvestHttpClient clientFor(ProvenanceConfigSnapshot snapshot) {
+        ProvenanceConfigSnapshot.HttpConfig http = snapshot == null ? null : snapshot.http();
+        ProvenanceConfigSnapshot.BatchingConfig batching = snapshot == null ? null : snapshot.batching();
+        String material = hashMaterial(http, batching);
+        String hash = HashUtils.sha256Hex(material);
+        return clients.computeIfAbsent(hash, key -> create(key, http, batching));
+    }
+
+    /**
+     * 当前缓存的客户端数量。
+     */
+    public int size() {
+        return clients.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        clients.values().forEach(HarvestHttpClient::close);
+        clients.clear();
+        executor.shutdownNow();
+    }
+
+    private HarvestHttpClient create(String hash,
+                                     ProvenanceConfigSnapshot.HttpConfig http,
+                                     ProvenanceConfigSnapshot.BatchingConfig batching) {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .executor(executor)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(connectTimeout(http))
+                .version(http != null && http.preferHttp2Enabled() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1);
+        ProxySelector proxy = proxySelector(http);
+        if (proxy != null) {
+            builder.proxy(proxy);
+        }
+        if (http != null && !http.tlsVerifyEnabled()) {
+            builder.sslContext(trustAllContext());
+        }
+        int perHostLimit = perHostLimit(batching);
+        log.info("Harvest http client created, hash={}, http2={}, perHostLimit={}, proxy={}",
+                hash.substring(0, 12), http != null && http.preferHttp2Enabled(), perHostLimit, proxy != null);
+        return new HarvestHttpClient(hash, builder.build(), perHostLimit);
+    }
+
+    static String hashMaterial(ProvenanceConfigSnapshot.HttpConfig http, ProvenanceConfigSnapshot.BatchingConfig batching) {
+        return String.join("|",
+                String.valueOf(http == null ? null : http.timeoutConnectMillis()),
+                String.valueOf(http != null && http.preferHttp2Enabled()),
+                String.valueOf(http == null || http.tlsVerifyEnabled()),
+                String.valueOf(http == null ? null : StrUtil.trimToNull(http.proxyUrlValue())),
+                String.valueOf(batching == null ? null : batching.perHostConcurrencyLimit()),
+                String.valueOf(batching == null ? null : batching.httpConnPoolSize()));
+    }
+
+    private static Duration connectTimeout(ProvenanceConfigSnapshot.HttpConfig http) {
+        if (http == null || http.timeoutConnectMillis() == null || http.timeoutConnectMillis() <= 0) {
+            return DEFAULT_CONNECT_TIMEOUT;
+        }
+        return Duration.ofMillis(http.timeoutConnectMillis());
+    }
+
+    private static int perHostLimit(ProvenanceConfigSnapshot.BatchingConfig batching) {
+        if (batching != null && batching.perHostConcurrencyLimit() != null && batching.perHostConcurrencyLimit() > 0) {
+            return batching.perHostConcurrencyLimit();
+        }
+        if (batching != null && batching.httpConnPoolSize() != null && batching.httpConnPoolSize() > 0) {
+            return batching.httpConnPoolSize();
+        }
+        return DEFAULT_PER_HOST_LIMIT;
+    }
+
+    /**
+     * 解析代理地址；JDK HttpClient 仅支持 HTTP(S) 代理，SOCKS 配置会被忽略。
+     */
+    private static ProxySelector proxySelector(ProvenanceConfigSnapshot.HttpConfig http) {
+        if (http == null || StrUtil.isBlank(http.proxyUrlValue())) {
+            return null;
+        }
+        URI uri = URI.create(http.proxyUrlValue().trim());
+        String scheme = uri.getScheme() == null ? "" : uri.getScheme().toLowerCase(Locale.ROOT);
+        if (!"http".equals(scheme) && !"https".equals(scheme)) {
+            log.warn("Unsupported proxy scheme ignored, proxy={}", http.proxyUrlValue());
+            return null;
+        }
+        int port = uri.getPort() > 0 ? uri.getPort() : ("https".equals(scheme) ? 443 : 80);
+        return ProxySelector.of(InetSocketAddress.createUnresolved(uri.getHost(), port));
+    }
+
+    /**
+     * 关闭证书校验的 SSLContext（仅在来源显式关闭 TLS 校验时使用）。
+     */
+    private static SSLContext trustAllContext() {
+        try {
+            SSLContext context = SSLContext.getInstance("TLS");
+            context.init(null, new TrustManager[]{new X509TrustManager() {
+                @Override
+                public void checkClientTrusted(X509Certificate[] chain, String authType) {
+                }
+
+                @Override
+                public void checkServerTrusted(X509Certificate[] chain, String authType) {
+                }
+
+                @Override
+                public X509Certificate[] getAcceptedIssuers() {
+                    return new X509Certificate[0];
+                }
+            }}, null);
+            return context;
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Failed to create trust-all SSL context", ex);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.patra.ingest.adapter.outbound.http.client;
+
+import java.net.URI;
+import java.net.http.HttpHeaders;
+
+/**
+ * 已读取并解压的采集响应。
+ *
+ * @param statusCode HTTP 状态码
+ * @param headers 响应头
+ * @param uri 请求地址
+ * @param body 解压后的响应体
+ */
+public record HarvestHttpResponse(int statusCode, HttpHeaders headers, URI uri, byte[] body) {
+
+    public HarvestHttpResponse {
+        body = body == null ? new byte[0] : body;
+    }
+
+    public boolean successful() {
+        return statusCode / 100 == 2;
+    }
+}
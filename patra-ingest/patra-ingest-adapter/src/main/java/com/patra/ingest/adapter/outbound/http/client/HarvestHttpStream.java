@@ -0,0 +1,69 @@
+package com.patra.ingest.adapter.outbound.http.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpHeaders;
+
+/**
+ * 流式采集响应：响应体按 Content-Encoding 边读边解压，关闭时释放连接与主机并发许可。
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+public final class HarvestHttpStream implements AutoCloseable {
+
+    private final int statusCode;
+    private final HttpHeaders headers;
+    private final URI uri;
+    private final InputStream body;
+    private final Runnable onClose;
+    private boolean closed;
+
+    HarvestHttpStream(int statusCode, HttpHeaders headers, URI uri, InputStream body, Runnable onClose) {
+        this.statusCode = statusCode;
+        this.headers = headers;
+        this.uri = uri;
+        this.body = body;
+        this.onClose = onClose;
+    }
+
+    public int statusCode() {
+        return statusCode;
+    }
+
+    public HttpHeaders headers() {
+        return headers;
+    }
+
+    public URI uri() {
+        return uri;
+    }
+
+    /**
+     * 解压后的响应体流（只能读取一次）。
+     */
+    public InputStream body() {
+        return body;
+    }
+
+    /**
+     * 读取完整响应体。
+     */
+    public HarvestHttpResponse readFully() throws IOException {
+        return new HarvestHttpResponse(statusCode, headers, uri, body.readAllBytes());
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            body.close();
+        } finally {
+            onClose.run();
+        }
+    }
+}
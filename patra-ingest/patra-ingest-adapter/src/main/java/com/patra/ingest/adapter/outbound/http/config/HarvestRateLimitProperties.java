@@ -0,0 +1,105 @@
+package com.patra.ingest.adapter.outbound.http.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 采集出站限流配置（限额本身来自来源 RateLimitConfig，这里控制开关、观测与自适应节流参数）。
+ */
+@Component
+@ConfigurationProperties(prefix = "patra.ingest.rate-limit")
+public class HarvestRateLimitProperties {
+
+    /** 是否按来源限流配置限速 */
+    private boolean enabled = true;
+    /** 等待超过该时长时输出调试日志 */
+    private Duration slowWaitThreshold = Duration.ofSeconds(1);
+    /** 是否依据服务端响应自适应调整速率（仍受来源 respectServerRateHeader 约束） */
+    private boolean adaptiveEnabled = true;
+    /** 乘性减系数 */
+    private double adaptiveDecreaseRatio = 0.5d;
+    /** 两次下调之间的冷却时间 */
+    private Duration adaptiveDecreaseCooldown = Duration.ofSeconds(1);
+    /** 加性增步长（速率因子） */
+    private double adaptiveIncreaseStep = 0.05d;
+    /** 两次上调之间的最小间隔 */
+    private Duration adaptiveIncreaseInterval = Duration.ofSeconds(1);
+    /** 速率因子下限 */
+    private double minRateFactor = 0.05d;
+    /** 速率因子上限（大于 1 时允许试探高于配置的速率） */
+    private double maxRateFactor = 1d;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getSlowWaitThreshold() {
+        return slowWaitThreshold;
+    }
+
+    public void setSlowWaitThreshold(Duration slowWaitThreshold) {
+        this.slowWaitThreshold = slowWaitThreshold;
+    }
+
+    public boolean isAdaptiveEnabled() {
+        return adaptiveEnabled;
+    }
+
+    public void setAdaptiveEnabled(boolean adaptiveEnabled) {
+        this.adaptiveEnabled = adaptiveEnabled;
+    }
+
+    public double getAdaptiveDecreaseRatio() {
+        return adaptiveDecreaseRatio;
+    }
+
+    public void setAdaptiveDecreaseRatio(double adaptiveDecreaseRatio) {
+        this.adaptiveDecreaseRatio = adaptiveDecreaseRatio;
+    }
+
+    public Duration getAdaptiveDecreaseCooldown() {
+        return adaptiveDecreaseCooldown;
+    }
+
+    public void setAdaptiveDecreaseCooldown(Duration adaptiveDecreaseCooldown) {
+        this.adaptiveDecreaseCooldown = adaptiveDecreaseCooldown;
+    }
+
+    public double getAdaptiveIncreaseStep() {
+        return adaptiveIncreaseStep;
+    }
+
+    public void setAdaptiveIncreaseStep(double adaptiveIncreaseStep) {
+        this.adaptiveIncreaseStep = adaptiveIncreaseStep;
+    }
+
+    public Duration getAdaptiveIncreaseInterval() {
+        return adaptiveIncreaseInterval;
+    }
+
+    public void setAdaptiveIncreaseInterval(Duration adaptiveIncreaseInterval) {
+        this.adaptiveIncreaseInterval = adaptiveIncreaseInterval;
+    }
+
+    public double getMinRateFactor() {
+        return minRateFactor;
+    }
+
+    public void setMinRateFactor(double minRateFactor) {
+        this.minRateFactor = minRateFactor;
+    }
+
+    public double getMaxRateFactor() {
+        return maxRateFactor;
+    }
+
+    public void setMaxRateFactor(double maxRateFactor) {
+        this.maxRateFactor = maxRateFactor;
+    }
+}
@@ -0,0 +1,49 @@
+package com.patra.ingest.adapter.outbound.http.config;
+
+import com.patra.common.enums.ProvenanceCode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 采集响应解析配置（流式提取开关与各来源端点的记录路径）。
+ */
+@Component
+@ConfigurationProperties(prefix = "patra.ingest.harvest-response")
+public class HarvestResponseProperties {
+
+    /** 是否流式提取分页字段与记录（关闭时读入完整响应体整体求值） */
+    private boolean streamingEnabled = true;
+    /** 记录路径：来源编码（小写）→ 端点逻辑名 → JSONPath / XPath，路径应指向记录标识 */
+    private Map<String, Map<String, String>> recordPaths = new HashMap<>();
+
+    /**
+     * 指定来源端点的记录路径；未配置时为空。
+     */
+    public String recordPath(ProvenanceCode provenanceCode, String endpointName) {
+        if (provenanceCode == null || endpointName == null) {
+            return null;
+        }
+        Map<String, String> endpoints = recordPaths.get(provenanceCode.getCode().toLowerCase(Locale.ROOT));
+        return endpoints == null ? null : endpoints.get(endpointName);
+    }
+
+    public boolean isStreamingEnabled() {
+        return streamingEnabled;
+    }
+
+    public void setStreamingEnabled(boolean streamingEnabled) {
+        this.streamingEnabled = streamingEnabled;
+    }
+
+    public Map<String, Map<String, String>> getRecordPaths() {
+        return recordPaths;
+    }
+
+    public void setRecordPaths(Map<String, Map<String, String>> recordPaths) {
+        this.recordPaths = recordPaths == null ? new HashMap<>() : recordPaths;
+    }
+}
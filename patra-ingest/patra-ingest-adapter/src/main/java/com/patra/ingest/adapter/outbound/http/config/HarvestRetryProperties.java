@@ -0,0 +1,117 @@
+package com.patra.ingest.adapter.outbound.http.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 采集请求重试配置（策略本身来自来源 RetryConfig，这里控制开关与配置缺失时的默认值）。
+ */
+@Component
+@ConfigurationProperties(prefix = "patra.ingest.harvest-retry")
+public class HarvestRetryProperties {
+
+    /** 是否按来源重试配置重试与断路 */
+    private boolean enabled = true;
+    /** 默认最大重试次数 */
+    private int defaultMaxRetries = 2;
+    /** 默认退避策略（FIXED|EXP|EXP_JITTER|DECOR_JITTER） */
+    private String defaultBackoffPolicy = "EXP_JITTER";
+    /** 默认首次重试延迟 */
+    private Duration defaultInitialDelay = Duration.ofMillis(500);
+    /** 默认单次重试最大延迟 */
+    private Duration defaultMaxDelay = Duration.ofSeconds(30);
+    /** 默认指数倍率 */
+    private double defaultMultiplier = 2d;
+    /** 默认抖动因子 */
+    private double defaultJitterRatio = 0.2d;
+    /** 未配置可重试状态码时的默认列表 */
+    private List<Integer> defaultRetryStatuses = new ArrayList<>(List.of(429, 500, 502, 503, 504));
+    /** 默认断路阈值（连续失败次数；0 表示不断路） */
+    private int defaultCircuitBreakThreshold = 20;
+    /** 默认断路冷却时长 */
+    private Duration defaultCircuitCooldown = Duration.ofSeconds(30);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getDefaultMaxRetries() {
+        return defaultMaxRetries;
+    }
+
+    public void setDefaultMaxRetries(int defaultMaxRetries) {
+        this.defaultMaxRetries = defaultMaxRetries;
+    }
+
+    public String getDefaultBackoffPolicy() {
+        return defaultBackoffPolicy;
+    }
+
+    public void setDefaultBackoffPolicy(String defaultBackoffPolicy) {
+        this.defaultBackoffPolicy = defaultBackoffPolicy;
+    }
+
+    public Duration getDefaultInitialDelay() {
+        return defaultInitialDelay;
+    }
+
+    public void setDefaultInitialDelay(Duration defaultInitialDelay) {
+        this.defaultInitialDelay = defaultInitialDelay;
+    }
+
+    public Duration getDefaultMaxDelay() {
+        return defaultMaxDelay;
+    }
+
+    public void setDefaultMaxDelay(Duration defaultMaxDelay) {
+        this.defaultMaxDelay = defaultMaxDelay;
+    }
+
+    public double getDefaultMultiplier() {
+        return defaultMultiplier;
+    }
+
+    public void setDefaultMultiplier(double defaultMultiplier) {
+        this.defaultMultiplier = defaultMultiplier;
+    }
+
+    public double getDefaultJitterRatio() {
+        return defaultJitterRatio;
+    }
+
+    public void setDefaultJitterRatio(double defaultJitterRatio) {
+        this.defaultJitterRatio = defaultJitterRatio;
+    }
+
+    public List<Integer> getDefaultRetryStatuses() {
+        return defaultRetryStatuses;
+    }
+
+    public void setDefaultRetryStatuses(List<Integer> defaultRetryStatuses) {
+        this.defaultRetryStatuses = defaultRetryStatuses;
+    }
+
+    public int getDefaultCircuitBreakThreshold() {
+        return defaultCircuitBreakThreshold;
+    }
+
+    public void setDefaultCircuitBreakThreshold(int defaultCircuitBreakThreshold) {
+        this.defaultCircuitBreakThreshold = defaultCircuitBreakThreshold;
+    }
+
+    public Duration getDefaultCircuitCooldown() {
+        return defaultCircuitCooldown;
+    }
+
+    public void setDefaultCircuitCooldown(Duration defaultCircuitCooldown) {
+        this.defaultCircuitCooldown = defaultCircuitCooldown;
+    }
+}
@@ -0,0 +1,194 @@
+package com.patra.ingest.adapter.outbound.http.ratelimit;
+
+import cn.hutool.core.util.StrUtil;
+import com.patra.ingest.adapter.outbound.http.config.HarvestRateLimitProperties;
+import com.patra.ingest.domain.model.snapshot.ProvenanceConfigSnapshot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.net.http.HttpHeaders;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 自适应节流控制器（AIMD）：依据上游响应调整各限流键的速率因子，并按服务端 Rate 头暂停发送。
+ * <ul>
+ *   <li>加性增：成功响应后每个增长间隔最多上调一个步长，直至上限。</li>
+ *   <li>乘性减：429 / 503 时按系数下调，冷却期内只下调一次，避免并发失败叠加塌缩。</li>
+ *   <li>Retry-After：按 HttpConfig.retryAfterPolicyCode 处理（IGNORE 忽略；RESPECT/CLAMP 以 retryAfterCapMillis 封顶）。</li>
+ *   <li>X-RateLimit-Remaining 为 0 时暂停到 X-RateLimit-Reset（支持剩余秒数与 epoch 秒）。</li>
+ * </ul>
+ * 仅在 RateLimitConfig.respectServerRateHeader 为真时生效。
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AdaptiveRateController {
+
+    /** 大于该值的 Reset 视为 epoch 秒，否则视为剩余秒数 */
+    private static final long EPOCH_SECONDS_THRESHOLD = 1_000_000_000L;
+
+    private final HarvestRateLimitProperties properties;
+
+    /** 限流键 → 自适应状态 */
+    private final ConcurrentMap<String, State> states = new ConcurrentHashMap<>();
+
+    /**
+     * 当前速率因子（无状态时为 1）。
+     */
+    public double factor(String key) {
+        State state = states.get(key);
+        return state == null ? 1d : state.factor;
+    }
+
+    /**
+     * 距暂停结束的剩余纳秒（未暂停时为 0）。nanoTime 可为负且可能溢出，只比较差值。
+     */
+    public long pauseRemainingNanos(String key, long nowNanos) {
+        State state = states.get(key);
+        if (state == null || !state.paused) {
+            return 0L;
+        }
+        long remaining = state.pausedUntilNanos - nowNanos;
+        return remaining > 0L ? remaining : 0L;
+    }
+
+    /**
+     * 根据响应调整速率因子与暂停时间。
+     *
+     * @param key        限流键
+     * @param statusCode 响应状态码
+     * @param headers    响应头
+     * @param snapshot   来源配置快照
+     */
+    public void onResponse(String key, int statusCode, HttpHeaders headers, ProvenanceConfigSnapshot snapshot) {
+        ProvenanceConfigSnapshot.RateLimitConfig rateLimit = snapshot.rateLimit();
+        if (!properties.isAdaptiveEnabled() || key == null || rateLimit == null || !rateLimit.respectServerRateHeader()) {
+            return;
+        }
+        long now = System.nanoTime();
+        State state = states.computeIfAbsent(key, ignored -> new State(now));
+        long pauseNanos = serverPauseNanos(statusCode, headers, snapshot.http());
+        synchronized (state) {
+            long until = now + pauseNanos;
+            if (pauseNanos > 0L && (!state.paused || until - state.pausedUntilNanos > 0L)) {
+                state.pausedUntilNanos = until;
+                state.paused = true;
+            }
+            if (statusCode == 429 || statusCode == 503) {
+                decrease(key, state, now, statusCode);
+            } else if (statusCode / 100 == 2) {
+                increase(state, now);
+            }
+        }
+    }
+
+    private void decrease(String key, State state, long now, int statusCode) {
+        if (state.lastDecreaseNanos != Long.MIN_VALUE
+                && now - state.lastDecreaseNanos < properties.getAdaptiveDecreaseCooldown().toNanos()) {
+            return;
+        }
+        double previous = state.factor;
+        state.factor = Math.max(properties.getMinRateFactor(), previous * properties.getAdaptiveDecreaseRatio());
+        state.lastDecreaseNanos = now;
+        state.lastIncreaseNanos = now;
+        log.info("Adaptive throttle decreased, key={}, status={}, factor={} -> {}",
+                key, statusCode, String.format("%.3f", previous), String.format("%.3f", state.factor));
+    }
+
+    private void increase(State state, long now) {
+        if (state.factor >= properties.getMaxRateFactor()
+                || now - state.lastIncreaseNanos < properties.getAdaptiveIncreaseInterval().toNanos()) {
+            return;
+        }
+        state.factor = Math.min(properties.getMaxRateFactor(), state.factor + properties.getAdaptiveIncreaseStep());
+        state.lastIncreaseNanos = now;
+    }
+
+    /**
+     * 服务端要求的暂停时长：Retry-After 优先，其次 X-RateLimit-Remaining=0 时的 Reset。
+     */
+    long serverPauseNanos(int statusCode, HttpHeaders headers, ProvenanceConfigSnapshot.HttpConfig http) {
+        String policy = http == null || StrUtil.isBlank(http.retryAfterPolicyCode())
+                ? "RESPECT"
+                : http.retryAfterPolicyCode().trim().toUpperCase(Locale.ROOT);
+        Long capMillis = http == null || http.retryAfterCapMillis() == null || http.retryAfterCapMillis() <= 0
+                ? null
+                : http.retryAfterCapMillis().longValue();
+        if (!"IGNORE".equals(policy) && (statusCode == 429 || statusCode == 503)) {
+            Optional<Long> retryAfter = headers.firstValue("Retry-After")
+                    .flatMap(AdaptiveRateController::parseRetryAfterMillis);
+            if (retryAfter.isPresent()) {
+                return Duration.ofMillis(cap(retryAfter.get(), capMillis)).toNanos();
+            }
+        }
+        Optional<Long> remaining = headerLong(headers, "X-RateLimit-Remaining");
+        if (remaining.isPresent() && remaining.get() <= 0L) {
+            Optional<Long> reset = headerLong(headers, "X-RateLimit-Reset");
+            if (reset.isPresent()) {
+                long resetMillis = reset.get() > EPOCH_SECONDS_THRESHOLD
+                        ? Math.max(0L, reset.get() * 1000L - System.currentTimeMillis())
+                        : reset.get() * 1000L;
+                return Duration.ofMillis(cap(resetMillis, capMillis)).toNanos();
+            }
+        }
+        return 0L;
+    }
+
+    private static long cap(long millis, Long capMillis) {
+        return capMillis == null ? millis : Math.min(millis, capMillis);
+    }
+
+    /**
+     * 解析 Retry-After：秒数或 HTTP-date。
+     */
+    public static Optional<Long> parseRetryAfterMillis(String value) {
+        if (StrUtil.isBlank(value)) {
+            return Optional.empty();
+        }
+        String trimmed = value.trim();
+        if (trimmed.matches("\\d+")) {
+            return Optional.of(Long.parseLong(trimmed) * 1000L);
+        }
+        try {
+            Instant at = ZonedDateTime.parse(trimmed, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+            return Optional.of(Math.max(0L, Duration.between(Instant.now(), at).toMillis()));
+        } catch (RuntimeException ex) {
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<Long> headerLong(HttpHeaders headers, String name) {
+        return headers.firstValue(name)
+                .map(String::trim)
+                .filter(value -> value.matches("\\d+"))
+                .map(Long::parseLong);
+    }
+
+    /**
+     * 单个限流键的自适应状态。
+     */
+    private static final class State {
+        private volatile double factor = 1d;
+        private volatile long pausedUntilNanos;
+        /** 是否记录过暂停；未记录时 pausedUntilNanos 无意义 */
+        private volatile boolean paused;
+        private long lastIncreaseNanos;
+        private long lastDecreaseNanos;
+
+        private State(long nowNanos) {
+            this.lastIncreaseNanos = nowNanos;
+            this.lastDecreaseNanos = Long.MIN_VALUE;
+        }
+    }
+}
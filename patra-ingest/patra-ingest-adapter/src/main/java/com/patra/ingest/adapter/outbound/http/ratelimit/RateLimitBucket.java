@@ -0,0 +1,136 @@
+package com.patra.ingest.adapter.outbound.http.ratelimit;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单个粒度键的令牌桶（GCRA 形式）。
+ * <p>
+ * 以「理论到达时间」TAT 表示桶状态：每次领取将 TAT 向后推进一个发放间隔，
+ * 超出突发容量的部分即为需要等待的纳秒数。状态只有一个 {@link AtomicLong}，领取是一次 CAS，
+ * 补充按纳秒连续计算，无需定时器。限额可在运行时替换，已预约的等待不受影响。
+ * </p>
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+public final class RateLimitBucket {
+
+    /** 理论到达时间（纳秒，System.nanoTime 基准） */
+    private final AtomicLong theoreticalArrival;
+    /** 当前限额 */
+    private final AtomicReference<RateLimitSpec> spec;
+    /** 并发许可（可在线扩缩） */
+    private final ResizableSemaphore concurrency;
+
+    /** 领取次数 */
+    private final LongAdder acquisitions = new LongAdder();
+    /** 需要等待的领取次数 */
+    private final LongAdder throttled = new LongAdder();
+    /** 累计等待纳秒（含令牌与并发等待） */
+    private final LongAdder waitNanos = new LongAdder();
+    /** 单次最大等待纳秒 */
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0L);
+
+    RateLimitBucket(RateLimitSpec spec, long nowNanos) {
+        this.spec = new AtomicReference<>(spec);
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+        this.concurrency = new ResizableSemaphore(spec.concurrencyLimit());
+    }
+
+    /**
+     * 预约一个令牌，返回需等待的纳秒数（0 表示立即可用）。
+     */
+    long reserve(long nowNanos) {
+        while (true) {
+            RateLimitSpec current = spec.get();
+            if (!current.rateLimited()) {
+                return 0L;
+            }
+            long tat = theoreticalArrival.get();
+            long interval = current.intervalNanos();
+            long next = Math.max(tat, nowNanos) + interval;
+            if (theoreticalArrival.compareAndSet(tat, next)) {
+                long conformingAt = next - current.burst() * interval;
+                return Math.max(0L, conformingAt - nowNanos);
+            }
+        }
+    }
+
+    /**
+     * 当前限额与目标不同时在线替换；并发许可按差值扩缩。
+     *
+     * @return 是否发生替换
+     */
+    boolean reconfigure(RateLimitSpec target, long nowNanos) {
+        RateLimitSpec current = spec.get();
+        if (current.equals(target) || !spec.compareAndSet(current, target)) {
+            return false;
+        }
+        // 提速时截断旧速率下累积的预约，使新速率立即生效
+        if (target.rateLimited()) {
+            long ceiling = nowNanos + target.burst() * target.intervalNanos();
+            theoreticalArrival.accumulateAndGet(ceiling, Math::min);
+        }
+        concurrency.resize(current.concurrencyLimit(), target.concurrencyLimit());
+        return true;
+    }
+
+    void acquireConcurrency() throws InterruptedException {
+        concurrency.acquire();
+    }
+
+    void releaseConcurrency() {
+        concurrency.release();
+    }
+
+    void recordWait(long waitedNanos) {
+        acquisitions.increment();
+        if (waitedNanos > 0) {
+            throttled.increment();
+            waitNanos.add(waitedNanos);
+            maxWaitNanos.accumulate(waitedNanos);
+        }
+    }
+
+    RateLimitSpec spec() {
+        return spec.get();
+    }
+
+    /**
+     * 统计快照。
+     */
+    public RateLimitStats stats() {
+        long total = acquisitions.sum();
+        long waited = waitNanos.sum();
+        return new RateLimitStats(
+                spec.get(),
+                total,
+                throttled.sum(),
+                waited,
+                total == 0 ? 0L : waited / total,
+                maxWaitNanos.get(),
+                concurrency.availablePermits());
+    }
+
+    /**
+     * 支持在线扩缩的信号量。
+     */
+    private static final class ResizableSemaphore extends Semaphore {
+
+        ResizableSemaphore(int permits) {
+            super(permits, true);
+        }
+
+        void resize(int from, int to) {
+            if (to > from) {
+                release(to - from);
+            } else if (to < from) {
+                reducePermits(from - to);
+            }
+        }
+    }
+}
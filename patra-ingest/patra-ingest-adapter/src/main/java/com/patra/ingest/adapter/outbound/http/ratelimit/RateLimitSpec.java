@@ -0,0 +1,78 @@
+package com.patra.ingest.adapter.outbound.http.ratelimit;
+
+import com.patra.ingest.domain.model.snapshot.ProvenanceConfigSnapshot;
+
+/**
+ * 归一化后的限额：发放间隔、突发容量与并发上限。
+ *
+ * @param intervalNanos 令牌发放间隔纳秒（0 表示不限速）
+ * @param burst 突发容量（令牌数，至少 1）
+ * @param concurrencyLimit 并发上限
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+public record RateLimitSpec(long intervalNanos, long burst, int concurrencyLimit) {
+
+    /** 未配置并发上限时的取值（等同不限） */
+    public static final int UNBOUNDED_CONCURRENCY = Integer.MAX_VALUE / 2;
+    /** 不限速不限并发 */
+    public static final RateLimitSpec UNLIMITED = new RateLimitSpec(0L, 1L, UNBOUNDED_CONCURRENCY);
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    public RateLimitSpec {
+        intervalNanos = Math.max(0L, intervalNanos);
+        burst = Math.max(1L, burst);
+        concurrencyLimit = concurrencyLimit <= 0 ? UNBOUNDED_CONCURRENCY : concurrencyLimit;
+    }
+
+    /**
+     * 由限流配置推导限额。
+     * <ul>
+     *   <li>速率：rateTokensPerSecond；PER_KEY 粒度且配置了单凭证上限时取两者较小值。</li>
+     *   <li>突发：burstBucketCapacity；未配置时按平滑窗口折算（速率 × 窗口），仍未配置则为 1（完全平滑）。</li>
+     *   <li>速率因子：自适应节流的乘数（1 表示按配置速率）。</li>
+     * </ul>
+     *
+     * @param config 限流配置（可空）
+     * @param rateFactor 速率因子（非正数按 1 处理）
+     */
+    public static RateLimitSpec of(ProvenanceConfigSnapshot.RateLimitConfig config, double rateFactor) {
+        if (config == null) {
+            return UNLIMITED;
+        }
+        Integer rate = config.rateTokensPerSecond();
+        Integer perCredential = config.perCredentialQpsLimit();
+        if ("PER_KEY".equalsIgnoreCase(config.bucketGranularityScopeCode()) && perCredential != null && perCredential > 0) {
+            rate = rate == null || rate <= 0 ? perCredential : Math.min(rate, perCredential);
+        }
+        int concurrency = config.maxConcurrentRequests() == null ? 0 : config.maxConcurrentRequests();
+        if (rate == null || rate <= 0) {
+            return new RateLimitSpec(0L, 1L, concurrency);
+        }
+        double factor = rateFactor <= 0d ? 1d : rateFactor;
+        double effectiveRate = rate * factor;
+        long interval = Math.max(1L, Math.round(NANOS_PER_SECOND / effectiveRate));
+        long burst;
+        if (config.burstBucketCapacity() != null && config.burstBucketCapacity() > 0) {
+            burst = config.burstBucketCapacity();
+        } else if (config.smoothingWindowMillis() != null && config.smoothingWindowMillis() > 0) {
+            burst = (long) Math.ceil(effectiveRate * config.smoothingWindowMillis() / 1000d);
+        } else {
+            burst = 1L;
+        }
+        return new RateLimitSpec(interval, burst, concurrency);
+    }
+
+    public boolean rateLimited() {
+        return intervalNanos > 0L;
+    }
+
+    /**
+     * 折算后的每秒令牌数。
+     */
+    public double ratePerSecond() {
+        return rateLimited() ? (double) NANOS_PER_SECOND / intervalNanos : Double.POSITIVE_INFINITY;
+    }
+}
@@ -0,0 +1,21 @@
+package com.patra.ingest.adapter.outbound.http.ratelimit;
+
+/**
+ * 令牌桶统计快照。
+ *
+ * @param spec 当前限额
+ * @param acquisitions 领取次数
+ * @param throttled 需等待的领取次数
+ * @param totalWaitNanos 累计等待纳秒
+ * @param avgWaitNanos 平均等待纳秒（按全部领取计）
+ * @param maxWaitNanos 单次最大等待纳秒
+ * @param availableConcurrency 剩余并发许可
+ */
+public record RateLimitStats(RateLimitSpec spec,
+                             long acquisitions,
+                             long throttled,
+                             long totalWaitNanos,
+                             long avgWaitNanos,
+                             long maxWaitNanos,
+                             int availableConcurrency) {
+}
@@ -0,0 +1,95 @@
+package com.patra.ingest.adapter.outbound.http.retry;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 来源端点级断路器：连续失败达到阈值后断开，冷却期内拒绝请求；冷却结束进入半开，只放行一个探测请求，
+ * 探测成功即闭合，失败则重新断开，被中断或以其他异常结束时归还探测名额。阈值与冷却时长随每次调用传入，配置变更无需重建实例。
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+public final class CircuitBreaker {
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    /** 断开截止时间（纳秒时钟）；0 表示闭合 */
+    private volatile long openUntilNanos;
+    /** 半开状态下是否已有探测请求在途 */
+    private final AtomicBoolean probing = new AtomicBoolean();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder opened = new LongAdder();
+
+    /**
+     * 是否放行本次请求。
+     *
+     * @param threshold 断路阈值；不大于 0 时总是放行
+     * @return 放行时为 true
+     */
+    public boolean tryAcquire(int threshold, long nowNanos) {
+        if (threshold <= 0) {
+            return true;
+        }
+        long until = openUntilNanos;
+        if (until == 0L) {
+            return true;
+        }
+        if (nowNanos < until || !probing.compareAndSet(false, true)) {
+            rejected.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 调用以不反映端点状态的方式结束（中断、取消或非重试类异常）：归还半开探测名额，不改变失败计数与断开状态。
+     */
+    public void release() {
+        probing.set(false);
+    }
+
+    public void onSuccess() {
+        consecutiveFailures.set(0);
+        openUntilNanos = 0L;
+        probing.set(false);
+    }
+
+    /**
+     * 记录一次失败；达到阈值或半开探测失败时断开。
+     */
+    public void onFailure(int threshold, long cooldownMillis, long nowNanos) {
+        int failures = consecutiveFailures.incrementAndGet();
+        if (threshold <= 0) {
+            return;
+        }
+        if (probing.get() || failures >= threshold) {
+            openUntilNanos = nowNanos + Math.max(1L, cooldownMillis) * 1_000_000L;
+            probing.set(false);
+            opened.increment();
+        }
+    }
+
+    public Stats stats(long nowNanos) {
+        long until = openUntilNanos;
+        State state = until == 0L ? State.CLOSED : nowNanos < until ? State.OPEN : State.HALF_OPEN;
+        return new Stats(state, consecutiveFailures.get(), opened.sum(), rejected.sum());
+    }
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    /**
+     * 断路器统计。
+     *
+     * @param state               当前状态
+     * @param consecutiveFailures 连续失败次数
+     * @param opened              累计断开次数
+     * @param rejected            累计拒绝请求数
+     */
+    public record Stats(State state, int consecutiveFailures, long opened, long rejected) {
+    }
+}
@@ -0,0 +1,182 @@
+package com.patra.ingest.adapter.outbound.http.retry;
+
+import cn.hutool.core.util.StrUtil;
+import com.patra.common.enums.ProvenanceCode;
+import com.patra.ingest.adapter.outbound.http.config.HarvestRetryProperties;
+import com.patra.ingest.adapter.outbound.http.ratelimit.AdaptiveRateController;
+import com.patra.ingest.app.harvest.exception.HarvestFetchException;
+import com.patra.ingest.app.harvest.model.HarvestQuery;
+import com.patra.ingest.domain.model.enums.Endpoint;
+import com.patra.ingest.domain.model.snapshot.ProvenanceConfigSnapshot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.http.HttpHeaders;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 采集请求重试执行器：按来源 RetryConfig 重试可重试状态码与网络异常，并按 来源+端点 断路。
+ * <p>
+ * 重试配置编译为 {@link RetryPolicy} 后按配置缓存，状态码列表只解析一次。退避等待直接休眠调用线程：
+ * 采集调用均运行在虚拟线程上，休眠会卸载载体线程，不占用平台线程。等待时长不小于服务端 Retry-After
+ * （HttpConfig.retryAfterPolicyCode 为 IGNORE 时忽略，retryAfterCapMillis 封顶）。
+ * 断路器只统计可重试失败（服务端过载或网络异常）与成功调用；其他异常、中断与 Error 不计入，只归还半开探测名额。
+ * </p>
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HarvestRetryExecutor {
+
+    private final HarvestRetryProperties properties;
+
+    /** 重试配置 → 编译后的策略 */
+    private final ConcurrentMap<ProvenanceConfigSnapshot.RetryConfig, RetryPolicy> policies = new ConcurrentHashMap<>();
+    /** 未配置重试时的默认策略 */
+    private volatile RetryPolicy defaultPolicy;
+    /** 来源+端点 → 断路器 */
+    private final ConcurrentMap<BreakerKey, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+
+    /**
+     * 执行一次采集调用，按策略重试。
+     *
+     * @param query 已编译查询（提供来源、端点与重试配置）
+     * @param call  单次尝试；响应状态可重试时应抛出 {@link RetryableStatusException}
+     * @return 调用结果
+     */
+    public <T> T execute(HarvestQuery query, Attempt<T> call) throws IOException, InterruptedException {
+        RetryPolicy policy = properties.isEnabled() ? policy(query.configSnapshot().retry()) : null;
+        if (policy == null) {
+            return call.attempt(null);
+        }
+        CircuitBreaker breaker = breakers.computeIfAbsent(
+                new BreakerKey(query.provenanceCode(), query.endpoint()), ignored -> new CircuitBreaker());
+        long previousDelay = 0L;
+        for (int retry = 0; ; retry++) {
+            if (!breaker.tryAcquire(policy.circuitBreakThreshold(), System.nanoTime())) {
+                throw new HarvestFetchException(HarvestFetchException.CIRCUIT_OPEN,
+                        "Circuit open, provenance=" + query.provenanceCode().getCode() + ", endpoint=" + query.endpoint());
+            }
+            long retryAfterMillis;
+            Exception failure;
+            boolean settled = false;
+            try {
+                T result = call.attempt(policy);
+                breaker.onSuccess();
+                settled = true;
+                return result;
+            } catch (RetryableStatusException ex) {
+                breaker.onFailure(policy.circuitBreakThreshold(), policy.circuitCooldownMillis(), System.nanoTime());
+                settled = true;
+                failure = ex;
+                retryAfterMillis = ex.getRetryAfterMillis();
+            } catch (IOException ex) {
+                breaker.onFailure(policy.circuitBreakThreshold(), policy.circuitCooldownMillis(), System.nanoTime());
+                settled = true;
+                if (!policy.retryOnNetworkError()) {
+                    throw ex;
+                }
+                failure = ex;
+                retryAfterMillis = 0L;
+            } finally {
+                if (!settled) {
+                    // 其他运行时异常、中断（取消在途请求）与 Error 不反映端点状态：只归还半开探测名额
+                    breaker.release();
+                }
+            }
+            if (!policy.hasRetry(retry + 1)) {
+                exhausted.increment();
+                if (failure instanceof RetryableStatusException status) {
+                    throw rejected(query, status.getStatusCode());
+                }
+                throw (IOException) failure;
+            }
+            long delay = Math.max(policy.delayMillis(retry + 1, previousDelay), retryAfterMillis);
+            previousDelay = delay;
+            retries.increment();
+            log.debug("Harvest request retry scheduled, provenance={}, endpoint={}, retry={}, delayMs={}, reason={}",
+                    query.provenanceCode().getCode(), query.endpoint(), retry + 1, delay, failure.getMessage());
+            TimeUnit.MILLISECONDS.sleep(delay);
+        }
+    }
+
+    /**
+     * 服务端要求的最短等待：Retry-After（按 HttpConfig 的 Retry-After 策略与上限处理）。
+     */
+    public static long retryAfterMillis(HttpHeaders headers, ProvenanceConfigSnapshot.HttpConfig http) {
+        if (http != null && StrUtil.isNotBlank(http.retryAfterPolicyCode())
+                && "IGNORE".equals(http.retryAfterPolicyCode().trim().toUpperCase(Locale.ROOT))) {
+            return 0L;
+        }
+        long millis = headers.firstValue("Retry-After")
+                .flatMap(AdaptiveRateController::parseRetryAfterMillis)
+                .orElse(0L);
+        if (http != null && http.retryAfterCapMillis() != null && http.retryAfterCapMillis() > 0) {
+            millis = Math.min(millis, http.retryAfterCapMillis());
+        }
+        return millis;
+    }
+
+    /**
+     * 断路器与重试统计快照（key 为 来源:端点）。
+     */
+    public Map<String, CircuitBreaker.Stats> snapshot() {
+        long now = System.nanoTime();
+        Map<String, CircuitBreaker.Stats> snapshot = new LinkedHashMap<>();
+        breakers.forEach((key, breaker) -> snapshot.put(key.provenanceCode().getCode() + ":" + key.endpoint(), breaker.stats(now)));
+        return snapshot;
+    }
+
+    public long retryCount() {
+        return retries.sum();
+    }
+
+    public long exhaustedCount() {
+        return exhausted.sum();
+    }
+
+    private RetryPolicy policy(ProvenanceConfigSnapshot.RetryConfig config) {
+        if (config == null) {
+            RetryPolicy policy = defaultPolicy;
+            if (policy == null) {
+                policy = RetryPolicy.compile(null, properties);
+                defaultPolicy = policy;
+            }
+            return policy;
+        }
+        return policies.computeIfAbsent(config, key -> RetryPolicy.compile(key, properties));
+    }
+
+    private static HarvestFetchException rejected(HarvestQuery query, int statusCode) {
+        return new HarvestFetchException(statusCode,
+                "Harvest request rejected, provenance=" + query.provenanceCode().getCode() + ", status=" + statusCode);
+    }
+
+    /**
+     * 单次尝试。
+     */
+    @FunctionalInterface
+    public interface Attempt<T> {
+
+        /**
+         * @param policy 生效的重试策略；重试关闭时为空
+         */
+        T attempt(RetryPolicy policy) throws IOException, InterruptedException;
+    }
+
+    private record BreakerKey(ProvenanceCode provenanceCode, Endpoint endpoint) {
+    }
+}
@@ -0,0 +1,246 @@
+package com.patra.ingest.adapter.outbound.http.retry;
+
+import cn.hutool.core.util.StrUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.patra.common.json.JsonMapperHolder;
+import com.patra.ingest.adapter.outbound.http.config.HarvestRetryProperties;
+import com.patra.ingest.domain.model.snapshot.ProvenanceConfigSnapshot;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 编译后的重试策略：由 RetryConfig 一次性解析（状态码列表转为位图），此后判定与退避计算不再分配对象。
+ * <ul>
+ *   <li>FIXED：每次等待 initialDelay。</li>
+ *   <li>EXP：initialDelay × multiplier^(n-1)。</li>
+ *   <li>EXP_JITTER：EXP 结果按 jitterFactorRatio 上下随机浮动。</li>
+ *   <li>DECOR_JITTER：在 [initialDelay, 上次等待 × 3] 内随机（去相关抖动）。</li>
+ * </ul>
+ * 各策略结果均以 maxDelay 封顶。状态码列表支持整数与 "5xx"、"500-504" 形式的范围描述；
+ * 放弃列表优先于可重试列表。
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+@Slf4j
+public final class RetryPolicy {
+
+    /** 状态码位图上限 */
+    private static final int MAX_STATUS = 600;
+
+    private final int maxRetries;
+    private final Backoff backoff;
+    private final long initialDelayMillis;
+    private final long maxDelayMillis;
+    private final double multiplier;
+    private final double jitterRatio;
+    private final BitSet retryStatuses;
+    private final BitSet giveupStatuses;
+    private final boolean retryOnNetworkError;
+    private final int circuitBreakThreshold;
+    private final long circuitCooldownMillis;
+
+    private RetryPolicy(int maxRetries,
+                        Backoff backoff,
+                        long initialDelayMillis,
+                        long maxDelayMillis,
+                        double multiplier,
+                        double jitterRatio,
+                        BitSet retryStatuses,
+                        BitSet giveupStatuses,
+                        boolean retryOnNetworkError,
+                        int circuitBreakThreshold,
+                        long circuitCooldownMillis) {
+        this.maxRetries = Math.max(0, maxRetries);
+        this.backoff = backoff;
+        this.initialDelayMillis = Math.max(0L, initialDelayMillis);
+        this.maxDelayMillis = Math.max(this.initialDelayMillis, maxDelayMillis);
+        this.multiplier = multiplier < 1d ? 1d : multiplier;
+        this.jitterRatio = Math.min(1d, Math.max(0d, jitterRatio));
+        this.retryStatuses = retryStatuses;
+        this.giveupStatuses = giveupStatuses;
+        this.retryOnNetworkError = retryOnNetworkError;
+        this.circuitBreakThreshold = Math.max(0, circuitBreakThreshold);
+        this.circuitCooldownMillis = Math.max(0L, circuitCooldownMillis);
+    }
+
+    /**
+     * 编译重试配置；配置为空或字段缺失时取默认值。
+     */
+    public static RetryPolicy compile(ProvenanceConfigSnapshot.RetryConfig config, HarvestRetryProperties defaults) {
+        if (config == null) {
+            return new RetryPolicy(
+                    defaults.getDefaultMaxRetries(),
+                    Backoff.fromCode(defaults.getDefaultBackoffPolicy()),
+                    defaults.getDefaultInitialDelay().toMillis(),
+                    defaults.getDefaultMaxDelay().toMillis(),
+                    defaults.getDefaultMultiplier(),
+                    defaults.getDefaultJitterRatio(),
+                    statuses(defaults.getDefaultRetryStatuses()),
+                    new BitSet(MAX_STATUS),
+                    true,
+                    defaults.getDefaultCircuitBreakThreshold(),
+                    defaults.getDefaultCircuitCooldown().toMillis());
+        }
+        BitSet retry = StrUtil.isBlank(config.retryHttpStatusJson())
+                ? statuses(defaults.getDefaultRetryStatuses())
+                : parseStatuses(config.retryHttpStatusJson());
+        return new RetryPolicy(
+                config.maxRetryTimes() == null ? defaults.getDefaultMaxRetries() : config.maxRetryTimes(),
+                StrUtil.isBlank(config.backoffPolicyTypeCode())
+                        ? Backoff.fromCode(defaults.getDefaultBackoffPolicy())
+                        : Backoff.fromCode(config.backoffPolicyTypeCode()),
+                config.initialDelayMillis() == null ? defaults.getDefaultInitialDelay().toMillis() : config.initialDelayMillis(),
+                config.maxDelayMillis() == null ? defaults.getDefaultMaxDelay().toMillis() : config.maxDelayMillis(),
+                config.expMultiplierValue() == null ? defaults.getDefaultMultiplier() : config.expMultiplierValue(),
+                config.jitterFactorRatio() == null ? defaults.getDefaultJitterRatio() : config.jitterFactorRatio(),
+                retry,
+                parseStatuses(config.giveupHttpStatusJson()),
+                config.retryOnNetworkError(),
+                config.circuitBreakThreshold() == null ? defaults.getDefaultCircuitBreakThreshold() : config.circuitBreakThreshold(),
+                config.circuitCooldownMillis() == null ? defaults.getDefaultCircuitCooldown().toMillis() : config.circuitCooldownMillis());
+    }
+
+    /**
+     * 第 retry 次重试（从 1 开始）前是否仍有额度。
+     */
+    public boolean hasRetry(int retry) {
+        return retry <= maxRetries;
+    }
+
+    /**
+     * 响应状态码是否可重试（放弃列表优先）。
+     */
+    public boolean retryable(int statusCode) {
+        if (statusCode < 0 || statusCode >= MAX_STATUS || giveupStatuses.get(statusCode)) {
+            return false;
+        }
+        return retryStatuses.get(statusCode);
+    }
+
+    public boolean retryOnNetworkError() {
+        return retryOnNetworkError;
+    }
+
+    /**
+     * 第 retry 次重试前的等待毫秒。
+     *
+     * @param retry         重试序号（从 1 开始）
+     * @param previousDelay 上次等待毫秒（首次重试传 0），DECOR_JITTER 使用
+     */
+    public long delayMillis(int retry, long previousDelay) {
+        long delay = switch (backoff) {
+            case FIXED -> initialDelayMillis;
+            case EXP -> exponential(retry);
+            case EXP_JITTER -> {
+                double spread = 1d + jitterRatio * (2d * ThreadLocalRandom.current().nextDouble() - 1d);
+                yield Math.round(exponential(retry) * spread);
+            }
+            case DECOR_JITTER -> {
+                long floor = Math.max(1L, initialDelayMillis);
+                long ceiling = Math.max(floor + 1L, Math.max(previousDelay, floor) * 3L);
+                yield ThreadLocalRandom.current().nextLong(floor, ceiling);
+            }
+        };
+        return Math.min(maxDelayMillis, Math.max(0L, delay));
+    }
+
+    /**
+     * 断路阈值（连续失败次数）；0 表示不断路。
+     */
+    public int circuitBreakThreshold() {
+        return circuitBreakThreshold;
+    }
+
+    public long circuitCooldownMillis() {
+        return circuitCooldownMillis;
+    }
+
+    private long exponential(int retry) {
+        double value = initialDelayMillis * Math.pow(multiplier, Math.max(0, retry - 1));
+        return value >= maxDelayMillis ? maxDelayMillis : (long) value;
+    }
+
+    private static BitSet statuses(Collection<Integer> codes) {
+        BitSet bits = new BitSet(MAX_STATUS);
+        if (codes != null) {
+            codes.stream().filter(code -> code != null && code >= 0 && code < MAX_STATUS).forEach(bits::set);
+        }
+        return bits;
+    }
+
+    /**
+     * 解析状态码 JSON 数组：元素为整数，或 "5xx"、"500-504" 形式的字符串。
+     */
+    static BitSet parseStatuses(String json) {
+        BitSet bits = new BitSet(MAX_STATUS);
+        if (StrUtil.isBlank(json)) {
+            return bits;
+        }
+        try {
+            JsonNode root = JsonMapperHolder.getObjectMapper().readTree(json);
+            if (root == null || !root.isArray()) {
+                log.warn("Ignore malformed retry status list: {}", json);
+                return bits;
+            }
+            for (JsonNode node : root) {
+                if (node.isInt()) {
+                    setRange(bits, node.asInt(), node.asInt());
+                } else if (node.isTextual()) {
+                    setText(bits, node.asText().trim().toLowerCase(Locale.ROOT));
+                }
+            }
+        } catch (Exception ex) {
+            log.warn("Ignore malformed retry status list: {}, reason={}", json, ex.getMessage());
+        }
+        return bits;
+    }
+
+    private static void setText(BitSet bits, String text) {
+        if (text.matches("[1-5]xx")) {
+            int base = (text.charAt(0) - '0') * 100;
+            setRange(bits, base, base + 99);
+        } else if (text.matches("\\d{3}\\s*-\\s*\\d{3}")) {
+            String[] bounds = text.split("-");
+            setRange(bits, Integer.parseInt(bounds[0].trim()), Integer.parseInt(bounds[1].trim()));
+        } else if (text.matches("\\d{3}")) {
+            setRange(bits, Integer.parseInt(text), Integer.parseInt(text));
+        }
+    }
+
+    private static void setRange(BitSet bits, int from, int to) {
+        int low = Math.max(0, Math.min(from, to));
+        int high = Math.min(MAX_STATUS - 1, Math.max(from, to));
+        if (low <= high) {
+            bits.set(low, high + 1);
+        }
+    }
+
+    /**
+     * 退避策略（backoff_policy_type）。
+     */
+    public enum Backoff {
+        FIXED,
+        EXP,
+        EXP_JITTER,
+        DECOR_JITTER;
+
+        /**
+         * 解析策略编码；无法识别时取 EXP_JITTER。
+         */
+        public static Backoff fromCode(String code) {
+            if (StrUtil.isBlank(code)) {
+                return EXP_JITTER;
+            }
+            try {
+                return valueOf(code.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                return EXP_JITTER;
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.patra.ingest.adapter.outbound.http.retry;
+
+/**
+ * 响应状态码命中可重试列表：仅在重试执行器内部传递，不收集堆栈。
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+public final class RetryableStatusException extends RuntimeException {
+
+    private final int statusCode;
+    /** 服务端要求的最短等待毫秒（Retry-After）；未给出时为 0 */
+    private final long retryAfterMillis;
+
+    public RetryableStatusException(int statusCode, long retryAfterMillis) {
+        super("Retryable status " + statusCode, null, false, false);
+        this.statusCode = statusCode;
+        this.retryAfterMillis = Math.max(0L, retryAfterMillis);
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
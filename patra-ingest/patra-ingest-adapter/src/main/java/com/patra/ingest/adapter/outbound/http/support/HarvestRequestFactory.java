@@ -0,0 +1,166 @@
+package com.patra.ingest.adapter.outbound.http.support;
+
+import cn.hutool.core.util.StrUtil;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.patra.common.json.JsonMapperHolder;
+import com.patra.common.util.HashUtils;
+import com.patra.ingest.adapter.outbound.http.client.HarvestHttpClient;
+import com.patra.ingest.app.harvest.model.HarvestQuery;
+import com.patra.ingest.domain.model.snapshot.ProvenanceConfigSnapshot;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 采集请求构造器：基于来源配置快照与已编译查询拼装 HTTP 请求。
+ *
+ * <p>合并顺序：端点默认查询参数 → 编译器渲染参数 → 调用方覆盖参数（分页、游标等）。
+ * 查询串优先替换路径或默认参数中的 {@code {query}} 占位符，否则放入 {@code query} 参数。</p>
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+public final class HarvestRequestFactory {
+
+    /** 查询串占位符 */
+    public static final String QUERY_PLACEHOLDER = "{query}";
+    /** 未配置占位符时的默认查询参数名 */
+    public static final String DEFAULT_QUERY_PARAM = "query";
+    /** 未配置总超时的默认请求超时 */
+    private static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private HarvestRequestFactory() {
+    }
+
+    /**
+     * 构造请求。
+     *
+     * @param query     已编译查询
+     * @param overrides 覆盖参数（可空）
+     * @return HTTP 请求
+     */
+    public static HttpRequest build(HarvestQuery query, Map<String, String> overrides) {
+        ProvenanceConfigSnapshot snapshot = query.configSnapshot();
+        ProvenanceConfigSnapshot.EndpointDefinition endpoint = snapshot.endpoint();
+        String path = endpoint == null ? null : endpoint.pathTemplate();
+
+        Map<String, String> params = new LinkedHashMap<>(readStringMap(endpoint == null ? null : endpoint.defaultQueryParamsJson()));
+        params.putAll(query.params());
+        boolean placed = false;
+        if (path != null && path.contains(QUERY_PLACEHOLDER)) {
+            path = path.replace(QUERY_PLACEHOLDER, encode(query.query()));
+            placed = true;
+        }
+        for (Map.Entry<String, String> entry : params.entrySet()) {
+            if (entry.getValue() != null && entry.getValue().contains(QUERY_PLACEHOLDER)) {
+                entry.setValue(entry.getValue().replace(QUERY_PLACEHOLDER, query.query()));
+                placed = true;
+            }
+        }
+        if (!placed && StrUtil.isNotBlank(query.query())) {
+            params.putIfAbsent(DEFAULT_QUERY_PARAM, query.query());
+        }
+        if (overrides != null) {
+            overrides.forEach((key, value) -> {
+                if (StrUtil.isNotBlank(key) && value != null) {
+                    params.put(key, value);
+                }
+            });
+        }
+
+        String method = endpoint == null || StrUtil.isBlank(endpoint.httpMethodCode())
+                ? "GET" : endpoint.httpMethodCode().toUpperCase(Locale.ROOT);
+        String encoded = encodeParams(params);
+        String baseUrl = joinUrl(resolveBaseUrl(snapshot), path);
+
+        HttpRequest.Builder builder;
+        if ("POST".equals(method)) {
+            builder = HttpRequest.newBuilder(URI.create(baseUrl))
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString(encoded, StandardCharsets.UTF_8));
+            if (snapshot.http() != null && StrUtil.isNotBlank(snapshot.http().idempotencyHeaderName())) {
+                // 同一请求内容生成同一幂等键，重试时服务端可据此去重
+                builder.header(snapshot.http().idempotencyHeaderName(),
+                        HashUtils.sha256Hex(method + " " + baseUrl + "\n" + encoded));
+            }
+        } else {
+            builder = HttpRequest.newBuilder(URI.create(encoded.isEmpty() ? baseUrl : baseUrl + (baseUrl.contains("?") ? "&" : "?") + encoded))
+                    .GET();
+        }
+        builder.timeout(resolveTimeout(snapshot.http()));
+        readStringMap(snapshot.http() == null ? null : snapshot.http().defaultHeadersJson()).forEach(builder::header);
+        if (snapshot.http() != null && snapshot.http().acceptCompressEnabled()) {
+            builder.header("Accept-Encoding", HarvestHttpClient.ACCEPT_ENCODING);
+        }
+        return builder.build();
+    }
+
+    /**
+     * 解析基础 URL：HTTP 配置覆盖优先，其次来源默认值。
+     */
+    public static String resolveBaseUrl(ProvenanceConfigSnapshot snapshot) {
+        if (snapshot.http() != null && StrUtil.isNotBlank(snapshot.http().baseUrlOverride())) {
+            return snapshot.http().baseUrlOverride();
+        }
+        if (snapshot.provenance() != null && StrUtil.isNotBlank(snapshot.provenance().baseUrlDefault())) {
+            return snapshot.provenance().baseUrlDefault();
+        }
+        throw new IllegalStateException("Base url is not configured for provenance "
+                + (snapshot.provenance() == null ? null : snapshot.provenance().code()));
+    }
+
+    private static String joinUrl(String baseUrl, String path) {
+        if (StrUtil.isBlank(path)) {
+            return baseUrl;
+        }
+        if (path.startsWith("http://") || path.startsWith("https://")) {
+            return path;
+        }
+        return StrUtil.removeSuffix(baseUrl, "/") + "/" + StrUtil.removePrefix(path, "/");
+    }
+
+    private static Duration resolveTimeout(ProvenanceConfigSnapshot.HttpConfig http) {
+        if (http == null) {
+            return DEFAULT_REQUEST_TIMEOUT;
+        }
+        Integer millis = http.timeoutTotalMillis() != null ? http.timeoutTotalMillis() : http.timeoutReadMillis();
+        return millis == null || millis <= 0 ? DEFAULT_REQUEST_TIMEOUT : Duration.ofMillis(millis);
+    }
+
+    private static String encodeParams(Map<String, String> params) {
+        return params.entrySet().stream()
+                .filter(entry -> entry.getValue() != null)
+                .map(entry -> encode(entry.getKey()) + "=" + encode(entry.getValue()))
+                .collect(Collectors.joining("&"));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static Map<String, String> readStringMap(String json) {
+        if (StrUtil.isBlank(json)) {
+            return Map.of();
+        }
+        try {
+            Map<String, Object> raw = JsonMapperHolder.getObjectMapper().readValue(json, new TypeReference<>() {
+            });
+            Map<String, String> result = new LinkedHashMap<>();
+            raw.forEach((key, value) -> {
+                if (value != null) {
+                    result.put(key, String.valueOf(value));
+                }
+            });
+            return result;
+        } catch (Exception ex) {
+            throw new IllegalStateException("Invalid JSON object in provenance config: " + json, ex);
+        }
+    }
+}
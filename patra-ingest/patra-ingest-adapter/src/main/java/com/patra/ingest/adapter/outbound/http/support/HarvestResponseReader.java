@@ -0,0 +1,209 @@
+package com.patra.ingest.adapter.outbound.http.support;
+
+import cn.hutool.core.util.StrUtil;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.patra.common.json.JsonMapperHolder;
+import com.patra.ingest.domain.model.snapshot.ProvenanceConfigSnapshot;
+import org.w3c.dom.Document;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.xpath.XPathFactory;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 采集响应读取工具：按分页配置的 JSONPath / XPath 提取总数、下一页令牌与是否还有下一页，并统计记录。
+ *
+ * <p>{@link #readPage} 按 Content-Type（缺失时嗅探首字符）选择 JSON 或 XML，路径均在流式子集内时
+ * 由 {@link StreamingPathExtractor} 单遍扫描；否则读入完整响应体整体求值（记录数未知）。</p>
+ *
+ * <p>整体求值时 JSONPath 仅支持点号与下标构成的简单路径（如 {@code $.esearchresult.count}、{@code $.items[0].id}），
+ * 内部转换为 {@link JsonPointer} 求值。</p>
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+public final class HarvestResponseReader {
+
+    /** 字段名：命中总数 */
+    public static final String TOTAL_COUNT = "totalCount";
+    /** 字段名：下一页令牌 */
+    public static final String NEXT_TOKEN = "nextToken";
+    /** 字段名：是否还有下一页 */
+    public static final String HAS_MORE = "hasMore";
+    /** 嗅探格式时预读的字节数 */
+    private static final int SNIFF_LIMIT = 64;
+
+    /** 路径段：字段名 + 可选下标 */
+    private static final Pattern SEGMENT = Pattern.compile("([^.\\[\\]]+)|\\[(\\d+)]|\\['([^']+)']");
+
+    private HarvestResponseReader() {
+    }
+
+    /**
+     * 读取单页响应。
+     *
+     * @param body        解压后的响应体（调用方负责关闭）
+     * @param contentType 响应 Content-Type（可空）
+     * @param pagination  分页配置（可空）
+     * @param totalOnly   是否只提取命中总数（计数探测）
+     * @param recordPath  记录路径（可空；与响应格式不符时忽略）
+     * @param streaming   是否允许流式提取
+     * @param onRecord    记录事件回调（可空）
+     */
+    public static StreamingPathExtractor.Result readPage(InputStream body,
+                                                        String contentType,
+                                                        ProvenanceConfigSnapshot.PaginationConfig pagination,
+                                                        boolean totalOnly,
+                                                        String recordPath,
+                                                        boolean streaming,
+                                                        Consumer<String> onRecord) throws IOException {
+        BufferedInputStream in = new BufferedInputStream(body);
+        boolean xml = isXml(in, contentType);
+        Map<String, String> paths = new LinkedHashMap<>();
+        if (pagination != null) {
+            putIfNotBlank(paths, TOTAL_COUNT, xml ? pagination.totalCountXpath() : pagination.totalCountJsonpath());
+            if (!totalOnly) {
+                putIfNotBlank(paths, NEXT_TOKEN, xml ? pagination.nextCursorXpath() : pagination.nextCursorJsonpath());
+                putIfNotBlank(paths, HAS_MORE, xml ? pagination.hasMoreXpath() : pagination.hasMoreJsonpath());
+            }
+        }
+        String records = totalOnly || StrUtil.isBlank(recordPath) || recordPath.trim().startsWith("$") == xml
+                ? null : recordPath.trim();
+        if (paths.isEmpty() && records == null) {
+            return new StreamingPathExtractor.Result(Map.of(), null);
+        }
+        if (streaming && streamable(paths, records, xml)) {
+            return xml
+                    ? StreamingPathExtractor.extractXml(in, paths, records, onRecord)
+                    : StreamingPathExtractor.extractJson(in, paths, records, onRecord);
+        }
+        byte[] bytes = in.readAllBytes();
+        Map<String, String> values = new LinkedHashMap<>();
+        paths.forEach((name, path) -> (xml ? extract(bytes, null, path) : extract(bytes, path, null))
+                .ifPresent(value -> values.put(name, value)));
+        return new StreamingPathExtractor.Result(values, null);
+    }
+
+    /**
+     * 按 JSONPath 优先、XPath 次之提取文本值。
+     *
+     * @param body      响应体
+     * @param jsonPath  JSONPath（可空）
+     * @param xpath     XPath（可空）
+     * @return 文本值；路径缺失或未命中时为空
+     */
+    public static Optional<String> extract(byte[] body, String jsonPath, String xpath) {
+        if (StrUtil.isNotBlank(jsonPath)) {
+            return extractJson(body, jsonPath);
+        }
+        if (StrUtil.isNotBlank(xpath)) {
+            return extractXml(body, xpath);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * 将简单 JSONPath 转换为 JsonPointer。
+     */
+    public static JsonPointer toPointer(String jsonPath) {
+        String path = jsonPath.trim();
+        if (path.startsWith("$")) {
+            path = path.substring(1);
+        }
+        StringBuilder pointer = new StringBuilder();
+        Matcher matcher = SEGMENT.matcher(path);
+        while (matcher.find()) {
+            String segment = matcher.group(1) != null ? matcher.group(1)
+                    : matcher.group(2) != null ? matcher.group(2) : matcher.group(3);
+            pointer.append('/').append(segment.replace("~", "~0").replace("/", "~1"));
+        }
+        return JsonPointer.compile(pointer.toString());
+    }
+
+    private static boolean streamable(Map<String, String> paths, String recordPath, boolean xml) {
+        if (recordPath != null && !(xml ? StreamingPathExtractor.supportsXPath(recordPath)
+                : StreamingPathExtractor.supportsJsonPath(recordPath))) {
+            return false;
+        }
+        return paths.values().stream().allMatch(path -> xml
+                ? StreamingPathExtractor.supportsXPath(path)
+                : StreamingPathExtractor.supportsJsonPath(path));
+    }
+
+    /**
+     * 判断响应是否为 XML：优先 Content-Type，其次首个非空白字符。
+     */
+    private static boolean isXml(BufferedInputStream in, String contentType) throws IOException {
+        if (StrUtil.isNotBlank(contentType)) {
+            String type = contentType.toLowerCase(Locale.ROOT);
+            if (type.contains("json")) {
+                return false;
+            }
+            if (type.contains("xml")) {
+                return true;
+            }
+        }
+        in.mark(SNIFF_LIMIT);
+        try {
+            for (int i = 0; i < SNIFF_LIMIT; i++) {
+                int b = in.read();
+                if (b < 0) {
+                    return false;
+                }
+                if (!Character.isWhitespace(b) && b != 0xEF && b != 0xBB && b != 0xBF) {
+                    return b == '<';
+                }
+            }
+            return false;
+        } finally {
+            in.reset();
+        }
+    }
+
+    private static void putIfNotBlank(Map<String, String> paths, String name, String path) {
+        if (StrUtil.isNotBlank(path)) {
+            paths.put(name, path);
+        }
+    }
+
+    private static Optional<String> extractJson(byte[] body, String jsonPath) {
+        try {
+            JsonNode node = JsonMapperHolder.getObjectMapper().readTree(body).at(toPointer(jsonPath));
+            if (node.isMissingNode() || node.isNull()) {
+                return Optional.empty();
+            }
+            return Optional.of(node.isValueNode() ? node.asText() : node.toString());
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to parse JSON response", ex);
+        }
+    }
+
+    private static Optional<String> extractXml(byte[] body, String xpath) {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+            factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
+            factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+            factory.setExpandEntityReferences(false);
+            Document document = factory.newDocumentBuilder().parse(new ByteArrayInputStream(body));
+            String value = XPathFactory.newInstance().newXPath().evaluate(xpath, document);
+            return StrUtil.isBlank(value) ? Optional.empty() : Optional.of(value.trim());
+        } catch (Exception ex) {
+            throw new IllegalStateException("Failed to evaluate XPath " + xpath, ex);
+        }
+    }
+}
@@ -0,0 +1,468 @@
+package com.patra.ingest.adapter.outbound.http.support;
+
+import cn.hutool.core.util.StrUtil;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.patra.common.json.JsonMapperHolder;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 流式路径提取器：基于 Jackson {@link JsonParser} 与 StAX 单遍扫描响应体，同时求值多个 JSONPath / XPath 并逐条发出记录事件。
+ * <p>
+ * 内存占用与响应体大小无关：不相关的子树直接跳过，命中值与记录值各自截断到 {@link #MAX_VALUE_CHARS}；
+ * 无记录路径时，全部字段命中即停止读取。支持的路径子集：
+ * <ul>
+ *   <li>JSONPath：{@code $.a.b}、{@code $.a[0]}、{@code $['a']}、通配 {@code [*]} / {@code .*}，不支持递归下降与过滤表达式；</li>
+ *   <li>XPath：{@code /a/b}、前导 {@code //b}、通配 {@code *}、末段 {@code @attr} 或 {@code text()}、外层 {@code count(...)}，
+ *       按本地名匹配，不支持谓词与中段 {@code //}。</li>
+ * </ul>
+ * 超出子集的路径由调用方退回整体解析（{@link HarvestResponseReader#extract}）。
+ * </p>
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+public final class StreamingPathExtractor {
+
+    /** 单个命中值/记录值的字符上限 */
+    public static final int MAX_VALUE_CHARS = 64 * 1024;
+
+    /** JSONPath 段：字段名、下标、引号字段名、通配 */
+    private static final Pattern JSON_SEGMENT =
+            Pattern.compile("\\.?(?:([^.\\[\\]*']+)|\\[(\\d+)]|\\['([^']+)']|(\\*)|\\[(\\*)])");
+    /** XPath 步：可带前缀的名称或通配 */
+    private static final Pattern XML_STEP = Pattern.compile("(?:[\\w.-]+:)?([\\w.-]+|\\*)");
+    /** count(...) 包装 */
+    private static final Pattern XML_COUNT = Pattern.compile("^count\\((.+)\\)$");
+    /** 通配段 */
+    private static final Object ANY = new Object();
+
+    private StreamingPathExtractor() {
+    }
+
+    /**
+     * 提取结果。
+     *
+     * @param values      命中的字段值（字段名 → 文本）
+     * @param recordCount 记录事件数；未指定记录路径时为空
+     */
+    public record Result(Map<String, String> values, Long recordCount) {
+
+        public Optional<String> value(String name) {
+            return Optional.ofNullable(values.get(name));
+        }
+    }
+
+    /**
+     * 是否为流式支持的 JSONPath。
+     */
+    public static boolean supportsJsonPath(String path) {
+        return compileJson(path).isPresent();
+    }
+
+    /**
+     * 是否为流式支持的 XPath。
+     */
+    public static boolean supportsXPath(String path) {
+        return compileXml("-", path).isPresent();
+    }
+
+    /**
+     * 单遍扫描 JSON 响应。
+     *
+     * @param body       响应体（调用方负责关闭）
+     * @param paths      字段名 → JSONPath
+     * @param recordPath 记录路径（可空）；每个命中元素触发一次记录事件
+     * @param onRecord   记录事件回调（记录值：标量文本或紧凑 JSON）
+     */
+    public static Result extractJson(InputStream body,
+                                     Map<String, String> paths,
+                                     String recordPath,
+                                     Consumer<String> onRecord) throws IOException {
+        Map<String, List<Object>> pending = new LinkedHashMap<>();
+        paths.forEach((name, path) -> pending.put(name, compileJson(path)
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported streaming JSONPath: " + path))));
+        List<Object> record = StrUtil.isBlank(recordPath) ? null : compileJson(recordPath)
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported streaming JSONPath: " + recordPath));
+
+        Map<String, String> values = new LinkedHashMap<>();
+        long records = 0L;
+        try (JsonParser parser = JsonMapperHolder.getObjectMapper().createParser(body)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token == JsonToken.FIELD_NAME || token == JsonToken.END_OBJECT || token == JsonToken.END_ARRAY) {
+                    continue;
+                }
+                List<Object> path = currentPath(parser, token);
+                List<String> hits = new ArrayList<>(1);
+                pending.forEach((name, target) -> {
+                    if (matchesJson(target, path, false)) {
+                        hits.add(name);
+                    }
+                });
+                boolean recordHit = record != null && matchesJson(record, path, false);
+                if (hits.isEmpty() && !recordHit) {
+                    if (token.isStructStart() && !isPrefix(pending.values(), record, path)) {
+                        parser.skipChildren();
+                    }
+                    continue;
+                }
+                String value = token.isStructStart() ? readStruct(parser) : readScalar(parser, token);
+                for (String name : hits) {
+                    pending.remove(name);
+                    if (value != null) {
+                        values.put(name, value);
+                    }
+                }
+                if (recordHit) {
+                    records++;
+                    if (value != null && onRecord != null) {
+                        onRecord.accept(value);
+                    }
+                }
+                if (pending.isEmpty() && record == null) {
+                    break;
+                }
+            }
+        }
+        return new Result(values, record == null ? null : records);
+    }
+
+    /**
+     * 单遍扫描 XML 响应（禁用 DTD 与外部实体）。
+     *
+     * @param body       响应体（调用方负责关闭）
+     * @param paths      字段名 → XPath
+     * @param recordPath 记录路径（可空）；每个命中节点触发一次记录事件
+     * @param onRecord   记录事件回调（记录值：节点文本）
+     */
+    public static Result extractXml(InputStream body,
+                                    Map<String, String> paths,
+                                    String recordPath,
+                                    Consumer<String> onRecord) throws IOException {
+        List<XmlTarget> pending = new ArrayList<>();
+        List<XmlTarget> counters = new ArrayList<>();
+        paths.forEach((name, path) -> {
+            XmlTarget target = compileXml(name, path)
+                    .orElseThrow(() -> new IllegalArgumentException("Unsupported streaming XPath: " + path));
+            (target.count() ? counters : pending).add(target);
+        });
+        XmlTarget record = StrUtil.isBlank(recordPath) ? null : compileXml(null, recordPath)
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported streaming XPath: " + recordPath));
+
+        Map<String, String> values = new LinkedHashMap<>();
+        long[] counts = new long[counters.size()];
+        long records = 0L;
+        List<String> stack = new ArrayList<>();
+        Deque<Capture> captures = new ArrayDeque<>();
+        XMLStreamReader reader = null;
+        try {
+            reader = xmlInputFactory().createXMLStreamReader(body);
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    stack.add(reader.getLocalName());
+                    for (int i = 0; i < counters.size(); i++) {
+                        if (counters.get(i).attribute() == null
+                                ? counters.get(i).matches(stack)
+                                : counters.get(i).matches(stack) && attribute(reader, counters.get(i).attribute()) != null) {
+                            counts[i]++;
+                        }
+                    }
+                    for (Iterator<XmlTarget> it = pending.iterator(); it.hasNext(); ) {
+                        XmlTarget target = it.next();
+                        if (!target.matches(stack)) {
+                            continue;
+                        }
+                        if (target.attribute() != null) {
+                            String value = attribute(reader, target.attribute());
+                            if (value == null) {
+                                continue;
+                            }
+                            putIfPresent(values, target.name(), value);
+                        } else {
+                            captures.add(new Capture(target.name(), stack.size(), false));
+                        }
+                        it.remove();
+                    }
+                    if (record != null && record.matches(stack)) {
+                        if (record.attribute() == null) {
+                            captures.add(new Capture(null, stack.size(), true));
+                        } else {
+                            String value = attribute(reader, record.attribute());
+                            if (value != null) {
+                                records++;
+                                emit(onRecord, value);
+                            }
+                        }
+                    }
+                } else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA
+                        || event == XMLStreamConstants.SPACE) {
+                    if (!captures.isEmpty()) {
+                        String text = reader.getText();
+                        captures.forEach(capture -> capture.append(text));
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    int depth = stack.size();
+                    for (Iterator<Capture> it = captures.iterator(); it.hasNext(); ) {
+                        Capture capture = it.next();
+                        if (capture.depth != depth) {
+                            continue;
+                        }
+                        it.remove();
+                        if (capture.record) {
+                            records++;
+                            emit(onRecord, capture.text());
+                        } else {
+                            putIfPresent(values, capture.name, capture.text());
+                        }
+                    }
+                    stack.remove(stack.size() - 1);
+                    if (pending.isEmpty() && counters.isEmpty() && record == null && captures.isEmpty()) {
+                        break;
+                    }
+                }
+            }
+        } catch (XMLStreamException ex) {
+            throw new IOException("Failed to parse XML response: " + ex.getMessage(), ex);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException ignored) {
+                    // 底层流由调用方关闭
+                }
+            }
+        }
+        for (int i = 0; i < counters.size(); i++) {
+            values.put(counters.get(i).name(), String.valueOf(counts[i]));
+        }
+        return new Result(values, record == null ? null : records);
+    }
+
+    private static Optional<List<Object>> compileJson(String path) {
+        if (StrUtil.isBlank(path)) {
+            return Optional.empty();
+        }
+        String text = path.trim();
+        if (!text.startsWith("$")) {
+            return Optional.empty();
+        }
+        text = text.substring(1);
+        List<Object> segments = new ArrayList<>();
+        Matcher matcher = JSON_SEGMENT.matcher(text);
+        int position = 0;
+        while (position < text.length()) {
+            matcher.region(position, text.length());
+            if (!matcher.lookingAt()) {
+                return Optional.empty();
+            }
+            if (matcher.group(1) != null) {
+                segments.add(matcher.group(1));
+            } else if (matcher.group(2) != null) {
+                segments.add(Integer.valueOf(matcher.group(2)));
+            } else if (matcher.group(3) != null) {
+                segments.add(matcher.group(3));
+            } else {
+                segments.add(ANY);
+            }
+            position = matcher.end();
+        }
+        return Optional.of(segments);
+    }
+
+    private static Optional<XmlTarget> compileXml(String name, String path) {
+        if (StrUtil.isBlank(path)) {
+            return Optional.empty();
+        }
+        String text = path.trim();
+        boolean count = false;
+        Matcher countMatcher = XML_COUNT.matcher(text);
+        if (countMatcher.matches()) {
+            count = true;
+            text = countMatcher.group(1).trim();
+        }
+        boolean descendant = text.startsWith("//");
+        if (!text.startsWith("/")) {
+            return Optional.empty();
+        }
+        String[] parts = text.substring(descendant ? 2 : 1).split("/", -1);
+        List<String> steps = new ArrayList<>(parts.length);
+        String attribute = null;
+        for (int i = 0; i < parts.length; i++) {
+            String part = parts[i];
+            boolean last = i == parts.length - 1;
+            if (last && part.startsWith("@") && i > 0) {
+                Matcher attr = XML_STEP.matcher(part.substring(1));
+                if (!attr.matches() || "*".equals(attr.group(1))) {
+                    return Optional.empty();
+                }
+                attribute = attr.group(1);
+                continue;
+            }
+            if (last && "text()".equals(part) && i > 0 && !count) {
+                continue;
+            }
+            Matcher step = XML_STEP.matcher(part);
+            if (!step.matches()) {
+                return Optional.empty();
+            }
+            steps.add(step.group(1));
+        }
+        return steps.isEmpty() ? Optional.empty() : Optional.of(new XmlTarget(name, descendant, steps, attribute, count));
+    }
+
+    /**
+     * 当前值的路径（对象字段名或数组下标）。
+     */
+    private static List<Object> currentPath(JsonParser parser, JsonToken token) {
+        JsonStreamContext context = parser.getParsingContext();
+        if (token.isStructStart()) {
+            context = context.getParent();
+        }
+        Deque<Object> keys = new ArrayDeque<>();
+        for (JsonStreamContext c = context; c != null && !c.inRoot(); c = c.getParent()) {
+            keys.addFirst(c.inObject() ? c.getCurrentName() : Integer.valueOf(c.getCurrentIndex()));
+        }
+        return new ArrayList<>(keys);
+    }
+
+    private static boolean matchesJson(List<Object> target, List<Object> path, boolean prefix) {
+        if (prefix ? path.size() > target.size() : path.size() != target.size()) {
+            return false;
+        }
+        for (int i = 0; i < path.size(); i++) {
+            Object segment = target.get(i);
+            if (segment != ANY && !segment.equals(path.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 当前容器是否可能包含待求值路径；否则整棵子树跳过。
+     */
+    private static boolean isPrefix(Iterable<List<Object>> targets, List<Object> record, List<Object> path) {
+        if (record != null && matchesJson(record, path, true)) {
+            return true;
+        }
+        for (List<Object> target : targets) {
+            if (matchesJson(target, path, true)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String readScalar(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        return truncate(parser.getText());
+    }
+
+    private static String readStruct(JsonParser parser) throws IOException {
+        JsonNode node = parser.readValueAsTree();
+        return node == null ? null : truncate(node.toString());
+    }
+
+    private static String attribute(XMLStreamReader reader, String localName) {
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            if (localName.equals(reader.getAttributeLocalName(i))) {
+                return reader.getAttributeValue(i);
+            }
+        }
+        return null;
+    }
+
+    private static void putIfPresent(Map<String, String> values, String name, String value) {
+        if (StrUtil.isNotBlank(value)) {
+            values.put(name, value.trim());
+        }
+    }
+
+    private static void emit(Consumer<String> onRecord, String value) {
+        if (onRecord != null && StrUtil.isNotBlank(value)) {
+            onRecord.accept(value.trim());
+        }
+    }
+
+    private static String truncate(String value) {
+        return value != null && value.length() > MAX_VALUE_CHARS ? value.substring(0, MAX_VALUE_CHARS) : value;
+    }
+
+    private static XMLInputFactory xmlInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+        return factory;
+    }
+
+    /**
+     * XPath 目标：步序列按本地名匹配，descendant 时匹配元素栈后缀。
+     */
+    private record XmlTarget(String name, boolean descendant, List<String> steps, String attribute, boolean count) {
+
+        boolean matches(List<String> stack) {
+            if (descendant ? stack.size() < steps.size() : stack.size() != steps.size()) {
+                return false;
+            }
+            int offset = stack.size() - steps.size();
+            for (int i = 0; i < steps.size(); i++) {
+                String step = steps.get(i);
+                if (!"*".equals(step) && !step.equals(stack.get(offset + i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 进行中的文本捕获（元素字符串值，超出上限的部分丢弃）。
+     */
+    private static final class Capture {
+        private final String name;
+        private final int depth;
+        private final boolean record;
+        private final StringBuilder text = new StringBuilder();
+
+        private Capture(String name, int depth, boolean record) {
+            this.name = name;
+            this.depth = depth;
+            this.record = record;
+        }
+
+        private void append(String chunk) {
+            int room = MAX_VALUE_CHARS - text.length();
+            if (room > 0) {
+                text.append(chunk, 0, Math.min(room, chunk.length()));
+            }
+        }
+
+        private String text() {
+            return text.toString();
+        }
+    }
+}
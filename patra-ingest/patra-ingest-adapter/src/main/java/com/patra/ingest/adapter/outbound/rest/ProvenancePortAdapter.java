@@ -2,6 +2,7 @@ package com.patra.ingest.adapter.outbound.rest;
 
 import com.patra.common.enums.ProvenanceCode;
 import com.patra.ingest.adapter.outbound.rest.converter.ProvenanceConfigSnapshotConverter;
+import com.patra.ingest.adapter.outbound.rest.support.ProvenanceConfigCache;
 import com.patra.ingest.app.port.ProvenancePort;
 import com.patra.ingest.domain.exception.IngestConfigurationException;
 import com.patra.ingest.domain.model.enums.Endpoint;
@@ -16,6 +17,7 @@ import org.springframework.stereotype.Component;
 
 import java.time.Instant;
 import java.util.Collections;
+import java.util.Optional;
 
 /**
  * 调用 patra-registry 的出站适配器，实现来源配置查询。
@@ -26,7 +28,8 @@ import java.util.Collections;
  * <p>特性：
  * - 完整的错误处理和日志记录
  * - 使用 MapStruct 进行类型安全的数据转换
- * - 优雅降级，返回最小可用配置</p>
+ * - 本地快照缓存（stale-while-revalidate），规划路径不再同步访问 Registry
+ * - 优雅降级：Registry 5xx 时返回最后一次成功的快照，无快照时返回最小可用配置</p>
  *
  * @author linqibin
  * @since 0.1.0
@@ -46,15 +49,28 @@ public class ProvenancePortAdapter implements ProvenancePort {
     private final ProvenanceClient provenanceClient;
     /** 配置快照转换器 */
     private final ProvenanceConfigSnapshotConverter converter;
+    /** 配置快照本地缓存 */
+    private final ProvenanceConfigCache configCache;
 
     /**
-     * 调用 Registry 获取来源配置。
+     * 获取来源配置：优先本地缓存，过期后后台刷新。
      */
     @Override
     public ProvenanceConfigSnapshot fetchConfig(ProvenanceCode provenanceCode, Endpoint endpointCode, OperationCode operationCode) {
         String code = provenanceCode.getCode();
         String endpoint = endpointCode.name();
         String taskType = operationCode.name();
+        return configCache.get(
+                new ProvenanceConfigCache.CacheKey(code, endpoint, taskType),
+                () -> loadConfig(provenanceCode, endpoint, taskType),
+                () -> createMinimalSnapshot(code));
+    }
+
+    /**
+     * 调用 Registry 获取来源配置；Registry 5xx 时返回空，由缓存决定回落快照。
+     */
+    private Optional<ProvenanceConfigSnapshot> loadConfig(ProvenanceCode provenanceCode, String endpoint, String taskType) {
+        String code = provenanceCode.getCode();
         Instant queryTime = Instant.now();
 
         log.debug("Requesting provenance config, code={}, taskType={}, endpoint={}, at={}",
@@ -65,13 +81,13 @@ public class ProvenancePortAdapter implements ProvenancePort {
 
             if (resp == null) {
                 log.warn("Registry returned empty config, code={}, taskType={}, endpoint={}", code, taskType, endpoint);
-                return createMinimalSnapshot(code);
+                return Optional.of(createMinimalSnapshot(code));
             }
 
             ProvenanceConfigSnapshot snapshot = converter.convert(resp);
 
             log.debug("Provenance config loaded, code={}, snapshot={}", code, snapshot);
-            return snapshot;
+            return Optional.of(snapshot);
 
         } catch (FeignException ex) {
             return handleFeignException(ex, code, taskType, endpoint);
@@ -86,15 +102,15 @@ public class ProvenancePortAdapter implements ProvenancePort {
     /**
      * 处理 Feign 异常。
      */
-    private ProvenanceConfigSnapshot handleFeignException(FeignException ex, String code, 
-                                                          String taskType, String endpoint) {
+    private Optional<ProvenanceConfigSnapshot> handleFeignException(FeignException ex, String code,
+                                                                    String taskType, String endpoint) {
         int status = ex.status();
         String responseBody = ex.contentUTF8();
         
         if (status == 404) {
             log.warn("Provenance config not found, code={}, taskType={}, endpoint={}, status={}",
                     code, taskType, endpoint, status);
-            return createMinimalSnapshot(code);
+            return Optional.of(createMinimalSnapshot(code));
         }
 
         if (status >= 400 && status < 500) {
@@ -108,8 +124,7 @@ public class ProvenancePortAdapter implements ProvenancePort {
             String msg = String.format("Registry server error, code=%s, status=%d, response=%s",
                     code, status, responseBody);
             log.error(msg);
-            log.warn("Registry unavailable, fallback to minimal snapshot, code={}", code);
-            return createMinimalSnapshot(code);
+            return Optional.empty();
         }
 
         String msg = String.format("Registry call failed, code=%s, status=%d, response=%s",
@@ -0,0 +1,45 @@
+package com.patra.ingest.adapter.outbound.rest.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 来源配置快照本地缓存配置（stale-while-revalidate）。
+ */
+@Component
+@ConfigurationProperties(prefix = "patra.ingest.provenance-config-cache")
+public class ProvenanceConfigCacheProperties {
+
+    /** 是否启用本地缓存 */
+    private boolean enabled = true;
+    /** 新鲜期：期内直接命中，不访问 Registry */
+    private Duration freshFor = Duration.ofMinutes(1);
+    /** 陈旧可用期：新鲜期后仍直接返回旧快照并后台刷新，超出后同步加载 */
+    private Duration staleFor = Duration.ofMinutes(30);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getFreshFor() {
+        return freshFor;
+    }
+
+    public void setFreshFor(Duration freshFor) {
+        this.freshFor = freshFor;
+    }
+
+    public Duration getStaleFor() {
+        return staleFor;
+    }
+
+    public void setStaleFor(Duration staleFor) {
+        this.staleFor = staleFor;
+    }
+}
@@ -0,0 +1,141 @@
+package com.patra.ingest.adapter.outbound.rest.support;
+
+import com.patra.common.json.JsonNormalizer;
+import com.patra.common.util.HashUtils;
+import com.patra.ingest.adapter.outbound.rest.config.ProvenanceConfigCacheProperties;
+import com.patra.ingest.domain.model.snapshot.ProvenanceConfigSnapshot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * 来源配置快照本地缓存。
+ * <p>
+ * 按（来源, 端点, 操作）缓存最近一次成功加载的快照：新鲜期内直接命中；进入陈旧期后立即返回旧快照，
+ * 并由单个虚拟线程在后台刷新；超出陈旧期才同步加载。刷新结果按规范化哈希（与计划的
+ * provenance_config_hash 同源）比对，未变化时沿用原快照实例，仅刷新加载时间。
+ * Registry 不可用时始终回落到最后一次成功的快照。
+ * </p>
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProvenanceConfigCache {
+
+    private static final JsonNormalizer NORMALIZER = JsonNormalizer.usingDefault();
+
+    private final ProvenanceConfigCacheProperties properties;
+
+    /** 缓存条目 */
+    private final Map<CacheKey, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * 读取快照。
+     *
+     * @param key      缓存键
+     * @param loader   远端加载；返回空表示 Registry 暂不可用（5xx）
+     * @param fallback 无可用快照时的兜底快照（不缓存）
+     * @return 配置快照
+     */
+    public ProvenanceConfigSnapshot get(CacheKey key,
+                                       Supplier<Optional<ProvenanceConfigSnapshot>> loader,
+                                       Supplier<ProvenanceConfigSnapshot> fallback) {
+        if (!properties.isEnabled()) {
+            return loader.get().orElseGet(fallback);
+        }
+        Instant now = Instant.now();
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            Duration age = Duration.between(entry.loadedAt, now);
+            if (age.compareTo(properties.getFreshFor()) < 0) {
+                return entry.snapshot;
+            }
+            if (age.compareTo(properties.getFreshFor().plus(properties.getStaleFor())) < 0) {
+                refreshAsync(key, entry, loader);
+                return entry.snapshot;
+            }
+        }
+
+        Optional<ProvenanceConfigSnapshot> loaded = loader.get();
+        if (loaded.isPresent()) {
+            return store(key, loaded.get()).snapshot;
+        }
+        if (entry != null) {
+            log.warn("Registry unavailable, serving last good provenance config, key={}, loadedAt={}, hash={}",
+                    key, entry.loadedAt, entry.hash);
+            return entry.snapshot;
+        }
+        return fallback.get();
+    }
+
+    /**
+     * 清除指定键（如配置变更通知到达时）。
+     */
+    public void evict(CacheKey key) {
+        entries.remove(key);
+    }
+
+    private void refreshAsync(CacheKey key, Entry entry, Supplier<Optional<ProvenanceConfigSnapshot>> loader) {
+        if (!entry.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        Thread.ofVirtual().name("provenance-config-refresh").start(() -> {
+            try {
+                loader.get().ifPresentOrElse(
+                        snapshot -> store(key, snapshot),
+                        () -> log.warn("Registry unavailable during background refresh, keep last good config, key={}", key));
+            } catch (RuntimeException ex) {
+                log.warn("Background refresh of provenance config failed, key={}, reason={}", key, ex.getMessage());
+            } finally {
+                entry.refreshing.set(false);
+            }
+        });
+    }
+
+    private Entry store(CacheKey key, ProvenanceConfigSnapshot snapshot) {
+        String hash = HashUtils.sha256Hex(NORMALIZER.normalize(snapshot).getHashMaterial());
+        Instant now = Instant.now();
+        return entries.compute(key, (k, previous) -> {
+            if (previous != null && hash.equals(previous.hash)) {
+                return new Entry(previous.snapshot, hash, now);
+            }
+            if (previous != null) {
+                log.info("Provenance config changed, key={}, previousHash={}, hash={}", key, previous.hash, hash);
+            }
+            return new Entry(snapshot, hash, now);
+        });
+    }
+
+    /**
+     * 缓存键。
+     */
+    public record CacheKey(String provenanceCode, String endpoint, String operation) {
+    }
+
+    /**
+     * 缓存条目：快照、规范化哈希与加载时间。
+     */
+    private static final class Entry {
+        private final ProvenanceConfigSnapshot snapshot;
+        private final String hash;
+        private final Instant loadedAt;
+        private final AtomicBoolean refreshing = new AtomicBoolean(false);
+
+        private Entry(ProvenanceConfigSnapshot snapshot, String hash, Instant loadedAt) {
+            this.snapshot = snapshot;
+            this.hash = hash;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,521 @@
+package com.patra.ingest.adapter.outbound.http;
+
+import com.patra.common.enums.ProvenanceCode;
+import com.patra.expr.Expr;
+import com.patra.expr.Exprs;
+import com.patra.ingest.adapter.outbound.http.client.HarvestHttpClientFactory;
+import com.patra.ingest.adapter.outbound.http.config.HarvestRateLimitProperties;
+import com.patra.ingest.adapter.outbound.http.config.HarvestResponseProperties;
+import com.patra.ingest.adapter.outbound.http.config.HarvestRetryProperties;
+import com.patra.ingest.adapter.outbound.http.ratelimit.AdaptiveRateController;
+import com.patra.ingest.adapter.outbound.http.ratelimit.HarvestRateLimiter;
+import com.patra.ingest.adapter.outbound.http.retry.HarvestRetryExecutor;
+import com.patra.ingest.app.cursor.CursorAdvanceCoordinator;
+import com.patra.ingest.app.cursor.CursorWatermarkRegistry;
+import com.patra.ingest.app.cursor.CursorWriteCommitter;
+import com.patra.ingest.app.cursor.config.CursorPartitionProperties;
+import com.patra.ingest.app.cursor.config.CursorWriteProperties;
+import com.patra.ingest.app.execution.LeaseHeartbeatMonitor;
+import com.patra.ingest.app.execution.TaskExecutionApplicationService;
+import com.patra.ingest.app.execution.command.TaskExecutionCommand;
+import com.patra.ingest.app.execution.config.HarvestExecutorProperties;
+import com.patra.ingest.app.execution.dto.TaskExecutionResult;
+import com.patra.ingest.app.execution.pipeline.HarvestStageMetrics;
+import com.patra.ingest.app.execution.support.TaskCursorAdvancer;
+import com.patra.ingest.app.execution.support.TaskRunBatchCommitter;
+import com.patra.ingest.app.harvest.model.HarvestQuery;
+import com.patra.ingest.app.harvest.support.HarvestQueryCompiler;
+import com.patra.ingest.app.orchestration.backpressure.TaskQueueGauge;
+import com.patra.ingest.app.orchestration.config.BackpressureProperties;
+import com.patra.ingest.app.orchestration.slice.support.TimeSliceSpecs;
+import com.patra.ingest.app.port.ProvenancePort;
+import com.patra.ingest.domain.model.aggregate.PlanAggregate;
+import com.patra.ingest.domain.model.aggregate.PlanSliceAggregate;
+import com.patra.ingest.domain.model.aggregate.TaskAggregate;
+import com.patra.ingest.domain.model.entity.Cursor;
+import com.patra.ingest.domain.model.entity.CursorEvent;
+import com.patra.ingest.domain.model.entity.TaskRun;
+import com.patra.ingest.domain.model.entity.TaskRunBatch;
+import com.patra.ingest.domain.model.enums.Endpoint;
+import com.patra.ingest.domain.model.enums.OperationCode;
+import com.patra.ingest.domain.model.enums.PlanStatus;
+import com.patra.ingest.domain.model.enums.SliceStatus;
+import com.patra.ingest.domain.model.enums.TaskRunStatus;
+import com.patra.ingest.domain.model.enums.TaskStatus;
+import com.patra.ingest.domain.model.snapshot.ProvenanceConfigSnapshot;
+import com.patra.ingest.domain.model.vo.ExecutionTimeline;
+import com.patra.ingest.domain.model.vo.LeaseInfo;
+import com.patra.ingest.domain.model.vo.TaskSchedulerContext;
+import com.patra.ingest.domain.port.CursorEventRepository;
+import com.patra.ingest.domain.port.CursorRepository;
+import com.patra.ingest.domain.port.PlanRepository;
+import com.patra.ingest.domain.port.PlanSliceRepository;
+import com.patra.ingest.domain.port.TaskRepository;
+import com.patra.ingest.domain.port.TaskRunBatchRepository;
+import com.patra.ingest.domain.port.TaskRunRepository;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 执行链路端到端：执行服务经真实 HTTP 出站适配器访问本地桩服务，覆盖领租、翻页落批、游标推进与租约结束。
+ */
+class HarvestExecutionEndToEndTest {
+
+    private static final String OWNER = "node-1";
+    private static final Long PLAN_ID = 1L;
+    private static final Long SLICE_ID = 10L;
+    private static final Long TASK_ID = 100L;
+    private static final Instant WINDOW_FROM = Instant.parse("2025-01-01T00:00:00Z");
+    private static final Instant WINDOW_TO = Instant.parse("2025-01-02T00:00:00Z");
+
+    private HttpServer server;
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private volatile int failingPage;
+    private HarvestHttpClientFactory clientFactory;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/search", this::respond);
+        server.start();
+        clientFactory = new HarvestHttpClientFactory();
+    }
+
+    @AfterEach
+    void stopServer() {
+        clientFactory.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    void executeShouldHarvestAllPagesAdvanceCursorAndReleaseLease() {
+        // 两页共 3 条记录：逐页落批，游标推进到切片终点，租约以成功终态结束并注销心跳
+        Fixture fixture = new Fixture();
+
+        TaskExecutionResult result = fixture.service.execute(command());
+
+        Assertions.assertEquals(TaskRunStatus.SUCCEEDED, result.status());
+        Assertions.assertEquals(2L, result.pages());
+        Assertions.assertEquals(3L, result.fetched());
+        Assertions.assertEquals(2, requests.size());
+        Assertions.assertTrue(requests.get(0).contains("page=1") && requests.get(1).contains("page=2"));
+        Assertions.assertEquals(List.of(2, 1), fixture.batches.saved.stream().map(batch -> batch.getStats().recordCount()).toList());
+        Assertions.assertEquals(WINDOW_TO, fixture.cursors.stored.getValue().instant());
+        Assertions.assertEquals(TaskStatus.SUCCEEDED, fixture.tasks.status);
+        Assertions.assertNull(fixture.tasks.owner);
+        Assertions.assertEquals(0, fixture.monitor.activeLeases());
+    }
+
+    @Test
+    void failedPageShouldFailRunWithoutAdvancingCursor() {
+        // 第二页返回 500（不重试）：运行与任务以失败结束并释放租约，游标不推进
+        failingPage = 2;
+        Fixture fixture = new Fixture();
+
+        TaskExecutionResult result = fixture.service.execute(command());
+
+        Assertions.assertEquals(TaskRunStatus.FAILED, result.status());
+        Assertions.assertNull(fixture.tasks.owner);
+        Assertions.assertNull(fixture.cursors.stored);
+        Assertions.assertEquals(TaskStatus.FAILED, fixture.tasks.status);
+        Assertions.assertEquals("HTTP_500", fixture.tasks.errorCode);
+        Assertions.assertEquals(0, fixture.monitor.activeLeases());
+    }
+
+    private void respond(HttpExchange exchange) throws IOException {
+        String query = exchange.getRequestURI().getRawQuery();
+        requests.add(query);
+        int page = query.contains("page=2") ? 2 : 1;
+        if (page == failingPage) {
+            exchange.sendResponseHeaders(500, -1);
+            exchange.close();
+            return;
+        }
+        String body = page == 1
+                ? "{\"total\":3,\"hasMore\":true,\"ids\":[\"a\",\"b\"]}"
+                : "{\"total\":3,\"hasMore\":false,\"ids\":[\"c\"]}";
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static TaskExecutionCommand command() {
+        return new TaskExecutionCommand(TASK_ID, "PUBMED", OperationCode.HARVEST.getCode(), "corr-1", null, false);
+    }
+
+    private ProvenanceConfigSnapshot snapshot() {
+        String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        ProvenanceConfigSnapshot.ProvenanceInfo provenance = new ProvenanceConfigSnapshot.ProvenanceInfo(
+                1L, "pubmed", "PubMed", baseUrl, "UTC", null, true, "ACTIVE");
+        ProvenanceConfigSnapshot.EndpointDefinition endpoint = new ProvenanceConfigSnapshot.EndpointDefinition(
+                1L, 1L, "SOURCE", null, "ALL", "search", "SEARCH", "GET", "/search", null, null, null,
+                false, null, null, null, null, null, null, null);
+        ProvenanceConfigSnapshot.PaginationConfig pagination = new ProvenanceConfigSnapshot.PaginationConfig(
+                1L, 1L, "SOURCE", null, "ALL", null, null, "PAGE_NUMBER", 2, null, "page", "size", 1,
+                null, null, null, null, null, "$.hasMore", "$.total", null, null, null);
+        return new ProvenanceConfigSnapshot(provenance, endpoint, null, pagination, null, null, null, null, List.of());
+    }
+
+    /**
+     * 以内存仓储装配执行服务，出站链路（客户端工厂、限流、重试、响应解析）使用真实组件。
+     */
+    private final class Fixture {
+        private final TaskTable tasks = new TaskTable();
+        private final RunTable runs = new RunTable();
+        private final BatchTable batches = new BatchTable();
+        private final MemoryCursorRepository cursors = new MemoryCursorRepository();
+        private final LeaseHeartbeatMonitor monitor;
+        private final TaskExecutionApplicationService service;
+
+        private Fixture() {
+            HarvestExecutorProperties properties = new HarvestExecutorProperties();
+            properties.setWorkerId(OWNER);
+            properties.setDetailEnabled(false);
+            monitor = new LeaseHeartbeatMonitor(tasks, properties);
+
+            HarvestResponseProperties responseProperties = new HarvestResponseProperties();
+            responseProperties.getRecordPaths().put("pubmed", Map.of("search", "$.ids[*]"));
+            HarvestRetryProperties retryProperties = new HarvestRetryProperties();
+            retryProperties.setEnabled(false);
+            HarvestRateLimitProperties rateLimitProperties = new HarvestRateLimitProperties();
+            HarvestSourcePortAdapter source = new HarvestSourcePortAdapter(clientFactory,
+                    new HarvestRateLimiter(rateLimitProperties, new AdaptiveRateController(rateLimitProperties)),
+                    new HarvestRetryExecutor(retryProperties), responseProperties);
+
+            ProvenanceConfigSnapshot snapshot = snapshot();
+            ProvenancePort provenancePort = (provenanceCode, endpoint, operationCode) -> snapshot;
+            PlanTable plans = new PlanTable();
+            CursorWriteProperties writeProperties = new CursorWriteProperties();
+            writeProperties.setWriteBehindEnabled(false);
+            CursorAdvanceCoordinator coordinator = new CursorAdvanceCoordinator(cursors,
+                    new CursorWriteCommitter(cursors, new MemoryEventRepository()),
+                    new CursorWatermarkRegistry(cursors, writeProperties), writeProperties);
+
+            service = new TaskExecutionApplicationService(
+                    tasks,
+                    runs,
+                    new TaskRunBatchCommitter(batches, runs),
+                    plans,
+                    plans.slices,
+                    provenancePort,
+                    new FixedQueryCompiler(),
+                    source,
+                    command -> {
+                        throw new UnsupportedOperationException("subdivision not expected");
+                    },
+                    new TaskCursorAdvancer(coordinator, new CursorPartitionProperties(), tasks, plans.slices),
+                    new TaskQueueGauge(tasks, new BackpressureProperties()),
+                    monitor,
+                    new HarvestStageMetrics(),
+                    properties);
+        }
+    }
+
+    /**
+     * 不经表达式编译器，直接给出固定查询串。
+     */
+    private static final class FixedQueryCompiler extends HarvestQueryCompiler {
+
+        private FixedQueryCompiler() {
+            super(null);
+        }
+
+        @Override
+        public HarvestQuery compile(Expr expr,
+                                    ProvenanceCode provenanceCode,
+                                    Endpoint endpoint,
+                                    OperationCode operationCode,
+                                    ProvenanceConfigSnapshot configSnapshot) {
+            return new HarvestQuery(provenanceCode, endpoint, operationCode, configSnapshot, "heart", Map.of());
+        }
+    }
+
+    /**
+     * 单计划单切片。
+     */
+    private static final class PlanTable implements PlanRepository {
+        private final PlanAggregate plan;
+        private final SliceTable slices;
+
+        private PlanTable() {
+            String exprJson = Exprs.toJson(Exprs.constTrue());
+            plan = PlanAggregate.restore(PLAN_ID, 1L, "plan-1", "PUBMED", "SEARCH", "HARVEST", "expr", exprJson,
+                    null, null, WINDOW_FROM, WINDOW_TO, "TIME", null, PlanStatus.READY, 0L);
+            slices = new SliceTable(PlanSliceAggregate.restore(SLICE_ID, PLAN_ID, "PUBMED", 1, "sig-1",
+                    TimeSliceSpecs.build(WINDOW_FROM, WINDOW_TO, "UTC").getCanonicalJson(),
+                    "expr", exprJson, SliceStatus.DISPATCHED, 0L));
+        }
+
+        @Override
+        public Optional<PlanAggregate> findById(Long planId) {
+            return Optional.of(plan);
+        }
+
+        @Override
+        public PlanAggregate save(PlanAggregate plan) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<PlanAggregate> findByPlanKey(String planKey) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean existsByPlanKey(String planKey) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<Instant> findMaxWindowTo(String provenanceCode, String operationCode, Instant rangeFrom, Instant rangeTo) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static final class SliceTable implements PlanSliceRepository {
+        private final PlanSliceAggregate slice;
+
+        private SliceTable(PlanSliceAggregate slice) {
+            this.slice = slice;
+        }
+
+        @Override
+        public Optional<PlanSliceAggregate> findById(Long sliceId) {
+            return Optional.of(slice);
+        }
+
+        @Override
+        public List<PlanSliceAggregate> findByPlanId(Long planId) {
+            return List.of(slice);
+        }
+
+        @Override
+        public PlanSliceAggregate save(PlanSliceAggregate slice) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<PlanSliceAggregate> saveAll(List<PlanSliceAggregate> slices) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int findMaxSequence(Long planId) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * 单个任务的任务表：按持有者条件领租、续约与结束租约。
+     */
+    private static final class TaskTable implements TaskRepository {
+        private volatile TaskStatus status = TaskStatus.QUEUED;
+        private volatile String owner;
+        private volatile Instant leasedUntil;
+        private volatile String errorCode;
+
+        @Override
+        public Optional<TaskAggregate> findById(Long taskId) {
+            return Optional.of(snapshot());
+        }
+
+        @Override
+        public List<TaskAggregate> findByPlanId(Long planId) {
+            return List.of(snapshot());
+        }
+
+        @Override
+        public boolean hasSucceededTask(Long sliceId) {
+            return status == TaskStatus.SUCCEEDED;
+        }
+
+        @Override
+        public synchronized boolean acquireLease(Long taskId, String owner, Instant leasedUntil, Instant now, String correlationId) {
+            boolean expired = status == TaskStatus.RUNNING && this.leasedUntil != null && this.leasedUntil.isBefore(now);
+            if (status != TaskStatus.QUEUED && !expired) {
+                return false;
+            }
+            status = TaskStatus.RUNNING;
+            this.owner = owner;
+            this.leasedUntil = leasedUntil;
+            return true;
+        }
+
+        @Override
+        public synchronized boolean renewLease(Long taskId, String owner, Instant leasedUntil, Instant now) {
+            if (!owner.equals(this.owner)) {
+                return false;
+            }
+            this.leasedUntil = leasedUntil;
+            return true;
+        }
+
+        @Override
+        public synchronized int renewLeases(String owner, Collection<Long> taskIds, Instant leasedUntil, Instant now) {
+            return taskIds.contains(TASK_ID) && renewLease(TASK_ID, owner, leasedUntil, now) ? 1 : 0;
+        }
+
+        @Override
+        public synchronized boolean completeLease(Long taskId, String owner, TaskStatus status, Instant finishedAt,
+                                                  String errorCode, String errorMsg) {
+            if (!owner.equals(this.owner)) {
+                return false;
+            }
+            this.status = status;
+            this.owner = null;
+            this.leasedUntil = null;
+            this.errorCode = errorCode;
+            return true;
+        }
+
+        @Override
+        public long countQueuedTasks(String provenanceCode, String operationCode) {
+            return status == TaskStatus.QUEUED ? 1L : 0L;
+        }
+
+        private synchronized TaskAggregate snapshot() {
+            return TaskAggregate.restore(TASK_ID, 1L, PLAN_ID, SLICE_ID, "PUBMED", OperationCode.HARVEST.getCode(), null,
+                    "task-1", "expr", 0, WINDOW_FROM, null, 0, errorCode, null, status,
+                    LeaseInfo.snapshotOf(owner, leasedUntil, 0), ExecutionTimeline.empty(), TaskSchedulerContext.empty(), 0L);
+        }
+
+        @Override
+        public TaskAggregate save(TaskAggregate task) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<TaskAggregate> saveAll(List<TaskAggregate> tasks) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<Long> requeueRetryable(Long planId, Collection<Long> excludedSliceIds) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<TaskAggregate> claimBatch(String owner, int limit, Duration leaseDuration) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static final class RunTable implements TaskRunRepository {
+        private final List<TaskRun> runs = new CopyOnWriteArrayList<>();
+
+        @Override
+        public TaskRun save(TaskRun run) {
+            if (run.getId() != null) {
+                return run;
+            }
+            TaskRun saved = TaskRun.restore((long) runs.size() + 1, run.getTaskId(), run.getAttemptNo(),
+                    run.getProvenanceCode(), run.getOperationCode(), run.getStatus(), run.getStats(), run.getStartedAt(),
+                    run.getFinishedAt(), run.getLastHeartbeat(), run.getCheckpoint(), run.getExecutionWindow(),
+                    run.getRunContext(), run.getError());
+            runs.add(saved);
+            return saved;
+        }
+
+        @Override
+        public Optional<TaskRun> findLatest(Long taskId) {
+            return runs.isEmpty() ? Optional.empty() : Optional.of(runs.get(runs.size() - 1));
+        }
+
+        @Override
+        public List<TaskRun> findAll(Long taskId) {
+            return List.copyOf(runs);
+        }
+
+        @Override
+        public List<TaskRun> findRecentSucceeded(String provenanceCode, String operationCode, int limit) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static final class BatchTable implements TaskRunBatchRepository {
+        private final List<TaskRunBatch> saved = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void saveAll(List<TaskRunBatch> batches) {
+            saved.addAll(batches);
+        }
+
+        @Override
+        public List<TaskRunBatch> findByRunId(Long runId) {
+            return List.copyOf(saved);
+        }
+    }
+
+    private static final class MemoryCursorRepository implements CursorRepository {
+        private volatile Cursor stored;
+
+        @Override
+        public Optional<Cursor> find(String provenanceCode, String operationCode, String cursorKey, String namespaceScope, String namespaceKey) {
+            return Optional.ofNullable(stored);
+        }
+
+        @Override
+        public void upsertAll(List<Cursor> cursors) {
+            stored = cursors.get(cursors.size() - 1);
+        }
+
+        @Override
+        public Cursor save(Cursor cursor) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<Instant> findLatestGlobalTimeWatermark(String provenanceCode, String operationCode) {
+            return Optional.empty();
+        }
+    }
+
+    private static final class MemoryEventRepository implements CursorEventRepository {
+
+        @Override
+        public int appendAll(List<CursorEvent> events) {
+            return events.size();
+        }
+
+        @Override
+        public CursorEvent save(CursorEvent event) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<CursorEvent> lockCompactable(Instant before, int limit) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int deleteByIds(List<Long> ids) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<CursorEvent> findRecent(String provenanceCode, String operationCode, String cursorKey,
+                                            String namespaceScope, String namespaceKey, int limit) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.patra.ingest.adapter.outbound.http.retry;
+
+import com.patra.common.enums.ProvenanceCode;
+import com.patra.ingest.adapter.outbound.http.config.HarvestRetryProperties;
+import com.patra.ingest.app.harvest.exception.HarvestFetchException;
+import com.patra.ingest.app.harvest.model.HarvestQuery;
+import com.patra.ingest.domain.model.enums.Endpoint;
+import com.patra.ingest.domain.model.snapshot.ProvenanceConfigSnapshot;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+class HarvestRetryExecutorTest {
+
+    @Test
+    void interruptedHalfOpenProbeShouldReleaseProbeSlot() throws Exception {
+        // 半开探测被中断（取消在途请求）后归还探测名额，下一次调用仍可探测并在成功后闭合
+        HarvestRetryExecutor executor = new HarvestRetryExecutor(new HarvestRetryProperties());
+        HarvestQuery query = query();
+        openBreaker(executor, query);
+
+        Assertions.assertThrows(InterruptedException.class, () -> executor.execute(query, policy -> {
+            throw new InterruptedException("cancelled");
+        }));
+        Assertions.assertEquals(CircuitBreaker.State.HALF_OPEN, breakerStats(executor).state());
+
+        Assertions.assertEquals("ok", executor.execute(query, policy -> "ok"));
+        Assertions.assertEquals(CircuitBreaker.State.CLOSED, breakerStats(executor).state());
+    }
+
+    @Test
+    void runtimeFailureOfHalfOpenProbeShouldBeNeutral() throws Exception {
+        // 半开探测以非重试类异常结束：不闭合断路器、不清零失败计数，只归还探测名额
+        HarvestRetryExecutor executor = new HarvestRetryExecutor(new HarvestRetryProperties());
+        HarvestQuery query = query();
+        openBreaker(executor, query);
+
+        Assertions.assertThrows(IllegalStateException.class, () -> executor.execute(query, policy -> {
+            throw new IllegalStateException("unexpected body");
+        }));
+        CircuitBreaker.Stats stats = breakerStats(executor);
+        Assertions.assertEquals(CircuitBreaker.State.HALF_OPEN, stats.state());
+        Assertions.assertEquals(1, stats.consecutiveFailures());
+
+        Assertions.assertThrows(HarvestFetchException.class, () -> executor.execute(query, policy -> {
+            throw new RetryableStatusException(503, 0L);
+        }));
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, breakerStats(executor).state());
+    }
+
+    private static void openBreaker(HarvestRetryExecutor executor, HarvestQuery query) throws InterruptedException {
+        Assertions.assertThrows(HarvestFetchException.class, () -> executor.execute(query, policy -> {
+            throw new RetryableStatusException(503, 0L);
+        }));
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, breakerStats(executor).state());
+        TimeUnit.MILLISECONDS.sleep(250);
+    }
+
+    private static CircuitBreaker.Stats breakerStats(HarvestRetryExecutor executor) {
+        return executor.snapshot().get(ProvenanceCode.PUBMED.getCode() + ":" + Endpoint.SEARCH);
+    }
+
+    private static HarvestQuery query() {
+        ProvenanceConfigSnapshot.RetryConfig retry = new ProvenanceConfigSnapshot.RetryConfig(
+                1L, 1L, "SOURCE", null, "ALL", null, null,
+                0, "FIXED", 0, 0, 1.0, 0.0, null, null, true, 1, 200);
+        ProvenanceConfigSnapshot snapshot = new ProvenanceConfigSnapshot(
+                null, null, null, null, null, null, retry, null, null);
+        return new HarvestQuery(ProvenanceCode.PUBMED, Endpoint.SEARCH, null, snapshot, "q", Map.of());
+    }
+}
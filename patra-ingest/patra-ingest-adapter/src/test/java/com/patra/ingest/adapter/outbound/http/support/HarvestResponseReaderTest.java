@@ -0,0 +1,105 @@
+package com.patra.ingest.adapter.outbound.http.support;
+
+import com.patra.ingest.domain.model.snapshot.ProvenanceConfigSnapshot;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+class HarvestResponseReaderTest {
+
+    private static final String JSON_PAGE = "{\"meta\":{\"total\":2},\"next\":\"t-2\",\"hasMore\":true,\"ids\":[\"a\",\"b\"]}";
+
+    @Test
+    void readPageShouldStreamSupportedPathsAndCountRecords() throws IOException {
+        // 路径均在流式子集内时单遍扫描：分页字段与记录一并得到，记录数已知
+        List<String> records = new ArrayList<>();
+
+        StreamingPathExtractor.Result result = HarvestResponseReader.readPage(utf8(JSON_PAGE), "application/json",
+                jsonPagination("$.meta.total"), false, "$.ids[*]", true, records::add);
+
+        Assertions.assertEquals(Map.of(HarvestResponseReader.TOTAL_COUNT, "2", HarvestResponseReader.NEXT_TOKEN, "t-2",
+                HarvestResponseReader.HAS_MORE, "true"), result.values());
+        Assertions.assertEquals(List.of("a", "b"), records);
+        Assertions.assertEquals(2L, result.recordCount());
+    }
+
+    @Test
+    void readPageShouldFallBackToWholeBodyWhenStreamingDisabledOrUnsupported() throws IOException {
+        // 关闭流式或路径超出子集时读入完整响应体整体求值：字段照常提取，记录不发出且记录数未知
+        List<String> records = new ArrayList<>();
+
+        StreamingPathExtractor.Result disabled = HarvestResponseReader.readPage(utf8(JSON_PAGE), "application/json",
+                jsonPagination("$.meta.total"), false, "$.ids[*]", false, records::add);
+        StreamingPathExtractor.Result unsupported = HarvestResponseReader.readPage(utf8(JSON_PAGE), null,
+                jsonPagination("$.meta.total"), false, "$..ids", true, records::add);
+
+        Assertions.assertEquals("2", disabled.value(HarvestResponseReader.TOTAL_COUNT).orElseThrow());
+        Assertions.assertEquals("t-2", disabled.value(HarvestResponseReader.NEXT_TOKEN).orElseThrow());
+        Assertions.assertNull(disabled.recordCount());
+        Assertions.assertEquals("true", unsupported.value(HarvestResponseReader.HAS_MORE).orElseThrow());
+        Assertions.assertNull(unsupported.recordCount());
+        Assertions.assertTrue(records.isEmpty());
+    }
+
+    @Test
+    void readPageShouldEvaluateXPathPredicatesOnSniffedXml() throws IOException {
+        // 无 Content-Type 时按首字符识别 XML；带谓词的 XPath 退回 DOM 求值，JSONPath 记录路径与 XML 不符被忽略
+        String body = "\n<r><meta kind=\"other\" value=\"9\"/><meta kind=\"total\" value=\"5\"/><id>1</id></r>";
+        ProvenanceConfigSnapshot.PaginationConfig pagination = pagination(null, null, null,
+                null, null, "/r/meta[@kind='total']/@value");
+        List<String> records = new ArrayList<>();
+
+        StreamingPathExtractor.Result result = HarvestResponseReader.readPage(utf8(body), null,
+                pagination, false, "$.ids[*]", true, records::add);
+
+        Assertions.assertEquals(Map.of(HarvestResponseReader.TOTAL_COUNT, "5"), result.values());
+        Assertions.assertNull(result.recordCount());
+        Assertions.assertTrue(records.isEmpty());
+    }
+
+    @Test
+    void readPageShouldOnlyReadTotalForCountProbes() throws IOException {
+        // 计数探测只取命中总数，不求值分页令牌也不发出记录
+        List<String> records = new ArrayList<>();
+
+        StreamingPathExtractor.Result result = HarvestResponseReader.readPage(utf8(JSON_PAGE), "application/json",
+                jsonPagination("$.meta.total"), true, "$.ids[*]", true, records::add);
+
+        Assertions.assertEquals(Map.of(HarvestResponseReader.TOTAL_COUNT, "2"), result.values());
+        Assertions.assertNull(result.recordCount());
+        Assertions.assertTrue(records.isEmpty());
+    }
+
+    @Test
+    void readPageShouldFailOnMalformedBody() {
+        // 响应体损坏时：流式路径抛 IOException，整体求值抛 UncheckedIOException，均不返回部分结果
+        Assertions.assertThrows(IOException.class, () -> HarvestResponseReader.readPage(utf8("{\"meta\":{\"total\":"),
+                "application/json", jsonPagination("$.meta.total"), true, null, true, null));
+        Assertions.assertThrows(UncheckedIOException.class, () -> HarvestResponseReader.readPage(utf8("{\"meta\":"),
+                "application/json", jsonPagination("$.meta.total"), true, null, false, null));
+    }
+
+    private static ProvenanceConfigSnapshot.PaginationConfig jsonPagination(String totalPath) {
+        return pagination("$.next", "$.hasMore", totalPath, null, null, null);
+    }
+
+    private static ProvenanceConfigSnapshot.PaginationConfig pagination(String nextJsonPath, String hasMoreJsonPath,
+                                                                        String totalJsonPath, String nextXpath,
+                                                                        String hasMoreXpath, String totalXpath) {
+        return new ProvenanceConfigSnapshot.PaginationConfig(1L, 1L, "SOURCE", null, "ALL", null, null, "TOKEN",
+                null, null, null, null, null, null, null, "cursor", null,
+                nextJsonPath, hasMoreJsonPath, totalJsonPath, nextXpath, hasMoreXpath, totalXpath);
+    }
+
+    private static InputStream utf8(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,190 @@
+package com.patra.ingest.adapter.outbound.http.support;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+class StreamingPathExtractorTest {
+
+    @Test
+    void extractJsonShouldResolveNestedArraysAndWildcards() throws IOException {
+        // 嵌套数组下标、[*] 与 .* 通配同时求值；无关子树跳过，记录按出现顺序逐条发出
+        String body = """
+                {"meta":{"total":3,"next":{"token":"abc"}},
+                 "data":{"items":[{"ids":[1,2],"skip":{"deep":[7]}},{"ids":[3]}],"other":[9]}}
+                """;
+        Map<String, String> paths = new LinkedHashMap<>();
+        paths.put("total", "$.*.total");
+        paths.put("token", "$['meta'].next.token");
+        paths.put("third", "$.data.items[1].ids[0]");
+        List<String> records = new ArrayList<>();
+
+        StreamingPathExtractor.Result result = StreamingPathExtractor.extractJson(
+                utf8(body), paths, "$.data.items[*].ids[*]", records::add);
+
+        Assertions.assertEquals(Map.of("total", "3", "token", "abc", "third", "3"), result.values());
+        Assertions.assertEquals(List.of("1", "2", "3"), records);
+        Assertions.assertEquals(3L, result.recordCount());
+    }
+
+    @Test
+    void extractJsonShouldEmitStructuredRecordsAsCompactJson() throws IOException {
+        // 记录为对象时整体读出为紧凑 JSON，未指定记录路径时记录数为空
+        List<String> records = new ArrayList<>();
+
+        StreamingPathExtractor.Result result = StreamingPathExtractor.extractJson(
+                utf8("{\"rows\":[{\"id\":1, \"tags\":[\"a\"]}, {\"id\":2}]}"), Map.of(), "$.rows[*]", records::add);
+        StreamingPathExtractor.Result noRecords = StreamingPathExtractor.extractJson(
+                utf8("{\"n\":1}"), Map.of("n", "$.n"), null, null);
+
+        Assertions.assertEquals(List.of("{\"id\":1,\"tags\":[\"a\"]}", "{\"id\":2}"), records);
+        Assertions.assertEquals(2L, result.recordCount());
+        Assertions.assertEquals("1", noRecords.value("n").orElseThrow());
+        Assertions.assertNull(noRecords.recordCount());
+    }
+
+    @Test
+    void extractJsonShouldKeepRecordsSplitAcrossReadBuffers() throws IOException {
+        // 响应按极小分片到达、单条记录长于解析缓冲区时，记录仍完整且不丢不重
+        List<String> expected = new ArrayList<>();
+        StringBuilder body = new StringBuilder("{\"total\":201,\"ids\":[");
+        for (int i = 0; i < 200; i++) {
+            String id = "r" + i + "-" + "x".repeat(300);
+            expected.add(id);
+            body.append('"').append(id).append("\",");
+        }
+        String longId = "L".repeat(20_000);
+        expected.add(longId);
+        body.append('"').append(longId).append("\"]}");
+        List<String> records = new ArrayList<>();
+
+        StreamingPathExtractor.Result result = StreamingPathExtractor.extractJson(
+                new TrickleInputStream(body.toString(), 7), Map.of("total", "$.total"), "$.ids[*]", records::add);
+
+        Assertions.assertEquals(expected, records);
+        Assertions.assertEquals(201L, result.recordCount());
+        Assertions.assertEquals("201", result.value("total").orElseThrow());
+    }
+
+    @Test
+    void extractJsonShouldTruncateOversizedValues() throws IOException {
+        // 单条记录超出上限时截断到 MAX_VALUE_CHARS
+        String huge = "y".repeat(StreamingPathExtractor.MAX_VALUE_CHARS + 10);
+        List<String> records = new ArrayList<>();
+
+        StreamingPathExtractor.extractJson(utf8("{\"ids\":[\"" + huge + "\"]}"), Map.of(), "$.ids[*]", records::add);
+
+        Assertions.assertEquals(1, records.size());
+        Assertions.assertEquals(StreamingPathExtractor.MAX_VALUE_CHARS, records.get(0).length());
+    }
+
+    @Test
+    void extractXmlShouldResolveAttributesWildcardsAndCounts() throws IOException {
+        // XPath 子集：绝对路径属性、前导 // 与 * 通配、count(...) 计数，记录取节点文本
+        String body = """
+                <r><meta count="2"/>
+                  <list><item id="a"><name>x</name></item><item id="b"><name>y</name></item></list>
+                </r>
+                """;
+        Map<String, String> paths = new LinkedHashMap<>();
+        paths.put("firstId", "/r/list/item/@id");
+        paths.put("firstName", "//*/name/text()");
+        paths.put("items", "count(//item)");
+        paths.put("declared", "/r/meta/@count");
+        List<String> records = new ArrayList<>();
+
+        StreamingPathExtractor.Result result = StreamingPathExtractor.extractXml(
+                utf8(body), paths, "/r/list/*/name", records::add);
+
+        Assertions.assertEquals(Map.of("firstId", "a", "firstName", "x", "declared", "2", "items", "2"), result.values());
+        Assertions.assertEquals(List.of("x", "y"), records);
+        Assertions.assertEquals(2L, result.recordCount());
+    }
+
+    @Test
+    void extractXmlShouldJoinTextSplitAcrossReadBuffers() throws IOException {
+        // 长文本被拆成多段字符事件且按极小分片到达时，记录文本仍完整拼接
+        String longText = "t".repeat(20_000);
+        String body = "<r><id>first</id><id>" + longText + "</id><id>last</id></r>";
+        List<String> records = new ArrayList<>();
+
+        StreamingPathExtractor.Result result = StreamingPathExtractor.extractXml(
+                new TrickleInputStream(body, 5), Map.of(), "//id", records::add);
+
+        Assertions.assertEquals(List.of("first", longText, "last"), records);
+        Assertions.assertEquals(3L, result.recordCount());
+    }
+
+    @Test
+    void malformedInputShouldFailAfterEmittingEarlierRecords() {
+        // 截断或不闭合的响应体以 IOException 失败，已扫描到的记录照常发出
+        List<String> jsonRecords = new ArrayList<>();
+        List<String> xmlRecords = new ArrayList<>();
+
+        Assertions.assertThrows(IOException.class, () -> StreamingPathExtractor.extractJson(
+                utf8("{\"ids\":[1,2"), Map.of(), "$.ids[*]", jsonRecords::add));
+        Assertions.assertThrows(IOException.class, () -> StreamingPathExtractor.extractXml(
+                utf8("<r><item>a</item><item>b</r>"), Map.of(), "/r/item", xmlRecords::add));
+
+        Assertions.assertEquals(List.of("1", "2"), jsonRecords);
+        Assertions.assertEquals(List.of("a"), xmlRecords);
+    }
+
+    @Test
+    void unsupportedPathsShouldBeRejected() {
+        // 递归下降、过滤表达式与谓词不在流式子集内，由调用方退回整体解析
+        Assertions.assertFalse(StreamingPathExtractor.supportsJsonPath("$..ids"));
+        Assertions.assertFalse(StreamingPathExtractor.supportsJsonPath("$.items[?(@.id)]"));
+        Assertions.assertFalse(StreamingPathExtractor.supportsXPath("/r/item[1]"));
+        Assertions.assertFalse(StreamingPathExtractor.supportsXPath("/r//item"));
+        Assertions.assertTrue(StreamingPathExtractor.supportsJsonPath("$['a'].b[0].*"));
+        Assertions.assertTrue(StreamingPathExtractor.supportsXPath("count(//ns:item/@id)"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> StreamingPathExtractor.extractJson(
+                utf8("{}"), Map.of("ids", "$..ids"), null, null));
+    }
+
+    private static InputStream utf8(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 每次至多返回 chunk 个字节的输入流，模拟分片到达的网络响应。
+     */
+    private static final class TrickleInputStream extends InputStream {
+        private final byte[] bytes;
+        private final int chunk;
+        private int position;
+
+        private TrickleInputStream(String body, int chunk) {
+            this.bytes = body.getBytes(StandardCharsets.UTF_8);
+            this.chunk = chunk;
+        }
+
+        @Override
+        public int read() {
+            return position < bytes.length ? bytes[position++] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (position >= bytes.length) {
+                return -1;
+            }
+            int count = Math.min(Math.min(length, chunk), bytes.length - position);
+            System.arraycopy(bytes, position, target, offset, count);
+            position += count;
+            return count;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.patra.ingest.app.cursor;
+
+import com.patra.ingest.domain.model.enums.CursorDirection;
+import com.patra.ingest.domain.model.vo.CursorLineage;
+import com.patra.ingest.domain.model.vo.CursorValue;
+import com.patra.ingest.domain.model.vo.CursorWatermark;
+
+import java.time.Instant;
+
+/**
+ * 一次游标推进请求。
+ *
+ * @param slot       游标槽位
+ * @param value      目标游标值（类型由值携带）
+ * @param watermark  目标归一化水位，可空
+ * @param windowFrom 本次推进覆盖的窗口起点，可空
+ * @param windowTo   本次推进覆盖的窗口终点，可空
+ * @param direction  推进方向
+ * @param lineage    推进来源链路
+ * @param exprHash   表达式哈希，可空
+ * @author linqibin
+ * @since 0.1.0
+ */
+public record CursorAdvance(CursorSlot slot,
+                            CursorValue value,
+                            CursorWatermark watermark,
+                            Instant windowFrom,
+                            Instant windowTo,
+                            CursorDirection direction,
+                            CursorLineage lineage,
+                            String exprHash) {
+}
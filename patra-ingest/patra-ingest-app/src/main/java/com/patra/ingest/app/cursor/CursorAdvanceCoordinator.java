@@ -0,0 +1,393 @@
+package com.patra.ingest.app.cursor;
+
+import com.patra.common.util.HashUtils;
+import com.patra.ingest.app.cursor.config.CursorWriteProperties;
+import com.patra.ingest.domain.model.entity.Cursor;
+import com.patra.ingest.domain.model.entity.CursorEvent;
+import com.patra.ingest.domain.model.vo.CursorLineage;
+import com.patra.ingest.domain.model.vo.CursorValue;
+import com.patra.ingest.domain.port.CursorRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 游标推进协调器：在内存中按槽位合并推进，周期性地把游标当前值与推进事件批量刷盘。
+ * <p>
+ * 同一槽位的推进串行进行，只接受严格前进的值（TIME 比较时间、ID 比较数值、TOKEN 要求值变化）；
+ * 每次推进记一条事件，刷盘时每个槽位只写最新值。刷盘按 flushInterval 定时进行，待写事件达到
+ * flushThreshold 时提前触发，停机时再刷一次；宕机最多丢失一个刷盘间隔内的推进，重新执行会以相同幂等键补写。
+ * 槽位首次访问时从库中加载当前值，超过 slotCacheTtl 后再次访问时回源：库中值领先（其他节点的推进）或槽位
+ * 没有未刷盘的推进时以库中值为准；其他节点的并发推进由库端条件更新保证不回退。
+ * 需要读到其他节点对同一槽位的最新推进时通过 {@link #latest} 总是回源，不使用缓存值。
+ * 刷盘成功后回写 {@link CursorWatermarkRegistry}，计划侧读到的水位不会领先于已落库的游标。
+ * </p>
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CursorAdvanceCoordinator {
+
+    private final CursorRepository cursorRepository;
+    private final CursorWriteCommitter committer;
+    private final CursorWatermarkRegistry watermarkRegistry;
+    private final CursorWriteProperties properties;
+
+    private final ConcurrentMap<CursorSlot, SlotState> slots = new ConcurrentHashMap<>();
+    /** 尚未刷盘的事件数 */
+    private final AtomicInteger pendingEvents = new AtomicInteger();
+    /** 刷盘串行化 */
+    private final ReentrantLock flushLock = new ReentrantLock();
+    /** 是否已有提前刷盘在排队 */
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final LongAdder advanced = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder flushedCursors = new LongAdder();
+    private final LongAdder flushedEvents = new LongAdder();
+    private final LongAdder flushFailures = new LongAdder();
+    /** 刷盘调度线程 */
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isWriteBehindEnabled()) {
+            return;
+        }
+        long intervalMillis = Math.max(50L, properties.getFlushInterval().toMillis());
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ingest-cursor-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        flushQuietly();
+    }
+
+    /**
+     * 推进游标。
+     *
+     * @return 是否发生推进（目标值未超过当前值时为 false）
+     * @throws IllegalStateException 待写事件已达上限且同步刷盘失败
+     */
+    public boolean advance(CursorAdvance advance) {
+        if (pendingEvents.get() >= properties.getMaxPendingEvents()) {
+            flush();
+            if (pendingEvents.get() >= properties.getMaxPendingEvents()) {
+                throw new IllegalStateException("Cursor write buffer is full, pending=" + pendingEvents.get());
+            }
+        }
+        CursorSlot slot = advance.slot();
+        SlotState state = slots.computeIfAbsent(slot, key -> new SlotState());
+        synchronized (state) {
+            load(slot, state);
+            if (!isAhead(advance.value(), state.current)) {
+                rejected.increment();
+                return false;
+            }
+            state.events.add(toEvent(advance, state.current));
+            state.current = advanced(state.current, advance);
+            state.dirty = true;
+        }
+        advanced.increment();
+        int pending = pendingEvents.incrementAndGet();
+        if (!properties.isWriteBehindEnabled()) {
+            flush();
+        } else if (pending >= properties.getFlushThreshold()) {
+            requestFlush();
+        }
+        return true;
+    }
+
+    /**
+     * 槽位的当前值（含未刷盘的推进）；本节点首次访问该槽位时从库中加载。
+     */
+    public Optional<Cursor> current(CursorSlot slot) {
+        SlotState state = slots.computeIfAbsent(slot, key -> new SlotState());
+        synchronized (state) {
+            load(slot, state);
+            return Optional.ofNullable(state.current);
+        }
+    }
+
+    /**
+     * 槽位的最新值：总是回源，与本节点尚未刷盘的推进取较靠前者。
+     */
+    public Optional<Cursor> latest(CursorSlot slot) {
+        SlotState state = slots.computeIfAbsent(slot, key -> new SlotState());
+        synchronized (state) {
+            reload(slot, state, System.nanoTime());
+            return Optional.ofNullable(state.current);
+        }
+    }
+
+    /**
+     * 立即刷盘；失败时待写内容放回缓冲，异常向上抛出。
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushRequested.set(false);
+            List<Drained> drained = drain();
+            if (drained.isEmpty()) {
+                return;
+            }
+            List<Cursor> cursors = new ArrayList<>(drained.size());
+            List<CursorEvent> events = new ArrayList<>();
+            for (Drained item : drained) {
+                cursors.add(item.cursor());
+                events.addAll(item.events());
+            }
+            try {
+                int appended = committer.commit(cursors, events, properties.getStatementBatchSize());
+                flushes.increment();
+                flushedCursors.add(cursors.size());
+                flushedEvents.add(appended);
+                watermarkRegistry.onFlushed(cursors);
+                log.debug("Cursor flush committed, cursors={}, events={}, appended={}", cursors.size(), events.size(), appended);
+            } catch (RuntimeException ex) {
+                flushFailures.increment();
+                restore(drained);
+                throw ex;
+            } finally {
+                for (Drained item : drained) {
+                    synchronized (item.state()) {
+                        item.state().flushing = false;
+                    }
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 写入统计快照。
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("slots", slots.size());
+        snapshot.put("pendingEvents", pendingEvents.get());
+        snapshot.put("advanced", advanced.sum());
+        snapshot.put("rejected", rejected.sum());
+        snapshot.put("flushes", flushes.sum());
+        snapshot.put("flushedCursors", flushedCursors.sum());
+        snapshot.put("flushedEvents", flushedEvents.sum());
+        snapshot.put("flushFailures", flushFailures.sum());
+        return snapshot;
+    }
+
+    /**
+     * 目标值是否严格领先于当前游标。
+     */
+    static boolean isAhead(CursorValue target, Cursor current) {
+        if (current == null) {
+            return true;
+        }
+        if (target.instant() != null) {
+            Instant position = instantOf(current);
+            return position == null || target.instant().isAfter(position);
+        }
+        if (target.numeric() != null) {
+            BigDecimal position = numericOf(current);
+            return position == null || target.numeric().compareTo(position) > 0;
+        }
+        return !Objects.equals(target.raw(), current.getValue() == null ? null : current.getValue().raw());
+    }
+
+    /**
+     * 游标的归一化时间水位：优先取水位，其次取游标值；非 TIME 游标为空。
+     */
+    public static Instant instantOf(Cursor cursor) {
+        if (cursor.getWatermark() != null && cursor.getWatermark().hasInstant()) {
+            return cursor.getWatermark().normalizedInstant();
+        }
+        return cursor.getValue() == null ? null : cursor.getValue().instant();
+    }
+
+    private void load(CursorSlot slot, SlotState state) {
+        long now = System.nanoTime();
+        long ttlNanos = properties.getSlotCacheTtl() == null ? 0L : properties.getSlotCacheTtl().toNanos();
+        if (!state.loaded || ttlNanos <= 0L || now - state.loadedAt >= ttlNanos) {
+            reload(slot, state, now);
+        }
+    }
+
+    /**
+     * 回源：库中值领先时总是采用；槽位无未刷盘（或正在刷盘）的推进时以库中值为准，以吸收人工重置。
+     */
+    private void reload(CursorSlot slot, SlotState state, long now) {
+        Cursor stored = cursorRepository.find(slot.provenanceCode(), slot.operationCode(), slot.cursorKey(),
+                slot.namespaceScopeCode(), slot.namespaceKey()).orElse(null);
+        if (!state.loaded || (!state.dirty && !state.flushing) || (stored != null && leads(stored, state.current))) {
+            state.current = stored;
+        }
+        state.loaded = true;
+        state.loadedAt = now;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            log.warn("Cursor flush failed, pending={}, reason={}", pendingEvents.get(), ex.getMessage());
+        }
+    }
+
+    private void requestFlush() {
+        if (scheduler != null && flushRequested.compareAndSet(false, true)) {
+            scheduler.execute(this::flushQuietly);
+        }
+    }
+
+    private List<Drained> drain() {
+        List<Drained> drained = new ArrayList<>();
+        slots.forEach((slot, state) -> {
+            synchronized (state) {
+                if (!state.dirty) {
+                    return;
+                }
+                drained.add(new Drained(state, state.current, List.copyOf(state.events)));
+                pendingEvents.addAndGet(-state.events.size());
+                state.events.clear();
+                state.dirty = false;
+                state.flushing = true;
+            }
+        });
+        return drained;
+    }
+
+    private void restore(List<Drained> drained) {
+        for (Drained item : drained) {
+            synchronized (item.state()) {
+                item.state().events.addAll(0, item.events());
+                item.state().dirty = true;
+            }
+            pendingEvents.addAndGet(item.events().size());
+        }
+    }
+
+    /**
+     * 基于当前值生成推进后的新实例；已交给刷盘的实例不再修改。
+     */
+    private static Cursor advanced(Cursor current, CursorAdvance advance) {
+        CursorSlot slot = advance.slot();
+        Cursor next = current == null
+                ? Cursor.restore(null, slot.provenanceCode(), slot.operationCode(), slot.cursorKey(),
+                        slot.namespace().scope(), slot.namespaceKey(), advance.value().type(),
+                        advance.value(), advance.watermark(), advance.lineage(), advance.exprHash())
+                : Cursor.restore(current.getId(), current.getProvenanceCode(), current.getOperationCode(),
+                        current.getCursorKey(), current.getNamespaceScope(), current.getNamespaceKey(),
+                        current.getCursorType(), current.getValue(), current.getWatermark(), current.getLineage(),
+                        current.getExprHash());
+        next.advance(advance.value(), advance.watermark(), advance.lineage(), advance.exprHash());
+        return next;
+    }
+
+    private static CursorEvent toEvent(CursorAdvance advance, Cursor previous) {
+        CursorSlot slot = advance.slot();
+        CursorValue value = advance.value();
+        CursorLineage lineage = advance.lineage() == null ? CursorLineage.empty() : advance.lineage();
+        String prevRaw = previous == null || previous.getValue() == null ? null : previous.getValue().raw();
+        Instant prevInstant = previous == null ? null : instantOf(previous);
+        BigDecimal prevNumeric = previous == null ? null : numericOf(previous);
+        String idempotentKey = HashUtils.sha256Hex(String.join("|",
+                slot.provenanceCode(), slot.operationCode(), slot.cursorKey(), slot.namespaceScopeCode(), slot.namespaceKey(),
+                String.valueOf(prevRaw), value.raw(), String.valueOf(lineage.runId())));
+        String observedMax = advance.watermark() != null && advance.watermark().observedMaxValue() != null
+                ? advance.watermark().observedMaxValue()
+                : value.raw();
+        return CursorEvent.restore(
+                null,
+                slot.provenanceCode(),
+                slot.operationCode(),
+                slot.cursorKey(),
+                slot.namespaceScopeCode(),
+                slot.namespaceKey(),
+                value.type(),
+                prevRaw,
+                value.raw(),
+                advance.windowFrom(),
+                advance.windowTo(),
+                advance.direction(),
+                idempotentKey,
+                observedMax,
+                prevInstant,
+                value.instant(),
+                prevNumeric,
+                value.numeric(),
+                lineage,
+                advance.exprHash());
+    }
+
+    /**
+     * 库中游标是否领先于内存值：TIME / ID 比较归一值，TOKEN 无序视为不领先。
+     */
+    private static boolean leads(Cursor candidate, Cursor current) {
+        if (current == null) {
+            return true;
+        }
+        Instant candidateInstant = instantOf(candidate);
+        Instant currentInstant = instantOf(current);
+        if (candidateInstant != null && currentInstant != null) {
+            return candidateInstant.isAfter(currentInstant);
+        }
+        BigDecimal candidateNumeric = numericOf(candidate);
+        BigDecimal currentNumeric = numericOf(current);
+        return candidateNumeric != null && currentNumeric != null && candidateNumeric.compareTo(currentNumeric) > 0;
+    }
+
+    private static BigDecimal numericOf(Cursor cursor) {
+        if (cursor.getWatermark() != null && cursor.getWatermark().hasNumeric()) {
+            return cursor.getWatermark().normalizedNumeric();
+        }
+        return cursor.getValue() == null ? null : cursor.getValue().numeric();
+    }
+
+    /**
+     * 槽位状态，受自身监视器保护。
+     */
+    private static final class SlotState {
+        private boolean loaded;
+        /** 最近一次回源时间（纳秒时钟） */
+        private long loadedAt;
+        private Cursor current;
+        private boolean dirty;
+        /** 已交给刷盘、尚未确认结果 */
+        private boolean flushing;
+        private final List<CursorEvent> events = new ArrayList<>();
+    }
+
+    private record Drained(SlotState state, Cursor cursor, List<CursorEvent> events) {
+    }
+}
@@ -0,0 +1,76 @@
+package com.patra.ingest.app.cursor;
+
+import com.patra.ingest.app.cursor.config.CursorCompactionProperties;
+import com.patra.ingest.app.cursor.dto.CursorCompactionResult;
+import com.patra.ingest.app.cursor.dto.CursorTimeline;
+import com.patra.ingest.domain.model.entity.CursorEvent;
+import com.patra.ingest.domain.model.entity.CursorSnapshot;
+import com.patra.ingest.domain.port.CursorEventRepository;
+import com.patra.ingest.domain.port.CursorSnapshotRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 游标事件压缩应用服务。
+ * <p>
+ * 截止时间取“当前时间 - 保留期”并向下对齐到时间段起点，只折叠完整的时间段；
+ * 按落库先后逐块压缩，每块独立提交，单块不足 chunkSize 或达到分块上限即结束本轮，
+ * 剩余事件留待下一轮，避免长事务与大范围锁。
+ * </p>
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CursorCompactionApplicationService implements CursorCompactionUseCase {
+
+    private final CursorCompactionCommitter committer;
+    private final CursorEventRepository cursorEventRepository;
+    private final CursorSnapshotRepository cursorSnapshotRepository;
+    private final CursorCompactionProperties properties;
+
+    @Override
+    public CursorCompactionResult compact(int maxChunks) {
+        if (!properties.isEnabled()) {
+            log.debug("Cursor compaction disabled");
+            return CursorCompactionResult.empty();
+        }
+        Duration period = properties.getPeriod();
+        Instant before = CursorEventFolder.periodStart(Instant.now().minus(properties.getRetention()), period);
+        int chunkSize = Math.max(1, properties.getChunkSize());
+        int chunkLimit = maxChunks > 0 ? maxChunks : Math.max(1, properties.getMaxChunksPerRun());
+        CursorCompactionResult result = CursorCompactionResult.empty();
+        for (int i = 0; i < chunkLimit; i++) {
+            CursorCompactionResult chunk = committer.compactChunk(before, chunkSize, period);
+            result = result.plus(chunk);
+            if (chunk.events() < chunkSize) {
+                break;
+            }
+        }
+        log.info("Cursor events compacted, before={}, chunks={}, events={}, snapshots={}, deleted={}",
+                before, result.chunks(), result.events(), result.snapshots(), result.deleted());
+        return result;
+    }
+
+    @Override
+    public CursorTimeline timeline(CursorSlot slot, int snapshotLimit, int tailLimit) {
+        List<CursorSnapshot> snapshots = new ArrayList<>(cursorSnapshotRepository.findRecent(
+                slot.provenanceCode(), slot.operationCode(), slot.cursorKey(),
+                slot.namespaceScopeCode(), slot.namespaceKey(), snapshotLimit));
+        List<CursorEvent> tail = new ArrayList<>(cursorEventRepository.findRecent(
+                slot.provenanceCode(), slot.operationCode(), slot.cursorKey(),
+                slot.namespaceScopeCode(), slot.namespaceKey(), tailLimit));
+        Collections.reverse(snapshots);
+        Collections.reverse(tail);
+        return new CursorTimeline(slot, List.copyOf(snapshots), List.copyOf(tail));
+    }
+}
@@ -0,0 +1,26 @@
+package com.patra.ingest.app.cursor;
+
+import com.patra.ingest.app.cursor.dto.CursorCompactionResult;
+import com.patra.ingest.app.cursor.dto.CursorTimeline;
+
+/**
+ * 游标事件压缩用例：将超过保留期的推进事件折叠为快照并删除，时间线读取快照加事件尾部。
+ */
+public interface CursorCompactionUseCase {
+
+    /**
+     * 压缩一轮。
+     *
+     * @param maxChunks 本轮最多处理的分块数；非正数时使用配置值
+     */
+    CursorCompactionResult compact(int maxChunks);
+
+    /**
+     * 读取游标时间线。
+     *
+     * @param slot          游标槽位
+     * @param snapshotLimit 最多返回的快照数
+     * @param tailLimit     最多返回的事件数
+     */
+    CursorTimeline timeline(CursorSlot slot, int snapshotLimit, int tailLimit);
+}
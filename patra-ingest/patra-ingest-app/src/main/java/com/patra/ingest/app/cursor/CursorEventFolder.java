@@ -0,0 +1,73 @@
+package com.patra.ingest.app.cursor;
+
+import com.patra.ingest.domain.model.entity.CursorEvent;
+import com.patra.ingest.domain.model.entity.CursorSnapshot;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 游标事件折叠规则（纯函数）：按 (命名空间, 时间段) 将推进事件折叠为快照。
+ * <p>
+ * 时间段按落库时间对齐到 Unix 纪元起的整数个周期；同一段内按事件 ID 顺序折叠，
+ * 快照起点为首个事件的推进前值、终点为末个事件的推进后值，回放时与其后的事件首尾相接。
+ * </p>
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+public final class CursorEventFolder {
+
+    private CursorEventFolder() {
+    }
+
+    /**
+     * 折叠一批事件；事件须带落库时间。
+     *
+     * @param events 推进事件（顺序不限）
+     * @param period 快照时间段长度
+     * @return 快照列表，按首个事件 ID 升序
+     */
+    public static List<CursorSnapshot> fold(List<CursorEvent> events, Duration period) {
+        if (events == null || events.isEmpty()) {
+            return List.of();
+        }
+        List<CursorEvent> ordered = new ArrayList<>(events);
+        ordered.sort(Comparator.comparing(CursorEvent::getId, Comparator.nullsFirst(Comparator.naturalOrder())));
+        Map<Key, CursorSnapshot> snapshots = new LinkedHashMap<>();
+        for (CursorEvent event : ordered) {
+            Instant createdAt = Objects.requireNonNull(event.getCreatedAt(), "cursor event createdAt");
+            Instant start = periodStart(createdAt, period);
+            Key key = new Key(event.getProvenanceCode(), event.getOperationCode(), event.getCursorKey(),
+                    event.getNamespaceScopeCode(), event.getNamespaceKey(), start);
+            snapshots.merge(key, CursorSnapshot.of(event, start, start.plus(period)),
+                    (folded, single) -> folded.fold(event));
+        }
+        return List.copyOf(snapshots.values());
+    }
+
+    /**
+     * 时间点所在时间段的起点（纪元对齐）。
+     */
+    public static Instant periodStart(Instant instant, Duration period) {
+        long periodMillis = period.toMillis();
+        if (periodMillis <= 0) {
+            throw new IllegalArgumentException("period must be positive: " + period);
+        }
+        return Instant.ofEpochMilli(Math.floorDiv(instant.toEpochMilli(), periodMillis) * periodMillis);
+    }
+
+    private record Key(String provenanceCode,
+                       String operationCode,
+                       String cursorKey,
+                       String namespaceScopeCode,
+                       String namespaceKey,
+                       Instant periodStart) {
+    }
+}
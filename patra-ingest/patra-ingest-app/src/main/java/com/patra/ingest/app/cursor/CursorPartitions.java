@@ -0,0 +1,84 @@
+package com.patra.ingest.app.cursor;
+
+import cn.hutool.core.util.StrUtil;
+import com.patra.common.util.HashUtils;
+import com.patra.ingest.domain.model.enums.NamespaceScope;
+import com.patra.ingest.domain.model.vo.NamespaceKey;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 分区游标规则（纯函数）：任务到分区的映射与分区命名空间。
+ * <ul>
+ *   <li>SLICE：切片窗口起点所在时间桶的序号对分区数取模。映射只取决于数据时间，不随计划与切片序号变化，
+ *       同一时间段在任何计划中都落在同一分区；相邻时间桶落在不同分区，可由多个节点并行推进。</li>
+ *   <li>QUERY_HASH：表达式哈希前 8 位对分区数取模，同一查询始终落在同一分区。</li>
+ * </ul>
+ * 分区命名空间为 CUSTOM 作用域，键为 {@code sha256("partition:" + p + "/" + K)}，分区数变化即换一组游标。
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+public final class CursorPartitions {
+
+    /** 按切片窗口时间桶分区 */
+    public static final String STRATEGY_SLICE = "SLICE";
+    /** 按表达式哈希分区 */
+    public static final String STRATEGY_QUERY_HASH = "QUERY_HASH";
+
+    /** 默认时间桶宽度 */
+    private static final Duration DEFAULT_BUCKET = Duration.ofHours(1);
+
+    private CursorPartitions() {
+    }
+
+    /**
+     * 任务所属分区，取值 [0, partitions)。
+     *
+     * @param strategy   分区方式，未识别时按 SLICE
+     * @param partitions 分区数
+     * @param windowFrom 切片窗口起点（可空）
+     * @param bucket     SLICE 方式的时间桶宽度（为空或非正时按 1 小时）
+     * @param exprHash   表达式哈希（可空）
+     */
+    public static int partitionOf(String strategy, int partitions, Instant windowFrom, Duration bucket, String exprHash) {
+        if (partitions <= 1) {
+            return 0;
+        }
+        String mode = StrUtil.isBlank(strategy) ? STRATEGY_SLICE : strategy.trim().toUpperCase(Locale.ROOT);
+        if (STRATEGY_QUERY_HASH.equals(mode)) {
+            if (StrUtil.isBlank(exprHash) || exprHash.length() < 8) {
+                return 0;
+            }
+            return (int) Math.floorMod(Long.parseLong(exprHash.substring(0, 8), 16), (long) partitions);
+        }
+        if (windowFrom == null) {
+            return 0;
+        }
+        long bucketMillis = bucket == null || bucket.isNegative() || bucket.isZero()
+                ? DEFAULT_BUCKET.toMillis() : bucket.toMillis();
+        return (int) Math.floorMod(Math.floorDiv(windowFrom.toEpochMilli(), bucketMillis), (long) partitions);
+    }
+
+    /**
+     * 分区命名空间。
+     */
+    public static NamespaceKey namespace(int partition, int partitions) {
+        return new NamespaceKey(NamespaceScope.CUSTOM, HashUtils.sha256Hex("partition:" + partition + "/" + partitions));
+    }
+
+    /**
+     * 全部分区的槽位，按分区序排列。
+     */
+    public static List<CursorSlot> slots(CursorSlot global, int partitions) {
+        List<CursorSlot> slots = new ArrayList<>(partitions);
+        for (int p = 0; p < partitions; p++) {
+            slots.add(new CursorSlot(global.provenanceCode(), global.operationCode(), global.cursorKey(), namespace(p, partitions)));
+        }
+        return slots;
+    }
+}
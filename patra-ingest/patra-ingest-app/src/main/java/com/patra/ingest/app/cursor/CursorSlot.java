@@ -0,0 +1,20 @@
+package com.patra.ingest.app.cursor;
+
+import com.patra.ingest.domain.model.vo.NamespaceKey;
+
+/**
+ * 游标槽位：ing_cursor 的唯一键 (provenance, operation, cursor_key, namespace)。
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+public record CursorSlot(String provenanceCode, String operationCode, String cursorKey, NamespaceKey namespace) {
+
+    public String namespaceScopeCode() {
+        return namespace.scope().getCode();
+    }
+
+    public String namespaceKey() {
+        return namespace.key();
+    }
+}
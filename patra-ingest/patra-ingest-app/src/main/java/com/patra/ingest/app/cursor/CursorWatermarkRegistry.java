@@ -0,0 +1,118 @@
+package com.patra.ingest.app.cursor;
+
+import com.patra.ingest.app.cursor.config.CursorWriteProperties;
+import com.patra.ingest.domain.model.entity.Cursor;
+import com.patra.ingest.domain.model.enums.CursorType;
+import com.patra.ingest.domain.model.enums.NamespaceScope;
+import com.patra.ingest.domain.port.CursorRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * GLOBAL 命名空间 TIME 游标的水位登记表：按 (来源, 操作) 在内存中提供当前水位，供计划窗口解析使用。
+ * <p>
+ * 本节点的游标刷盘成功后由 {@link CursorAdvanceCoordinator} 回写，水位只取较大值；
+ * 未命中或超过 watermarkCacheTtl 时回源查询一次（走 idx_cursor_watermark）并以库中结果为准，
+ * 以吸收其他节点的推进与人工重置。
+ * 操作编码为空时表示不区分操作，与回源查询的语义一致。
+ * </p>
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+@Component
+@RequiredArgsConstructor
+public class CursorWatermarkRegistry {
+
+    private final CursorRepository cursorRepository;
+    private final CursorWriteProperties properties;
+
+    private final ConcurrentMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+
+    /**
+     * 当前水位；没有 GLOBAL TIME 游标时为空。
+     *
+     * @param provenanceCode 来源编码
+     * @param operationCode  操作编码（可空）
+     */
+    public Optional<Instant> latestGlobalTime(String provenanceCode, String operationCode) {
+        long ttlNanos = properties.getWatermarkCacheTtl() == null ? 0L : properties.getWatermarkCacheTtl().toNanos();
+        if (ttlNanos <= 0L) {
+            loads.increment();
+            return cursorRepository.findLatestGlobalTimeWatermark(provenanceCode, operationCode);
+        }
+        Key key = new Key(provenanceCode, operationCode);
+        long now = System.nanoTime();
+        Entry entry = entries.get(key);
+        if (entry != null && now - entry.loadedAt() < ttlNanos) {
+            hits.increment();
+            return Optional.ofNullable(entry.watermark());
+        }
+        loads.increment();
+        Instant loaded = cursorRepository.findLatestGlobalTimeWatermark(provenanceCode, operationCode).orElse(null);
+        entries.put(key, new Entry(loaded, now));
+        return Optional.ofNullable(loaded);
+    }
+
+    /**
+     * 游标已落库：更新对应来源操作及不区分操作的水位。
+     */
+    public void onFlushed(List<Cursor> cursors) {
+        for (Cursor cursor : cursors) {
+            if (cursor.getNamespaceScope() != NamespaceScope.GLOBAL || cursor.getCursorType() != CursorType.TIME) {
+                continue;
+            }
+            Instant watermark = cursor.getWatermark() != null && cursor.getWatermark().hasInstant()
+                    ? cursor.getWatermark().normalizedInstant()
+                    : cursor.getValue() == null ? null : cursor.getValue().instant();
+            if (watermark == null) {
+                continue;
+            }
+            raise(new Key(cursor.getProvenanceCode(), cursor.getOperationCode()), watermark);
+            raise(new Key(cursor.getProvenanceCode(), null), watermark);
+        }
+    }
+
+    /**
+     * 命中与回源计数。
+     */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long loadCount() {
+        return loads.sum();
+    }
+
+    /**
+     * 仅抬高已登记的水位；未登记的键留待首次查询时回源，避免以单个游标代替全量结果。
+     */
+    private void raise(Key key, Instant watermark) {
+        entries.computeIfPresent(key, (k, old) -> new Entry(later(old.watermark(), watermark), old.loadedAt()));
+    }
+
+    private static Instant later(Instant left, Instant right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        return right.isAfter(left) ? right : left;
+    }
+
+    private record Key(String provenanceCode, String operationCode) {
+    }
+
+    private record Entry(Instant watermark, long loadedAt) {
+    }
+}
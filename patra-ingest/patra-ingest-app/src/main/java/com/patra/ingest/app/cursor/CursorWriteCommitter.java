@@ -0,0 +1,41 @@
+package com.patra.ingest.app.cursor;
+
+import com.patra.ingest.domain.model.entity.Cursor;
+import com.patra.ingest.domain.model.entity.CursorEvent;
+import com.patra.ingest.domain.port.CursorEventRepository;
+import com.patra.ingest.domain.port.CursorRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * 游标刷盘的事务边界：一轮合并后的游标当前值与推进事件同事务写入，按语句批大小拆分多行 INSERT。
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+@Component
+@RequiredArgsConstructor
+public class CursorWriteCommitter {
+
+    private final CursorRepository cursorRepository;
+    private final CursorEventRepository cursorEventRepository;
+
+    /**
+     * @return 实际写入的事件数（幂等键重复的不计）
+     */
+    @Transactional
+    public int commit(List<Cursor> cursors, List<CursorEvent> events, int statementBatchSize) {
+        int size = Math.max(1, statementBatchSize);
+        for (int from = 0; from < cursors.size(); from += size) {
+            cursorRepository.upsertAll(cursors.subList(from, Math.min(cursors.size(), from + size)));
+        }
+        int appended = 0;
+        for (int from = 0; from < events.size(); from += size) {
+            appended += cursorEventRepository.appendAll(events.subList(from, Math.min(events.size(), from + size)));
+        }
+        return appended;
+    }
+}
@@ -0,0 +1,65 @@
+package com.patra.ingest.app.cursor.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 游标事件压缩配置：超过保留期的推进事件按时间段折叠为快照后删除。
+ */
+@Component
+@ConfigurationProperties(prefix = "patra.ingest.cursor-compaction")
+public class CursorCompactionProperties {
+
+    /** 是否启用压缩 */
+    private boolean enabled = true;
+    /** 事件保留期，期内事件保持原样 */
+    private Duration retention = Duration.ofDays(7);
+    /** 快照时间段长度 */
+    private Duration period = Duration.ofDays(1);
+    /** 单块（单事务）折叠的事件数 */
+    private int chunkSize = 1000;
+    /** 单轮最多处理的分块数 */
+    private int maxChunksPerRun = 100;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getRetention() {
+        return retention;
+    }
+
+    public void setRetention(Duration retention) {
+        this.retention = retention;
+    }
+
+    public Duration getPeriod() {
+        return period;
+    }
+
+    public void setPeriod(Duration period) {
+        this.period = period;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getMaxChunksPerRun() {
+        return maxChunksPerRun;
+    }
+
+    public void setMaxChunksPerRun(int maxChunksPerRun) {
+        this.maxChunksPerRun = maxChunksPerRun;
+    }
+}
@@ -0,0 +1,81 @@
+package com.patra.ingest.app.cursor.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 游标分区配置：来源的采集进度拆成 K 个命名空间分区各自推进；全局水位只随计划内已连续成功的切片前进。
+ */
+@Component
+@ConfigurationProperties(prefix = "patra.ingest.cursor-partition")
+public class CursorPartitionProperties {
+
+    /** 是否启用分区游标；关闭时只推进 GLOBAL 游标 */
+    private boolean enabled = false;
+    /** 默认分区数 */
+    private int defaultPartitions = 4;
+    /** 按来源覆盖的分区数（key 为来源编码），1 表示不分区 */
+    private Map<String, Integer> provenancePartitions = new HashMap<>();
+    /** 分区方式：SLICE（按切片窗口起点所在时间桶）/ QUERY_HASH（按表达式哈希） */
+    private String strategy = "SLICE";
+    /** SLICE 方式的时间桶宽度 */
+    private Duration sliceBucket = Duration.ofHours(1);
+
+    /**
+     * 指定来源的分区数；未启用时为 1。
+     */
+    public int partitionsOf(String provenanceCode) {
+        if (!enabled) {
+            return 1;
+        }
+        Integer override = provenanceCode == null ? null : provenancePartitions.get(provenanceCode);
+        if (override == null && provenanceCode != null) {
+            override = provenancePartitions.get(provenanceCode.toLowerCase());
+        }
+        return Math.max(1, override == null ? defaultPartitions : override);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getDefaultPartitions() {
+        return defaultPartitions;
+    }
+
+    public void setDefaultPartitions(int defaultPartitions) {
+        this.defaultPartitions = defaultPartitions;
+    }
+
+    public Map<String, Integer> getProvenancePartitions() {
+        return provenancePartitions;
+    }
+
+    public void setProvenancePartitions(Map<String, Integer> provenancePartitions) {
+        this.provenancePartitions = provenancePartitions == null ? new HashMap<>() : provenancePartitions;
+    }
+
+    public String getStrategy() {
+        return strategy;
+    }
+
+    public void setStrategy(String strategy) {
+        this.strategy = strategy;
+    }
+
+    public Duration getSliceBucket() {
+        return sliceBucket;
+    }
+
+    public void setSliceBucket(Duration sliceBucket) {
+        this.sliceBucket = sliceBucket;
+    }
+}
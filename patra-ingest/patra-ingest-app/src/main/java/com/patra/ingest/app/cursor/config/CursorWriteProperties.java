@@ -0,0 +1,85 @@
+package com.patra.ingest.app.cursor.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 游标写入配置（延迟合并写入与批量刷盘）。
+ */
+@Component
+@ConfigurationProperties(prefix = "patra.ingest.cursor-write")
+public class CursorWriteProperties {
+
+    /** 是否启用延迟写入；关闭时每次推进立即刷盘 */
+    private boolean writeBehindEnabled = true;
+    /** 刷盘间隔，即宕机时最多丢失的推进时长 */
+    private Duration flushInterval = Duration.ofSeconds(1);
+    /** 待写事件达到该数量时提前刷盘 */
+    private int flushThreshold = 500;
+    /** 待写事件上限；达到后推进方同步刷盘，仍失败则拒绝推进 */
+    private int maxPendingEvents = 20_000;
+    /** 单条多行 INSERT 的行数 */
+    private int statementBatchSize = 200;
+    /** GLOBAL TIME 水位登记表的回源间隔；不大于 0 时每次查询都回源 */
+    private Duration watermarkCacheTtl = Duration.ofMinutes(1);
+    /** 协调器槽位缓存的回源间隔；不大于 0 时每次访问都回源 */
+    private Duration slotCacheTtl = Duration.ofSeconds(30);
+
+    public boolean isWriteBehindEnabled() {
+        return writeBehindEnabled;
+    }
+
+    public void setWriteBehindEnabled(boolean writeBehindEnabled) {
+        this.writeBehindEnabled = writeBehindEnabled;
+    }
+
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    public int getFlushThreshold() {
+        return flushThreshold;
+    }
+
+    public void setFlushThreshold(int flushThreshold) {
+        this.flushThreshold = flushThreshold;
+    }
+
+    public int getMaxPendingEvents() {
+        return maxPendingEvents;
+    }
+
+    public void setMaxPendingEvents(int maxPendingEvents) {
+        this.maxPendingEvents = maxPendingEvents;
+    }
+
+    public int getStatementBatchSize() {
+        return statementBatchSize;
+    }
+
+    public void setStatementBatchSize(int statementBatchSize) {
+        this.statementBatchSize = statementBatchSize;
+    }
+
+    public Duration getWatermarkCacheTtl() {
+        return watermarkCacheTtl;
+    }
+
+    public void setWatermarkCacheTtl(Duration watermarkCacheTtl) {
+        this.watermarkCacheTtl = watermarkCacheTtl;
+    }
+
+    public Duration getSlotCacheTtl() {
+        return slotCacheTtl;
+    }
+
+    public void setSlotCacheTtl(Duration slotCacheTtl) {
+        this.slotCacheTtl = slotCacheTtl;
+    }
+}
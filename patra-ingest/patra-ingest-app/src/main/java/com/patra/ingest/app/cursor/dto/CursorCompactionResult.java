@@ -0,0 +1,21 @@
+package com.patra.ingest.app.cursor.dto;
+
+/**
+ * 游标事件压缩结果。
+ *
+ * @param chunks    处理的分块数
+ * @param events    折叠的事件数
+ * @param snapshots 合并的快照数
+ * @param deleted   删除的事件行数
+ */
+public record CursorCompactionResult(int chunks, long events, long snapshots, long deleted) {
+
+    public static CursorCompactionResult empty() {
+        return new CursorCompactionResult(0, 0L, 0L, 0L);
+    }
+
+    public CursorCompactionResult plus(CursorCompactionResult other) {
+        return new CursorCompactionResult(chunks + other.chunks, events + other.events,
+                snapshots + other.snapshots, deleted + other.deleted);
+    }
+}
@@ -0,0 +1,17 @@
+package com.patra.ingest.app.cursor.dto;
+
+import com.patra.ingest.app.cursor.CursorSlot;
+import com.patra.ingest.domain.model.entity.CursorEvent;
+import com.patra.ingest.domain.model.entity.CursorSnapshot;
+
+import java.util.List;
+
+/**
+ * 游标推进时间线：已压缩的快照加未压缩的事件尾部，均按时间升序。
+ *
+ * @param slot      游标槽位
+ * @param snapshots 最近的快照
+ * @param tail      最近的推进事件
+ */
+public record CursorTimeline(CursorSlot slot, List<CursorSnapshot> snapshots, List<CursorEvent> tail) {
+}
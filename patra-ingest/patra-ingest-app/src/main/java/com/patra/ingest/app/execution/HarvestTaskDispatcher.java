@@ -0,0 +1,110 @@
+package com.patra.ingest.app.execution;
+
+import com.patra.ingest.app.execution.command.TaskExecutionCommand;
+import com.patra.ingest.app.execution.config.HarvestExecutorProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 采集任务派发器：每个任务一个虚拟线程，拉取期间的网络等待不占用平台线程。
+ * <p>
+ * 节点级在途上限由调用方（MQ 消费线程）阻塞获取，满载时自然放缓消费形成背压；
+ * 来源级并发上限在虚拟线程内获取，避免单一来源占满节点容量。
+ * </p>
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+@Slf4j
+@Component
+public class HarvestTaskDispatcher {
+
+    private final TaskExecutionUseCase taskExecutionUseCase;
+    private final HarvestExecutorProperties properties;
+    /** 虚拟线程执行器 */
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    /** 节点级在途许可 */
+    private final Semaphore inFlight;
+    /** 来源级并发许可 */
+    private final Map<String, Semaphore> provenancePermits = new ConcurrentHashMap<>();
+
+    public HarvestTaskDispatcher(TaskExecutionUseCase taskExecutionUseCase, HarvestExecutorProperties properties) {
+        this.taskExecutionUseCase = taskExecutionUseCase;
+        this.properties = properties;
+        this.inFlight = new Semaphore(Math.max(1, properties.getMaxInFlightTasks()));
+    }
+
+    /**
+     * 派发单个任务；节点在途已满时阻塞调用线程。
+     *
+     * @param command 执行命令
+     * @throws InterruptedException 等待许可时被中断
+     */
+    public void dispatch(TaskExecutionCommand command) throws InterruptedException {
+        inFlight.acquire();
+        try {
+            executor.execute(() -> runWithPermits(command));
+        } catch (RejectedExecutionException ex) {
+            inFlight.release();
+            throw ex;
+        }
+    }
+
+    /**
+     * 当前在途任务数。
+     */
+    public int inFlight() {
+        return Math.max(1, properties.getMaxInFlightTasks()) - inFlight.availablePermits();
+    }
+
+    /**
+     * 当前可立即派发的任务数（拉取模式据此决定单次领取量）。
+     */
+    public int availableSlots() {
+        return inFlight.availablePermits();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(properties.getShutdownTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Harvest executor shutdown timed out, inFlight={}", inFlight());
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+
+    private void runWithPermits(TaskExecutionCommand command) {
+        Semaphore permits = provenancePermits.computeIfAbsent(
+                String.valueOf(command.provenanceCode()),
+                code -> new Semaphore(properties.concurrencyOf(command.provenanceCode())));
+        try {
+            permits.acquire();
+            try {
+                taskExecutionUseCase.execute(command);
+            } finally {
+                permits.release();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            log.warn("Task execution interrupted, taskId={}", command.taskId());
+        } catch (RuntimeException ex) {
+            log.error("Task execution crashed, taskId={}", command.taskId(), ex);
+        } finally {
+            inFlight.release();
+        }
+    }
+}
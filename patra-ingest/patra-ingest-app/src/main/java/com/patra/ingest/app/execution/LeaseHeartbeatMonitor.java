@@ -0,0 +1,135 @@
+package com.patra.ingest.app.execution;
+
+import com.patra.ingest.app.execution.config.HarvestExecutorProperties;
+import com.patra.ingest.domain.port.TaskRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 租约心跳：单个调度线程按固定间隔为本节点持有的全部租约续约。
+ * <p>
+ * 每次心跳按持有者以一条 UPDATE 续约本进程登记的任务（以任务 ID 限定，不会续上同名持有者的上一进程遗留的租约）；
+ * 续约行数少于登记数时才逐个核对，未命中（租约已被回收或任务已被改写）即标记租约丢失，由执行循环尽快中止。
+ * </p>
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LeaseHeartbeatMonitor {
+
+    private final TaskRepository taskRepository;
+    private final HarvestExecutorProperties properties;
+
+    /** 本节点持有的租约 */
+    private final Map<Long, TaskLease> leases = new ConcurrentHashMap<>();
+    /** 心跳调度线程 */
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void start() {
+        long intervalMillis = Math.max(1000L, properties.getHeartbeatInterval().toMillis());
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ingest-lease-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::heartbeat, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 登记已抢占的租约。
+     */
+    public TaskLease register(Long taskId, String owner) {
+        return leases.compute(taskId, (id, existing) ->
+                existing != null && !existing.isLost() && existing.getOwner().equals(owner)
+                        ? existing
+                        : new TaskLease(id, owner));
+    }
+
+    /**
+     * 注销租约（任务结束后调用）。
+     */
+    public void unregister(TaskLease lease) {
+        if (lease != null) {
+            leases.remove(lease.getTaskId(), lease);
+        }
+    }
+
+    /**
+     * 当前持有的租约数。
+     */
+    public int activeLeases() {
+        return leases.size();
+    }
+
+    void heartbeat() {
+        if (leases.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        Instant leasedUntil = now.plus(properties.getLeaseDuration());
+        Map<String, List<TaskLease>> byOwner = new HashMap<>();
+        for (TaskLease lease : leases.values()) {
+            byOwner.computeIfAbsent(lease.getOwner(), ignored -> new ArrayList<>()).add(lease);
+        }
+        byOwner.forEach((owner, held) -> renew(owner, held, leasedUntil, now));
+    }
+
+    /**
+     * 以一条 UPDATE 续约同一持有者登记的租约；续约行数少于登记数时逐个核对。
+     */
+    private void renew(String owner, List<TaskLease> held, Instant leasedUntil, Instant now) {
+        List<Long> taskIds = held.stream().map(TaskLease::getTaskId).toList();
+        int renewed;
+        try {
+            renewed = taskRepository.renewLeases(owner, taskIds, leasedUntil, now);
+        } catch (RuntimeException ex) {
+            log.warn("Task lease bulk renewal failed, owner={}, active={}, reason={}", owner, taskIds.size(), ex.getMessage());
+            return;
+        }
+        if (renewed < taskIds.size()) {
+            reconcile(held, leasedUntil, now);
+        }
+        log.debug("Task leases renewed, owner={}, renewed={}, active={}", owner, renewed, taskIds.size());
+    }
+
+    /**
+     * 批量续约行数不足时逐个核对，找出已丢失的租约。
+     */
+    private void reconcile(List<TaskLease> held, Instant leasedUntil, Instant now) {
+        for (TaskLease lease : held) {
+            try {
+                if (!taskRepository.renewLease(lease.getTaskId(), lease.getOwner(), leasedUntil, now)) {
+                    lease.markLost();
+                    leases.remove(lease.getTaskId(), lease);
+                    log.warn("Task lease lost, taskId={}, owner={}", lease.getTaskId(), lease.getOwner());
+                }
+            } catch (RuntimeException ex) {
+                log.warn("Task lease renewal failed, taskId={}, reason={}", lease.getTaskId(), ex.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.patra.ingest.app.execution;
+
+import com.patra.ingest.app.execution.command.TaskExecutionCommand;
+import com.patra.ingest.app.execution.config.HarvestExecutorProperties;
+import com.patra.ingest.app.orchestration.backpressure.TaskQueueGauge;
+import com.patra.ingest.domain.model.aggregate.TaskAggregate;
+import com.patra.ingest.domain.port.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 任务批量领取应用服务。
+ * <p>
+ * 领取量取请求上限与派发器空闲容量的较小值，一次 SKIP LOCKED 查询加一次 UPDATE 完成领取；
+ * 领取后立即登记租约，使排队等待来源并发许可的任务同样被心跳续约。
+ * </p>
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskClaimApplicationService implements TaskClaimUseCase {
+
+    private final TaskRepository taskRepository;
+    private final HarvestTaskDispatcher dispatcher;
+    private final LeaseHeartbeatMonitor leaseHeartbeatMonitor;
+    private final TaskQueueGauge taskQueueGauge;
+    private final HarvestExecutorProperties properties;
+
+    @Override
+    public int claimAndDispatch(int limit) {
+        int requested = limit > 0 ? limit : properties.getClaimBatchSize();
+        int batchSize = Math.min(requested, dispatcher.availableSlots());
+        if (batchSize <= 0) {
+            return 0;
+        }
+        String owner = properties.resolveWorkerId();
+        List<TaskAggregate> claimed = taskRepository.claimBatch(owner, batchSize, properties.getLeaseDuration());
+        Instant now = Instant.now();
+        List<TaskLease> leases = claimed.stream()
+                .map(task -> leaseHeartbeatMonitor.register(task.getId(), owner))
+                .toList();
+        int dispatched = 0;
+        for (TaskAggregate task : claimed) {
+            taskQueueGauge.recordDequeued(task.getProvenanceCode(), task.getOperationCode(), 1);
+            try {
+                dispatcher.dispatch(new TaskExecutionCommand(
+                        task.getId(), task.getProvenanceCode(), task.getOperationCode(), null, now, true));
+                dispatched++;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                // 未派发的任务停止续约，租约到期后可被重新抢占
+                leases.subList(dispatched, leases.size()).forEach(leaseHeartbeatMonitor::unregister);
+                log.warn("Task claim dispatch interrupted, dispatched={}, claimed={}", dispatched, claimed.size());
+                break;
+            }
+        }
+        log.info("Task batch claimed, owner={}, requested={}, claimed={}, dispatched={}",
+                owner, batchSize, claimed.size(), dispatched);
+        return claimed.size();
+    }
+}
@@ -0,0 +1,15 @@
+package com.patra.ingest.app.execution;
+
+/**
+ * 任务批量领取用例（拉取模式）：按空闲容量从任务队列领取一批任务并派发执行。
+ */
+public interface TaskClaimUseCase {
+
+    /**
+     * 领取并派发一批任务。
+     *
+     * @param limit 单次领取上限；非正数时使用配置值
+     * @return 实际领取的任务数
+     */
+    int claimAndDispatch(int limit);
+}
@@ -0,0 +1,418 @@
+package com.patra.ingest.app.execution;
+
+import cn.hutool.core.util.StrUtil;
+import com.patra.common.enums.ProvenanceCode;
+import com.patra.common.util.HashUtils;
+import com.patra.expr.Exprs;
+import com.patra.ingest.app.execution.command.TaskExecutionCommand;
+import com.patra.ingest.app.execution.config.HarvestExecutorProperties;
+import com.patra.ingest.app.execution.dto.TaskExecutionResult;
+import com.patra.ingest.app.execution.pipeline.BackpressureStrategy;
+import com.patra.ingest.app.execution.pipeline.BoundedStage;
+import com.patra.ingest.app.execution.pipeline.HarvestStageMetrics;
+import com.patra.ingest.app.execution.support.BatchGroupCommit;
+import com.patra.ingest.app.execution.support.DetailFetchPipeline;
+import com.patra.ingest.app.execution.support.HarvestPageFetcher;
+import com.patra.ingest.app.execution.support.HarvestPaging;
+import com.patra.ingest.app.execution.support.RunCheckpoints;
+import com.patra.ingest.app.execution.support.TaskRunBatchCommitter;
+import com.patra.ingest.app.execution.support.TaskCursorAdvancer;
+import com.patra.ingest.app.harvest.exception.HarvestFetchException;
+import com.patra.ingest.app.harvest.model.HarvestPage;
+import com.patra.ingest.app.harvest.model.HarvestPageRequest;
+import com.patra.ingest.app.harvest.model.HarvestQuery;
+import com.patra.ingest.app.harvest.support.HarvestQueryCompiler;
+import com.patra.ingest.app.orchestration.application.SliceSubdivisionUseCase;
+import com.patra.ingest.app.orchestration.backpressure.TaskQueueGauge;
+import com.patra.ingest.app.orchestration.command.SliceSubdivisionCommand;
+import com.patra.ingest.app.orchestration.dto.SliceSubdivisionResult;
+import com.patra.ingest.app.orchestration.slice.support.TimeSliceSpecs;
+import com.patra.ingest.app.port.HarvestSourcePort;
+import com.patra.ingest.app.port.ProvenancePort;
+import com.patra.ingest.domain.model.aggregate.PlanAggregate;
+import com.patra.ingest.domain.model.aggregate.PlanSliceAggregate;
+import com.patra.ingest.domain.model.aggregate.TaskAggregate;
+import com.patra.ingest.domain.model.entity.TaskRun;
+import com.patra.ingest.domain.model.entity.TaskRunBatch;
+import com.patra.ingest.domain.model.enums.Endpoint;
+import com.patra.ingest.domain.model.enums.TaskRunStatus;
+import com.patra.ingest.domain.model.enums.TaskStatus;
+import com.patra.ingest.domain.model.snapshot.ProvenanceConfigSnapshot;
+import com.patra.ingest.domain.model.vo.ExecutionWindow;
+import com.patra.ingest.domain.model.vo.IdempotentKey;
+import com.patra.ingest.domain.model.vo.RunStats;
+import com.patra.ingest.domain.port.PlanRepository;
+import com.patra.ingest.domain.port.PlanSliceRepository;
+import com.patra.ingest.domain.port.TaskRepository;
+import com.patra.ingest.domain.port.TaskRunRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * 任务执行应用服务。
+ * <p>
+ * 以条件更新抢占任务租约（QUEUED 或租约过期的 RUNNING），创建新的运行 Attempt，
+ * 按分页配置逐页拉取（处理当前页时预取后续页，页码模式可并行），页面经有界落库段记录批次，
+ * 批次与运行检查点按间隔组提交；上一次运行失败或中断且留有检查点时，从最后已提交批次的后继位置续跑，
+ * 配置了 DETAIL 端点时各页记录标识按批量配置切批并行拉取详情，与翻页重叠进行；
+ * 拉取→详情→落库各段队列有界，满载时按来源背压策略处理并计入 {@link HarvestStageMetrics}；
+ * 首页命中总数超出单窗口预算时交由切片细分并取消本次运行。
+ * 全部页完成后推进时间游标（只越过计划内已连续成功的切片，推进失败按运行失败处理），再以持有者条件写回任务终态。
+ * 执行期间由 {@link LeaseHeartbeatMonitor} 续约，
+ * 租约丢失后立即中止，不再写回任务状态。
+ * </p>
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskExecutionApplicationService implements TaskExecutionUseCase {
+
+    /** 任务错误信息最大长度（与 last_error_msg 列宽一致） */
+    private static final int MAX_ERROR_LENGTH = 512;
+
+    private final TaskRepository taskRepository;
+    private final TaskRunRepository taskRunRepository;
+    private final TaskRunBatchCommitter taskRunBatchCommitter;
+    private final PlanRepository planRepository;
+    private final PlanSliceRepository planSliceRepository;
+    private final ProvenancePort provenancePort;
+    private final HarvestQueryCompiler harvestQueryCompiler;
+    private final HarvestSourcePort harvestSourcePort;
+    private final SliceSubdivisionUseCase sliceSubdivisionUseCase;
+    private final TaskCursorAdvancer taskCursorAdvancer;
+    private final TaskQueueGauge taskQueueGauge;
+    private final LeaseHeartbeatMonitor leaseHeartbeatMonitor;
+    private final HarvestStageMetrics stageMetrics;
+    private final HarvestExecutorProperties properties;
+
+    @Override
+    public TaskExecutionResult execute(TaskExecutionCommand command) {
+        Optional<TaskAggregate> loaded = taskRepository.findById(command.taskId());
+        if (loaded.isEmpty()) {
+            return TaskExecutionResult.skipped(command.taskId(), "task not found");
+        }
+        TaskAggregate task = loaded.get();
+        String owner = properties.resolveWorkerId();
+        Instant now = Instant.now();
+        if (command.leaseHeld()) {
+            TaskLease lease = leaseHeartbeatMonitor.register(task.getId(), owner);
+            if (!holdsLease(task, owner, now)) {
+                leaseHeartbeatMonitor.unregister(lease);
+                return TaskExecutionResult.skipped(task.getId(), "claimed lease no longer held");
+            }
+            return runLeased(task, lease, command);
+        }
+
+        if (task.getStatus() != TaskStatus.QUEUED && task.getStatus() != TaskStatus.RUNNING) {
+            return TaskExecutionResult.skipped(task.getId(), "task already " + task.getStatus().getCode());
+        }
+        if (!taskRepository.acquireLease(task.getId(), owner, now.plus(properties.getLeaseDuration()), now,
+                command.correlationId())) {
+            return TaskExecutionResult.skipped(task.getId(), "lease not acquired");
+        }
+        if (task.getStatus() == TaskStatus.QUEUED) {
+            taskQueueGauge.recordDequeued(task.getProvenanceCode(), task.getOperationCode(), 1);
+        }
+        return runLeased(task, leaseHeartbeatMonitor.register(task.getId(), owner), command);
+    }
+
+    private TaskExecutionResult runLeased(TaskAggregate task, TaskLease lease, TaskExecutionCommand command) {
+        try {
+            return run(task, lease, command);
+        } finally {
+            leaseHeartbeatMonitor.unregister(lease);
+        }
+    }
+
+    /**
+     * 批量领取的任务在真正执行前复核租约仍归本节点且未过期。
+     */
+    private static boolean holdsLease(TaskAggregate task, String owner, Instant now) {
+        return task.getStatus() == TaskStatus.RUNNING
+                && owner.equals(task.getLeaseInfo().owner())
+                && task.getLeaseInfo().leasedUntil() != null
+                && task.getLeaseInfo().leasedUntil().isAfter(now);
+    }
+
+    private TaskExecutionResult run(TaskAggregate task, TaskLease lease, TaskExecutionCommand command) {
+        PlanSliceAggregate slice = planSliceRepository.findById(task.getSliceId()).orElse(null);
+        Optional<TaskRun> previous = taskRunRepository.findLatest(task.getId());
+        Optional<RunCheckpoints.ResumePoint> resume = resumePoint(previous);
+        TaskRun run = startRun(task, slice, command, previous, resume);
+        ProvenanceConfigSnapshot snapshot = null;
+        try {
+            if (slice == null) {
+                throw new IllegalStateException("Slice not found: " + task.getSliceId());
+            }
+            PlanAggregate plan = planRepository.findById(task.getPlanId())
+                    .orElseThrow(() -> new IllegalStateException("Plan not found: " + task.getPlanId()));
+            snapshot = provenancePort.fetchConfig(
+                    ProvenanceCode.parse(plan.getProvenanceCode()), plan.getEndpoint(), plan.getOperation());
+            HarvestQuery query = harvestQueryCompiler.compile(
+                    Exprs.fromJson(slice.getExprSnapshotJson()),
+                    ProvenanceCode.parse(plan.getProvenanceCode()),
+                    plan.getEndpoint(),
+                    plan.getOperation(),
+                    snapshot);
+
+            Optional<TaskExecutionResult> cancelled = harvestPages(task, slice, run, lease, query, snapshot,
+                    resolveDetailQuery(plan), resume.orElse(null));
+            if (cancelled.isPresent()) {
+                return cancelled.get();
+            }
+            taskCursorAdvancer.advance(task, slice, run, snapshot);
+        } catch (RuntimeException ex) {
+            return fail(task, run, lease, ex);
+        }
+
+        Instant finishedAt = Instant.now();
+        run.succeed(finishedAt);
+        run = taskRunRepository.save(run);
+        if (!taskRepository.completeLease(task.getId(), lease.getOwner(), TaskStatus.SUCCEEDED, finishedAt, null, null)) {
+            log.warn("Task completion ignored, lease no longer held, taskId={}, owner={}", task.getId(), lease.getOwner());
+        } else {
+            recheckCursor(task, slice, run, snapshot);
+        }
+        log.info("Task executed, taskId={}, runId={}, attempt={}, pages={}, fetched={}",
+                task.getId(), run.getId(), run.getAttemptNo(), run.getStats().pages(), run.getStats().fetched());
+        return result(run, null);
+    }
+
+    /**
+     * 终态落库后再走一次游标前缀，使跨节点并发完成的相邻切片不会让游标停在原地；任务已成功，失败只记录告警。
+     */
+    private void recheckCursor(TaskAggregate task, PlanSliceAggregate slice, TaskRun run, ProvenanceConfigSnapshot snapshot) {
+        try {
+            taskCursorAdvancer.recheck(task, slice, run, snapshot);
+        } catch (RuntimeException ex) {
+            log.warn("Cursor recheck failed, taskId={}, planId={}", task.getId(), task.getPlanId(), ex);
+        }
+    }
+
+    /**
+     * 分页拉取（后续页在处理当前页时预取）；页面交由单消费者落库段按页序累计统计、组提交批次与检查点，
+     * 配置了 DETAIL 端点时各页记录标识同时流入详情段批量拉取。续跑时从检查点位置开始，不再做细分判定。
+     * 切片被细分时返回取消结果，未完成的预取与详情批次随之取消。
+     */
+    private Optional<TaskExecutionResult> harvestPages(TaskAggregate task,
+                                                       PlanSliceAggregate slice,
+                                                       TaskRun run,
+                                                       TaskLease lease,
+                                                       HarvestQuery query,
+                                                       ProvenanceConfigSnapshot snapshot,
+                                                       HarvestQuery detailQuery,
+                                                       RunCheckpoints.ResumePoint resume) {
+        ProvenanceConfigSnapshot.PaginationConfig pagination = snapshot == null ? null : snapshot.pagination();
+        ProvenanceConfigSnapshot.BatchingConfig batching = snapshot == null ? null : snapshot.batching();
+        int maxPages = HarvestPaging.maxPages(pagination, properties.getMaxPagesPerRun());
+        int depth = HarvestPaging.prefetchDepth(batching, properties.getPagePrefetchDepth());
+        Optional<HarvestPageRequest> resumed = resume == null
+                ? Optional.empty()
+                : HarvestPaging.resume(pagination, properties.getDefaultPageSize(), resume.afterToken());
+        HarvestPageRequest first = resumed.orElseGet(() -> HarvestPaging.first(pagination, properties.getDefaultPageSize()));
+        int resumedPages = 0;
+        long resumedRecords = 0L;
+        if (resumed.isPresent()) {
+            resumedPages = resume.batchNo();
+            resumedRecords = resume.stats().fetched();
+            run.appendStats(resume.stats());
+            log.info("Task run resumes from checkpoint, taskId={}, runId={}, afterBatchNo={}, afterToken={}",
+                    task.getId(), run.getId(), resume.batchNo(), resume.afterToken());
+        }
+        BatchGroupCommit commits = new BatchGroupCommit(run, taskRunBatchCommitter::commit,
+                properties.getCheckpointCommitInterval(), properties.getCheckpointMaxBatches());
+        String provenanceCode = task.getProvenanceCode();
+        BackpressureStrategy strategy = BackpressureStrategy.fromCode(batching == null ? null : batching.backpressureStrategyCode());
+        try (HarvestPageFetcher fetcher = new HarvestPageFetcher(harvestSourcePort, query, pagination, first,
+                resumedPages, resumedRecords, maxPages, depth, stageMetrics.meter(provenanceCode, HarvestStageMetrics.STAGE_FETCH));
+             DetailFetchPipeline details = openDetailPipeline(provenanceCode, detailQuery, strategy);
+             // 落库段不可丢弃：批次与统计缺失会破坏游标推进，始终以 BLOCK 背压翻页
+             BoundedStage<HarvestPageFetcher.FetchedPage> sink = new BoundedStage<>(
+                     HarvestStageMetrics.STAGE_SINK, 1, properties.getSinkQueueCapacity(), BackpressureStrategy.BLOCK,
+                     stageMetrics.meter(provenanceCode, HarvestStageMetrics.STAGE_SINK),
+                     fetched -> {
+                         run.appendStats(new RunStats(fetched.recordCount(), 0L, 0L, 1L));
+                         commits.add(toBatch(task, slice, run, fetched), fetched.batchNo(), fetched.afterToken());
+                         if (details != null) {
+                             details.offer(fetched.page().recordKeys());
+                         }
+                     })) {
+            while (true) {
+                if (lease.isLost()) {
+                    throw new IllegalStateException("Task lease lost");
+                }
+                Optional<HarvestPageFetcher.FetchedPage> next = fetcher.next();
+                if (next.isEmpty()) {
+                    break;
+                }
+                HarvestPageFetcher.FetchedPage fetched = next.get();
+                if (fetched.batchNo() == 1) {
+                    Optional<TaskExecutionResult> subdivided = trySubdivide(task, run, fetched.page(), snapshot);
+                    if (subdivided.isPresent()) {
+                        return subdivided;
+                    }
+                }
+                sink.submit(fetched);
+            }
+            sink.drain();
+            commits.flush();
+            if (details != null) {
+                DetailFetchPipeline.Stats stats = details.finish();
+                run.appendStats(new RunStats(0L, 0L, stats.missing(), 0L));
+                log.info("Task details fetched, taskId={}, batches={}, requested={}, received={}, dropped={}",
+                        task.getId(), stats.batches(), stats.requested(), stats.received(), stats.dropped());
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * SEARCH 计划且 DETAIL 端点可用时构造详情查询；否则为空（仅执行搜索段）。
+     */
+    private HarvestQuery resolveDetailQuery(PlanAggregate plan) {
+        if (!properties.isDetailEnabled() || plan.getEndpoint() != Endpoint.SEARCH) {
+            return null;
+        }
+        ProvenanceCode provenanceCode = ProvenanceCode.parse(plan.getProvenanceCode());
+        ProvenanceConfigSnapshot detail = provenancePort.fetchConfig(provenanceCode, Endpoint.DETAIL, plan.getOperation());
+        if (!DetailFetchPipeline.applicable(detail)) {
+            return null;
+        }
+        return new HarvestQuery(provenanceCode, Endpoint.DETAIL, plan.getOperation(), detail, null, null);
+    }
+
+    private DetailFetchPipeline openDetailPipeline(String provenanceCode,
+                                                   HarvestQuery detailQuery,
+                                                   BackpressureStrategy strategy) {
+        if (detailQuery == null) {
+            return null;
+        }
+        ProvenanceConfigSnapshot.BatchingConfig batching = detailQuery.configSnapshot().batching();
+        return new DetailFetchPipeline(
+                harvestSourcePort,
+                detailQuery,
+                DetailFetchPipeline.batchSize(batching, properties.getDefaultDetailBatchSize()),
+                DetailFetchPipeline.parallelism(batching, properties.getDefaultDetailParallelism()),
+                properties.getDetailQueueCapacity(),
+                strategy,
+                stageMetrics.meter(provenanceCode, HarvestStageMetrics.STAGE_DETAIL));
+    }
+
+    /**
+     * 首页命中总数超出单窗口预算时细分切片；细分成功则取消本次运行（父任务由细分流程取消）。
+     */
+    private Optional<TaskExecutionResult> trySubdivide(TaskAggregate task,
+                                                       TaskRun run,
+                                                       HarvestPage page,
+                                                       ProvenanceConfigSnapshot snapshot) {
+        ProvenanceConfigSnapshot.WindowOffsetConfig offset = snapshot == null ? null : snapshot.windowOffset();
+        if (page.totalCount() == null || offset == null || offset.maxIdsPerWindow() == null
+                || offset.maxIdsPerWindow() <= 0 || page.totalCount() <= offset.maxIdsPerWindow()) {
+            return Optional.empty();
+        }
+        Instant now = Instant.now();
+        SliceSubdivisionResult result = sliceSubdivisionUseCase.subdivide(
+                new SliceSubdivisionCommand(task.getId(), page.totalCount(), snapshot, now));
+        if (!result.subdivided()) {
+            return Optional.empty();
+        }
+        run.cancel(result.reason(), now);
+        TaskRun saved = taskRunRepository.save(run);
+        log.info("Task superseded by subdivision, taskId={}, runId={}, observedTotal={}, children={}",
+                task.getId(), saved.getId(), page.totalCount(), result.childTaskIds().size());
+        return Optional.of(result(saved, result.reason()));
+    }
+
+    private TaskRun startRun(TaskAggregate task,
+                             PlanSliceAggregate slice,
+                             TaskExecutionCommand command,
+                             Optional<TaskRun> previous,
+                             Optional<RunCheckpoints.ResumePoint> resume) {
+        int attemptNo = previous.map(TaskRun::getAttemptNo).orElse(0) + 1;
+        TaskRun run = new TaskRun(null, task.getId(), attemptNo, task.getProvenanceCode(), task.getOperationCode());
+        if (slice != null) {
+            TimeSliceSpecs.parse(slice.getSliceSpecJson())
+                    .ifPresent(window -> run.assignWindow(new ExecutionWindow(window.from(), window.to())));
+        }
+        // 续跑时继承检查点：本次运行在首个组提交前中断，下一次仍可从同一位置续跑
+        resume.ifPresent(point -> run.updateCheckpoint(previous.get().getCheckpoint()));
+        Instant now = Instant.now();
+        run.start(now);
+        run.heartbeat(now);
+        run.bindRunContext(null, command.correlationId());
+        return taskRunRepository.save(run);
+    }
+
+    /**
+     * 上一次运行失败或中断（租约过期后仍为 RUNNING）且留有未走完的检查点时，返回续跑位置。
+     */
+    private Optional<RunCheckpoints.ResumePoint> resumePoint(Optional<TaskRun> previous) {
+        if (!properties.isResumeEnabled() || previous.isEmpty()) {
+            return Optional.empty();
+        }
+        TaskRunStatus status = previous.get().getStatus();
+        if (status != TaskRunStatus.FAILED && status != TaskRunStatus.RUNNING) {
+            return Optional.empty();
+        }
+        return RunCheckpoints.resumePoint(previous.get().getCheckpoint());
+    }
+
+    private TaskRunBatch toBatch(TaskAggregate task,
+                                 PlanSliceAggregate slice,
+                                 TaskRun run,
+                                 HarvestPageFetcher.FetchedPage fetched) {
+        HarvestPageRequest request = fetched.request();
+        TaskRunBatch batch = new TaskRunBatch(
+                null,
+                run.getId(),
+                task.getId(),
+                task.getSliceId(),
+                task.getPlanId(),
+                task.getProvenanceCode(),
+                task.getOperationCode(),
+                fetched.batchNo(),
+                request.pageNumber(),
+                request.pageSize(),
+                fetched.beforeToken(),
+                slice.getExprHash(),
+                new IdempotentKey(HashUtils.sha256Hex(run.getId() + "|" + fetched.batchNo() + "|" + fetched.beforeToken())));
+        batch.succeed(fetched.recordCount(), fetched.afterToken(), Instant.now());
+        return batch;
+    }
+
+    private TaskExecutionResult fail(TaskAggregate task, TaskRun run, TaskLease lease, RuntimeException ex) {
+        Instant finishedAt = Instant.now();
+        String errorCode;
+        if (ex instanceof HarvestFetchException fetchEx && fetchEx.isCircuitOpen()) {
+            errorCode = "CIRCUIT_OPEN";
+        } else if (ex instanceof HarvestFetchException fetchEx && !fetchEx.isNetworkError()) {
+            errorCode = "HTTP_" + fetchEx.getStatusCode();
+        } else {
+            errorCode = ex.getClass().getSimpleName();
+        }
+        String errorMsg = StrUtil.sub(StrUtil.blankToDefault(ex.getMessage(), errorCode), 0, MAX_ERROR_LENGTH);
+        run.fail(errorMsg, finishedAt);
+        TaskRun saved = taskRunRepository.save(run);
+        if (lease.isLost()) {
+            log.warn("Task aborted after lease loss, taskId={}, runId={}", task.getId(), saved.getId());
+        } else if (!taskRepository.completeLease(task.getId(), lease.getOwner(), TaskStatus.FAILED, finishedAt,
+                errorCode, errorMsg)) {
+            log.warn("Task failure ignored, lease no longer held, taskId={}, owner={}", task.getId(), lease.getOwner());
+        }
+        log.warn("Task execution failed, taskId={}, runId={}, attempt={}, pages={}, errorCode={}, reason={}",
+                task.getId(), saved.getId(), saved.getAttemptNo(), saved.getStats().pages(), errorCode, errorMsg);
+        return result(saved, errorMsg);
+    }
+
+    private static TaskExecutionResult result(TaskRun run, String reason) {
+        return new TaskExecutionResult(run.getTaskId(), run.getId(), run.getStatus(),
+                run.getStats().pages(), run.getStats().fetched(), reason);
+    }
+}
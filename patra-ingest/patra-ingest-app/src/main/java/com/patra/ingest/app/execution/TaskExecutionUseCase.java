@@ -0,0 +1,18 @@
+package com.patra.ingest.app.execution;
+
+import com.patra.ingest.app.execution.command.TaskExecutionCommand;
+import com.patra.ingest.app.execution.dto.TaskExecutionResult;
+
+/**
+ * 任务执行用例：抢占租约、创建运行记录、分页拉取并推进游标。
+ */
+public interface TaskExecutionUseCase {
+
+    /**
+     * 同步执行单个任务（调用方负责线程与并发控制）。
+     *
+     * @param command 执行命令
+     * @return 执行结果
+     */
+    TaskExecutionResult execute(TaskExecutionCommand command);
+}
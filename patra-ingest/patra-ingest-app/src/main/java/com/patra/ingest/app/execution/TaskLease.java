@@ -0,0 +1,38 @@
+package com.patra.ingest.app.execution;
+
+/**
+ * 执行期持有的任务租约句柄；心跳续约失败时标记为丢失，执行循环据此中止。
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+public final class TaskLease {
+
+    /** 任务 ID */
+    private final Long taskId;
+    /** 租约持有者 */
+    private final String owner;
+    /** 租约是否已丢失 */
+    private volatile boolean lost;
+
+    TaskLease(Long taskId, String owner) {
+        this.taskId = taskId;
+        this.owner = owner;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public boolean isLost() {
+        return lost;
+    }
+
+    void markLost() {
+        this.lost = true;
+    }
+}
@@ -0,0 +1,28 @@
+package com.patra.ingest.app.execution.command;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * 任务执行命令（由 task-ready 消息转换而来）。
+ *
+ * @param taskId 任务 ID
+ * @param provenanceCode 来源编码（用于并发隔离）
+ * @param operationCode 操作编码
+ * @param correlationId 链路 ID（消息 eventId / traceId）
+ * @param receivedAt 接收时间
+ * @param leaseHeld 租约是否已由本节点批量领取（为真时跳过抢占）
+ */
+public record TaskExecutionCommand(
+        Long taskId,
+        String provenanceCode,
+        String operationCode,
+        String correlationId,
+        Instant receivedAt,
+        boolean leaseHeld
+) {
+    public TaskExecutionCommand {
+        Objects.requireNonNull(taskId, "taskId must not be null");
+        receivedAt = receivedAt == null ? Instant.now() : receivedAt;
+    }
+}
@@ -0,0 +1,253 @@
+package com.patra.ingest.app.execution.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 采集执行器配置（虚拟线程执行、并发上限、租约与分页）。
+ */
+@Component
+@ConfigurationProperties(prefix = "patra.ingest.executor")
+public class HarvestExecutorProperties {
+
+    /** 是否启用执行器（消费 task-ready 消息） */
+    private boolean enabled = true;
+    /** 本节点标识（租约持有者）；为空时取 主机名#进程号 */
+    private String workerId;
+    /** 节点级在途任务上限 */
+    private int maxInFlightTasks = 4096;
+    /** 单来源默认并发上限 */
+    private int defaultProvenanceConcurrency = 256;
+    /** 按来源覆盖的并发上限（key 为来源编码） */
+    private Map<String, Integer> provenanceConcurrency = new HashMap<>();
+    /** 租约时长 */
+    private Duration leaseDuration = Duration.ofMinutes(2);
+    /** 心跳续约间隔（应明显小于租约时长） */
+    private Duration heartbeatInterval = Duration.ofSeconds(30);
+    /** 分页配置未给出页大小时的默认值 */
+    private int defaultPageSize = 100;
+    /** 单次运行最大翻页数 */
+    private int maxPagesPerRun = 10_000;
+    /** 分页预取深度（页码模式的并行页数上限，另受来源主机并发约束） */
+    private int pagePrefetchDepth = 4;
+    /** 是否在 SEARCH 翻页的同时按记录标识批量拉取 DETAIL */
+    private boolean detailEnabled = true;
+    /** 批量配置未给出详情批大小时的默认值 */
+    private int defaultDetailBatchSize = 200;
+    /** 批量配置未给出并行度时的详情并行批次数 */
+    private int defaultDetailParallelism = 4;
+    /** 详情段队列容量（待拉取批次数），满后按来源 backpressureStrategyCode 处理 */
+    private int detailQueueCapacity = 8;
+    /** 落库段队列容量（待记录页数），满后阻塞翻页 */
+    private int sinkQueueCapacity = 16;
+    /** 是否从上一次失败或中断运行的检查点续跑 */
+    private boolean resumeEnabled = true;
+    /** 批次与检查点组提交间隔 */
+    private Duration checkpointCommitInterval = Duration.ofSeconds(2);
+    /** 单次组提交的最大批次数 */
+    private int checkpointMaxBatches = 50;
+    /** 停机时等待在途任务的最长时间 */
+    private Duration shutdownTimeout = Duration.ofSeconds(30);
+    /** 拉取模式单次领取的任务数上限 */
+    private int claimBatchSize = 100;
+    /** 已解析的节点标识 */
+    private volatile String resolvedWorkerId;
+
+    /**
+     * 解析本节点标识。
+     */
+    public String resolveWorkerId() {
+        if (workerId != null && !workerId.isBlank()) {
+            return workerId;
+        }
+        String resolved = resolvedWorkerId;
+        if (resolved == null) {
+            String host;
+            try {
+                host = InetAddress.getLocalHost().getHostName();
+            } catch (Exception ex) {
+                host = "unknown";
+            }
+            resolved = host + "#" + ManagementFactory.getRuntimeMXBean().getPid();
+            resolvedWorkerId = resolved;
+        }
+        return resolved;
+    }
+
+    /**
+     * 指定来源的并发上限。
+     */
+    public int concurrencyOf(String provenanceCode) {
+        Integer override = provenanceCode == null ? null : provenanceConcurrency.get(provenanceCode);
+        if (override == null && provenanceCode != null) {
+            override = provenanceConcurrency.get(provenanceCode.toLowerCase());
+        }
+        return Math.max(1, override == null ? defaultProvenanceConcurrency : override);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getWorkerId() {
+        return workerId;
+    }
+
+    public void setWorkerId(String workerId) {
+        this.workerId = workerId;
+    }
+
+    public int getMaxInFlightTasks() {
+        return maxInFlightTasks;
+    }
+
+    public void setMaxInFlightTasks(int maxInFlightTasks) {
+        this.maxInFlightTasks = maxInFlightTasks;
+    }
+
+    public int getDefaultProvenanceConcurrency() {
+        return defaultProvenanceConcurrency;
+    }
+
+    public void setDefaultProvenanceConcurrency(int defaultProvenanceConcurrency) {
+        this.defaultProvenanceConcurrency = defaultProvenanceConcurrency;
+    }
+
+    public Map<String, Integer> getProvenanceConcurrency() {
+        return provenanceConcurrency;
+    }
+
+    public void setProvenanceConcurrency(Map<String, Integer> provenanceConcurrency) {
+        this.provenanceConcurrency = provenanceConcurrency == null ? new HashMap<>() : provenanceConcurrency;
+    }
+
+    public Duration getLeaseDuration() {
+        return leaseDuration;
+    }
+
+    public void setLeaseDuration(Duration leaseDuration) {
+        this.leaseDuration = leaseDuration;
+    }
+
+    public Duration getHeartbeatInterval() {
+        return heartbeatInterval;
+    }
+
+    public void setHeartbeatInterval(Duration heartbeatInterval) {
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    public int getDefaultPageSize() {
+        return defaultPageSize;
+    }
+
+    public void setDefaultPageSize(int defaultPageSize) {
+        this.defaultPageSize = defaultPageSize;
+    }
+
+    public int getMaxPagesPerRun() {
+        return maxPagesPerRun;
+    }
+
+    public void setMaxPagesPerRun(int maxPagesPerRun) {
+        this.maxPagesPerRun = maxPagesPerRun;
+    }
+
+    public int getPagePrefetchDepth() {
+        return pagePrefetchDepth;
+    }
+
+    public void setPagePrefetchDepth(int pagePrefetchDepth) {
+        this.pagePrefetchDepth = pagePrefetchDepth;
+    }
+
+    public boolean isDetailEnabled() {
+        return detailEnabled;
+    }
+
+    public void setDetailEnabled(boolean detailEnabled) {
+        this.detailEnabled = detailEnabled;
+    }
+
+    public int getDefaultDetailBatchSize() {
+        return defaultDetailBatchSize;
+    }
+
+    public void setDefaultDetailBatchSize(int defaultDetailBatchSize) {
+        this.defaultDetailBatchSize = defaultDetailBatchSize;
+    }
+
+    public int getDefaultDetailParallelism() {
+        return defaultDetailParallelism;
+    }
+
+    public void setDefaultDetailParallelism(int defaultDetailParallelism) {
+        this.defaultDetailParallelism = defaultDetailParallelism;
+    }
+
+    public int getDetailQueueCapacity() {
+        return detailQueueCapacity;
+    }
+
+    public void setDetailQueueCapacity(int detailQueueCapacity) {
+        this.detailQueueCapacity = detailQueueCapacity;
+    }
+
+    public int getSinkQueueCapacity() {
+        return sinkQueueCapacity;
+    }
+
+    public void setSinkQueueCapacity(int sinkQueueCapacity) {
+        this.sinkQueueCapacity = sinkQueueCapacity;
+    }
+
+    public boolean isResumeEnabled() {
+        return resumeEnabled;
+    }
+
+    public void setResumeEnabled(boolean resumeEnabled) {
+        this.resumeEnabled = resumeEnabled;
+    }
+
+    public Duration getCheckpointCommitInterval() {
+        return checkpointCommitInterval;
+    }
+
+    public void setCheckpointCommitInterval(Duration checkpointCommitInterval) {
+        this.checkpointCommitInterval = checkpointCommitInterval;
+    }
+
+    public int getCheckpointMaxBatches() {
+        return checkpointMaxBatches;
+    }
+
+    public void setCheckpointMaxBatches(int checkpointMaxBatches) {
+        this.checkpointMaxBatches = checkpointMaxBatches;
+    }
+
+    public Duration getShutdownTimeout() {
+        return shutdownTimeout;
+    }
+
+    public void setShutdownTimeout(Duration shutdownTimeout) {
+        this.shutdownTimeout = shutdownTimeout;
+    }
+
+    public int getClaimBatchSize() {
+        return claimBatchSize;
+    }
+
+    public void setClaimBatchSize(int claimBatchSize) {
+        this.claimBatchSize = claimBatchSize;
+    }
+}
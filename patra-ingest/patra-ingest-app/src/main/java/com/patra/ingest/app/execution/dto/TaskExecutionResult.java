@@ -0,0 +1,29 @@
+package com.patra.ingest.app.execution.dto;
+
+import com.patra.ingest.domain.model.enums.TaskRunStatus;
+
+/**
+ * 任务执行结果。
+ *
+ * @param taskId 任务 ID
+ * @param runId 运行 ID（未开始运行时为空）
+ * @param status 运行终态（未开始运行时为空）
+ * @param pages 已拉取页数
+ * @param fetched 已拉取记录数
+ * @param reason 说明（跳过/失败原因）
+ */
+public record TaskExecutionResult(Long taskId,
+                                  Long runId,
+                                  TaskRunStatus status,
+                                  long pages,
+                                  long fetched,
+                                  String reason) {
+
+    public static TaskExecutionResult skipped(Long taskId, String reason) {
+        return new TaskExecutionResult(taskId, null, null, 0L, 0L, reason);
+    }
+
+    public boolean executed() {
+        return runId != null;
+    }
+}
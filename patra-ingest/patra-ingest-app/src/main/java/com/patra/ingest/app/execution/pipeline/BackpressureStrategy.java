@@ -0,0 +1,33 @@
+package com.patra.ingest.app.execution.pipeline;
+
+import java.util.Locale;
+
+/**
+ * 背压策略（BatchingConfig.backpressureStrategyCode）：下游阶段队列已满时上游提交的处理方式。
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+public enum BackpressureStrategy {
+
+    /** 阻塞等待队列空位 */
+    BLOCK,
+    /** 丢弃本次提交并计数 */
+    DROP,
+    /** 提交方让出排队，直接在本线程执行（caller-runs），以自身变慢向更上游传导压力 */
+    YIELD;
+
+    /**
+     * 解析策略编码；为空或无法识别时取 BLOCK。
+     */
+    public static BackpressureStrategy fromCode(String code) {
+        if (code == null || code.isBlank()) {
+            return BLOCK;
+        }
+        try {
+            return valueOf(code.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            return BLOCK;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.patra.ingest.app.execution.pipeline;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 有界流水线阶段：固定容量的队列加固定数量的虚拟线程消费者。
+ * <p>
+ * 队列满时按 {@link BackpressureStrategy} 处理提交：BLOCK 阻塞至有空位，DROP 丢弃并返回 false，
+ * YIELD 在提交方线程直接执行。处理器抛出的首个异常会被记录，此后队列中剩余条目不再处理，
+ * {@link #submit} 与 {@link #drain} 抛出该异常。用毕须关闭。
+ * </p>
+ *
+ * @param <T> 条目类型
+ * @author linqibin
+ * @since 0.1.0
+ */
+public final class BoundedStage<T> implements AutoCloseable {
+
+    /** 关闭时等待消费者退出的时长 */
+    private static final long CLOSE_WAIT_SECONDS = 5L;
+
+    private final String name;
+    private final int capacity;
+    private final BlockingQueue<T> queue;
+    private final Consumer<T> handler;
+    private final BackpressureStrategy strategy;
+    private final StageMeter meter;
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition settled = lock.newCondition();
+    /** 已接受但未处理完的条目数，受 lock 保护 */
+    private long outstanding;
+    private volatile boolean closed;
+
+    public BoundedStage(String name,
+                        int parallelism,
+                        int capacity,
+                        BackpressureStrategy strategy,
+                        StageMeter meter,
+                        Consumer<T> handler) {
+        this.name = name;
+        this.capacity = Math.max(1, capacity);
+        this.queue = new ArrayBlockingQueue<>(this.capacity);
+        this.strategy = strategy == null ? BackpressureStrategy.BLOCK : strategy;
+        this.meter = meter == null ? StageMeter.detached() : meter;
+        this.handler = handler;
+        this.meter.attach(this.capacity);
+        for (int i = 0; i < Math.max(1, parallelism); i++) {
+            workers.execute(this::work);
+        }
+    }
+
+    /**
+     * 提交条目。
+     *
+     * @return 条目被接受（入队或由提交方直接执行）时为 true，DROP 策略下队列已满时为 false
+     */
+    public boolean submit(T item) {
+        rethrowFailure();
+        if (closed) {
+            throw new IllegalStateException("Stage " + name + " is closed");
+        }
+        acquire();
+        if (queue.offer(item)) {
+            meter.enqueued();
+            return true;
+        }
+        switch (strategy) {
+            case DROP -> {
+                settle();
+                meter.dropped();
+                return false;
+            }
+            case YIELD -> {
+                meter.callerRan();
+                process(item);
+                rethrowFailure();
+                return true;
+            }
+            default -> {
+                long startedAt = System.nanoTime();
+                try {
+                    queue.put(item);
+                } catch (InterruptedException ex) {
+                    settle();
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Stage " + name + " interrupted", ex);
+                }
+                meter.blocked(System.nanoTime() - startedAt);
+                meter.enqueued();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 等待已接受的条目全部处理完毕；有条目失败时立即抛出。
+     */
+    public void drain() {
+        lock.lock();
+        try {
+            while (outstanding > 0 && failure.get() == null) {
+                settled.await();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Stage " + name + " interrupted", ex);
+        } finally {
+            lock.unlock();
+        }
+        rethrowFailure();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        workers.shutdownNow();
+        try {
+            workers.awaitTermination(CLOSE_WAIT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        int abandoned = queue.size();
+        queue.clear();
+        meter.detach(capacity, abandoned);
+    }
+
+    private void work() {
+        try {
+            while (!closed) {
+                T item = queue.take();
+                meter.dequeued();
+                process(item);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void process(T item) {
+        meter.started();
+        try {
+            if (failure.get() == null) {
+                handler.accept(item);
+            }
+        } catch (RuntimeException ex) {
+            failure.compareAndSet(null, ex);
+        } finally {
+            meter.completed();
+            settle();
+        }
+    }
+
+    private void acquire() {
+        lock.lock();
+        try {
+            outstanding++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void settle() {
+        lock.lock();
+        try {
+            outstanding--;
+            if (outstanding <= 0 || failure.get() != null) {
+                settled.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void rethrowFailure() {
+        RuntimeException ex = failure.get();
+        if (ex != null) {
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.patra.ingest.app.execution.pipeline;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 阶段计量：同一来源同一阶段的所有运行实例共享，排队数与容量为即时值，其余为累计值。
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+public final class StageMeter {
+
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong active = new AtomicLong();
+    private final AtomicLong capacity = new AtomicLong();
+    private final AtomicLong highWater = new AtomicLong();
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder callerRuns = new LongAdder();
+    private final LongAdder blockedNanos = new LongAdder();
+
+    /**
+     * 不登记到指标注册表的独立计量（测试或未接入指标时使用）。
+     */
+    public static StageMeter detached() {
+        return new StageMeter();
+    }
+
+    /**
+     * 登记一个运行实例的队列容量。
+     */
+    public void attach(int queueCapacity) {
+        capacity.addAndGet(queueCapacity);
+    }
+
+    /**
+     * 注销运行实例的队列容量，并扣除关闭时遗留在队列中的条目。
+     */
+    public void detach(int queueCapacity, int abandoned) {
+        capacity.addAndGet(-queueCapacity);
+        if (abandoned > 0) {
+            queued.addAndGet(-abandoned);
+        }
+    }
+
+    public void enqueued() {
+        long depth = queued.incrementAndGet();
+        highWater.accumulateAndGet(depth, Math::max);
+    }
+
+    public void dequeued() {
+        queued.decrementAndGet();
+    }
+
+    public void started() {
+        active.incrementAndGet();
+    }
+
+    public void completed() {
+        active.decrementAndGet();
+        processed.increment();
+    }
+
+    public void dropped() {
+        dropped.increment();
+    }
+
+    public void callerRan() {
+        callerRuns.increment();
+    }
+
+    public void blocked(long nanos) {
+        blockedNanos.add(nanos);
+    }
+
+    public StageStats stats() {
+        return new StageStats(
+                queued.get(),
+                active.get(),
+                capacity.get(),
+                highWater.get(),
+                processed.sum(),
+                dropped.sum(),
+                callerRuns.sum(),
+                TimeUnit.NANOSECONDS.toMillis(blockedNanos.sum()));
+    }
+}
@@ -0,0 +1,32 @@
+package com.patra.ingest.app.execution.pipeline;
+
+/**
+ * 阶段统计快照。
+ *
+ * @param queued      当前排队数
+ * @param active      当前处理中数
+ * @param capacity    当前容量（各运行实例的队列容量之和）
+ * @param highWater   排队数历史峰值
+ * @param processed   累计处理数
+ * @param dropped     累计丢弃数（DROP）
+ * @param callerRuns  累计由提交方直接执行数（YIELD）
+ * @param blockedMillis 提交方累计阻塞时长（BLOCK）
+ */
+public record StageStats(
+        long queued,
+        long active,
+        long capacity,
+        long highWater,
+        long processed,
+        long dropped,
+        long callerRuns,
+        long blockedMillis
+) {
+
+    /**
+     * 队列占用率；容量为 0 时为 0。
+     */
+    public double occupancy() {
+        return capacity <= 0 ? 0d : (double) queued / capacity;
+    }
+}
@@ -0,0 +1,87 @@
+package com.patra.ingest.app.execution.support;
+
+import com.patra.ingest.domain.model.entity.TaskRun;
+import com.patra.ingest.domain.model.entity.TaskRunBatch;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * 批次组提交：已完成的批次先行缓冲，距上次提交满间隔或缓冲满批数时，将这些批次与运行检查点、统计在同一事务内写入。
+ * <p>
+ * 检查点取缓冲中最后一个批次的序号与后继位置，统计取运行当前值（调用方须先累加统计再 {@link #add}）。
+ * 运行失败时未提交的缓冲批次随之丢弃，重试从上次提交的检查点续跑，至多重复一个提交间隔的页。
+ * 实例仅供单个运行的单线程使用。
+ * </p>
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+public final class BatchGroupCommit {
+
+    private final TaskRun run;
+    private final BiConsumer<TaskRun, List<TaskRunBatch>> committer;
+    private final long intervalNanos;
+    private final int maxBatches;
+    private final List<TaskRunBatch> buffer = new ArrayList<>();
+    private long lastCommitNanos;
+    private int lastBatchNo;
+    private String lastAfterToken;
+    private int commits;
+
+    /**
+     * @param run        当前运行
+     * @param committer  事务内写入批次与运行（检查点、统计）
+     * @param interval   提交间隔
+     * @param maxBatches 单次提交的最大批次数
+     */
+    public BatchGroupCommit(TaskRun run,
+                            BiConsumer<TaskRun, List<TaskRunBatch>> committer,
+                            Duration interval,
+                            int maxBatches) {
+        this.run = run;
+        this.committer = committer;
+        this.intervalNanos = interval == null || interval.isNegative() ? 0L : interval.toNanos();
+        this.maxBatches = Math.max(1, maxBatches);
+        this.lastCommitNanos = System.nanoTime();
+    }
+
+    /**
+     * 缓冲一个已完成批次，到期即提交。
+     *
+     * @param batch      批次
+     * @param batchNo    批次序号
+     * @param afterToken 批次后继位置（翻页结束时为空）
+     */
+    public void add(TaskRunBatch batch, int batchNo, String afterToken) {
+        buffer.add(batch);
+        lastBatchNo = batchNo;
+        lastAfterToken = afterToken;
+        if (buffer.size() >= maxBatches || System.nanoTime() - lastCommitNanos >= intervalNanos) {
+            flush();
+        }
+    }
+
+    /**
+     * 提交缓冲中的全部批次；缓冲为空时不写入。
+     */
+    public void flush() {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        run.updateCheckpoint(RunCheckpoints.of(lastBatchNo, lastAfterToken, run.getStats()));
+        committer.accept(run, List.copyOf(buffer));
+        buffer.clear();
+        lastCommitNanos = System.nanoTime();
+        commits++;
+    }
+
+    /**
+     * 已执行的提交次数。
+     */
+    public int commits() {
+        return commits;
+    }
+}
@@ -0,0 +1,168 @@
+package com.patra.ingest.app.execution.support;
+
+import cn.hutool.core.util.StrUtil;
+import com.patra.ingest.app.execution.pipeline.BackpressureStrategy;
+import com.patra.ingest.app.execution.pipeline.BoundedStage;
+import com.patra.ingest.app.execution.pipeline.StageMeter;
+import com.patra.ingest.app.harvest.model.HarvestDetailBatch;
+import com.patra.ingest.app.harvest.model.HarvestQuery;
+import com.patra.ingest.app.port.HarvestSourcePort;
+import com.patra.ingest.domain.model.snapshot.ProvenanceConfigSnapshot;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SEARCH→DETAIL 两段流水线的详情段：搜索页产出的记录标识进入累加器，满批即切出并异步拉取详情，
+ * 搜索翻页与详情请求因此重叠进行。
+ * <p>
+ * 批大小取 detailFetchBatchSize 与 maxIdsPerRequest 的较小值，并行度取 appParallelismDegree；
+ * 切出的批次进入有界队列，队列满时按 backpressureStrategyCode 处理：BLOCK 阻塞搜索段，DROP 丢弃该批并计入
+ * {@link Stats#dropped()}，YIELD 由搜索段线程直接拉取。任一批次失败后，后续 offer / finish 抛出该异常。
+ * 实例仅供单个运行的单线程使用，用毕须关闭。
+ * </p>
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+public final class DetailFetchPipeline implements AutoCloseable {
+
+    /** DETAIL 端点用途编码 */
+    private static final String DETAIL_USAGE = "DETAIL";
+
+    private final HarvestSourcePort sourcePort;
+    private final HarvestQuery detailQuery;
+    private final int batchSize;
+    private final BoundedStage<List<String>> stage;
+    /** 未满批的累积标识 */
+    private final List<String> buffer = new ArrayList<>();
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicLong received = new AtomicLong();
+    private int batches;
+    private long dropped;
+
+    public DetailFetchPipeline(HarvestSourcePort sourcePort, HarvestQuery detailQuery, int batchSize, int parallelism) {
+        this(sourcePort, detailQuery, batchSize, parallelism, parallelism, BackpressureStrategy.BLOCK, StageMeter.detached());
+    }
+
+    public DetailFetchPipeline(HarvestSourcePort sourcePort,
+                               HarvestQuery detailQuery,
+                               int batchSize,
+                               int parallelism,
+                               int queueCapacity,
+                               BackpressureStrategy strategy,
+                               StageMeter meter) {
+        this.sourcePort = sourcePort;
+        this.detailQuery = detailQuery;
+        this.batchSize = Math.max(1, batchSize);
+        this.stage = new BoundedStage<>("detail", parallelism, queueCapacity, strategy, meter, this::fetch);
+    }
+
+    /**
+     * DETAIL 配置是否可用于批量拉取：端点存在、用途为 DETAIL（未声明时放行）且能确定 ID 参数名。
+     */
+    public static boolean applicable(ProvenanceConfigSnapshot detail) {
+        if (detail == null || detail.endpoint() == null) {
+            return false;
+        }
+        String usage = detail.endpoint().endpointUsageCode();
+        if (StrUtil.isNotBlank(usage) && !DETAIL_USAGE.equals(usage.trim().toUpperCase(Locale.ROOT))) {
+            return false;
+        }
+        return StrUtil.isNotBlank(detail.endpoint().idsParamName())
+                || (detail.batching() != null && StrUtil.isNotBlank(detail.batching().idsParamName()));
+    }
+
+    /**
+     * 批大小：detailFetchBatchSize 与 maxIdsPerRequest（硬上限）取较小值，均未配置时用默认值。
+     */
+    public static int batchSize(ProvenanceConfigSnapshot.BatchingConfig batching, int defaultSize) {
+        int size = batching != null && batching.detailFetchBatchSize() != null && batching.detailFetchBatchSize() > 0
+                ? batching.detailFetchBatchSize()
+                : Math.max(1, defaultSize);
+        if (batching != null && batching.maxIdsPerRequest() != null && batching.maxIdsPerRequest() > 0) {
+            size = Math.min(size, batching.maxIdsPerRequest());
+        }
+        return size;
+    }
+
+    /**
+     * 并行度：appParallelismDegree，未配置时用默认值；另受主机并发上限约束。
+     */
+    public static int parallelism(ProvenanceConfigSnapshot.BatchingConfig batching, int defaultParallelism) {
+        int degree = batching != null && batching.appParallelismDegree() != null && batching.appParallelismDegree() > 0
+                ? batching.appParallelismDegree()
+                : Math.max(1, defaultParallelism);
+        if (batching != null && batching.perHostConcurrencyLimit() != null && batching.perHostConcurrencyLimit() > 0) {
+            degree = Math.min(degree, batching.perHostConcurrencyLimit());
+        }
+        return degree;
+    }
+
+    /**
+     * 追加记录标识，满批即切出拉取；队列已满时按背压策略处理。
+     */
+    public void offer(Collection<String> ids) {
+        for (String id : ids) {
+            if (StrUtil.isBlank(id)) {
+                continue;
+            }
+            buffer.add(id.trim());
+            if (buffer.size() >= batchSize) {
+                dispatch();
+            }
+        }
+    }
+
+    /**
+     * 切出剩余标识并等待全部批次完成。
+     */
+    public Stats finish() {
+        if (!buffer.isEmpty()) {
+            dispatch();
+        }
+        stage.drain();
+        return new Stats(batches, requested.get(), received.get(), dropped);
+    }
+
+    @Override
+    public void close() {
+        stage.close();
+    }
+
+    private void dispatch() {
+        List<String> ids = List.copyOf(buffer);
+        buffer.clear();
+        batches++;
+        if (!stage.submit(ids)) {
+            dropped += ids.size();
+        }
+    }
+
+    private void fetch(List<String> ids) {
+        HarvestDetailBatch batch = sourcePort.fetchDetails(detailQuery, ids);
+        requested.addAndGet(ids.size());
+        received.addAndGet(batch.recordCount() == null ? ids.size() : batch.recordCount());
+    }
+
+    /**
+     * 详情段统计。
+     *
+     * @param batches   已切出的批次数（含被丢弃的批次）
+     * @param requested 已完成批次请求的标识数
+     * @param received  已完成批次返回的记录数（未配置记录路径时按请求数计）
+     * @param dropped   因背压被丢弃、未请求的标识数
+     */
+    public record Stats(int batches, long requested, long received, long dropped) {
+
+        /**
+         * 未取得详情的标识数：已请求未返回的与被丢弃的之和。
+         */
+        public long missing() {
+            return Math.max(0L, requested - received) + dropped;
+        }
+    }
+}
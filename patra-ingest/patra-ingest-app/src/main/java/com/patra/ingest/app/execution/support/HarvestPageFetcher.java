@@ -0,0 +1,232 @@
+package com.patra.ingest.app.execution.support;
+
+import com.patra.ingest.app.execution.pipeline.StageMeter;
+import com.patra.ingest.app.harvest.exception.HarvestFetchException;
+import com.patra.ingest.app.harvest.model.HarvestPage;
+import com.patra.ingest.app.harvest.model.HarvestPageRequest;
+import com.patra.ingest.app.harvest.model.HarvestQuery;
+import com.patra.ingest.app.port.HarvestSourcePort;
+import com.patra.ingest.domain.model.snapshot.ProvenanceConfigSnapshot;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 分页拉取引擎：按页序产出页面，并在调用方处理当前页时预取后续页。
+ * <ul>
+ *   <li>页码模式且已知命中总数：各页地址相互独立，按预取深度并行拉取，仍按页序产出。</li>
+ *   <li>页码模式总数未知、CURSOR / TOKEN / SCROLL：下一页位置依赖当前页响应，拿到响应即发起下一页。</li>
+ * </ul>
+ * 是否继续翻页始终按页序由 {@link HarvestPaging#next} 判定，判定结束时丢弃多余的预取。
+ * 首页产出后暂不预取，留给调用方先完成细分判定。从检查点续跑时，批次序号、已消费记录数与翻页上限均接续此前已提交的部分。
+ * 已发起未产出的页计入 fetch 阶段排队数，预取深度即该阶段容量。
+ * 实例仅供单个运行的单线程使用，用毕须关闭。
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+public final class HarvestPageFetcher implements AutoCloseable {
+
+    private final HarvestSourcePort sourcePort;
+    private final HarvestQuery query;
+    private final ProvenanceConfigSnapshot.PaginationConfig pagination;
+    private final HarvestPageRequest first;
+    /** 推算末页所用的起始页（续跑时回推到首个批次的页码） */
+    private final HarvestPageRequest origin;
+    private final int maxPages;
+    private final int depth;
+    private final StageMeter meter;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    /** 已发起、按页序排列的拉取 */
+    private final Deque<InFlight> inFlight = new ArrayDeque<>();
+
+    /** 已发起页数 */
+    private int scheduled;
+    /** 已产出页数 */
+    private int yielded;
+    /** 已消费记录数 */
+    private long consumed;
+    /** 最近发起的页位置 */
+    private HarvestPageRequest lastScheduled;
+    /** 页码模式可确定的末页 */
+    private Integer lastPageNumber;
+    /** 首页的后继位置，延后到下一次取页时发起 */
+    private HarvestPageRequest deferred;
+    private boolean finished;
+
+    public HarvestPageFetcher(HarvestSourcePort sourcePort,
+                              HarvestQuery query,
+                              ProvenanceConfigSnapshot.PaginationConfig pagination,
+                              HarvestPageRequest first,
+                              int maxPages,
+                              int depth) {
+        this(sourcePort, query, pagination, first, 0, 0L, maxPages, depth, StageMeter.detached());
+    }
+
+    /**
+     * @param first           本次运行的起始页（续跑时为检查点的后继位置）
+     * @param resumedPages    此前已提交的批次数（不续跑为 0）
+     * @param resumedRecords  此前已消费的记录数（不续跑为 0）
+     */
+    public HarvestPageFetcher(HarvestSourcePort sourcePort,
+                              HarvestQuery query,
+                              ProvenanceConfigSnapshot.PaginationConfig pagination,
+                              HarvestPageRequest first,
+                              int resumedPages,
+                              long resumedRecords,
+                              int maxPages,
+                              int depth,
+                              StageMeter meter) {
+        this.sourcePort = sourcePort;
+        this.query = query;
+        this.pagination = pagination;
+        this.first = first;
+        this.yielded = Math.max(0, resumedPages);
+        this.scheduled = this.yielded;
+        this.consumed = Math.max(0L, resumedRecords);
+        this.origin = this.yielded == 0 || first.pageNumber() == null
+                ? first
+                : HarvestPageRequest.ofPage(first.pageNumber() - this.yielded, first.pageSize());
+        this.maxPages = Math.max(1, maxPages);
+        this.depth = Math.max(1, depth);
+        this.meter = meter == null ? StageMeter.detached() : meter;
+        this.meter.attach(this.depth);
+    }
+
+    /**
+     * 取下一页（阻塞至该页拉取完成）；无更多页时为空。拉取失败时抛出原始异常。
+     */
+    public Optional<FetchedPage> next() {
+        if (finished) {
+            return Optional.empty();
+        }
+        if (lastScheduled == null) {
+            if (yielded >= maxPages) {
+                finished = true;
+                return Optional.empty();
+            }
+            submit(first);
+        } else if (deferred != null) {
+            schedule(deferred);
+            deferred = null;
+        }
+        InFlight head = inFlight.pollFirst();
+        if (head == null) {
+            finished = true;
+            return Optional.empty();
+        }
+        meter.dequeued();
+        meter.started();
+        HarvestPage page;
+        try {
+            page = await(head);
+        } finally {
+            meter.completed();
+        }
+        int count = HarvestPaging.recordCount(head.request(), page, consumed);
+        consumed += count;
+        yielded++;
+        if (lastPageNumber == null && !HarvestPaging.isTokenMode(pagination)) {
+            lastPageNumber = HarvestPaging.lastPageNumber(origin, page.totalCount(), maxPages).orElse(null);
+        }
+
+        Optional<HarvestPageRequest> successor = HarvestPaging.next(pagination, head.request(), page, consumed);
+        FetchedPage fetched = new FetchedPage(yielded, head.request(), page, count,
+                head.request().position(), successor.map(HarvestPageRequest::position).orElse(null));
+        if (successor.isEmpty() || yielded >= maxPages) {
+            finished = true;
+            cancelInFlight();
+        } else if (yielded == 1) {
+            deferred = successor.get();
+        } else {
+            schedule(successor.get());
+        }
+        return Optional.of(fetched);
+    }
+
+    /**
+     * 已产出页数。
+     */
+    public int yielded() {
+        return yielded;
+    }
+
+    @Override
+    public void close() {
+        cancelInFlight();
+        executor.shutdownNow();
+        meter.detach(depth, 0);
+    }
+
+    /**
+     * 保证后继页已发起；末页可确定时按深度补足并行拉取。
+     */
+    private void schedule(HarvestPageRequest successor) {
+        if (inFlight.isEmpty()) {
+            submit(successor);
+        }
+        if (lastPageNumber == null) {
+            return;
+        }
+        while (inFlight.size() < depth && scheduled < maxPages && lastScheduled.pageNumber() < lastPageNumber) {
+            submit(lastScheduled.nextPage());
+        }
+    }
+
+    private void submit(HarvestPageRequest request) {
+        inFlight.addLast(new InFlight(request, executor.submit(() -> sourcePort.fetchPage(query, request))));
+        lastScheduled = request;
+        scheduled++;
+        meter.enqueued();
+    }
+
+    private HarvestPage await(InFlight head) {
+        try {
+            return head.future().get();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Page fetch failed: " + ex.getCause(), ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new HarvestFetchException(HarvestFetchException.NETWORK_ERROR, "Page fetch interrupted", ex);
+        }
+    }
+
+    private void cancelInFlight() {
+        for (InFlight pending : inFlight) {
+            pending.future().cancel(true);
+            meter.dequeued();
+        }
+        inFlight.clear();
+    }
+
+    private record InFlight(HarvestPageRequest request, Future<HarvestPage> future) {
+    }
+
+    /**
+     * 按页序产出的页面。
+     *
+     * @param batchNo     批次序号（从 1 开始）
+     * @param request     本页位置
+     * @param page        本页响应
+     * @param recordCount 本页记录数
+     * @param beforeToken 本页起始位置（令牌或页码）
+     * @param afterToken  后继位置；无后继时为空
+     */
+    public record FetchedPage(
+            int batchNo,
+            HarvestPageRequest request,
+            HarvestPage page,
+            int recordCount,
+            String beforeToken,
+            String afterToken
+    ) {
+    }
+}
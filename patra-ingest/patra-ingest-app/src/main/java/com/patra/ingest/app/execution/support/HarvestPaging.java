@@ -0,0 +1,163 @@
+package com.patra.ingest.app.execution.support;
+
+import cn.hutool.core.util.StrUtil;
+import com.patra.ingest.app.harvest.model.HarvestPage;
+import com.patra.ingest.app.harvest.model.HarvestPageRequest;
+import com.patra.ingest.domain.model.snapshot.ProvenanceConfigSnapshot;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * 分页推进规则（纯函数）：依据分页模式与单页响应计算下一页位置。
+ * <ul>
+ *   <li>PAGE_NUMBER：页码递增；已知总数时消费满即停，未知总数时仅在 hasMore 明确为 true 时继续。</li>
+ *   <li>CURSOR / TOKEN / SCROLL：使用响应中的下一页令牌；令牌为空或未变化即停。</li>
+ * </ul>
+ * 任一模式下 hasMore 明确为 false 即停。
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+public final class HarvestPaging {
+
+    /** 页码模式默认起始页 */
+    private static final int DEFAULT_START_PAGE = 1;
+
+    private HarvestPaging() {
+    }
+
+    /**
+     * 首页位置。
+     */
+    public static HarvestPageRequest first(ProvenanceConfigSnapshot.PaginationConfig pagination, int defaultPageSize) {
+        Integer pageSize = pagination != null && pagination.pageSizeValue() != null && pagination.pageSizeValue() > 0
+                ? pagination.pageSizeValue()
+                : Integer.valueOf(Math.max(1, defaultPageSize));
+        if (isTokenMode(pagination)) {
+            return HarvestPageRequest.ofToken(StrUtil.emptyToNull(pagination.initialCursorValue()), pageSize);
+        }
+        int start = pagination == null || pagination.startPageNumber() == null
+                ? DEFAULT_START_PAGE
+                : pagination.startPageNumber();
+        return HarvestPageRequest.ofPage(start, pageSize);
+    }
+
+    /**
+     * 续跑起点：令牌模式以检查点令牌为游标，页码模式以其为页码；与当前分页模式不符时为空。
+     *
+     * @param afterToken 检查点中最后已提交批次的后继位置
+     */
+    public static Optional<HarvestPageRequest> resume(ProvenanceConfigSnapshot.PaginationConfig pagination,
+                                                      int defaultPageSize,
+                                                      String afterToken) {
+        if (StrUtil.isBlank(afterToken)) {
+            return Optional.empty();
+        }
+        HarvestPageRequest first = first(pagination, defaultPageSize);
+        if (isTokenMode(pagination)) {
+            return Optional.of(first.withToken(afterToken));
+        }
+        String trimmed = afterToken.trim();
+        if (!trimmed.matches("\\d{1,9}")) {
+            return Optional.empty();
+        }
+        return Optional.of(HarvestPageRequest.ofPage(Integer.parseInt(trimmed), first.pageSize()));
+    }
+
+    /**
+     * 下一页位置；无下一页时为空。
+     *
+     * @param pagination 分页配置
+     * @param current    当前页位置
+     * @param page       当前页响应
+     * @param consumed   截至当前页（含）已消费的记录数
+     */
+    public static Optional<HarvestPageRequest> next(ProvenanceConfigSnapshot.PaginationConfig pagination,
+                                                    HarvestPageRequest current,
+                                                    HarvestPage page,
+                                                    long consumed) {
+        if (Boolean.FALSE.equals(page.hasMore())) {
+            return Optional.empty();
+        }
+        if (isTokenMode(pagination)) {
+            String token = page.nextToken();
+            if (StrUtil.isBlank(token) || token.equals(current.token())) {
+                return Optional.empty();
+            }
+            return Optional.of(current.withToken(token));
+        }
+        if (page.totalCount() != null) {
+            return consumed < page.totalCount() ? Optional.of(current.nextPage()) : Optional.empty();
+        }
+        return Boolean.TRUE.equals(page.hasMore()) ? Optional.of(current.nextPage()) : Optional.empty();
+    }
+
+    /**
+     * 本页记录数：响应可确定时直接使用，否则按总数与页大小推算；均未知时为 0。
+     *
+     * @param consumedBefore 本页之前已消费的记录数
+     */
+    public static int recordCount(HarvestPageRequest request, HarvestPage page, long consumedBefore) {
+        if (page.recordCount() != null) {
+            return Math.max(0, page.recordCount());
+        }
+        if (page.totalCount() == null || request.pageSize() == null) {
+            return 0;
+        }
+        long remaining = Math.max(0L, page.totalCount() - consumedBefore);
+        return (int) Math.min(remaining, request.pageSize());
+    }
+
+    /**
+     * 单次运行的翻页上限：分页配置与执行器上限取较小值。
+     */
+    public static int maxPages(ProvenanceConfigSnapshot.PaginationConfig pagination, int executorLimit) {
+        int limit = Math.max(1, executorLimit);
+        if (pagination != null && pagination.maxPagesPerExecution() != null && pagination.maxPagesPerExecution() > 0) {
+            limit = Math.min(limit, pagination.maxPagesPerExecution());
+        }
+        return limit;
+    }
+
+    /**
+     * 页码模式下可预先确定的末页页码：已知命中总数与页大小时按总数推算，并受翻页上限约束；无法确定时为空。
+     *
+     * @param first      首页位置
+     * @param totalCount 命中总数
+     * @param maxPages   单次运行翻页上限
+     */
+    public static Optional<Integer> lastPageNumber(HarvestPageRequest first, Long totalCount, int maxPages) {
+        if (first.pageNumber() == null || first.pageSize() == null || first.pageSize() <= 0 || totalCount == null) {
+            return Optional.empty();
+        }
+        long pages = Math.max(1L, (totalCount + first.pageSize() - 1) / first.pageSize());
+        pages = Math.min(pages, Math.max(1, maxPages));
+        return Optional.of((int) (first.pageNumber() + pages - 1));
+    }
+
+    /**
+     * 预取深度：执行器配置与来源主机并发 / 建议并行度取较小值，至少为 1。
+     */
+    public static int prefetchDepth(ProvenanceConfigSnapshot.BatchingConfig batching, int configured) {
+        int depth = Math.max(1, configured);
+        if (batching != null && batching.perHostConcurrencyLimit() != null && batching.perHostConcurrencyLimit() > 0) {
+            depth = Math.min(depth, batching.perHostConcurrencyLimit());
+        }
+        if (batching != null && batching.appParallelismDegree() != null && batching.appParallelismDegree() > 0) {
+            depth = Math.min(depth, batching.appParallelismDegree());
+        }
+        return depth;
+    }
+
+    /**
+     * 是否为令牌类分页（CURSOR / TOKEN / SCROLL）。
+     */
+    public static boolean isTokenMode(ProvenanceConfigSnapshot.PaginationConfig pagination) {
+        if (pagination == null || StrUtil.isBlank(pagination.paginationModeCode())) {
+            return false;
+        }
+        String mode = pagination.paginationModeCode().trim().toUpperCase(Locale.ROOT);
+        return "CURSOR".equals(mode) || "TOKEN".equals(mode) || "SCROLL".equals(mode);
+    }
+}
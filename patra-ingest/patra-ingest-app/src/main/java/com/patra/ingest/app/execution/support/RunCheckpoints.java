@@ -0,0 +1,83 @@
+package com.patra.ingest.app.execution.support;
+
+import cn.hutool.core.util.StrUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.patra.common.json.JsonMapperHolder;
+import com.patra.ingest.domain.model.vo.RunStats;
+import com.patra.ingest.domain.model.vo.TaskRunCheckpoint;
+
+import java.util.Optional;
+
+/**
+ * 运行检查点（ing_task_run.checkpoint）的构建与解析工具。
+ * <p>
+ * 结构：{@code {batchNo, afterToken, stats{fetched,upserted,failed,pages}}}，记录最近一次组提交中最后一个批次的
+ * 序号与后继位置，以及截至该批次的运行统计；重试时据此从 afterToken 续跑并延续批次序号与统计。
+ * afterToken 为空表示翻页已走完，不再续跑。
+ * </p>
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+public final class RunCheckpoints {
+
+    private RunCheckpoints() {
+    }
+
+    /**
+     * 构建检查点。
+     *
+     * @param batchNo    最后已提交批次的序号
+     * @param afterToken 该批次的后继位置
+     * @param stats      截至该批次的运行统计
+     */
+    public static TaskRunCheckpoint of(int batchNo, String afterToken, RunStats stats) {
+        ObjectNode root = JsonNodeFactory.instance.objectNode();
+        root.put("batchNo", batchNo);
+        root.put("afterToken", afterToken);
+        RunStats value = stats == null ? RunStats.empty() : stats;
+        ObjectNode statsNode = root.putObject("stats");
+        statsNode.put("fetched", value.fetched());
+        statsNode.put("upserted", value.upserted());
+        statsNode.put("failed", value.failed());
+        statsNode.put("pages", value.pages());
+        return new TaskRunCheckpoint(root.toString());
+    }
+
+    /**
+     * 解析续跑位置；检查点缺失、结构不符或翻页已走完时为空。
+     */
+    public static Optional<ResumePoint> resumePoint(TaskRunCheckpoint checkpoint) {
+        if (checkpoint == null || !checkpoint.isPresent()) {
+            return Optional.empty();
+        }
+        try {
+            JsonNode root = JsonMapperHolder.getObjectMapper().readTree(checkpoint.raw());
+            int batchNo = root.path("batchNo").asInt(0);
+            String afterToken = root.path("afterToken").asText(null);
+            if (batchNo <= 0 || StrUtil.isBlank(afterToken)) {
+                return Optional.empty();
+            }
+            JsonNode stats = root.path("stats");
+            return Optional.of(new ResumePoint(batchNo, afterToken, new RunStats(
+                    stats.path("fetched").asLong(0L),
+                    stats.path("upserted").asLong(0L),
+                    stats.path("failed").asLong(0L),
+                    stats.path("pages").asLong(0L))));
+        } catch (Exception ex) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 续跑位置。
+     *
+     * @param batchNo    已提交的最后批次序号（续跑批次从其后继续编号）
+     * @param afterToken 续跑起点（令牌或页码）
+     * @param stats      已提交部分的运行统计
+     */
+    public record ResumePoint(int batchNo, String afterToken, RunStats stats) {
+    }
+}
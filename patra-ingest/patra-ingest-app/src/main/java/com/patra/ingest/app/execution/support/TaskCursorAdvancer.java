@@ -0,0 +1,316 @@
+package com.patra.ingest.app.execution.support;
+
+import cn.hutool.core.util.StrUtil;
+import com.patra.ingest.app.cursor.CursorAdvance;
+import com.patra.ingest.app.cursor.CursorAdvanceCoordinator;
+import com.patra.ingest.app.cursor.CursorPartitions;
+import com.patra.ingest.app.cursor.CursorSlot;
+import com.patra.ingest.app.cursor.config.CursorPartitionProperties;
+import com.patra.ingest.app.orchestration.slice.support.TimeSliceSpecs;
+import com.patra.ingest.domain.model.aggregate.PlanSliceAggregate;
+import com.patra.ingest.domain.model.aggregate.TaskAggregate;
+import com.patra.ingest.domain.model.entity.TaskRun;
+import com.patra.ingest.domain.model.enums.CursorDirection;
+import com.patra.ingest.domain.model.enums.OperationCode;
+import com.patra.ingest.domain.model.enums.SliceStatus;
+import com.patra.ingest.domain.model.enums.TaskStatus;
+import com.patra.ingest.domain.model.snapshot.ProvenanceConfigSnapshot;
+import com.patra.ingest.domain.model.vo.CursorLineage;
+import com.patra.ingest.domain.model.vo.CursorValue;
+import com.patra.ingest.domain.model.vo.CursorWatermark;
+import com.patra.ingest.domain.model.vo.ExecutionWindow;
+import com.patra.ingest.domain.model.vo.NamespaceKey;
+import com.patra.ingest.domain.port.PlanSliceRepository;
+import com.patra.ingest.domain.port.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * 任务成功后推进时间游标。
+ * <p>
+ * 游标只前进不后退：仅当目标时间晚于当前水位时才推进并追加推进事件。
+ * 目标不是本任务的窗口终点，而是计划内已连续成功的切片前缀的终点：切片按窗口起点排列（跳过已被细分的父切片），
+ * 从首个切片起累加任务已成功的切片，遇到未成功的切片即停止；先完成的后段切片不会越过仍在执行或失败的前段切片，
+ * 前段完成时再一并推进。
+ * 前缀按计划增量维护：计划的切片在节点内首次推进时加载一次，此后每次完成只从上次停下的位置继续，
+ * 仅对挡在前面的切片按 ID 探测是否已有成功任务，遇到未知切片（细分产生的子切片）或已被细分的阻塞切片时才重新加载。
+ * 跨节点并发完成的相邻切片在推进时可能互相视为未完成，因此任务终态落库后由调用方经 {@link #recheck} 再走一次前缀，
+ * 后落库的一方必然看到对方已成功，游标不会停在空洞之前。
+ * 推进经 {@link CursorAdvanceCoordinator} 合并后延迟批量落库，跨节点依赖库端条件更新与事件幂等键去重。
+ * 来源启用分区时，任务另推进所属分区（CUSTOM 命名空间）的游标，目标为计划内同分区切片的连续成功前缀；
+ * 分区按切片窗口的时间桶划分，同一时间段跨计划始终落在同一分区。GLOBAL 游标不取各分区水位的最小值
+ * （分区内前缀各自独立，最小值可能越过其他分区仍未完成的切片），始终按全计划的连续成功前缀推进。
+ * </p>
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskCursorAdvancer {
+
+    /** 未配置指针字段时的默认游标键 */
+    private static final String DEFAULT_CURSOR_KEY = "window_to";
+    /** 全计划前缀（不限分区）的范围键 */
+    private static final int WHOLE_PLAN = -1;
+    /** 节点内缓存前缀的计划数上限，超出时淘汰最久未推进的计划 */
+    private static final int MAX_TRACKED_PLANS = 1024;
+
+    private final CursorAdvanceCoordinator cursorAdvanceCoordinator;
+    private final CursorPartitionProperties partitionProperties;
+    private final TaskRepository taskRepository;
+    private final PlanSliceRepository planSliceRepository;
+    /** 计划 ID → 已加载的切片前缀 */
+    private final Map<Long, PlanFrontier> frontiers = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, PlanFrontier> eldest) {
+                    return size() > MAX_TRACKED_PLANS;
+                }
+            });
+
+    /**
+     * 按计划内已连续成功的切片推进游标（本任务视为已成功）；推进失败时异常向上抛出，由调用方按运行失败处理。
+     *
+     * @param task     任务
+     * @param slice    任务所属切片（可空，分区方式为 SLICE 时以其窗口起点定位分区）
+     * @param run      即将成功的运行
+     * @param snapshot 来源配置快照
+     * @return 是否发生推进（分区模式下指本分区或 GLOBAL 游标）
+     */
+    public boolean advance(TaskAggregate task, PlanSliceAggregate slice, TaskRun run, ProvenanceConfigSnapshot snapshot) {
+        return advance(task, slice, run, snapshot, false);
+    }
+
+    /**
+     * 任务终态 SUCCEEDED 落库后再走一次前缀，使跨节点并发完成的相邻切片中后落库的一方推进游标。
+     * 计划前缀已走完或已被淘汰时不做任何查询。
+     *
+     * @return 是否发生推进
+     */
+    public boolean recheck(TaskAggregate task, PlanSliceAggregate slice, TaskRun run, ProvenanceConfigSnapshot snapshot) {
+        return advance(task, slice, run, snapshot, true);
+    }
+
+    private boolean advance(TaskAggregate task,
+                            PlanSliceAggregate slice,
+                            TaskRun run,
+                            ProvenanceConfigSnapshot snapshot,
+                            boolean recheck) {
+        ExecutionWindow window = run.getExecutionWindow();
+        if (window == null || window.windowTo() == null) {
+            return false;
+        }
+        PlanFrontier frontier = recheck
+                ? frontiers.get(task.getPlanId())
+                : frontiers.computeIfAbsent(task.getPlanId(), planId -> new PlanFrontier());
+        if (frontier == null) {
+            return false;
+        }
+        int partitions = partitionProperties.partitionsOf(task.getProvenanceCode());
+        int partition = WHOLE_PLAN;
+        Optional<Instant> reached;
+        Optional<Instant> partitionReached = Optional.empty();
+        synchronized (frontier) {
+            frontier.succeeded.add(task.getSliceId());
+            if (!frontier.sliceIds.contains(task.getSliceId())) {
+                load(frontier, task.getPlanId());
+            }
+            reached = walk(frontier, task.getPlanId(), WHOLE_PLAN, sibling -> true);
+            if (partitions > 1) {
+                Instant sliceFrom = slice == null ? window.windowFrom() : TimeSliceSpecs.parse(slice.getSliceSpecJson())
+                        .map(TimeSliceSpecs.TimeSliceWindow::from).orElse(window.windowFrom());
+                int scope = partitionOf(partitions, sliceFrom, task.getExprHash());
+                partition = scope;
+                partitionReached = walk(frontier, task.getPlanId(), scope,
+                        sibling -> partitionOf(partitions, sibling.from(), sibling.exprHash()) == scope);
+            }
+            if (frontier.isComplete()) {
+                frontiers.remove(task.getPlanId(), frontier);
+            }
+        }
+
+        String cursorKey = resolveCursorKey(snapshot);
+        CursorSlot global = new CursorSlot(task.getProvenanceCode(), task.getOperationCode(), cursorKey, NamespaceKey.global());
+        CursorLineage lineage = new CursorLineage(
+                task.getScheduleInstanceId(), task.getPlanId(), task.getSliceId(), task.getId(), run.getId(), null);
+        CursorDirection direction = resolveDirection(task.getOperationCode());
+        try {
+            boolean moved = false;
+            if (partitionReached.isPresent()) {
+                moved = advanceTo(CursorPartitions.slots(global, partitions).get(partition),
+                        windowFromOf(window, partitionReached.get()), partitionReached.get(), direction, lineage, task.getExprHash());
+            }
+            if (reached.isEmpty()) {
+                log.debug("Cursor held back behind unfinished slices, taskId={}, planId={}", task.getId(), task.getPlanId());
+                return moved;
+            }
+            return advanceTo(global, windowFromOf(window, reached.get()), reached.get(), direction, lineage, task.getExprHash())
+                    || moved;
+        } catch (RuntimeException ex) {
+            // 运行将按失败处理，本任务切片不能再视为已成功：丢弃前缀，下次推进从库中重新加载
+            frontiers.remove(task.getPlanId(), frontier);
+            throw ex;
+        }
+    }
+
+    private int partitionOf(int partitions, Instant windowFrom, String exprHash) {
+        return CursorPartitions.partitionOf(partitionProperties.getStrategy(), partitions, windowFrom,
+                partitionProperties.getSliceBucket(), exprHash);
+    }
+
+    /**
+     * 从范围上次停下的位置继续累加已成功的切片，返回连续成功前缀的窗口终点；首个切片尚未成功时为空。
+     * 阻塞切片已被细分时重新加载一次计划切片，由其子切片顶替位置。
+     */
+    private Optional<Instant> walk(PlanFrontier frontier, Long planId, int scopeKey, Predicate<SliceWindow> scope) {
+        boolean reloaded = false;
+        Prefix prefix = frontier.prefixes.computeIfAbsent(scopeKey, key -> new Prefix());
+        while (prefix.next < frontier.windows.size()) {
+            SliceWindow candidate = frontier.windows.get(prefix.next);
+            if (!scope.test(candidate)) {
+                prefix.next++;
+                continue;
+            }
+            if (!succeeded(frontier, candidate.sliceId())) {
+                if (reloaded || !subdivided(candidate.sliceId())) {
+                    break;
+                }
+                load(frontier, planId);
+                reloaded = true;
+                prefix = frontier.prefixes.computeIfAbsent(scopeKey, key -> new Prefix());
+                continue;
+            }
+            if (prefix.reached == null || candidate.to().isAfter(prefix.reached)) {
+                prefix.reached = candidate.to();
+            }
+            prefix.next++;
+        }
+        return Optional.ofNullable(prefix.reached);
+    }
+
+    private boolean succeeded(PlanFrontier frontier, Long sliceId) {
+        if (frontier.succeeded.contains(sliceId)) {
+            return true;
+        }
+        if (!taskRepository.hasSucceededTask(sliceId)) {
+            return false;
+        }
+        frontier.succeeded.add(sliceId);
+        return true;
+    }
+
+    private boolean subdivided(Long sliceId) {
+        return planSliceRepository.findById(sliceId)
+                .map(slice -> slice.getStatus() == SliceStatus.PARTIAL)
+                .orElse(false);
+    }
+
+    /**
+     * 加载计划切片（跳过已被细分的父切片，按窗口起点排列）与已成功的切片，各范围前缀从头重新累加。
+     */
+    private void load(PlanFrontier frontier, Long planId) {
+        for (TaskAggregate sibling : taskRepository.findByPlanId(planId)) {
+            if (sibling.getStatus() == TaskStatus.SUCCEEDED) {
+                frontier.succeeded.add(sibling.getSliceId());
+            }
+        }
+        List<SliceWindow> windows = new ArrayList<>();
+        for (PlanSliceAggregate sibling : planSliceRepository.findByPlanId(planId)) {
+            frontier.sliceIds.add(sibling.getId());
+            if (sibling.getStatus() == SliceStatus.PARTIAL) {
+                continue;
+            }
+            TimeSliceSpecs.parse(sibling.getSliceSpecJson())
+                    .map(parsed -> new SliceWindow(sibling.getId(), parsed.from(), parsed.to(), sibling.getExprHash()))
+                    .ifPresent(windows::add);
+        }
+        windows.sort(Comparator.comparing(SliceWindow::from).thenComparing(SliceWindow::to));
+        frontier.windows = windows;
+        frontier.prefixes.clear();
+    }
+
+    private static Instant windowFromOf(ExecutionWindow window, Instant reached) {
+        return reached.equals(window.windowTo()) ? window.windowFrom() : null;
+    }
+
+    private boolean advanceTo(CursorSlot slot,
+                              Instant windowFrom,
+                              Instant target,
+                              CursorDirection direction,
+                              CursorLineage lineage,
+                              String exprHash) {
+        CursorValue value = CursorValue.time(target);
+        boolean moved = cursorAdvanceCoordinator.advance(new CursorAdvance(
+                slot,
+                value,
+                new CursorWatermark(value.raw(), target, null),
+                windowFrom,
+                target,
+                direction,
+                lineage,
+                exprHash));
+        if (moved) {
+            log.info("Cursor advanced, provenance={}, op={}, cursorKey={}, scope={}, to={}, runId={}",
+                    slot.provenanceCode(), slot.operationCode(), slot.cursorKey(), slot.namespaceScopeCode(),
+                    value.raw(), lineage.runId());
+        }
+        return moved;
+    }
+
+    private static String resolveCursorKey(ProvenanceConfigSnapshot snapshot) {
+        ProvenanceConfigSnapshot.WindowOffsetConfig offset = snapshot == null ? null : snapshot.windowOffset();
+        if (offset != null && StrUtil.isNotBlank(offset.offsetFieldName())) {
+            return offset.offsetFieldName();
+        }
+        if (offset != null && StrUtil.isNotBlank(offset.defaultDateFieldName())) {
+            return offset.defaultDateFieldName();
+        }
+        return DEFAULT_CURSOR_KEY;
+    }
+
+    private record SliceWindow(Long sliceId, Instant from, Instant to, String exprHash) {
+    }
+
+    /**
+     * 单个计划在本节点内的切片前缀：已加载的切片窗口、已知成功的切片，以及各范围（全计划/分区）的前进位置。
+     */
+    private static final class PlanFrontier {
+        private final Set<Long> sliceIds = new HashSet<>();
+        private final Set<Long> succeeded = new HashSet<>();
+        private final Map<Integer, Prefix> prefixes = new HashMap<>();
+        private List<SliceWindow> windows = List.of();
+
+        boolean isComplete() {
+            Prefix whole = prefixes.get(WHOLE_PLAN);
+            return whole != null && whole.next >= windows.size();
+        }
+    }
+
+    /**
+     * 一个范围内下一个待确认的切片位置与已到达的窗口终点。
+     */
+    private static final class Prefix {
+        private int next;
+        private Instant reached;
+    }
+
+    private static CursorDirection resolveDirection(String operationCode) {
+        return OperationCode.BACKFILL.getCode().equals(operationCode) ? CursorDirection.BACKFILL : CursorDirection.FORWARD;
+    }
+}
@@ -0,0 +1,31 @@
+package com.patra.ingest.app.execution.support;
+
+import com.patra.ingest.domain.model.entity.TaskRun;
+import com.patra.ingest.domain.model.entity.TaskRunBatch;
+import com.patra.ingest.domain.port.TaskRunBatchRepository;
+import com.patra.ingest.domain.port.TaskRunRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * 批次组提交的事务边界：一组批次行与运行检查点、统计同事务写入，检查点不会领先于已落库的批次。
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskRunBatchCommitter {
+
+    private final TaskRunBatchRepository taskRunBatchRepository;
+    private final TaskRunRepository taskRunRepository;
+
+    @Transactional
+    public void commit(TaskRun run, List<TaskRunBatch> batches) {
+        taskRunBatchRepository.saveAll(batches);
+        taskRunRepository.save(run);
+    }
+}
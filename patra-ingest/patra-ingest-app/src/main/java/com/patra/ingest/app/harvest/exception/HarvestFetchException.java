@@ -0,0 +1,40 @@
+package com.patra.ingest.app.harvest.exception;
+
+/**
+ * 采集请求失败：上游返回非 2xx、网络异常或断路器断开。
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+public class HarvestFetchException extends RuntimeException {
+
+    /** 网络异常时的状态码占位 */
+    public static final int NETWORK_ERROR = -1;
+    /** 断路器断开、请求未发出时的状态码占位 */
+    public static final int CIRCUIT_OPEN = -2;
+
+    /** HTTP 状态码；网络异常时为 {@link #NETWORK_ERROR}，断路时为 {@link #CIRCUIT_OPEN} */
+    private final int statusCode;
+
+    public HarvestFetchException(int statusCode, String message) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+
+    public HarvestFetchException(int statusCode, String message, Throwable cause) {
+        super(message, cause);
+        this.statusCode = statusCode;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public boolean isNetworkError() {
+        return statusCode == NETWORK_ERROR;
+    }
+
+    public boolean isCircuitOpen() {
+        return statusCode == CIRCUIT_OPEN;
+    }
+}
@@ -0,0 +1,22 @@
+package com.patra.ingest.app.harvest.model;
+
+import java.util.List;
+
+/**
+ * 详情批次响应：按记录标识批量请求 DETAIL 端点的结果。
+ *
+ * @param statusCode HTTP 状态码
+ * @param requested 本批请求的标识数
+ * @param recordCount 响应中的记录数（未配置记录路径时为空）
+ * @param recordKeys 响应中的记录标识（按响应顺序）
+ */
+public record HarvestDetailBatch(
+        int statusCode,
+        int requested,
+        Integer recordCount,
+        List<String> recordKeys
+) {
+    public HarvestDetailBatch {
+        recordKeys = recordKeys == null ? List.of() : List.copyOf(recordKeys);
+    }
+}
@@ -0,0 +1,27 @@
+package com.patra.ingest.app.harvest.model;
+
+import java.util.List;
+
+/**
+ * 单页响应：分页配置提取出的总数、下一页令牌与是否还有下一页，连同记录路径命中的记录标识。
+ * <p>响应体由适配器流式解析，不随页面保留。</p>
+ *
+ * @param statusCode HTTP 状态码
+ * @param totalCount 命中总数（未配置或未命中时为空）
+ * @param nextToken 下一页令牌（未配置或未命中时为空）
+ * @param hasMore 是否还有下一页（未配置或未命中时为空）
+ * @param recordCount 本页记录数（未配置记录路径时为空）
+ * @param recordKeys 本页记录标识（按响应顺序）
+ */
+public record HarvestPage(
+        int statusCode,
+        Long totalCount,
+        String nextToken,
+        Boolean hasMore,
+        Integer recordCount,
+        List<String> recordKeys
+) {
+    public HarvestPage {
+        recordKeys = recordKeys == null ? List.of() : List.copyOf(recordKeys);
+    }
+}
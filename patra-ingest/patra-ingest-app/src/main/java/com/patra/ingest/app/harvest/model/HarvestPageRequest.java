@@ -0,0 +1,41 @@
+package com.patra.ingest.app.harvest.model;
+
+/**
+ * 单页请求位置：页码模式使用 pageNumber，游标/令牌模式使用 token。
+ *
+ * @param pageNumber 页码（令牌模式为空）
+ * @param pageSize 页大小
+ * @param token 游标/令牌（页码模式为空；首页可为空）
+ */
+public record HarvestPageRequest(
+        Integer pageNumber,
+        Integer pageSize,
+        String token
+) {
+
+    public static HarvestPageRequest ofPage(int pageNumber, Integer pageSize) {
+        return new HarvestPageRequest(pageNumber, pageSize, null);
+    }
+
+    public static HarvestPageRequest ofToken(String token, Integer pageSize) {
+        return new HarvestPageRequest(null, pageSize, token);
+    }
+
+    public HarvestPageRequest nextPage() {
+        return new HarvestPageRequest(pageNumber == null ? null : pageNumber + 1, pageSize, token);
+    }
+
+    public HarvestPageRequest withToken(String nextToken) {
+        return new HarvestPageRequest(pageNumber, pageSize, nextToken);
+    }
+
+    /**
+     * 批次起始位置描述：令牌优先，其次页码。
+     */
+    public String position() {
+        if (token != null) {
+            return token;
+        }
+        return pageNumber == null ? null : String.valueOf(pageNumber);
+    }
+}
@@ -0,0 +1,35 @@
+package com.patra.ingest.app.harvest.model;
+
+import com.patra.common.enums.ProvenanceCode;
+import com.patra.ingest.domain.model.enums.Endpoint;
+import com.patra.ingest.domain.model.enums.OperationCode;
+import com.patra.ingest.domain.model.snapshot.ProvenanceConfigSnapshot;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 已编译的来源查询：切片表达式经表达式编译器渲染后的查询串与参数，连同来源配置快照一起交给出站端口执行。
+ *
+ * @param provenanceCode 来源编码
+ * @param endpoint 采集端点
+ * @param operationCode 操作类型
+ * @param configSnapshot 来源配置快照（端点、分页、HTTP 等维度）
+ * @param query 渲染后的查询串
+ * @param params 渲染后的附加参数
+ */
+public record HarvestQuery(
+        ProvenanceCode provenanceCode,
+        Endpoint endpoint,
+        OperationCode operationCode,
+        ProvenanceConfigSnapshot configSnapshot,
+        String query,
+        Map<String, String> params
+) {
+    public HarvestQuery {
+        Objects.requireNonNull(provenanceCode, "provenanceCode must not be null");
+        Objects.requireNonNull(configSnapshot, "configSnapshot must not be null");
+        query = query == null ? "" : query;
+        params = params == null ? Map.of() : Map.copyOf(params);
+    }
+}
@@ -0,0 +1,75 @@
+package com.patra.ingest.app.harvest.support;
+
+import com.patra.common.enums.ProvenanceCode;
+import com.patra.expr.Expr;
+import com.patra.ingest.app.harvest.model.HarvestQuery;
+import com.patra.ingest.domain.model.enums.Endpoint;
+import com.patra.ingest.domain.model.enums.OperationCode;
+import com.patra.ingest.domain.model.snapshot.ProvenanceConfigSnapshot;
+import com.patra.starter.expr.compiler.ExprCompiler;
+import com.patra.starter.expr.compiler.model.CompileRequestBuilder;
+import com.patra.starter.expr.compiler.model.CompileResult;
+import com.patra.starter.expr.compiler.model.OperationCodes;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+/**
+ * 将切片表达式编译为来源查询。
+ * <p>表达式编译器依赖 Registry 规则快照，未装配时 {@link #isAvailable()} 返回 false，由调用方决定降级方式。</p>
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HarvestQueryCompiler {
+
+    /** 表达式编译器（可选装配） */
+    private final ObjectProvider<ExprCompiler> exprCompilerProvider;
+
+    /**
+     * 表达式编译器是否可用。
+     */
+    public boolean isAvailable() {
+        return exprCompilerProvider.getIfAvailable() != null;
+    }
+
+    /**
+     * 编译切片表达式。
+     *
+     * @param expr 切片表达式
+     * @param provenanceCode 来源编码
+     * @param endpoint 采集端点
+     * @param operationCode 操作类型
+     * @param configSnapshot 来源配置快照
+     * @return 已编译查询
+     * @throws IllegalStateException 编译器不可用或编译报告存在错误时抛出
+     */
+    public HarvestQuery compile(Expr expr,
+                                ProvenanceCode provenanceCode,
+                                Endpoint endpoint,
+                                OperationCode operationCode,
+                                ProvenanceConfigSnapshot configSnapshot) {
+        Objects.requireNonNull(expr, "expr must not be null");
+        ExprCompiler compiler = exprCompilerProvider.getIfAvailable();
+        if (compiler == null) {
+            throw new IllegalStateException("ExprCompiler is not available");
+        }
+        CompileResult result = compiler.compile(CompileRequestBuilder.of(expr, provenanceCode)
+                .forTask(operationCode == null ? null : operationCode.getCode())
+                .forOperation(endpoint == null ? OperationCodes.SEARCH : endpoint.getCode())
+                .build());
+        if (!result.report().ok()) {
+            throw new IllegalStateException("Failed to compile harvest expression, provenance="
+                    + provenanceCode.getCode() + ", errors=" + result.report().errors());
+        }
+        log.debug("Harvest expression compiled, provenance={}, queryLength={}, params={}",
+                provenanceCode.getCode(), result.query().length(), result.params().keySet());
+        return new HarvestQuery(provenanceCode, endpoint, operationCode, configSnapshot, result.query(), result.params());
+    }
+}
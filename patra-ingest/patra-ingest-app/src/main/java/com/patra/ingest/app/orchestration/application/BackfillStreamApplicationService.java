@@ -0,0 +1,160 @@
+package com.patra.ingest.app.orchestration.application;
+
+import cn.hutool.core.util.StrUtil;
+import com.patra.ingest.app.cursor.CursorWatermarkRegistry;
+import com.patra.ingest.app.orchestration.backpressure.TaskQueueGauge;
+import com.patra.ingest.app.orchestration.command.BackfillStreamCommand;
+import com.patra.ingest.app.orchestration.command.PlanIngestionRequest;
+import com.patra.ingest.app.orchestration.config.BackfillStreamProperties;
+import com.patra.ingest.app.orchestration.dto.BackfillStreamResult;
+import com.patra.ingest.app.orchestration.dto.PlanIngestionResult;
+import com.patra.ingest.domain.model.enums.Endpoint;
+import com.patra.ingest.domain.model.enums.OperationCode;
+import com.patra.ingest.domain.port.PlanRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 流式回灌应用服务。
+ * <p>
+ * 续接位置取「区间起点 / 区间内已下发计划的最大窗口终点 / BACKFILL 游标水位」三者最大值，
+ * 每块以独立事务调用 {@link PlanIngestionUseCase}，块跨度不超过计划窗口上限，
+ * 因此单块仍走既有的窗口校验、背压与去重逻辑；队列达到低水位即停止，等待下次推进。
+ * </p>
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BackfillStreamApplicationService implements BackfillStreamUseCase {
+
+    /** 单块跨度上限，与计划窗口校验上限一致 */
+    private static final Duration MAX_CHUNK_SPAN = Duration.ofDays(30);
+    /** 单块跨度下限，与计划窗口校验下限一致 */
+    private static final Duration MIN_CHUNK_SPAN = Duration.ofMinutes(1);
+
+    /** 计划编排用例 */
+    private final PlanIngestionUseCase planIngestionUseCase;
+    /** 计划仓储，用于续接位置 */
+    private final PlanRepository planRepository;
+    /** 排队深度仪表，用于队列水位 */
+    private final TaskQueueGauge taskQueueGauge;
+    /** 游标水位登记表，用于 BACKFILL 水位 */
+    private final CursorWatermarkRegistry cursorWatermarkRegistry;
+    /** 流式回灌配置 */
+    private final BackfillStreamProperties properties;
+
+    @Override
+    public BackfillStreamResult advance(BackfillStreamCommand command) {
+        String provenance = command.provenanceCode().getCode();
+        String operation = OperationCode.BACKFILL.getCode();
+        Instant rangeTo = command.rangeTo();
+        Duration chunkSpan = resolveChunkSpan(command.chunkSpan());
+
+        Instant position = resolvePosition(command, provenance, operation);
+        List<Long> planIds = new ArrayList<>();
+        int taskCount = 0;
+        long queued = taskQueueGauge.depth(provenance, operation);
+        String haltReason = null;
+
+        if (!properties.isEnabled()) {
+            haltReason = "disabled";
+        }
+        while (haltReason == null) {
+            if (Duration.between(position, rangeTo).compareTo(MIN_CHUNK_SPAN) < 0) {
+                haltReason = "completed";
+                break;
+            }
+            if (planIds.size() >= Math.max(1, properties.getMaxPlansPerTick())) {
+                haltReason = "tick-limit";
+                break;
+            }
+            if (queued >= properties.getLowWaterMark()) {
+                haltReason = "above-low-water";
+                break;
+            }
+            Instant chunkTo = nextChunkTo(position, rangeTo, chunkSpan);
+            PlanIngestionResult result = planIngestionUseCase.ingestPlan(buildRequest(command, position, chunkTo));
+            planIds.add(result.planId());
+            taskCount += result.taskCount();
+            log.info("Backfill chunk planned, provenance={}, window=[{}, {}), planId={}, taskCount={}, queuedBefore={}",
+                    provenance, position, chunkTo, result.planId(), result.taskCount(), queued);
+            position = chunkTo;
+            queued = taskQueueGauge.depth(provenance, operation);
+        }
+
+        boolean completed = "completed".equals(haltReason);
+        log.info("Backfill stream advanced, provenance={}, range=[{}, {}), plans={}, tasks={}, nextFrom={}, queued={}, halt={}",
+                provenance, command.rangeFrom(), rangeTo, planIds.size(), taskCount, position, queued, haltReason);
+        return new BackfillStreamResult(planIds, taskCount, position, completed, queued, haltReason);
+    }
+
+    /**
+     * 续接位置：区间起点、区间内已下发计划的最大终点与 BACKFILL 游标水位取最大值。
+     */
+    private Instant resolvePosition(BackfillStreamCommand command, String provenance, String operation) {
+        Instant position = command.rangeFrom();
+        Instant planned = planRepository
+                .findMaxWindowTo(provenance, operation, command.rangeFrom(), command.rangeTo())
+                .orElse(null);
+        if (planned != null && planned.isAfter(position)) {
+            position = planned;
+        }
+        Instant watermark = cursorWatermarkRegistry.latestGlobalTime(provenance, operation).orElse(null);
+        if (watermark != null && watermark.isAfter(position)) {
+            position = watermark.isAfter(command.rangeTo()) ? command.rangeTo() : watermark;
+        }
+        return position;
+    }
+
+    /**
+     * 计算块终点：尾块不足最小跨度时并入当前块；并入后超出上限则为尾块预留最小跨度。
+     */
+    private Instant nextChunkTo(Instant position, Instant rangeTo, Duration chunkSpan) {
+        Instant chunkTo = position.plus(chunkSpan);
+        if (!chunkTo.isBefore(rangeTo)) {
+            return rangeTo;
+        }
+        if (Duration.between(chunkTo, rangeTo).compareTo(MIN_CHUNK_SPAN) >= 0) {
+            return chunkTo;
+        }
+        return Duration.between(position, rangeTo).compareTo(MAX_CHUNK_SPAN) <= 0
+                ? rangeTo
+                : rangeTo.minus(MIN_CHUNK_SPAN);
+    }
+
+    private Duration resolveChunkSpan(Duration requested) {
+        Duration span = requested == null || requested.isZero() || requested.isNegative()
+                ? properties.getChunkSpan()
+                : requested;
+        if (span == null || span.compareTo(MIN_CHUNK_SPAN) < 0) {
+            return MIN_CHUNK_SPAN;
+        }
+        return span.compareTo(MAX_CHUNK_SPAN) > 0 ? MAX_CHUNK_SPAN : span;
+    }
+
+    private PlanIngestionRequest buildRequest(BackfillStreamCommand command, Instant chunkFrom, Instant chunkTo) {
+        return new PlanIngestionRequest(
+                command.provenanceCode(),
+                command.endpoint() == null ? Endpoint.SEARCH : command.endpoint(),
+                OperationCode.BACKFILL,
+                StrUtil.isBlank(command.step()) ? properties.getDefaultStep() : command.step(),
+                command.triggerType(),
+                command.scheduler(),
+                command.schedulerJobId(),
+                command.schedulerLogId(),
+                chunkFrom,
+                chunkTo,
+                command.priority(),
+                command.triggeredAt() == null ? Instant.now() : command.triggeredAt(),
+                command.triggerParams());
+    }
+}
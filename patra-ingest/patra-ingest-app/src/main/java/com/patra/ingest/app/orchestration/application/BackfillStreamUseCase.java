@@ -0,0 +1,21 @@
+package com.patra.ingest.app.orchestration.application;
+
+import com.patra.ingest.app.orchestration.command.BackfillStreamCommand;
+import com.patra.ingest.app.orchestration.dto.BackfillStreamResult;
+
+/**
+ * 流式回灌用例：把任意长度的 BACKFILL 区间拆成连续的有界计划，按队列水位惰性下发。
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+public interface BackfillStreamUseCase {
+
+    /**
+     * 推进一次回灌流：从上次已下发的位置续接，队列低于低水位时继续下发下一块。
+     *
+     * @param command 推进指令
+     * @return 推进结果
+     */
+    BackfillStreamResult advance(BackfillStreamCommand command);
+}
@@ -4,9 +4,11 @@ import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.map.MapUtil;
 import cn.hutool.core.util.ObjectUtil;
 import com.patra.common.enums.ProvenanceCode;
+import com.patra.ingest.app.cursor.CursorWatermarkRegistry;
 import com.patra.ingest.app.orchestration.application.support.PlanExpressionBuilder;
 import com.patra.ingest.app.orchestration.assembly.PlanAssemblyRequest;
 import com.patra.ingest.app.orchestration.assembly.PlanAssemblyService;
+import com.patra.ingest.app.orchestration.backpressure.TaskQueueGauge;
 import com.patra.ingest.app.orchestration.command.PlanIngestionRequest;
 import com.patra.ingest.app.orchestration.dto.PlanIngestionResult;
 import com.patra.ingest.app.orchestration.expression.PlanExpressionDescriptor;
@@ -21,11 +23,10 @@ import com.patra.ingest.domain.model.aggregate.ScheduleInstanceAggregate;
 import com.patra.ingest.domain.model.aggregate.TaskAggregate;
 import com.patra.ingest.domain.model.command.PlanTriggerNorm;
 import com.patra.ingest.domain.model.enums.OperationCode;
-import com.patra.ingest.domain.model.enums.TaskStatus;
+import com.patra.ingest.domain.model.enums.SliceStatus;
 import com.patra.ingest.domain.model.event.TaskQueuedEvent;
 import com.patra.ingest.domain.model.snapshot.ProvenanceConfigSnapshot;
 import com.patra.ingest.domain.model.value.PlannerWindow;
-import com.patra.ingest.domain.port.CursorRepository;
 import com.patra.ingest.domain.port.PlanRepository;
 import com.patra.ingest.domain.port.PlanSliceRepository;
 import com.patra.ingest.domain.port.ScheduleInstanceRepository;
@@ -34,6 +35,7 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -54,8 +56,8 @@ public class PlanIngestionApplicationService implements PlanIngestionUseCase {
 
     /** 来源配置查询端口 */
     private final ProvenancePort provenancePort;
-    /** 游标仓储，用于获取水位 */
-    private final CursorRepository cursorRepository;
+    /** 游标水位登记表，用于获取水位 */
+    private final CursorWatermarkRegistry cursorWatermarkRegistry;
     /** 任务仓储 */
     private final TaskRepository taskRepository;
     /** 计划窗口解析策略 */
@@ -75,6 +77,8 @@ public class PlanIngestionApplicationService implements PlanIngestionUseCase {
     private final PlanRepository planRepository;
     /** 切片仓储 */
     private final PlanSliceRepository planSliceRepository;
+    /** 排队深度仪表 */
+    private final TaskQueueGauge taskQueueGauge;
 
     /**
      * 受调度触发的计划编排主流程。
@@ -99,8 +103,8 @@ public class PlanIngestionApplicationService implements PlanIngestionUseCase {
         PlanTriggerNorm norm = buildTriggerNorm(schedule, request);
 
         // Phase 2: 游标水位 (仅前进) + 解析计划窗口（TIME 策略）
-        Instant cursorWatermark = cursorRepository
-                .findLatestGlobalTimeWatermark(provenanceCode.getCode(), opCode(operationCode))
+        Instant cursorWatermark = cursorWatermarkRegistry
+                .latestGlobalTime(provenanceCode.getCode(), opCode(operationCode))
                 .orElse(null);
         PlannerWindow window = planningWindowResolver.resolveWindow(norm, configSnapshot, cursorWatermark, now);
         log.debug("plan-ingest window resolved provenance={} op={} cursorWatermark={} window=[{}, {})",
@@ -111,8 +115,7 @@ public class PlanIngestionApplicationService implements PlanIngestionUseCase {
         log.debug("plan-ingest expr built hash={} jsonSize={}", expressionDescriptor.hash(), expressionDescriptor.jsonSnapshot().length());
 
         // Phase 4: 前置验证（窗口合理性 / 背压 / 能力）
-        long queuedTasks = taskRepository.countQueuedTasks(
-                provenanceCode.getCode(), opCode(operationCode));
+        long queuedTasks = taskQueueGauge.depth(provenanceCode.getCode(), opCode(operationCode));
         plannerValidator.validateBeforeAssemble(norm, configSnapshot, window, queuedTasks);
         log.debug("plan-ingest validation passed queuedTasks={}", queuedTasks);
 
@@ -125,22 +128,25 @@ public class PlanIngestionApplicationService implements PlanIngestionUseCase {
         if (existingPlan != null) {
             log.info("plan-ingest dedup hit existing planKey={}, reuse planId={}", draftPlan.getPlanKey(), existingPlan.getId());
             List<PlanSliceAggregate> existingSlices = planSliceRepository.findByPlanId(existingPlan.getId());
-            List<TaskAggregate> existingTasks = taskRepository.findByPlanId(existingPlan.getId());
+            // 已被运行期细分（PARTIAL）的切片由子任务接管，父任务不再重放
+            Set<Long> subdividedSliceIds = existingSlices.stream()
+                    .filter(slice -> slice.getStatus() == SliceStatus.PARTIAL)
+                    .map(PlanSliceAggregate::getId)
+                    .collect(Collectors.toSet());
 
-            List<TaskAggregate> retryTasks = new ArrayList<>();
-            for (TaskAggregate task : existingTasks) {
-                if (shouldRetry(task)) {
-                    // 重置失败/取消任务，准备重新排队
-                    task.prepareForRetry();
-                    taskRepository.save(task);
-                    retryTasks.add(task);
-                }
-            }
-            if (!retryTasks.isEmpty()) {
+            // 集合式补偿：单条 UPDATE 重置失败/取消任务，单条 upsert 刷新 Outbox
+            Set<Long> retriedTaskIds = Set.copyOf(taskRepository.requeueRetryable(existingPlan.getId(), subdividedSliceIds));
+            List<TaskAggregate> existingTasks = taskRepository.findByPlanId(existingPlan.getId());
+            if (!retriedTaskIds.isEmpty()) {
+                List<TaskAggregate> retryTasks = existingTasks.stream()
+                        .filter(task -> retriedTaskIds.contains(task.getId()))
+                        .collect(Collectors.toList());
                 existingPlan.markPartial();
                 planRepository.save(existingPlan);
                 List<TaskQueuedEvent> retryEvents = collectQueuedEvents(retryTasks);
                 taskOutboxPublisher.publishRetry(retryEvents, existingPlan, schedule);
+                taskQueueGauge.recordEnqueued(provenanceCode.getCode(), opCode(operationCode), retriedTaskIds.size());
+                log.info("plan-ingest dedup requeued tasks, planId={}, retried={}", existingPlan.getId(), retriedTaskIds.size());
             }
 
             return new PlanIngestionResult(
@@ -158,6 +164,7 @@ public class PlanIngestionApplicationService implements PlanIngestionUseCase {
 
         List<TaskQueuedEvent> queuedEvents = collectQueuedEvents(persistedTasks);
         taskOutboxPublisher.publish(queuedEvents, persistedPlan, schedule);
+        taskQueueGauge.recordEnqueued(provenanceCode.getCode(), opCode(operationCode), persistedTasks.size());
 
         log.info("plan-ingest success, planId={}, sliceCount={}, taskCount={}, window=[{}, {})", persistedPlan.getId(), persistedSlices.size(), persistedTasks.size(), window == null ? null : window.from(), window == null ? null : window.to());
 
@@ -242,17 +249,6 @@ public class PlanIngestionApplicationService implements PlanIngestionUseCase {
         return events;
     }
 
-    /**
-     * 判定任务是否需要发起补偿重试。
-     *
-     * @param task 任务聚合
-     * @return true 表示需要重试
-     */
-    private boolean shouldRetry(TaskAggregate task) {
-        TaskStatus status = task.getStatus();
-        return status == TaskStatus.FAILED || status == TaskStatus.CANCELLED;
-    }
-
     private List<PlanSliceAggregate> persistSlices(PlanAggregate plan, List<PlanSliceAggregate> slices) {
         if (CollUtil.isEmpty(slices)) {
             return List.of();
@@ -0,0 +1,231 @@
+package com.patra.ingest.app.orchestration.application;
+
+import com.patra.common.enums.Priority;
+import com.patra.common.enums.ProvenanceCode;
+import com.patra.common.json.JsonNormalizer;
+import com.patra.common.util.HashUtils;
+import com.patra.expr.Expr;
+import com.patra.expr.Exprs;
+import com.patra.expr.canonical.ExprCanonicalSnapshot;
+import com.patra.expr.canonical.ExprCanonicalizer;
+import com.patra.ingest.app.orchestration.assembly.TaskDerivationSupport;
+import com.patra.ingest.app.orchestration.backpressure.TaskQueueGauge;
+import com.patra.ingest.app.orchestration.command.SliceSubdivisionCommand;
+import com.patra.ingest.app.orchestration.config.SliceSizingProperties;
+import com.patra.ingest.app.orchestration.dto.SliceSubdivisionResult;
+import com.patra.ingest.app.orchestration.outbox.TaskOutboxPublisher;
+import com.patra.ingest.app.orchestration.slice.support.SliceExprRewriter;
+import com.patra.ingest.app.orchestration.slice.support.TimeSliceSpecs;
+import com.patra.ingest.app.orchestration.slice.support.TimeSliceSubdivider;
+import com.patra.ingest.app.port.ProvenancePort;
+import com.patra.ingest.domain.model.aggregate.PlanAggregate;
+import com.patra.ingest.domain.model.aggregate.PlanSliceAggregate;
+import com.patra.ingest.domain.model.aggregate.ScheduleInstanceAggregate;
+import com.patra.ingest.domain.model.aggregate.TaskAggregate;
+import com.patra.ingest.domain.model.enums.SliceStatus;
+import com.patra.ingest.domain.model.enums.TaskStatus;
+import com.patra.ingest.domain.model.event.TaskQueuedEvent;
+import com.patra.ingest.domain.model.snapshot.ProvenanceConfigSnapshot;
+import com.patra.ingest.domain.model.value.PlannerWindow;
+import com.patra.ingest.domain.port.PlanRepository;
+import com.patra.ingest.domain.port.PlanSliceRepository;
+import com.patra.ingest.domain.port.ScheduleInstanceRepository;
+import com.patra.ingest.domain.port.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 运行期切片细分服务。
+ * <p>
+ * 执行器在首页拿到命中总数后，若超过 WindowOffset.maxIdsPerWindow（或窗口跨度超过 maxWindowSpanSeconds），
+ * 即调用本服务将父切片按时间等宽拆分为子切片：子切片在同一计划下追加序号持久化，派生新任务并经 Outbox 发布，
+ * 以便并行执行；父切片标记为 PARTIAL（已细分），父任务标记为取消，补偿流程不会再重放父任务。
+ * 子切片执行时若仍超额，会再次触发本流程，形成递归细分。
+ * </p>
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SliceSubdivisionApplicationService implements SliceSubdivisionUseCase {
+
+    /** 任务仓储 */
+    private final TaskRepository taskRepository;
+    /** 切片仓储 */
+    private final PlanSliceRepository planSliceRepository;
+    /** 计划仓储 */
+    private final PlanRepository planRepository;
+    /** 调度实例仓储 */
+    private final ScheduleInstanceRepository scheduleInstanceRepository;
+    /** 来源配置查询端口 */
+    private final ProvenancePort provenancePort;
+    /** 任务 Outbox 发布器 */
+    private final TaskOutboxPublisher taskOutboxPublisher;
+    /** 切片尺寸配置 */
+    private final SliceSizingProperties sliceSizingProperties;
+    /** 排队深度仪表 */
+    private final TaskQueueGauge taskQueueGauge;
+
+    @Override
+    @Transactional
+    public SliceSubdivisionResult subdivide(SliceSubdivisionCommand command) {
+        TaskAggregate parentTask = taskRepository.findById(command.taskId())
+                .orElseThrow(() -> new IllegalArgumentException("Task not found: " + command.taskId()));
+        Long parentSliceId = parentTask.getSliceId();
+        if (!sliceSizingProperties.isSubdivisionEnabled()) {
+            return SliceSubdivisionResult.skipped(parentSliceId, "subdivision disabled");
+        }
+
+        PlanSliceAggregate parentSlice = planSliceRepository.findById(parentSliceId)
+                .orElseThrow(() -> new IllegalStateException("Slice not found: " + parentSliceId));
+        if (parentSlice.getStatus() == SliceStatus.PARTIAL) {
+            // 重复投递或并发检测：父切片已细分，直接返回避免重复生成子切片
+            return SliceSubdivisionResult.skipped(parentSliceId, "slice already subdivided");
+        }
+        Optional<TimeSliceSpecs.TimeSliceWindow> parentWindow = TimeSliceSpecs.parse(parentSlice.getSliceSpecJson());
+        if (parentWindow.isEmpty()) {
+            return SliceSubdivisionResult.skipped(parentSliceId, "slice is not time bounded");
+        }
+        TimeSliceSpecs.TimeSliceWindow window = parentWindow.get();
+        if (window.depth() >= sliceSizingProperties.getMaxSubdivisionDepth()) {
+            log.warn("Slice subdivision depth exhausted, sliceId={}, depth={}, observedTotal={}",
+                    parentSliceId, window.depth(), command.observedTotal());
+            return SliceSubdivisionResult.skipped(parentSliceId, "max subdivision depth reached");
+        }
+
+        PlanAggregate plan = planRepository.findById(parentTask.getPlanId())
+                .orElseThrow(() -> new IllegalStateException("Plan not found: " + parentTask.getPlanId()));
+        ProvenanceConfigSnapshot snapshot = resolveSnapshot(command, plan);
+        ProvenanceConfigSnapshot.WindowOffsetConfig offset = snapshot == null ? null : snapshot.windowOffset();
+        long budget = offset == null || offset.maxIdsPerWindow() == null ? 0L : offset.maxIdsPerWindow();
+        Duration maxSpan = offset == null || offset.maxWindowSpanSeconds() == null || offset.maxWindowSpanSeconds() <= 0
+                ? null
+                : Duration.ofSeconds(offset.maxWindowSpanSeconds());
+
+        List<PlannerWindow> childWindows = TimeSliceSubdivider.subdivide(
+                window.from(),
+                window.to(),
+                command.observedTotal(),
+                budget,
+                maxSpan,
+                sliceSizingProperties.getMinSliceSpan(),
+                sliceSizingProperties.getMaxFanOut());
+        if (childWindows.isEmpty()) {
+            return SliceSubdivisionResult.skipped(parentSliceId, "within budget or minimal span reached");
+        }
+
+        // 子切片：改写父表达式的时间约束，序号追加在计划现有最大序号之后
+        Expr parentExpr = Exprs.fromJson(parentSlice.getExprSnapshotJson());
+        int nextSequence = planSliceRepository.findMaxSequence(plan.getId()) + 1;
+        List<PlanSliceAggregate> childSlices = new ArrayList<>(childWindows.size());
+        for (PlannerWindow childWindow : childWindows) {
+            JsonNormalizer.Result spec = TimeSliceSpecs.build(
+                    childWindow.from(),
+                    childWindow.to(),
+                    window.timezone(),
+                    parentSlice.getSequence(),
+                    window.depth() + 1);
+            Expr childExpr = SliceExprRewriter.rewriteWindow(
+                    parentExpr, window.from(), window.to(), childWindow.from(), childWindow.to());
+            ExprCanonicalSnapshot exprSnapshot = ExprCanonicalizer.canonicalize(childExpr);
+            childSlices.add(PlanSliceAggregate.create(
+                    plan.getId(),
+                    parentSlice.getProvenanceCode(),
+                    nextSequence++,
+                    HashUtils.sha256Hex(spec.getHashMaterial()),
+                    spec.getCanonicalJson(),
+                    exprSnapshot.hash(),
+                    exprSnapshot.canonicalJson()));
+        }
+        List<PlanSliceAggregate> persistedSlices = planSliceRepository.saveAll(childSlices);
+        List<TaskAggregate> persistedTasks = taskRepository.saveAll(deriveTasks(parentTask, persistedSlices, childWindows));
+
+        // 父切片/父任务收尾：PARTIAL 表示已被细分，由子切片接管执行
+        parentSlice.markPartial();
+        planSliceRepository.save(parentSlice);
+        boolean parentQueued = parentTask.getStatus() == TaskStatus.QUEUED;
+        parentTask.releaseLease();
+        parentTask.markCancelled(command.observedAt());
+        taskRepository.save(parentTask);
+
+        ScheduleInstanceAggregate schedule = scheduleInstanceRepository.findById(parentTask.getScheduleInstanceId())
+                .orElseThrow(() -> new IllegalStateException("Schedule instance not found: " + parentTask.getScheduleInstanceId()));
+        taskOutboxPublisher.publish(collectQueuedEvents(persistedTasks), plan, schedule);
+        taskQueueGauge.recordEnqueued(parentTask.getProvenanceCode(), parentTask.getOperationCode(), persistedTasks.size());
+        if (parentQueued) {
+            taskQueueGauge.recordDequeued(parentTask.getProvenanceCode(), parentTask.getOperationCode(), 1);
+        }
+
+        log.info("Slice subdivided, planId={}, parentSliceId={}, observedTotal={}, budget={}, depth={}, children={}",
+                plan.getId(), parentSliceId, command.observedTotal(), budget, window.depth() + 1, persistedSlices.size());
+        return new SliceSubdivisionResult(
+                true,
+                parentSliceId,
+                persistedSlices.stream().map(PlanSliceAggregate::getId).toList(),
+                persistedTasks.stream().map(TaskAggregate::getId).toList(),
+                "subdivided into " + persistedSlices.size() + " slices");
+    }
+
+    /**
+     * 优先使用执行器携带的配置快照，缺失时重新拉取。
+     */
+    private ProvenanceConfigSnapshot resolveSnapshot(SliceSubdivisionCommand command, PlanAggregate plan) {
+        if (command.configSnapshot() != null) {
+            return command.configSnapshot();
+        }
+        return provenancePort.fetchConfig(
+                ProvenanceCode.parse(plan.getProvenanceCode()), plan.getEndpoint(), plan.getOperation());
+    }
+
+    /**
+     * 为子切片派生任务，继承父任务的调度上下文与优先级。
+     */
+    private List<TaskAggregate> deriveTasks(TaskAggregate parentTask,
+                                            List<PlanSliceAggregate> slices,
+                                            List<PlannerWindow> windows) {
+        Integer priority = parentTask.getPriority() == null ? Priority.NORMAL.queueValue() : parentTask.getPriority();
+        List<TaskAggregate> tasks = new ArrayList<>(slices.size());
+        for (int i = 0; i < slices.size(); i++) {
+            PlanSliceAggregate slice = slices.get(i);
+            tasks.add(TaskAggregate.create(
+                    parentTask.getScheduleInstanceId(),
+                    parentTask.getPlanId(),
+                    slice.getId(),
+                    parentTask.getProvenanceCode(),
+                    parentTask.getOperationCode(),
+                    TaskDerivationSupport.taskParamsJson(slice.getSequence()),
+                    TaskDerivationSupport.idempotentKey(
+                            parentTask.getProvenanceCode(),
+                            parentTask.getOperationCode(),
+                            slice.getSliceSignatureHash()),
+                    slice.getExprHash(),
+                    priority,
+                    windows.get(i).from()));
+        }
+        return tasks;
+    }
+
+    /**
+     * 收集任务聚合产生的入队事件。
+     */
+    private List<TaskQueuedEvent> collectQueuedEvents(List<TaskAggregate> tasks) {
+        List<TaskQueuedEvent> events = new ArrayList<>(tasks.size());
+        for (TaskAggregate task : tasks) {
+            task.raiseQueuedEvent();
+            task.pullDomainEvents().stream()
+                    .filter(TaskQueuedEvent.class::isInstance)
+                    .map(TaskQueuedEvent.class::cast)
+                    .forEach(events::add);
+        }
+        return events;
+    }
+}
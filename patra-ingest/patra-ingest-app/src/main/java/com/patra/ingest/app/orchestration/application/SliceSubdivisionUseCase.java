@@ -0,0 +1,21 @@
+package com.patra.ingest.app.orchestration.application;
+
+import com.patra.ingest.app.orchestration.command.SliceSubdivisionCommand;
+import com.patra.ingest.app.orchestration.dto.SliceSubdivisionResult;
+
+/**
+ * 运行期切片细分用例：当切片实际命中量超出单窗口预算时，将其拆分为多个可并行执行的子切片。
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+public interface SliceSubdivisionUseCase {
+
+    /**
+     * 细分超额切片，持久化子切片与子任务并发布入队事件。
+     *
+     * @param command 细分请求
+     * @return 细分结果
+     */
+    SliceSubdivisionResult subdivide(SliceSubdivisionCommand command);
+}
@@ -1,6 +1,5 @@
 package com.patra.ingest.app.orchestration.assembly;
 
-import cn.hutool.core.text.CharSequenceUtil;
 import com.patra.common.enums.Priority;
 import com.patra.common.json.JsonNormalizer;
 import com.patra.common.util.HashUtils;
@@ -8,6 +7,7 @@ import com.patra.expr.canonical.ExprCanonicalSnapshot;
 import com.patra.expr.canonical.ExprCanonicalizer;
 import com.patra.ingest.app.orchestration.expression.PlanExpressionDescriptor;
 import com.patra.ingest.app.orchestration.slice.SlicePlanner;
+import com.patra.ingest.app.orchestration.slice.SliceSizingService;
 import com.patra.ingest.app.orchestration.slice.SlicePlannerRegistry;
 import com.patra.ingest.app.orchestration.slice.SliceStrategy;
 import com.patra.ingest.app.orchestration.slice.model.SlicePlan;
@@ -23,7 +23,6 @@ import org.springframework.stereotype.Component;
 
 import java.time.Instant;
 import java.util.ArrayList;
-import java.util.Base64;
 import java.util.List;
 import java.util.Map;
 
@@ -42,20 +41,13 @@ public class DefaultPlanAssemblyService implements PlanAssemblyService {
      */
     private static final JsonNormalizer DEFAULT_NORMALIZER = JsonNormalizer.usingDefault();
 
-    /**
-     * 任务参数专用规范化器：关闭布尔、时间的强制推断，避免序号 0/1 被自动转为布尔或时间戳。
-     */
-    private static final JsonNormalizer TASK_PARAM_NORMALIZER = JsonNormalizer.withConfig(
-            JsonNormalizer.Config.builder()
-                    .coerceBoolean(JsonNormalizer.Config.CoerceBoolean.NONE)
-                    .coerceTime(false)
-                    .build()
-    );
-
     private final SlicePlannerRegistry slicePlannerRegistry;
+    private final SliceSizingService sliceSizingService;
 
-    public DefaultPlanAssemblyService(SlicePlannerRegistry slicePlannerRegistry) {
+    public DefaultPlanAssemblyService(SlicePlannerRegistry slicePlannerRegistry,
+                                      SliceSizingService sliceSizingService) {
         this.slicePlannerRegistry = slicePlannerRegistry;
+        this.sliceSizingService = sliceSizingService;
     }
 
     /**
@@ -154,10 +146,14 @@ public class DefaultPlanAssemblyService implements PlanAssemblyService {
             return new SliceGenerationResult(List.of(), List.of());
         }
 
-        List<SlicePlan> drafts = planner.slice(new SlicePlanningContext(norm, window, planExpression, configSnapshot));
+        SlicePlanningContext context = new SlicePlanningContext(norm, window, planExpression, configSnapshot);
+        List<SlicePlan> drafts = planner.slice(context);
         if (drafts == null || drafts.isEmpty()) {
             return new SliceGenerationResult(List.of(), List.of());
         }
+        if (sliceStrategy == SliceStrategy.TIME) {
+            drafts = sizeTimeSlices(context, drafts);
+        }
 
         List<PlanSliceAggregate> slices = new ArrayList<>(drafts.size());
         for (SlicePlan draft : drafts) {
@@ -175,6 +171,17 @@ public class DefaultPlanAssemblyService implements PlanAssemblyService {
         return new SliceGenerationResult(slices, drafts);
     }
 
+    /**
+     * 调整时间切片粒度：可探测时按探测结果拆分/合并，否则按历史密度合并低量切片，
+     * 以减少安静来源上每小时一个任务带来的行、消息与请求开销。
+     */
+    private List<SlicePlan> sizeTimeSlices(SlicePlanningContext context, List<SlicePlan> drafts) {
+        if (sliceSizingService.probeApplicable(context)) {
+            return sliceSizingService.resize(context, drafts);
+        }
+        return sliceSizingService.coalesce(context, drafts);
+    }
+
     /**
      * 为每个切片派生任务。此处暂以切片序号作为占位 sliceId，后续持久化时再绑定真实 ID。
      */
@@ -206,7 +213,7 @@ public class DefaultPlanAssemblyService implements PlanAssemblyService {
                     (long) slice.getSequence(),
                     norm.provenanceCode().getCode(),
                     norm.operationCode().name(),
-                    buildTaskParamsJson(slice.getSequence()),
+                    TaskDerivationSupport.taskParamsJson(slice.getSequence()),
                     idemKey,
                     slice.getExprHash(),
                     priorityVal,
@@ -267,14 +274,6 @@ public class DefaultPlanAssemblyService implements PlanAssemblyService {
         return normalized.getCanonicalJson();
     }
 
-    /**
-     * 构造任务参数，确保 sliceNo 序号以数值形式存储，不被自动推断为布尔或时间。
-     */
-    private String buildTaskParamsJson(int sliceSequence) {
-        JsonNormalizer.Result normalized = TASK_PARAM_NORMALIZER.normalize(Map.of("sliceNo", sliceSequence));
-        return normalized.getCanonicalJson();
-    }
-
     /**
      * 规范化配置快照，以便持久化 JSON 与哈希值。
      */
@@ -289,12 +288,10 @@ public class DefaultPlanAssemblyService implements PlanAssemblyService {
      * 基于来源、操作与切片签名生成任务幂等键。
      */
     private String computeSignature(PlanTriggerNorm norm, String payload) {
-        String material = CharSequenceUtil.join("|",
+        return TaskDerivationSupport.idempotentKey(
                 norm.provenanceCode().getCode(),
                 norm.operationCode().name(),
-                payload == null ? CharSequenceUtil.EMPTY : payload);
-        byte[] digest = HashUtils.sha256(material);
-        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+                payload);
     }
 
     private record SliceGenerationResult(List<PlanSliceAggregate> aggregates, List<SlicePlan> drafts) {
@@ -0,0 +1,58 @@
+package com.patra.ingest.app.orchestration.assembly;
+
+import cn.hutool.core.text.CharSequenceUtil;
+import com.patra.common.json.JsonNormalizer;
+import com.patra.common.util.HashUtils;
+
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * 任务派生公共规则：幂等键与任务参数的生成方式在规划期与运行期细分中保持一致。
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+public final class TaskDerivationSupport {
+
+    /**
+     * 任务参数专用规范化器：关闭布尔、时间的强制推断，避免序号 0/1 被自动转为布尔或时间戳。
+     */
+    private static final JsonNormalizer TASK_PARAM_NORMALIZER = JsonNormalizer.withConfig(
+            JsonNormalizer.Config.builder()
+                    .coerceBoolean(JsonNormalizer.Config.CoerceBoolean.NONE)
+                    .coerceTime(false)
+                    .build()
+    );
+
+    private TaskDerivationSupport() {
+    }
+
+    /**
+     * 基于来源、操作与切片签名生成任务幂等键。
+     *
+     * @param provenanceCode 来源编码
+     * @param operationCode 操作编码
+     * @param sliceSignatureHash 切片签名哈希
+     * @return Base64Url 编码的幂等键
+     */
+    public static String idempotentKey(String provenanceCode, String operationCode, String sliceSignatureHash) {
+        String material = CharSequenceUtil.join("|",
+                provenanceCode,
+                operationCode,
+                sliceSignatureHash == null ? CharSequenceUtil.EMPTY : sliceSignatureHash);
+        byte[] digest = HashUtils.sha256(material);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+    }
+
+    /**
+     * 构造任务参数，确保 sliceNo 序号以数值形式存储，不被自动推断为布尔或时间。
+     *
+     * @param sliceSequence 切片序号
+     * @return 规范化后的任务参数 JSON
+     */
+    public static String taskParamsJson(int sliceSequence) {
+        JsonNormalizer.Result normalized = TASK_PARAM_NORMALIZER.normalize(Map.of("sliceNo", sliceSequence));
+        return normalized.getCanonicalJson();
+    }
+}
@@ -0,0 +1,73 @@
+package com.patra.ingest.app.orchestration.backpressure;
+
+import com.patra.ingest.app.orchestration.config.BackpressureProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.OptionalDouble;
+
+/**
+ * 自适应背压阈值策略。
+ * <p>
+ * 阈值 = 排空速率 × 目标排队时长，并夹在 [min, max] 之间：下游消费快时允许更深的队列，
+ * 消费变慢时自动收紧；尚无排空速率样本时使用固定兜底阈值。来源可单独覆盖各参数。
+ * </p>
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+@Component
+@RequiredArgsConstructor
+public class QueueBackpressurePolicy {
+
+    private final TaskQueueGauge taskQueueGauge;
+    private final BackpressureProperties properties;
+
+    /**
+     * 计算指定队列的背压阈值。
+     */
+    public long threshold(String provenanceCode, String operationCode) {
+        BackpressureProperties.SourceOverride override = resolveOverride(provenanceCode);
+        long fallback = pick(override == null ? null : override.getFallbackThreshold(), properties.getFallbackThreshold());
+        long min = pick(override == null ? null : override.getMinThreshold(), properties.getMinThreshold());
+        long max = pick(override == null ? null : override.getMaxThreshold(), properties.getMaxThreshold());
+        Duration targetWait = override != null && override.getTargetQueueWait() != null
+                ? override.getTargetQueueWait()
+                : properties.getTargetQueueWait();
+        return computeThreshold(taskQueueGauge.drainRatePerSecond(provenanceCode, operationCode),
+                targetWait, fallback, min, max);
+    }
+
+    /**
+     * 阈值计算（纯函数）。
+     *
+     * @param drainRate  排空速率（任务/秒），无样本时为空
+     * @param targetWait 目标排队时长
+     * @param fallback   无样本时的兜底阈值
+     * @param min        阈值下限
+     * @param max        阈值上限
+     * @return 背压阈值
+     */
+    static long computeThreshold(OptionalDouble drainRate, Duration targetWait, long fallback, long min, long max) {
+        long lower = Math.max(0L, min);
+        long upper = Math.max(lower, max);
+        if (drainRate.isEmpty() || targetWait == null || targetWait.isZero() || targetWait.isNegative()) {
+            return fallback;
+        }
+        long raw = (long) Math.floor(drainRate.getAsDouble() * targetWait.toMillis() / 1000d);
+        return Math.min(upper, Math.max(lower, raw));
+    }
+
+    private BackpressureProperties.SourceOverride resolveOverride(String provenanceCode) {
+        if (provenanceCode == null || properties.getSources() == null) {
+            return null;
+        }
+        BackpressureProperties.SourceOverride override = properties.getSources().get(provenanceCode);
+        return override != null ? override : properties.getSources().get(provenanceCode.toLowerCase());
+    }
+
+    private static long pick(Long overridden, long defaults) {
+        return overridden == null ? defaults : overridden;
+    }
+}
@@ -0,0 +1,157 @@
+package com.patra.ingest.app.orchestration.backpressure;
+
+import com.patra.ingest.app.orchestration.config.BackpressureProperties;
+import com.patra.ingest.domain.port.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 排队深度仪表（按来源 + 操作）。
+ * <p>
+ * 深度由任务状态迁移增量维护（入队 +、领取/取消 -），在事务提交后生效；
+ * 按 {@code reconcileInterval} 与数据库 COUNT 对账以吸收其他实例的变化，对账时顺带推算排空速率：
+ * {@code drained = 上次对账深度 + 期间入队 - 当前深度}，以 EWMA 平滑。
+ * </p>
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskQueueGauge {
+
+    private final TaskRepository taskRepository;
+    private final BackpressureProperties properties;
+
+    /** 各队列状态 */
+    private final Map<QueueKey, QueueState> states = new ConcurrentHashMap<>();
+
+    /**
+     * 记录入队（事务提交后生效）。
+     */
+    public void recordEnqueued(String provenanceCode, String operationCode, long count) {
+        if (count <= 0) {
+            return;
+        }
+        afterCommit(() -> state(provenanceCode, operationCode).enqueued.add(count));
+    }
+
+    /**
+     * 记录出队：任务被领取或在排队态被取消（事务提交后生效）。
+     */
+    public void recordDequeued(String provenanceCode, String operationCode, long count) {
+        if (count <= 0) {
+            return;
+        }
+        afterCommit(() -> state(provenanceCode, operationCode).dequeued.add(count));
+    }
+
+    /**
+     * 当前排队深度；超过对账间隔时先与数据库对账。
+     */
+    public long depth(String provenanceCode, String operationCode) {
+        QueueState state = state(provenanceCode, operationCode);
+        reconcileIfStale(provenanceCode, operationCode, state, Instant.now());
+        return state.depth();
+    }
+
+    /**
+     * 平滑后的排空速率（任务/秒）；尚无样本时为空。
+     */
+    public OptionalDouble drainRatePerSecond(String provenanceCode, String operationCode) {
+        QueueState state = states.get(new QueueKey(provenanceCode, operationCode));
+        if (state == null || state.drainRate < 0) {
+            return OptionalDouble.empty();
+        }
+        return OptionalDouble.of(state.drainRate);
+    }
+
+    /**
+     * 全部队列的深度快照，供日志与监控读取。
+     */
+    public Map<String, Long> snapshot() {
+        Map<String, Long> snapshot = new LinkedHashMap<>();
+        states.forEach((key, state) -> snapshot.put(key.provenanceCode() + ":" + key.operationCode(), state.depth()));
+        return snapshot;
+    }
+
+    private QueueState state(String provenanceCode, String operationCode) {
+        return states.computeIfAbsent(new QueueKey(provenanceCode, operationCode), key -> new QueueState());
+    }
+
+    private void reconcileIfStale(String provenanceCode, String operationCode, QueueState state, Instant now) {
+        Duration interval = properties.getReconcileInterval();
+        if (state.reconciledAt != null && interval != null
+                && Duration.between(state.reconciledAt, now).compareTo(interval) < 0) {
+            return;
+        }
+        synchronized (state) {
+            if (state.reconciledAt != null && interval != null
+                    && Duration.between(state.reconciledAt, now).compareTo(interval) < 0) {
+                return;
+            }
+            long actual = taskRepository.countQueuedTasks(provenanceCode, operationCode);
+            long enqueued = state.enqueued.sumThenReset();
+            state.dequeued.reset();
+            if (state.reconciledAt != null) {
+                double seconds = Math.max(1d, Duration.between(state.reconciledAt, now).toMillis() / 1000d);
+                long drained = Math.max(0L, state.reconciledDepth + enqueued - actual);
+                double rate = drained / seconds;
+                double alpha = Math.min(1d, Math.max(0.01d, properties.getDrainRateAlpha()));
+                state.drainRate = state.drainRate < 0 ? rate : alpha * rate + (1 - alpha) * state.drainRate;
+            }
+            if (log.isDebugEnabled() && state.reconciledAt != null && actual != state.depth()) {
+                log.debug("Queue gauge reconciled, provenance={}, op={}, estimated={}, actual={}",
+                        provenanceCode, operationCode, state.depth(), actual);
+            }
+            state.reconciledDepth = actual;
+            state.reconciledAt = now;
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+            return;
+        }
+        action.run();
+    }
+
+    /**
+     * 队列键。
+     */
+    private record QueueKey(String provenanceCode, String operationCode) {
+    }
+
+    /**
+     * 队列状态：对账基线 + 期间增量。
+     */
+    private static final class QueueState {
+        private final LongAdder enqueued = new LongAdder();
+        private final LongAdder dequeued = new LongAdder();
+        private volatile long reconciledDepth;
+        private volatile Instant reconciledAt;
+        private volatile double drainRate = -1d;
+
+        private long depth() {
+            return Math.max(0L, reconciledDepth + enqueued.sum() - dequeued.sum());
+        }
+    }
+}
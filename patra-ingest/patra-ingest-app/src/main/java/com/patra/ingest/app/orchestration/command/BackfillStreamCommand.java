@@ -0,0 +1,57 @@
+package com.patra.ingest.app.orchestration.command;
+
+import com.patra.common.enums.Priority;
+import com.patra.common.enums.ProvenanceCode;
+import com.patra.ingest.domain.model.enums.Endpoint;
+import com.patra.ingest.domain.model.enums.Scheduler;
+import com.patra.ingest.domain.model.enums.TriggerType;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 流式回灌推进指令：对任意长度的 BACKFILL 区间做一次推进，按队列水位下发若干连续计划。
+ *
+ * @param provenanceCode 来源编码
+ * @param endpoint 采集端点
+ * @param rangeFrom 回灌区间起点（含）
+ * @param rangeTo 回灌区间终点（不含）
+ * @param chunkSpan 单计划跨度，可空（取配置）
+ * @param step 切片步长（ISO-8601），可空（取配置）
+ * @param priority 调度优先级
+ * @param triggerType 触发类型
+ * @param scheduler 调度器类型
+ * @param schedulerJobId 调度任务 ID
+ * @param schedulerLogId 调度日志 ID
+ * @param triggeredAt 触发时间
+ * @param triggerParams 额外触发参数
+ */
+public record BackfillStreamCommand(
+        ProvenanceCode provenanceCode,
+        Endpoint endpoint,
+        Instant rangeFrom,
+        Instant rangeTo,
+        Duration chunkSpan,
+        String step,
+        Priority priority,
+        TriggerType triggerType,
+        Scheduler scheduler,
+        String schedulerJobId,
+        String schedulerLogId,
+        Instant triggeredAt,
+        Map<String, Object> triggerParams
+) {
+    public BackfillStreamCommand {
+        Objects.requireNonNull(provenanceCode, "provenanceCode must not be null");
+        Objects.requireNonNull(rangeFrom, "rangeFrom must not be null");
+        Objects.requireNonNull(rangeTo, "rangeTo must not be null");
+        Objects.requireNonNull(triggerType, "triggerType must not be null");
+        Objects.requireNonNull(scheduler, "scheduler must not be null");
+        if (!rangeFrom.isBefore(rangeTo)) {
+            throw new IllegalArgumentException("rangeFrom must be before rangeTo");
+        }
+        triggerParams = triggerParams == null ? Map.of() : triggerParams;
+    }
+}
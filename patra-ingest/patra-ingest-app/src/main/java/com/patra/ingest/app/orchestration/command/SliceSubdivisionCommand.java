@@ -0,0 +1,26 @@
+package com.patra.ingest.app.orchestration.command;
+
+import com.patra.ingest.domain.model.snapshot.ProvenanceConfigSnapshot;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * 运行期切片细分请求：执行器拿到首页命中总数后发现超出单窗口预算时发起。
+ *
+ * @param taskId 超额任务 ID
+ * @param observedTotal 首页返回的命中总数
+ * @param configSnapshot 执行时使用的来源配置快照（可空，为空时重新拉取）
+ * @param observedAt 观测时间
+ */
+public record SliceSubdivisionCommand(
+        Long taskId,
+        long observedTotal,
+        ProvenanceConfigSnapshot configSnapshot,
+        Instant observedAt
+) {
+    public SliceSubdivisionCommand {
+        Objects.requireNonNull(taskId, "taskId must not be null");
+        observedAt = observedAt == null ? Instant.now() : observedAt;
+    }
+}
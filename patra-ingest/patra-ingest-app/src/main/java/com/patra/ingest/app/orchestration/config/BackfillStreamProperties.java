@@ -0,0 +1,65 @@
+package com.patra.ingest.app.orchestration.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 流式回灌配置：超长 BACKFILL 区间按块拆成连续计划，按队列水位逐块下发。
+ */
+@Component
+@ConfigurationProperties(prefix = "patra.ingest.backfill-stream")
+public class BackfillStreamProperties {
+
+    /** 是否启用流式回灌 */
+    private boolean enabled = true;
+    /** 单个计划覆盖的区间跨度（不超过计划窗口上限 30 天） */
+    private Duration chunkSpan = Duration.ofDays(7);
+    /** 低水位：排队任务数低于该值才下发下一块 */
+    private long lowWaterMark = 20L;
+    /** 单次推进最多下发的计划数 */
+    private int maxPlansPerTick = 8;
+    /** 默认切片步长（ISO-8601） */
+    private String defaultStep = "PT6H";
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getChunkSpan() {
+        return chunkSpan;
+    }
+
+    public void setChunkSpan(Duration chunkSpan) {
+        this.chunkSpan = chunkSpan;
+    }
+
+    public long getLowWaterMark() {
+        return lowWaterMark;
+    }
+
+    public void setLowWaterMark(long lowWaterMark) {
+        this.lowWaterMark = lowWaterMark;
+    }
+
+    public int getMaxPlansPerTick() {
+        return maxPlansPerTick;
+    }
+
+    public void setMaxPlansPerTick(int maxPlansPerTick) {
+        this.maxPlansPerTick = maxPlansPerTick;
+    }
+
+    public String getDefaultStep() {
+        return defaultStep;
+    }
+
+    public void setDefaultStep(String defaultStep) {
+        this.defaultStep = defaultStep;
+    }
+}
@@ -0,0 +1,134 @@
+package com.patra.ingest.app.orchestration.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 规划背压配置：排队深度阈值按来源自适应（Little 定律：允许深度 = 排空速率 × 目标排队时长）。
+ */
+@Component
+@ConfigurationProperties(prefix = "patra.ingest.backpressure")
+public class BackpressureProperties {
+
+    /** 无排空速率样本时的固定阈值 */
+    private long fallbackThreshold = 50L;
+    /** 自适应阈值下限 */
+    private long minThreshold = 20L;
+    /** 自适应阈值上限 */
+    private long maxThreshold = 2_000L;
+    /** 目标排队时长（任务从入队到被领取的期望等待） */
+    private Duration targetQueueWait = Duration.ofMinutes(10);
+    /** 排队深度与数据库对账的间隔 */
+    private Duration reconcileInterval = Duration.ofMinutes(1);
+    /** 排空速率 EWMA 平滑系数 (0,1] */
+    private double drainRateAlpha = 0.3d;
+    /** 按来源编码覆盖（键为来源编码，如 PUBMED） */
+    private Map<String, SourceOverride> sources = new HashMap<>();
+
+    public long getFallbackThreshold() {
+        return fallbackThreshold;
+    }
+
+    public void setFallbackThreshold(long fallbackThreshold) {
+        this.fallbackThreshold = fallbackThreshold;
+    }
+
+    public long getMinThreshold() {
+        return minThreshold;
+    }
+
+    public void setMinThreshold(long minThreshold) {
+        this.minThreshold = minThreshold;
+    }
+
+    public long getMaxThreshold() {
+        return maxThreshold;
+    }
+
+    public void setMaxThreshold(long maxThreshold) {
+        this.maxThreshold = maxThreshold;
+    }
+
+    public Duration getTargetQueueWait() {
+        return targetQueueWait;
+    }
+
+    public void setTargetQueueWait(Duration targetQueueWait) {
+        this.targetQueueWait = targetQueueWait;
+    }
+
+    public Duration getReconcileInterval() {
+        return reconcileInterval;
+    }
+
+    public void setReconcileInterval(Duration reconcileInterval) {
+        this.reconcileInterval = reconcileInterval;
+    }
+
+    public double getDrainRateAlpha() {
+        return drainRateAlpha;
+    }
+
+    public void setDrainRateAlpha(double drainRateAlpha) {
+        this.drainRateAlpha = drainRateAlpha;
+    }
+
+    public Map<String, SourceOverride> getSources() {
+        return sources;
+    }
+
+    public void setSources(Map<String, SourceOverride> sources) {
+        this.sources = sources;
+    }
+
+    /**
+     * 来源级覆盖项，未设置的字段沿用全局值。
+     */
+    public static class SourceOverride {
+
+        /** 固定阈值 */
+        private Long fallbackThreshold;
+        /** 阈值下限 */
+        private Long minThreshold;
+        /** 阈值上限 */
+        private Long maxThreshold;
+        /** 目标排队时长 */
+        private Duration targetQueueWait;
+
+        public Long getFallbackThreshold() {
+            return fallbackThreshold;
+        }
+
+        public void setFallbackThreshold(Long fallbackThreshold) {
+            this.fallbackThreshold = fallbackThreshold;
+        }
+
+        public Long getMinThreshold() {
+            return minThreshold;
+        }
+
+        public void setMinThreshold(Long minThreshold) {
+            this.minThreshold = minThreshold;
+        }
+
+        public Long getMaxThreshold() {
+            return maxThreshold;
+        }
+
+        public void setMaxThreshold(Long maxThreshold) {
+            this.maxThreshold = maxThreshold;
+        }
+
+        public Duration getTargetQueueWait() {
+            return targetQueueWait;
+        }
+
+        public void setTargetQueueWait(Duration targetQueueWait) {
+            this.targetQueueWait = targetQueueWait;
+        }
+    }
+}
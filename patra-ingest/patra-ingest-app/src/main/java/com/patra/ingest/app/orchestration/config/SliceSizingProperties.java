@@ -0,0 +1,145 @@
+package com.patra.ingest.app.orchestration.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 切片尺寸调节配置（规划期探测再平衡 / 历史合并 + 运行期细分）。
+ */
+@Component
+@ConfigurationProperties(prefix = "patra.ingest.slice-sizing")
+public class SliceSizingProperties {
+
+    /** 是否启用运行期细分 */
+    private boolean subdivisionEnabled = true;
+    /** 子切片最小跨度，低于该跨度不再细分 */
+    private Duration minSliceSpan = Duration.ofMinutes(1);
+    /** 最大细分深度 */
+    private int maxSubdivisionDepth = 6;
+    /** 单次细分的最大子切片数 */
+    private int maxFanOut = 32;
+    /** 是否在规划期发起计数探测 */
+    private boolean probeEnabled = false;
+    /** 探测并行度 */
+    private int probeParallelism = 4;
+    /** 探测阶段整体超时 */
+    private Duration probeTimeout = Duration.ofSeconds(10);
+    /** 来源未配置 maxIdsPerWindow 时的单切片命中预算 */
+    private long defaultSliceBudget = 10_000L;
+    /** 合并相邻稀疏切片时的目标填充率（相对预算） */
+    private double mergeFillRatio = 0.5d;
+    /** 是否按历史密度合并低量切片（探测未生效时） */
+    private boolean coalesceEnabled = true;
+    /** 合并阈值（单切片预估命中量上限）；非正数时取预算 × mergeFillRatio */
+    private long coalesceThreshold = 0L;
+    /** 历史密度估算采样的最近成功运行数 */
+    private int historySampleSize = 20;
+    /** 历史密度估算所需的最少有效样本数 */
+    private int historyMinSamples = 3;
+
+    public boolean isSubdivisionEnabled() {
+        return subdivisionEnabled;
+    }
+
+    public void setSubdivisionEnabled(boolean subdivisionEnabled) {
+        this.subdivisionEnabled = subdivisionEnabled;
+    }
+
+    public Duration getMinSliceSpan() {
+        return minSliceSpan;
+    }
+
+    public void setMinSliceSpan(Duration minSliceSpan) {
+        this.minSliceSpan = minSliceSpan;
+    }
+
+    public int getMaxSubdivisionDepth() {
+        return maxSubdivisionDepth;
+    }
+
+    public void setMaxSubdivisionDepth(int maxSubdivisionDepth) {
+        this.maxSubdivisionDepth = maxSubdivisionDepth;
+    }
+
+    public int getMaxFanOut() {
+        return maxFanOut;
+    }
+
+    public void setMaxFanOut(int maxFanOut) {
+        this.maxFanOut = maxFanOut;
+    }
+
+    public boolean isProbeEnabled() {
+        return probeEnabled;
+    }
+
+    public void setProbeEnabled(boolean probeEnabled) {
+        this.probeEnabled = probeEnabled;
+    }
+
+    public int getProbeParallelism() {
+        return probeParallelism;
+    }
+
+    public void setProbeParallelism(int probeParallelism) {
+        this.probeParallelism = probeParallelism;
+    }
+
+    public Duration getProbeTimeout() {
+        return probeTimeout;
+    }
+
+    public void setProbeTimeout(Duration probeTimeout) {
+        this.probeTimeout = probeTimeout;
+    }
+
+    public long getDefaultSliceBudget() {
+        return defaultSliceBudget;
+    }
+
+    public void setDefaultSliceBudget(long defaultSliceBudget) {
+        this.defaultSliceBudget = defaultSliceBudget;
+    }
+
+    public double getMergeFillRatio() {
+        return mergeFillRatio;
+    }
+
+    public void setMergeFillRatio(double mergeFillRatio) {
+        this.mergeFillRatio = mergeFillRatio;
+    }
+
+    public boolean isCoalesceEnabled() {
+        return coalesceEnabled;
+    }
+
+    public void setCoalesceEnabled(boolean coalesceEnabled) {
+        this.coalesceEnabled = coalesceEnabled;
+    }
+
+    public long getCoalesceThreshold() {
+        return coalesceThreshold;
+    }
+
+    public void setCoalesceThreshold(long coalesceThreshold) {
+        this.coalesceThreshold = coalesceThreshold;
+    }
+
+    public int getHistorySampleSize() {
+        return historySampleSize;
+    }
+
+    public void setHistorySampleSize(int historySampleSize) {
+        this.historySampleSize = historySampleSize;
+    }
+
+    public int getHistoryMinSamples() {
+        return historyMinSamples;
+    }
+
+    public void setHistoryMinSamples(int historyMinSamples) {
+        this.historyMinSamples = historyMinSamples;
+    }
+}
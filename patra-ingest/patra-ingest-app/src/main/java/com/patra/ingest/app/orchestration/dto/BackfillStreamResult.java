@@ -0,0 +1,22 @@
+package com.patra.ingest.app.orchestration.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 流式回灌单次推进结果。
+ *
+ * @param planIds 本次下发的计划 ID
+ * @param taskCount 本次下发的任务数量
+ * @param nextFrom 下一块的起点
+ * @param completed 区间是否已全部下发
+ * @param queuedTasks 推进结束时的排队任务数
+ * @param haltReason 本次停止推进的原因
+ */
+public record BackfillStreamResult(List<Long> planIds,
+                                   int taskCount,
+                                   Instant nextFrom,
+                                   boolean completed,
+                                   long queuedTasks,
+                                   String haltReason) {
+}
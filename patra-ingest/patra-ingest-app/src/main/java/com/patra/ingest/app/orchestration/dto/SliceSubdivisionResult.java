@@ -0,0 +1,23 @@
+package com.patra.ingest.app.orchestration.dto;
+
+import java.util.List;
+
+/**
+ * 运行期切片细分结果。
+ *
+ * @param subdivided 是否已细分（为 false 时执行器应继续按原切片采集）
+ * @param parentSliceId 父切片 ID
+ * @param childSliceIds 新建子切片 ID 集合
+ * @param childTaskIds 新建子任务 ID 集合
+ * @param reason 未细分原因或细分说明
+ */
+public record SliceSubdivisionResult(boolean subdivided,
+                                     Long parentSliceId,
+                                     List<Long> childSliceIds,
+                                     List<Long> childTaskIds,
+                                     String reason) {
+
+    public static SliceSubdivisionResult skipped(Long parentSliceId, String reason) {
+        return new SliceSubdivisionResult(false, parentSliceId, List.of(), List.of(), reason);
+    }
+}
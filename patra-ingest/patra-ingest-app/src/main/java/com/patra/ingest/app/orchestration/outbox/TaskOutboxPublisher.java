@@ -5,11 +5,11 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.patra.ingest.app.outbox.OutboxRelayLoop;
 import com.patra.ingest.app.outbox.support.OutboxChannels;
 import com.patra.ingest.domain.model.aggregate.PlanAggregate;
 import com.patra.ingest.domain.model.aggregate.ScheduleInstanceAggregate;
 import com.patra.ingest.domain.model.entity.OutboxMessage;
-import com.patra.ingest.domain.model.enums.OutboxStatus;
 import com.patra.ingest.domain.model.event.TaskQueuedEvent;
 import com.patra.ingest.domain.port.OutboxMessageRepository;
 import lombok.RequiredArgsConstructor;
@@ -20,7 +20,6 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
 
 /**
  * 将任务入队事件转换为 Outbox 消息并持久化。
@@ -44,6 +43,8 @@ public class TaskOutboxPublisher {
     private final OutboxMessageRepository outboxMessageRepository;
     /** JSON 处理器 */
     private final ObjectMapper objectMapper;
+    /** 进程内 Relay 循环（提交后唤醒） */
+    private final OutboxRelayLoop outboxRelayLoop;
 
     /**
      * 首次发布任务入队事件。
@@ -67,30 +68,18 @@ public class TaskOutboxPublisher {
                 log.warn("skip task event without persistence, planId={}", event.planId());
                 continue;
             }
-            ObjectNode payloadNode = buildPayload(event, plan);
-            ObjectNode headersNode = buildHeaders(event, schedule, plan);
-            OutboxMessage message = OutboxMessage.builder()
-                    .aggregateType(AGGREGATE_TYPE_TASK)
-                    .aggregateId(event.taskId())
-                    .channel(DEFAULT_CHANNEL)
-                    .opType(DEFAULT_OP_TYPE)
-                    .partitionKey(buildPartitionKey(event))
-                    .dedupKey(event.idempotentKey())
-                    .payloadJson(writeJson(payloadNode))
-                    .headersJson(writeJson(headersNode))
-                    .notBefore(resolveNotBefore(event.scheduledAt()))
-                    .retryCount(0)
-                    .build();
-            messages.add(message);
+            messages.add(buildMessage(event, plan, schedule));
         }
 
         if (!messages.isEmpty()) {
             outboxMessageRepository.saveAll(messages);
+            outboxRelayLoop.wakeAfterCommit(DEFAULT_CHANNEL);
         }
     }
 
     /**
      * 对补偿任务刷新或新增 Outbox 记录，便于 Relay 重新发布。
+     * <p>按 (channel, dedup_key) 批量 upsert，已存在的记录重置为 PENDING，整体仅一次写入往返。</p>
      *
      * @param events 入队事件列表
      * @param plan 关联计划
@@ -105,47 +94,38 @@ public class TaskOutboxPublisher {
         Objects.requireNonNull(plan, "plan must not be null");
         Objects.requireNonNull(schedule, "schedule must not be null");
 
+        List<OutboxMessage> messages = new ArrayList<>(events.size());
         for (TaskQueuedEvent event : events) {
-            ObjectNode payloadNode = buildPayload(event, plan);
-            ObjectNode headersNode = buildHeaders(event, schedule, plan);
-            String payloadJson = writeJson(payloadNode);
-            String headersJson = writeJson(headersNode);
-            Instant notBefore = resolveNotBefore(event.scheduledAt());
-
-            Optional<OutboxMessage> existing = outboxMessageRepository.findByChannelAndDedup(DEFAULT_CHANNEL, event.idempotentKey());
-            if (existing.isPresent()) {
-                OutboxMessage refreshed = existing.get().toBuilder()
-                        .statusCode(OutboxStatus.PENDING.name())
-                        .retryCount(0)
-                        .nextRetryAt(null)
-                        .errorCode(null)
-                        .errorMsg(null)
-                        .payloadJson(payloadJson)
-                        .headersJson(headersJson)
-                        .notBefore(notBefore)
-                        .leaseOwner(null)
-                        .leaseExpireAt(null)
-                        .msgId(null)
-                        .build();
-                outboxMessageRepository.saveOrUpdate(refreshed);
-                log.info("Refreshed outbox message for retry, aggregateId={}, dedupKey={}", event.taskId(), event.idempotentKey());
-            } else {
-                OutboxMessage message = OutboxMessage.builder()
-                        .aggregateType(AGGREGATE_TYPE_TASK)
-                        .aggregateId(event.taskId())
-                        .channel(DEFAULT_CHANNEL)
-                        .opType(DEFAULT_OP_TYPE)
-                        .partitionKey(buildPartitionKey(event))
-                        .dedupKey(event.idempotentKey())
-                        .payloadJson(payloadJson)
-                        .headersJson(headersJson)
-                        .notBefore(notBefore)
-                        .retryCount(0)
-                        .build();
-                outboxMessageRepository.saveOrUpdate(message);
-                log.info("Created new retry outbox message, aggregateId={}, dedupKey={}", event.taskId(), event.idempotentKey());
-            }
+            messages.add(buildMessage(event, plan, schedule));
         }
+        outboxMessageRepository.upsertAll(messages);
+        outboxRelayLoop.wakeAfterCommit(DEFAULT_CHANNEL);
+        log.info("Upserted retry outbox messages, planId={}, count={}", plan.getId(), messages.size());
+    }
+
+    /**
+     * 构建待发布的 Outbox 消息。
+     *
+     * @param event 任务入队事件
+     * @param plan 关联计划
+     * @param schedule 调度实例
+     * @return Outbox 消息
+     */
+    private OutboxMessage buildMessage(TaskQueuedEvent event,
+                                       PlanAggregate plan,
+                                       ScheduleInstanceAggregate schedule) {
+        return OutboxMessage.builder()
+                .aggregateType(AGGREGATE_TYPE_TASK)
+                .aggregateId(event.taskId())
+                .channel(DEFAULT_CHANNEL)
+                .opType(DEFAULT_OP_TYPE)
+                .partitionKey(buildPartitionKey(event))
+                .dedupKey(event.idempotentKey())
+                .payloadJson(writeJson(buildPayload(event, plan)))
+                .headersJson(writeJson(buildHeaders(event, schedule, plan)))
+                .notBefore(resolveNotBefore(event.scheduledAt()))
+                .retryCount(0)
+                .build();
     }
 
     /**
@@ -264,7 +244,9 @@ public class TaskOutboxPublisher {
     }
 
     /**
-     * 生成分区键，确保同来源同操作在下游保持顺序。
+     * 生成分区键：按任务划分，同一任务的消息保序，不同任务互不等待。
+     * <p>消费端并发派发、以租约抢占保证任务幂等，跨任务无顺序要求；按来源+操作划分会使单来源部署的 Relay 串行发送。
+     * 来源与操作前缀仅用于排查与路由观测。</p>
      *
      * @param event 任务事件
      * @return 分区键
@@ -272,15 +254,16 @@ public class TaskOutboxPublisher {
     private String buildPartitionKey(TaskQueuedEvent event) {
         String provenance = event.provenanceCode() == null ? "" : event.provenanceCode();
         String operation = event.operationCode() == null ? "" : event.operationCode();
+        String task = event.taskId() == null ? "TASK" : String.valueOf(event.taskId());
         if (provenance.isEmpty() && operation.isEmpty()) {
-            return "TASK";
+            return task;
         }
         if (operation.isEmpty()) {
-            return provenance;
+            return provenance + ":" + task;
         }
         if (provenance.isEmpty()) {
-            return operation;
+            return operation + ":" + task;
         }
-        return provenance + ":" + operation;
+        return provenance + ":" + operation + ":" + task;
     }
 }
@@ -0,0 +1,230 @@
+package com.patra.ingest.app.orchestration.slice;
+
+import cn.hutool.core.util.StrUtil;
+import com.patra.ingest.app.harvest.model.HarvestQuery;
+import com.patra.ingest.app.harvest.support.HarvestQueryCompiler;
+import com.patra.ingest.app.orchestration.config.SliceSizingProperties;
+import com.patra.ingest.app.orchestration.slice.model.SlicePlan;
+import com.patra.ingest.app.orchestration.slice.model.SlicePlanningContext;
+import com.patra.ingest.app.orchestration.slice.support.SliceRebalancer;
+import com.patra.ingest.app.port.HarvestSourcePort;
+import com.patra.ingest.domain.model.snapshot.ProvenanceConfigSnapshot;
+import com.patra.ingest.domain.model.value.PlannerWindow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.OptionalLong;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 规划期切片尺寸调节（Application Layer · Policy）。
+ * <p>
+ * 在任务落库前对候选时间切片逐一发起仅计数探测（并行、受整体超时约束），
+ * 再依据探测结果拆分过密切片、合并相邻稀疏切片，使任务粒度从一开始就尽量均匀。
+ * 探测不可用时退化为按历史命中密度合并低量切片（仅合并、不拆分）。
+ * </p>
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SliceSizingService {
+
+    /** 时间切片策略，用于按再平衡后的窗口重建切片 */
+    private final TimeSlicePlanner timeSlicePlanner;
+    /** 切片表达式编译器 */
+    private final HarvestQueryCompiler harvestQueryCompiler;
+    /** 采集来源访问端口 */
+    private final HarvestSourcePort harvestSourcePort;
+    /** 历史命中密度估算 */
+    private final SliceVolumeEstimator sliceVolumeEstimator;
+    /** 切片尺寸配置 */
+    private final SliceSizingProperties properties;
+
+    /**
+     * 当前上下文是否具备计数探测条件（已启用、来源配置了总数路径且编译器可用）。
+     */
+    public boolean probeApplicable(SlicePlanningContext context) {
+        return properties.isProbeEnabled()
+                && supportsCountProbe(context.configSnapshot())
+                && harvestQueryCompiler.isAvailable();
+    }
+
+    /**
+     * 对候选时间切片执行探测与再平衡。
+     *
+     * @param context 切片上下文
+     * @param drafts  候选切片（按时间有序、首尾相接）
+     * @return 调整后的切片；无需调整时返回原集合
+     */
+    public List<SlicePlan> resize(SlicePlanningContext context, List<SlicePlan> drafts) {
+        if (drafts == null || drafts.isEmpty() || !probeApplicable(context)) {
+            return drafts;
+        }
+
+        List<OptionalLong> counts = probeCounts(context, drafts);
+        List<SliceRebalancer.WindowVolume> volumes = new ArrayList<>(drafts.size());
+        for (int i = 0; i < drafts.size(); i++) {
+            SlicePlan draft = drafts.get(i);
+            volumes.add(new SliceRebalancer.WindowVolume(
+                    new PlannerWindow(draft.windowFrom(), draft.windowTo()), counts.get(i)));
+        }
+        List<PlannerWindow> windows = SliceRebalancer.rebalance(
+                volumes,
+                resolveBudget(context.configSnapshot()),
+                properties.getMergeFillRatio(),
+                resolveMaxSpan(context.configSnapshot()),
+                properties.getMinSliceSpan(),
+                properties.getMaxFanOut());
+
+        List<SlicePlan> resized = timeSlicePlanner.sliceWindows(context, windows);
+        if (resized.isEmpty()) {
+            return drafts;
+        }
+        log.info("Slices rebalanced by probe, provenance={}, op={}, before={}, after={}, probed={}",
+                context.norm().provenanceCode(), context.norm().operationCode(), drafts.size(), resized.size(),
+                counts.stream().filter(OptionalLong::isPresent).count());
+        return resized;
+    }
+
+    /**
+     * 按历史命中密度合并相邻低量切片，每个合并后的窗口仍只对应一个切片签名与一个任务。
+     *
+     * @param context 切片上下文
+     * @param drafts  候选切片（按时间有序、首尾相接）
+     * @return 合并后的切片；未启用或历史样本不足时返回原集合
+     */
+    public List<SlicePlan> coalesce(SlicePlanningContext context, List<SlicePlan> drafts) {
+        if (!properties.isCoalesceEnabled() || drafts == null || drafts.size() < 2) {
+            return drafts;
+        }
+        OptionalDouble density = sliceVolumeEstimator.estimateDensity(
+                context.norm().provenanceCode(), context.norm().operationCode());
+        if (density.isEmpty()) {
+            return drafts;
+        }
+        List<SliceRebalancer.WindowVolume> volumes = new ArrayList<>(drafts.size());
+        for (SlicePlan draft : drafts) {
+            OptionalLong expected = draft.windowFrom() == null || draft.windowTo() == null
+                    ? OptionalLong.empty()
+                    : OptionalLong.of((long) Math.ceil(
+                    density.getAsDouble() * Duration.between(draft.windowFrom(), draft.windowTo()).getSeconds()));
+            volumes.add(new SliceRebalancer.WindowVolume(new PlannerWindow(draft.windowFrom(), draft.windowTo()), expected));
+        }
+        List<PlannerWindow> windows = SliceRebalancer.coalesce(
+                volumes, resolveCoalesceThreshold(context.configSnapshot()), resolveMaxSpan(context.configSnapshot()));
+        if (windows.size() == drafts.size()) {
+            return drafts;
+        }
+        List<SlicePlan> coalesced = timeSlicePlanner.sliceWindows(context, windows);
+        if (coalesced.isEmpty()) {
+            return drafts;
+        }
+        log.info("Slices coalesced by history, provenance={}, op={}, density={}/s, before={}, after={}",
+                context.norm().provenanceCode(), context.norm().operationCode(),
+                String.format("%.4f", density.getAsDouble()), drafts.size(), coalesced.size());
+        return coalesced;
+    }
+
+    /**
+     * 并行探测各候选切片的命中量，整体超时后未完成的探测视为未知。
+     */
+    private List<OptionalLong> probeCounts(SlicePlanningContext context, List<SlicePlan> drafts) {
+        Semaphore permits = new Semaphore(Math.max(1, properties.getProbeParallelism()));
+        long deadline = System.nanoTime() + properties.getProbeTimeout().toNanos();
+        List<OptionalLong> counts = new ArrayList<>(drafts.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<OptionalLong>> futures = new ArrayList<>(drafts.size());
+            for (SlicePlan draft : drafts) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return probe(context, draft);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+            for (Future<OptionalLong> future : futures) {
+                counts.add(awaitCount(future, deadline));
+            }
+        }
+        return counts;
+    }
+
+    private OptionalLong probe(SlicePlanningContext context, SlicePlan draft) {
+        try {
+            HarvestQuery query = harvestQueryCompiler.compile(
+                    draft.sliceExpr(),
+                    context.norm().provenanceCode(),
+                    context.norm().endpoint(),
+                    context.norm().operationCode(),
+                    context.configSnapshot());
+            return harvestSourcePort.probeTotalCount(query);
+        } catch (RuntimeException ex) {
+            log.warn("Slice probe failed, sequence={}, window=[{}, {}), reason={}",
+                    draft.sequence(), draft.windowFrom(), draft.windowTo(), ex.getMessage());
+            return OptionalLong.empty();
+        }
+    }
+
+    private OptionalLong awaitCount(Future<OptionalLong> future, long deadline) {
+        try {
+            long remaining = Math.max(0L, deadline - System.nanoTime());
+            return future.get(remaining, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | CancellationException | ExecutionException ex) {
+            future.cancel(true);
+            return OptionalLong.empty();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            return OptionalLong.empty();
+        }
+    }
+
+    private boolean supportsCountProbe(ProvenanceConfigSnapshot snapshot) {
+        if (snapshot == null || snapshot.pagination() == null) {
+            return false;
+        }
+        ProvenanceConfigSnapshot.PaginationConfig pagination = snapshot.pagination();
+        return StrUtil.isNotBlank(pagination.totalCountJsonpath()) || StrUtil.isNotBlank(pagination.totalCountXpath());
+    }
+
+    private long resolveBudget(ProvenanceConfigSnapshot snapshot) {
+        if (snapshot != null && snapshot.windowOffset() != null
+                && snapshot.windowOffset().maxIdsPerWindow() != null
+                && snapshot.windowOffset().maxIdsPerWindow() > 0) {
+            return snapshot.windowOffset().maxIdsPerWindow();
+        }
+        return properties.getDefaultSliceBudget();
+    }
+
+    private long resolveCoalesceThreshold(ProvenanceConfigSnapshot snapshot) {
+        if (properties.getCoalesceThreshold() > 0) {
+            return properties.getCoalesceThreshold();
+        }
+        return (long) Math.floor(resolveBudget(snapshot) * Math.min(Math.max(properties.getMergeFillRatio(), 0d), 1d));
+    }
+
+    private Duration resolveMaxSpan(ProvenanceConfigSnapshot snapshot) {
+        if (snapshot == null || snapshot.windowOffset() == null) {
+            return null;
+        }
+        Integer seconds = snapshot.windowOffset().maxWindowSpanSeconds();
+        return seconds == null || seconds <= 0 ? null : Duration.ofSeconds(seconds);
+    }
+}
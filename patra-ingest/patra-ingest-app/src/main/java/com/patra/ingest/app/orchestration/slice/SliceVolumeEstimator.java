@@ -0,0 +1,68 @@
+package com.patra.ingest.app.orchestration.slice;
+
+import com.patra.common.enums.ProvenanceCode;
+import com.patra.ingest.app.orchestration.config.SliceSizingProperties;
+import com.patra.ingest.domain.model.entity.TaskRun;
+import com.patra.ingest.domain.model.enums.OperationCode;
+import com.patra.ingest.domain.model.vo.ExecutionWindow;
+import com.patra.ingest.domain.port.TaskRunRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalDouble;
+
+/**
+ * 基于历史运行估算切片命中密度（条/秒）。
+ * <p>
+ * 取同来源、同操作最近若干次成功运行，以「累计抓取量 / 累计窗口秒数」作为密度；
+ * 样本不足时返回空，调用方据此放弃合并。
+ * </p>
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SliceVolumeEstimator {
+
+    private final TaskRunRepository taskRunRepository;
+    private final SliceSizingProperties properties;
+
+    /**
+     * 估算命中密度。
+     *
+     * @param provenanceCode 来源编码
+     * @param operationCode  操作类型
+     * @return 每秒命中条数；历史样本不足时为空
+     */
+    public OptionalDouble estimateDensity(ProvenanceCode provenanceCode, OperationCode operationCode) {
+        List<TaskRun> runs = taskRunRepository.findRecentSucceeded(
+                provenanceCode.getCode(), operationCode.getCode(), properties.getHistorySampleSize());
+        long fetched = 0L;
+        long seconds = 0L;
+        int samples = 0;
+        for (TaskRun run : runs) {
+            ExecutionWindow window = run.getExecutionWindow();
+            if (window == null || window.windowFrom() == null || window.windowTo() == null || run.getStats() == null) {
+                continue;
+            }
+            long span = Duration.between(window.windowFrom(), window.windowTo()).getSeconds();
+            if (span <= 0) {
+                continue;
+            }
+            fetched += run.getStats().fetched();
+            seconds += span;
+            samples++;
+        }
+        if (samples < properties.getHistoryMinSamples() || seconds <= 0) {
+            log.debug("Insufficient run history for density, provenance={}, op={}, samples={}",
+                    provenanceCode.getCode(), operationCode.getCode(), samples);
+            return OptionalDouble.empty();
+        }
+        return OptionalDouble.of((double) fetched / seconds);
+    }
+}
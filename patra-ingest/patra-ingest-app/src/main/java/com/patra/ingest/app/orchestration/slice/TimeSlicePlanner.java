@@ -1,8 +1,6 @@
 package com.patra.ingest.app.orchestration.slice;
 
 import cn.hutool.core.util.StrUtil;
-import com.fasterxml.jackson.databind.node.JsonNodeFactory;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.patra.common.json.JsonNormalizer;
 import com.patra.common.util.HashUtils;
 import com.patra.expr.Expr;
@@ -10,7 +8,9 @@ import com.patra.expr.Exprs;
 import com.patra.ingest.app.orchestration.expression.PlanExpressionDescriptor;
 import com.patra.ingest.app.orchestration.slice.model.SlicePlan;
 import com.patra.ingest.app.orchestration.slice.model.SlicePlanningContext;
+import com.patra.ingest.app.orchestration.slice.support.TimeSliceSpecs;
 import com.patra.ingest.domain.model.snapshot.ProvenanceConfigSnapshot;
+import com.patra.ingest.domain.model.value.PlannerWindow;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
@@ -28,7 +28,7 @@ import org.springframework.stereotype.Component;
  * <p>
  * 设计要点：
  * <ul>
- *   <li>支持配置步长（ISO-8601 Duration），默认 1 小时。</li>
+ *   <li>支持配置步长（ISO-8601 Duration），默认 1 小时；步长不超过 WindowOffset.maxWindowSpanSeconds。</li>
  *   <li>当无法解析时间字段或窗口为空时返回空切片集合，由上层标记流程失败。</li>
  *   <li>每个切片生成稳定签名（sha256），保证幂等。</li>
  * </ul>
@@ -51,29 +51,17 @@ public class TimeSlicePlanner implements SlicePlanner {
 
     @Override
     public List<SlicePlan> slice(SlicePlanningContext context) {
-        // 初始化返回集合，保持顺序稳定
-        List<SlicePlan> result = new ArrayList<>();
         if (context.window() == null || context.window().from() == null || context.window().to() == null) {
             log.warn("Skip time slicing because planning window is missing: norm={}, window={}.",
                     context.norm(), context.window());
-            return result;
-        }
-
-        // 解析时间字段：优先使用 offsetFieldName（仅 DATE 模式），否则回退到 defaultDateFieldName
-        String timeField = resolveTimeField(context.configSnapshot());
-        if (timeField == null) {
-            log.error("Cannot resolve time field from provenance snapshot, provenanceCode={}, endpoint={}, operation={}",
-                    context.norm().provenanceCode(),
-                    context.norm().endpoint() == null ? null : context.norm().endpoint().name(),
-                    context.norm().operationCode());
-            return result;
+            return new ArrayList<>();
         }
 
         Instant from = context.window().from();
         Instant to = context.window().to();
         if (!from.isBefore(to)) {
             log.warn("Skip time slicing because window is not forward, from={} to={}.", from, to);
-            return result;
+            return new ArrayList<>();
         }
 
         // 使用 norm 中自定义步长，否则回落到默认步长
@@ -85,24 +73,57 @@ public class TimeSlicePlanner implements SlicePlanner {
                 log.warn("Invalid step format, fallback to default, stepString={}.", context.norm().step(), e);
             }
         }
+        step = capByMaxWindowSpan(step, context.configSnapshot());
 
+        List<PlannerWindow> windows = new ArrayList<>();
         Instant cursor = from;
-        int index = 1;
-        PlanExpressionDescriptor planExpr = context.planExpression();
         while (cursor.isBefore(to)) {
             // 计算当前切片的上界，确保最后一个切片对齐到窗口终点
             Instant upper = cursor.plus(step);
             if (upper.isAfter(to)) {
                 upper = to;
             }
+            windows.add(new PlannerWindow(cursor, upper));
+            cursor = upper;
+        }
+        return sliceWindows(context, windows);
+    }
+
+    /**
+     * 按给定的连续时间窗口生成切片，序号从 1 开始重新编排。
+     * <p>供规划期尺寸调节（探测后拆分/合并）复用，保证签名与表达式构造方式与常规切片一致。</p>
+     *
+     * @param context 切片上下文
+     * @param windows 有序的切片窗口集合
+     * @return 切片集合；无法解析时间字段时返回空集合
+     */
+    public List<SlicePlan> sliceWindows(SlicePlanningContext context, List<PlannerWindow> windows) {
+        // 初始化返回集合，保持顺序稳定
+        List<SlicePlan> result = new ArrayList<>();
+
+        // 解析时间字段：优先使用 offsetFieldName（仅 DATE 模式），否则回退到 defaultDateFieldName
+        String timeField = resolveTimeField(context.configSnapshot());
+        if (timeField == null) {
+            log.error("Cannot resolve time field from provenance snapshot, provenanceCode={}, endpoint={}, operation={}",
+                    context.norm().provenanceCode(),
+                    context.norm().endpoint() == null ? null : context.norm().endpoint().name(),
+                    context.norm().operationCode());
+            return result;
+        }
+
+        int index = 1;
+        PlanExpressionDescriptor planExpr = context.planExpression();
+        for (PlannerWindow window : windows) {
+            Instant lower = window.from();
+            Instant upper = window.to();
 
             // 构造切片规格并生成稳定签名
-            JsonNormalizer.Result specNormalized = buildSpec(context, cursor, upper);
+            JsonNormalizer.Result specNormalized = buildSpec(context, lower, upper);
             String specJson = specNormalized.getCanonicalJson();
             String signatureHash = HashUtils.sha256Hex(specNormalized.getHashMaterial());
 
             // 合并计划表达式与时间窗口约束
-            Expr timeConstraint = buildTimeWindowConstraint(timeField, cursor, upper);
+            Expr timeConstraint = buildTimeWindowConstraint(timeField, lower, upper);
             Expr combined = Exprs.and(List.of(planExpr.expr(), timeConstraint));
 
             result.add(new SlicePlan(
@@ -110,17 +131,38 @@ public class TimeSlicePlanner implements SlicePlanner {
                     signatureHash,
                     specJson,
                     combined,
-                    cursor,
+                    lower,
                     upper));
 
-            log.debug("Time slice prepared, sequence={}, from={}, to={}, hash={}", index, cursor, upper, signatureHash);
-
-            cursor = upper;
+            log.debug("Time slice prepared, sequence={}, from={}, to={}, hash={}", index, lower, upper, signatureHash);
             index++;
         }
         return result;
     }
 
+    /**
+     * 按来源配置的单窗口最大跨度收敛步长，超出部分强制切分。
+     *
+     * @param step     原始步长
+     * @param snapshot 来源配置快照
+     * @return 收敛后的步长
+     */
+    private Duration capByMaxWindowSpan(Duration step, ProvenanceConfigSnapshot snapshot) {
+        if (snapshot == null || snapshot.windowOffset() == null) {
+            return step;
+        }
+        Integer maxSpanSeconds = snapshot.windowOffset().maxWindowSpanSeconds();
+        if (maxSpanSeconds == null || maxSpanSeconds <= 0) {
+            return step;
+        }
+        Duration maxSpan = Duration.ofSeconds(maxSpanSeconds);
+        if (step.compareTo(maxSpan) > 0) {
+            log.debug("Slice step capped by maxWindowSpanSeconds, step={}, maxSpan={}", step, maxSpan);
+            return maxSpan;
+        }
+        return step;
+    }
+
     /**
      * 构建时间窗口约束表达式。
      *
@@ -166,25 +208,9 @@ public class TimeSlicePlanner implements SlicePlanner {
      * @return 规范化结果，包含 canonical JSON 及哈希素材
      */
     private JsonNormalizer.Result buildSpec(SlicePlanningContext context, Instant from, Instant to) {
-        ProvenanceConfigSnapshot configSnapshot = context.configSnapshot();
-        ObjectNode root = JsonNodeFactory.instance.objectNode();
-        root.put("strategy", code().getCode());
-
-        // 构造 window 节点，确保时区信息与边界语义可溯源
-        ObjectNode window = root.putObject("window");
-        window.put("from", from.toString());
-        window.put("to", to.toString());
-        ObjectNode boundary = window.putObject("boundary");
-        boundary.put("from", "CLOSED");
-        boundary.put("to", "OPEN");
-
-        String timezone = configSnapshot != null && configSnapshot.provenance() != null
-                ? StrUtil.blankToDefault(configSnapshot.provenance().timezoneDefault(), "UTC")
-                : "UTC";
-        window.put("timezone", timezone);
-
+        String timezone = TimeSliceSpecs.resolveTimezone(context.configSnapshot());
         try {
-            return JsonNormalizer.normalizeDefault(root);
+            return TimeSliceSpecs.build(from, to, timezone);
         } catch (JsonNormalizer.JsonNormalizationException ex) {
             log.error("Failed to normalize slice spec, fallback to minimal payload, from={}, to={}", from, to, ex);
             String fallback = "{\"strategy\":\"" + code().getCode() + "\"}";
@@ -0,0 +1,102 @@
+package com.patra.ingest.app.orchestration.slice.support;
+
+import com.patra.expr.And;
+import com.patra.expr.Atom;
+import com.patra.expr.Expr;
+import com.patra.expr.Not;
+import com.patra.expr.Or;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 切片表达式改写器：将父切片表达式中的时间窗口约束替换为子窗口边界。
+ * <p>
+ * 运行期细分无需重新读取来源配置或计划原型：父切片表达式已经是“计划表达式 ∧ 时间范围”的完整形态，
+ * 仅需定位与父窗口边界一致的 DateTimeRange 原子并替换边界，其余业务约束原样保留。
+ * </p>
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+public final class SliceExprRewriter {
+
+    private SliceExprRewriter() {
+    }
+
+    /**
+     * 将父切片表达式中的时间窗口改写为新的边界。
+     *
+     * @param parentExpr 父切片表达式
+     * @param parentFrom 父窗口起点
+     * @param parentTo   父窗口终点
+     * @param childFrom  子窗口起点
+     * @param childTo    子窗口终点
+     * @return 改写后的表达式
+     * @throws IllegalStateException 未找到唯一可替换的时间范围约束时抛出
+     */
+    public static Expr rewriteWindow(Expr parentExpr,
+                                     Instant parentFrom,
+                                     Instant parentTo,
+                                     Instant childFrom,
+                                     Instant childTo) {
+        Objects.requireNonNull(parentExpr, "parentExpr不能为空");
+        // 优先精确匹配父窗口边界；若序列化过程中边界精度变化导致无法匹配，则回退到唯一的时间范围原子
+        AtomicInteger exactHits = new AtomicInteger();
+        Expr rewritten = rewrite(parentExpr, parentFrom, parentTo, childFrom, childTo, true, exactHits);
+        if (exactHits.get() > 0) {
+            return rewritten;
+        }
+        AtomicInteger looseHits = new AtomicInteger();
+        rewritten = rewrite(parentExpr, parentFrom, parentTo, childFrom, childTo, false, looseHits);
+        if (looseHits.get() == 1) {
+            return rewritten;
+        }
+        throw new IllegalStateException("Cannot locate unique time window constraint in slice expression, hits=" + looseHits.get());
+    }
+
+    private static Expr rewrite(Expr expr,
+                                Instant parentFrom,
+                                Instant parentTo,
+                                Instant childFrom,
+                                Instant childTo,
+                                boolean exact,
+                                AtomicInteger hits) {
+        if (expr instanceof And(List<Expr> children)) {
+            return new And(rewriteChildren(children, parentFrom, parentTo, childFrom, childTo, exact, hits));
+        }
+        if (expr instanceof Or(List<Expr> children)) {
+            return new Or(rewriteChildren(children, parentFrom, parentTo, childFrom, childTo, exact, hits));
+        }
+        if (expr instanceof Not(Expr child)) {
+            return new Not(rewrite(child, parentFrom, parentTo, childFrom, childTo, exact, hits));
+        }
+        if (expr instanceof Atom atom && atom.value() instanceof Atom.DateTimeRange range) {
+            boolean matched = !exact
+                    || (Objects.equals(range.from(), parentFrom) && Objects.equals(range.to(), parentTo));
+            if (matched) {
+                hits.incrementAndGet();
+                return new Atom(atom.fieldKey(), atom.operator(),
+                        new Atom.DateTimeRange(childFrom, childTo, range.fromBoundary(), range.toBoundary()));
+            }
+        }
+        return expr;
+    }
+
+    private static List<Expr> rewriteChildren(List<Expr> children,
+                                              Instant parentFrom,
+                                              Instant parentTo,
+                                              Instant childFrom,
+                                              Instant childTo,
+                                              boolean exact,
+                                              AtomicInteger hits) {
+        List<Expr> rewritten = new ArrayList<>(children.size());
+        for (Expr child : children) {
+            rewritten.add(rewrite(child, parentFrom, parentTo, childFrom, childTo, exact, hits));
+        }
+        return rewritten;
+    }
+}
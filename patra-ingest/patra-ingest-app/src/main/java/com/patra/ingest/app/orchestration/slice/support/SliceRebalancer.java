@@ -0,0 +1,162 @@
+package com.patra.ingest.app.orchestration.slice.support;
+
+import com.patra.ingest.domain.model.value.PlannerWindow;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.OptionalLong;
+
+/**
+ * 切片尺寸再平衡（纯函数）：基于各窗口的预估命中量拆分过密窗口、合并相邻的稀疏窗口。
+ * <p>
+ * 规则：
+ * <ul>
+ *   <li>命中量超过预算的窗口按 {@link TimeSliceSubdivider} 等宽拆分；</li>
+ *   <li>相邻且命中量已知的窗口连续累加，只要合计不超过 {@code budget × mergeFillRatio} 且跨度不超过 maxSpan 即合并；</li>
+ *   <li>命中量未知的窗口视为屏障，原样保留且不参与合并。</li>
+ * </ul>
+ * </p>
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+public final class SliceRebalancer {
+
+    private SliceRebalancer() {
+    }
+
+    /**
+     * 再平衡窗口集合。
+     *
+     * @param volumes        有序且首尾相接的窗口及其预估命中量
+     * @param budget         单切片命中预算
+     * @param mergeFillRatio 合并后切片的目标填充率（0~1]，非正数表示不合并
+     * @param maxSpan        单切片最大跨度，可为空
+     * @param minSpan        拆分后的最小跨度
+     * @param maxFanOut      单窗口最大拆分数
+     * @return 再平衡后的有序窗口集合
+     */
+    public static List<PlannerWindow> rebalance(List<WindowVolume> volumes,
+                                                long budget,
+                                                double mergeFillRatio,
+                                                Duration maxSpan,
+                                                Duration minSpan,
+                                                int maxFanOut) {
+        Objects.requireNonNull(volumes, "volumes不能为空");
+        List<PlannerWindow> result = new ArrayList<>(volumes.size());
+        long mergeLimit = mergeFillRatio <= 0 || budget <= 0 ? 0L : (long) Math.floor(budget * Math.min(mergeFillRatio, 1.0d));
+
+        Instant pendingFrom = null;
+        Instant pendingTo = null;
+        long pendingVolume = 0L;
+        for (WindowVolume volume : volumes) {
+            PlannerWindow window = volume.window();
+            OptionalLong count = volume.count();
+
+            // 未知量或过密窗口：先冲刷待合并区间，再原样保留或拆分
+            if (count.isEmpty() || (budget > 0 && count.getAsLong() > budget)) {
+                if (pendingFrom != null) {
+                    result.add(new PlannerWindow(pendingFrom, pendingTo));
+                    pendingFrom = null;
+                }
+                if (count.isEmpty()) {
+                    result.add(window);
+                } else {
+                    List<PlannerWindow> parts = TimeSliceSubdivider.subdivide(
+                            window.from(), window.to(), count.getAsLong(), budget, maxSpan, minSpan, maxFanOut);
+                    if (parts.isEmpty()) {
+                        result.add(window);
+                    } else {
+                        result.addAll(parts);
+                    }
+                }
+                continue;
+            }
+
+            long current = count.getAsLong();
+            if (pendingFrom != null
+                    && pendingVolume + current <= mergeLimit
+                    && withinSpan(pendingFrom, window.to(), maxSpan)) {
+                pendingTo = window.to();
+                pendingVolume += current;
+                continue;
+            }
+            if (pendingFrom != null) {
+                result.add(new PlannerWindow(pendingFrom, pendingTo));
+            }
+            pendingFrom = window.from();
+            pendingTo = window.to();
+            pendingVolume = current;
+        }
+        if (pendingFrom != null) {
+            result.add(new PlannerWindow(pendingFrom, pendingTo));
+        }
+        return result;
+    }
+
+    /**
+     * 仅合并：相邻窗口的预估命中量累计不超过阈值且跨度不超过 maxSpan 时合并，不做拆分。
+     *
+     * @param volumes   有序且首尾相接的窗口及其预估命中量
+     * @param threshold 合并后单切片的命中量上限，非正数表示不合并
+     * @param maxSpan   单切片最大跨度，可为空
+     * @return 合并后的有序窗口集合
+     */
+    public static List<PlannerWindow> coalesce(List<WindowVolume> volumes, long threshold, Duration maxSpan) {
+        Objects.requireNonNull(volumes, "volumes不能为空");
+        List<PlannerWindow> result = new ArrayList<>(volumes.size());
+        Instant pendingFrom = null;
+        Instant pendingTo = null;
+        long pendingVolume = 0L;
+        for (WindowVolume volume : volumes) {
+            PlannerWindow window = volume.window();
+            OptionalLong count = volume.count();
+            if (count.isPresent()
+                    && pendingFrom != null
+                    && pendingVolume + count.getAsLong() <= threshold
+                    && withinSpan(pendingFrom, window.to(), maxSpan)) {
+                pendingTo = window.to();
+                pendingVolume += count.getAsLong();
+                continue;
+            }
+            if (pendingFrom != null) {
+                result.add(new PlannerWindow(pendingFrom, pendingTo));
+                pendingFrom = null;
+            }
+            if (count.isEmpty() || count.getAsLong() > threshold) {
+                result.add(window);
+                continue;
+            }
+            pendingFrom = window.from();
+            pendingTo = window.to();
+            pendingVolume = count.getAsLong();
+        }
+        if (pendingFrom != null) {
+            result.add(new PlannerWindow(pendingFrom, pendingTo));
+        }
+        return result;
+    }
+
+    private static boolean withinSpan(Instant from, Instant to, Duration maxSpan) {
+        if (maxSpan == null || maxSpan.isZero() || maxSpan.isNegative()) {
+            return true;
+        }
+        return Duration.between(from, to).compareTo(maxSpan) <= 0;
+    }
+
+    /**
+     * 窗口及其预估命中量。
+     *
+     * @param window 时间窗口
+     * @param count  预估命中量，未知时为空
+     */
+    public record WindowVolume(PlannerWindow window, OptionalLong count) {
+        public WindowVolume {
+            Objects.requireNonNull(window, "window不能为空");
+            count = count == null ? OptionalLong.empty() : count;
+        }
+    }
+}
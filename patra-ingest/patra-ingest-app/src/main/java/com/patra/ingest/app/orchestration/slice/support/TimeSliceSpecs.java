@@ -0,0 +1,143 @@
+package com.patra.ingest.app.orchestration.slice.support;
+
+import cn.hutool.core.util.StrUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.patra.common.json.JsonMapperHolder;
+import com.patra.common.json.JsonNormalizer;
+import com.patra.ingest.app.orchestration.slice.SliceStrategy;
+import com.patra.ingest.domain.model.snapshot.ProvenanceConfigSnapshot;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * 时间切片规格（slice_spec）的构建与解析工具。
+ * <p>
+ * 规划期切片与运行期细分出的子切片共用同一套 JSON 结构，保证签名算法与回放语义一致：
+ * {@code {strategy, window{from,to,boundary,timezone}, lineage?{parentSliceNo,depth}}}。
+ * </p>
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+public final class TimeSliceSpecs {
+
+    /**
+     * 切片规格规范化器：关闭布尔强制推断，避免 lineage 中的 0/1 数值被误转为布尔。
+     */
+    private static final JsonNormalizer SPEC_NORMALIZER = JsonNormalizer.withConfig(
+            JsonNormalizer.Config.builder()
+                    .coerceBoolean(JsonNormalizer.Config.CoerceBoolean.NONE)
+                    .build()
+    );
+
+    /** 默认时区 */
+    private static final String DEFAULT_TIMEZONE = "UTC";
+
+    private TimeSliceSpecs() {
+    }
+
+    /**
+     * 构建规划期（无父切片）的切片规格。
+     *
+     * @param from     切片起点（含）
+     * @param to       切片终点（不含）
+     * @param timezone 时区
+     * @return 规范化结果
+     */
+    public static JsonNormalizer.Result build(Instant from, Instant to, String timezone) {
+        return build(from, to, timezone, null, 0);
+    }
+
+    /**
+     * 构建切片规格，运行期细分的子切片需携带父切片序号与细分深度。
+     *
+     * @param from           切片起点（含）
+     * @param to             切片终点（不含）
+     * @param timezone       时区
+     * @param parentSequence 父切片序号，规划期切片为空
+     * @param depth          细分深度，规划期切片为 0
+     * @return 规范化结果，包含 canonical JSON 及哈希素材
+     */
+    public static JsonNormalizer.Result build(Instant from,
+                                              Instant to,
+                                              String timezone,
+                                              Integer parentSequence,
+                                              int depth) {
+        ObjectNode root = JsonNodeFactory.instance.objectNode();
+        root.put("strategy", SliceStrategy.TIME.getCode());
+
+        // 构造 window 节点，确保时区信息与边界语义可溯源
+        ObjectNode window = root.putObject("window");
+        window.put("from", from.toString());
+        window.put("to", to.toString());
+        ObjectNode boundary = window.putObject("boundary");
+        boundary.put("from", "CLOSED");
+        boundary.put("to", "OPEN");
+        window.put("timezone", StrUtil.blankToDefault(timezone, DEFAULT_TIMEZONE));
+
+        if (parentSequence != null) {
+            ObjectNode lineage = root.putObject("lineage");
+            lineage.put("parentSliceNo", parentSequence);
+            lineage.put("depth", depth);
+        }
+        return SPEC_NORMALIZER.normalize(root);
+    }
+
+    /**
+     * 从来源配置中解析切片时区，缺省为 UTC。
+     *
+     * @param snapshot 来源配置快照
+     * @return 时区编码
+     */
+    public static String resolveTimezone(ProvenanceConfigSnapshot snapshot) {
+        return snapshot != null && snapshot.provenance() != null
+                ? StrUtil.blankToDefault(snapshot.provenance().timezoneDefault(), DEFAULT_TIMEZONE)
+                : DEFAULT_TIMEZONE;
+    }
+
+    /**
+     * 解析时间切片规格。
+     *
+     * @param specJson 切片规格 JSON
+     * @return 解析结果，非时间切片或结构缺失时为空
+     */
+    public static Optional<TimeSliceWindow> parse(String specJson) {
+        if (StrUtil.isBlank(specJson)) {
+            return Optional.empty();
+        }
+        try {
+            JsonNode root = JsonMapperHolder.getObjectMapper().readTree(specJson);
+            if (!SliceStrategy.TIME.getCode().equalsIgnoreCase(root.path("strategy").asText(null))) {
+                return Optional.empty();
+            }
+            JsonNode window = root.path("window");
+            String from = window.path("from").asText(null);
+            String to = window.path("to").asText(null);
+            if (StrUtil.isBlank(from) || StrUtil.isBlank(to)) {
+                return Optional.empty();
+            }
+            JsonNode lineage = root.path("lineage");
+            return Optional.of(new TimeSliceWindow(
+                    Instant.parse(from),
+                    Instant.parse(to),
+                    StrUtil.blankToDefault(window.path("timezone").asText(null), DEFAULT_TIMEZONE),
+                    lineage.path("depth").asInt(0)));
+        } catch (Exception ex) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 时间切片规格的解析视图。
+     *
+     * @param from     切片起点（含）
+     * @param to       切片终点（不含）
+     * @param timezone 时区
+     * @param depth    细分深度
+     */
+    public record TimeSliceWindow(Instant from, Instant to, String timezone, int depth) {
+    }
+}
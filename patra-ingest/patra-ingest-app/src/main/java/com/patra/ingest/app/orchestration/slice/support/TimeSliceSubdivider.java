@@ -0,0 +1,80 @@
+package com.patra.ingest.app.orchestration.slice.support;
+
+import com.patra.ingest.domain.model.value.PlannerWindow;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 时间窗口细分策略（纯函数）。
+ * <p>
+ * 依据实际观测到的命中总数与单窗口预算（maxIdsPerWindow）估算子窗口数量，同时满足单窗口最大跨度约束；
+ * 按均匀密度假设等宽切分。若子窗口在执行时仍超出预算，会被再次检测并递归细分，直到达到最小跨度或最大深度。
+ * </p>
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+public final class TimeSliceSubdivider {
+
+    private TimeSliceSubdivider() {
+    }
+
+    /**
+     * 计算子窗口集合。
+     *
+     * @param from          父窗口起点（含）
+     * @param to            父窗口终点（不含）
+     * @param observedTotal 父窗口观测到的命中总数
+     * @param budget        单窗口命中预算（maxIdsPerWindow），非正数表示不限
+     * @param maxSpan       单窗口最大跨度，可为空
+     * @param minSpan       子窗口最小跨度
+     * @param maxFanOut     单次细分的最大子窗口数
+     * @return 子窗口集合；无需或无法细分时返回空集合
+     */
+    public static List<PlannerWindow> subdivide(Instant from,
+                                                Instant to,
+                                                long observedTotal,
+                                                long budget,
+                                                Duration maxSpan,
+                                                Duration minSpan,
+                                                int maxFanOut) {
+        Objects.requireNonNull(from, "from不能为空");
+        Objects.requireNonNull(to, "to不能为空");
+        if (!from.isBefore(to)) {
+            return List.of();
+        }
+        long spanMillis = Duration.between(from, to).toMillis();
+
+        long partsByVolume = budget > 0 && observedTotal > budget ? ceilDiv(observedTotal, budget) : 1L;
+        long partsBySpan = maxSpan != null && !maxSpan.isZero() && !maxSpan.isNegative()
+                ? ceilDiv(spanMillis, maxSpan.toMillis())
+                : 1L;
+        long parts = Math.max(partsByVolume, partsBySpan);
+
+        // 受扇出上限与最小跨度双重约束，剩余超额交由子切片执行时递归细分
+        parts = Math.min(parts, Math.max(maxFanOut, 2));
+        long minSpanMillis = minSpan == null ? 1L : Math.max(1L, minSpan.toMillis());
+        parts = Math.min(parts, spanMillis / minSpanMillis);
+        if (parts < 2) {
+            return List.of();
+        }
+
+        List<PlannerWindow> windows = new ArrayList<>((int) parts);
+        long width = spanMillis / parts;
+        Instant cursor = from;
+        for (long i = 1; i <= parts; i++) {
+            Instant upper = i == parts ? to : from.plusMillis(width * i);
+            windows.add(new PlannerWindow(cursor, upper));
+            cursor = upper;
+        }
+        return windows;
+    }
+
+    private static long ceilDiv(long dividend, long divisor) {
+        return (dividend + divisor - 1) / divisor;
+    }
+}
@@ -8,21 +8,44 @@ import com.patra.ingest.app.outbox.model.TaskReadyMessage;
 import com.patra.ingest.app.outbox.support.OutboxDestinationResolver;
 import com.patra.ingest.app.outbox.support.TaskReadyMessageMapper;
 import com.patra.ingest.domain.model.entity.OutboxMessage;
-import com.patra.ingest.domain.model.enums.OutboxStatus;
-import com.patra.ingest.domain.port.OutboxRelayRepository;
+import com.patra.ingest.domain.model.vo.OutboxDeliveryOutcome;
 import com.patra.starter.rocketmq.model.PatraMessage;
 import com.patra.starter.rocketmq.publisher.PatraMessagePublisher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Outbox Relay 应用服务，负责 Outbox -> MQ 的消息转发。
+ * <p>
+ * 一批消息走三段：一次事务内锁定并以一条 UPDATE 租用整批；事务外按分区键分组，由至多 partitionWorkers 个发送链
+ * 并行异步发送，等待全部回执至租约到期前 settleMargin；最后按发布结果每种状态一条 UPDATE 回写。
+ * 同一分区键同一时刻只有一条在途消息，保证按 ID 顺序投递，并以分区键作为哈希键顺序发送；不同分区互不等待，
+ * 一个分区发完即由空出的发送链接手下一个分区。单个 Relay 的发送吞吐上限约为 min(批内分区数, partitionWorkers) / 回执往返时延，
+ * 单一分区键不超过 1 / 往返时延，因此分区键应取需要保序的最小范围（任务消息按任务划分）。
+ * 某分区的消息进入重试后，该分区本批后续消息顺延到同一时间，不越过失败消息先行投递；
+ * 跨批次由租约查询保证：同分区仍有更早的待重试或在途消息时，后续消息不会被租出。
+ * 另一节点的租约事务尚未提交的瞬间，其锁定的更早消息对本节点仍显示为可发布，此窗口内的跨节点顺序不作保证。
+ * 等待截止前未回执的消息按失败处理进入重试，回写仍在租约有效期内完成，不与接管过期租约的其他节点重复投递。
+ * </p>
  *
  * @author linqibin
  * @since 0.1.0
@@ -32,8 +55,11 @@ import java.util.List;
 @RequiredArgsConstructor
 public class OutboxRelayApplicationService implements OutboxRelayUseCase {
 
-    /** Outbox 仓储（含发布操作） */
-    private final OutboxRelayRepository relayRepository;
+    /** 因同分区前序消息失败而顺延的错误码 */
+    private static final String DEFERRED = "DEFERRED";
+
+    /** Relay 事务边界（租约与结果回写） */
+    private final OutboxRelayCommitter relayCommitter;
     /** RocketMQ 消息发布器 */
     private final PatraMessagePublisher messagePublisher;
     /** Relay 配置 */
@@ -47,7 +73,6 @@ public class OutboxRelayApplicationService implements OutboxRelayUseCase {
      * 执行 Outbox Relay 流程。
      */
     @Override
-    @Transactional
     public OutboxRelayResult relay(OutboxRelayCommand command) {
         if (!relayProperties.isEnabled()) {
             log.debug("Outbox relay disabled, skipping channel={}", command.channel());
@@ -57,52 +82,156 @@ public class OutboxRelayApplicationService implements OutboxRelayUseCase {
         Duration leaseDuration = normalizeDuration(command.leaseDuration(), relayProperties.getLeaseDuration());
         int maxRetry = normalizePositive(command.maxRetry(), relayProperties.getMaxRetry());
         Duration retryBackoff = normalizeDuration(command.retryBackoff(), relayProperties.getRetryBackoff());
-        List<OutboxMessage> messages = relayRepository.lockPending(
+        long leasedAt = System.nanoTime();
+        OutboxRelayCommitter.Lease lease = relayCommitter.lease(
                 command.channel(),
                 command.executeAt(),
-                batchSize
+                batchSize,
+                command.leaseOwner(),
+                command.executeAt().plus(leaseDuration)
         );
+        List<OutboxMessage> messages = lease.messages();
         if (messages.isEmpty()) {
             return new OutboxRelayResult(0, 0, 0, 0, 0);
         }
         String destination = destinationResolver.resolve(command.channel());
-        int succeeded = 0;
-        int retried = 0;
-        int dead = 0;
-        int skipped = 0;
+        Outcomes outcomes = new Outcomes();
+        Batch batch = new Batch(destination, command.executeAt(), maxRetry, retryBackoff, outcomes);
+        Queue<List<OutboxMessage>> partitions = new ConcurrentLinkedQueue<>(partition(messages));
+        int workers = Math.min(partitions.size(), Math.max(1, relayProperties.getPartitionWorkers()));
+        List<CompletableFuture<Void>> running = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            running.add(sendPartitions(batch, partitions));
+        }
+        int unresolved = 0;
+        try {
+            long remaining = settleBudget(leaseDuration).toNanos() - (System.nanoTime() - leasedAt);
+            CompletableFuture.allOf(running.toArray(new CompletableFuture[0]))
+                    .get(Math.max(0L, remaining), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException ex) {
+            log.error("Outbox relay partition failed unexpectedly, channel={}", command.channel(), ex.getCause());
+            outcomes.stop();
+            expire(batch, outcomes.pending(messages), ex.getCause() == null ? ex : ex.getCause());
+        } catch (TimeoutException ex) {
+            outcomes.stop();
+            expire(batch, outcomes.pending(messages), ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            // 未确认的消息保持 PUBLISHING，租约到期后由下一轮 Relay 接管
+            outcomes.close();
+            unresolved = outcomes.pending(messages).size();
+            log.warn("Outbox relay interrupted while awaiting acks, channel={}, unresolved={}", command.channel(), unresolved);
+        }
+        outcomes.close();
+        relayCommitter.settle(outcomes.published(), outcomes.retried(), outcomes.dead(), command.leaseOwner());
+        int skipped = messages.size() - lease.leased() + unresolved;
+        return new OutboxRelayResult(messages.size(), outcomes.published().size(), outcomes.retried().size(),
+                outcomes.dead().size(), Math.max(0, skipped));
+    }
+
+    /**
+     * 租约内可用于等待回执的时长：租约期减去回写预留，预留至多占租约的一半。
+     */
+    private Duration settleBudget(Duration leaseDuration) {
+        Duration margin = relayProperties.getSettleMargin();
+        if (margin == null || margin.isNegative()) {
+            margin = Duration.ZERO;
+        }
+        Duration cap = leaseDuration.dividedBy(2);
+        return leaseDuration.minus(margin.compareTo(cap) > 0 ? cap : margin);
+    }
+
+    /**
+     * 按分区键分组，组内保持 ID 顺序，组间按首条消息的 ID 排列。
+     */
+    private List<List<OutboxMessage>> partition(List<OutboxMessage> messages) {
+        Map<String, List<OutboxMessage>> partitions = new LinkedHashMap<>();
         for (OutboxMessage message : messages) {
-            long currentVersion = message.getVersion() == null ? 0L : message.getVersion();
-            Instant leaseExpireAt = command.executeAt().plus(leaseDuration);
-            boolean leasing = relayRepository.markPublishing(
-                    message.getId(),
-                    OutboxStatus.PENDING.name(),
-                    currentVersion,
-                    command.leaseOwner(),
-                    leaseExpireAt
-            );
-            if (!leasing) {
-                skipped++;
+            partitions.computeIfAbsent(partitionKey(message), key -> new ArrayList<>()).add(message);
+        }
+        return new ArrayList<>(partitions.values());
+    }
+
+    /**
+     * 发送链：依次领取尚未发送的分区并发完，直到没有剩余分区或批次已停止。
+     */
+    private CompletableFuture<Void> sendPartitions(Batch batch, Queue<List<OutboxMessage>> partitions) {
+        List<OutboxMessage> next = batch.outcomes().isStopped() ? null : partitions.poll();
+        if (next == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return sendPartition(batch, next.iterator(), null)
+                .thenCompose(ignored -> sendPartitions(batch, partitions));
+    }
+
+    /**
+     * 串行发送一个分区：上一条回执后再发下一条；某条进入重试后，后续消息顺延到同一时间，不再发送。
+     *
+     * @param blockedUntil 前序消息的重试时间；为空表示尚未阻塞
+     */
+    private CompletableFuture<Void> sendPartition(Batch batch, Iterator<OutboxMessage> remaining, Instant blockedUntil) {
+        while (remaining.hasNext() && !batch.outcomes().isStopped()) {
+            OutboxMessage message = remaining.next();
+            if (blockedUntil != null) {
+                defer(message, blockedUntil, batch.outcomes());
                 continue;
             }
-            long publishingVersion = currentVersion + 1;
+            String partitionKey = partitionKey(message);
+            PatraMessage<TaskReadyMessage> patraMessage;
             try {
-                TaskReadyMessage body = messageMapper.map(message);
-                PatraMessage<TaskReadyMessage> patraMessage = buildPatraMessage(message, body, command.executeAt());
-                messagePublisher.send(destination, patraMessage);
-                relayRepository.markPublished(message.getId(), publishingVersion, null);
-                succeeded++;
+                patraMessage = buildPatraMessage(message, messageMapper.map(message), batch.executeAt());
             } catch (Exception ex) {
-                FailureHandling handling = handleFailure(message, publishingVersion, command.executeAt(), maxRetry, retryBackoff, ex);
-                if (handling == FailureHandling.DEAD) {
-                    dead++;
-                } else if (handling == FailureHandling.RETRY) {
-                    retried++;
-                } else {
-                    skipped++;
+                blockedUntil = handleFailure(message, batch, ex, bodyParseFailure(ex));
+                continue;
+            }
+            CompletableFuture<String> ack;
+            try {
+                ack = relayProperties.isOrderlySend()
+                        ? messagePublisher.sendOrderlyAsync(batch.destination(), patraMessage, partitionKey)
+                        : messagePublisher.sendAsync(batch.destination(), patraMessage);
+            } catch (Exception ex) {
+                ack = CompletableFuture.failedFuture(ex);
+            }
+            return ack.handle((msgId, ex) -> {
+                if (ex == null) {
+                    batch.outcomes().published(OutboxDeliveryOutcome.published(message.getId(), msgId));
+                    return null;
                 }
+                Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                return handleFailure(message, batch, cause, false);
+            }).thenCompose(next -> sendPartition(batch, remaining, next));
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * 租约期内未得到结果的消息：每个分区的首条按失败进入重试，其余顺延到同一时间。
+     */
+    private void expire(Batch batch, List<OutboxMessage> pending, Throwable cause) {
+        Map<String, Instant> blocked = new HashMap<>();
+        for (OutboxMessage message : pending) {
+            String partitionKey = partitionKey(message);
+            Instant blockedUntil = blocked.get(partitionKey);
+            if (blockedUntil != null) {
+                defer(message, blockedUntil, batch.outcomes());
+                continue;
             }
+            Instant nextRetryAt = handleFailure(message, batch, cause, false);
+            blocked.put(partitionKey, nextRetryAt == null ? batch.executeAt() : nextRetryAt);
         }
-        return new OutboxRelayResult(messages.size(), succeeded, retried, dead, skipped);
+    }
+
+    /**
+     * 顺延消息：不计重试次数，与同分区前序消息同时到期，以便下轮按 ID 顺序一并租出。
+     */
+    private void defer(OutboxMessage message, Instant until, Outcomes outcomes) {
+        int currentRetry = message.getRetryCount() == null ? 0 : message.getRetryCount();
+        outcomes.retried(OutboxDeliveryOutcome.retry(message.getId(), currentRetry, until, DEFERRED,
+                "deferred behind an earlier message of the same partition"));
+    }
+
+    private String partitionKey(OutboxMessage message) {
+        return StrUtil.nullToEmpty(message.getPartitionKey());
     }
 
     /**
@@ -126,32 +255,29 @@ public class OutboxRelayApplicationService implements OutboxRelayUseCase {
     }
 
     /**
-     * 处理发布失败逻辑。
+     * 处理发布失败逻辑：解析失败或重试耗尽记为 DEAD，否则按退避计算下一次重试。
+     *
+     * @return 进入重试时的下一次重试时间；记为 DEAD 时为 null
      */
-    private FailureHandling handleFailure(OutboxMessage message,
-                                          long publishingVersion,
-                                          Instant executeAt,
-                                          int maxRetry,
-                                          Duration retryBackoff,
-                                          Exception ex) {
+    private Instant handleFailure(OutboxMessage message, Batch batch, Throwable ex, boolean parseFailure) {
         int currentRetry = message.getRetryCount() == null ? 0 : message.getRetryCount();
         int nextRetry = currentRetry + 1;
         String errorCode = ex.getClass().getSimpleName();
         String errorMsg = truncate(ex.getMessage(), 512);
-        if (bodyParseFailure(ex)) {
-            relayRepository.markDead(message.getId(), publishingVersion, nextRetry, errorCode, errorMsg);
+        if (parseFailure) {
+            batch.outcomes().dead(OutboxDeliveryOutcome.dead(message.getId(), nextRetry, errorCode, errorMsg));
             log.error("outbox payload parsing failed, mark dead, id={} channel={}", message.getId(), message.getChannel(), ex);
-            return FailureHandling.DEAD;
+            return null;
         }
-        if (nextRetry >= maxRetry) {
-            relayRepository.markDead(message.getId(), publishingVersion, nextRetry, errorCode, errorMsg);
+        if (nextRetry >= batch.maxRetry()) {
+            batch.outcomes().dead(OutboxDeliveryOutcome.dead(message.getId(), nextRetry, errorCode, errorMsg));
             log.error("outbox publish retries exhausted, mark dead, id={} channel={} retry={}", message.getId(), message.getChannel(), nextRetry, ex);
-            return FailureHandling.DEAD;
+            return null;
         }
-        Instant nextRetryAt = executeAt.plus(resolveBackoff(retryBackoff, nextRetry));
-        relayRepository.markRetry(message.getId(), publishingVersion, nextRetry, nextRetryAt, errorCode, errorMsg);
+        Instant nextRetryAt = batch.executeAt().plus(resolveBackoff(batch.retryBackoff(), nextRetry));
+        batch.outcomes().retried(OutboxDeliveryOutcome.retry(message.getId(), nextRetry, nextRetryAt, errorCode, errorMsg));
         log.warn("outbox publish failed, scheduled retry, id={} channel={} retry={} nextRetryAt={}", message.getId(), message.getChannel(), nextRetry, nextRetryAt, ex);
-        return FailureHandling.RETRY;
+        return nextRetryAt;
     }
 
     /**
@@ -211,9 +337,78 @@ public class OutboxRelayApplicationService implements OutboxRelayUseCase {
         return StrUtil.isBlank(msg) ? msg : StrUtil.maxLength(msg, max);
     }
 
-    private enum FailureHandling {
-        RETRY,
-        DEAD,
-        SKIPPED
+    /**
+     * 一批消息共享的发送参数与结果归集。
+     */
+    private record Batch(String destination, Instant executeAt, int maxRetry, Duration retryBackoff, Outcomes outcomes) {
+    }
+
+    /**
+     * 按状态归集的发布结果。各发送链在 MQ 回调线程上写入，每条消息只取首个结果。
+     * 停止后发送链不再发出新消息；关闭后不再接收结果。
+     */
+    private static final class Outcomes {
+        private final List<OutboxDeliveryOutcome> published = new ArrayList<>();
+        private final List<OutboxDeliveryOutcome> retried = new ArrayList<>();
+        private final List<OutboxDeliveryOutcome> dead = new ArrayList<>();
+        private final Set<Long> settled = new HashSet<>();
+        private boolean stopped;
+        private boolean closed;
+
+        synchronized void published(OutboxDeliveryOutcome outcome) {
+            record(published, outcome);
+        }
+
+        synchronized void retried(OutboxDeliveryOutcome outcome) {
+            record(retried, outcome);
+        }
+
+        synchronized void dead(OutboxDeliveryOutcome outcome) {
+            record(dead, outcome);
+        }
+
+        synchronized boolean isStopped() {
+            return stopped;
+        }
+
+        synchronized void stop() {
+            stopped = true;
+        }
+
+        synchronized void close() {
+            stopped = true;
+            closed = true;
+        }
+
+        /**
+         * 尚无结果的消息，保持原有 ID 顺序。
+         */
+        synchronized List<OutboxMessage> pending(List<OutboxMessage> messages) {
+            List<OutboxMessage> pending = new ArrayList<>();
+            for (OutboxMessage message : messages) {
+                if (!settled.contains(message.getId())) {
+                    pending.add(message);
+                }
+            }
+            return pending;
+        }
+
+        synchronized List<OutboxDeliveryOutcome> published() {
+            return List.copyOf(published);
+        }
+
+        synchronized List<OutboxDeliveryOutcome> retried() {
+            return List.copyOf(retried);
+        }
+
+        synchronized List<OutboxDeliveryOutcome> dead() {
+            return List.copyOf(dead);
+        }
+
+        private void record(List<OutboxDeliveryOutcome> target, OutboxDeliveryOutcome outcome) {
+            if (!closed && settled.add(outcome.id())) {
+                target.add(outcome);
+            }
+        }
     }
 }
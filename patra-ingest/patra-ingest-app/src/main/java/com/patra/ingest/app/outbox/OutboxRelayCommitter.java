@@ -0,0 +1,78 @@
+package com.patra.ingest.app.outbox;
+
+import com.patra.ingest.domain.model.entity.OutboxMessage;
+import com.patra.ingest.domain.model.vo.OutboxDeliveryOutcome;
+import com.patra.ingest.domain.port.OutboxRelayRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Outbox Relay 的事务边界：租约与结果回写各自独立提交，MQ 发送不占用数据库事务与行锁。
+ * <ul>
+ *   <li>租约：SKIP LOCKED 锁定一批后以一条 UPDATE 置为 PUBLISHING，提交即释放行锁；</li>
+ *   <li>回写：按 PUBLISHED / PENDING(重试) / DEAD 各一条 UPDATE，仅更新仍由本持有者租用的行。</li>
+ * </ul>
+ * 进程在两次提交之间退出时，消息停留在 PUBLISHING，租约到期后由下一轮 Relay 接管重发（至少一次语义）。
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxRelayCommitter {
+
+    private final OutboxRelayRepository relayRepository;
+
+    /**
+     * 锁定并租用一批可发布的消息。
+     *
+     * @param channel       出站频道
+     * @param now           当前时间
+     * @param limit         批大小
+     * @param leaseOwner    租约持有者
+     * @param leaseExpireAt 租约到期时间
+     */
+    @Transactional
+    public Lease lease(String channel, Instant now, int limit, String leaseOwner, Instant leaseExpireAt) {
+        List<OutboxMessage> locked = relayRepository.lockPending(channel, now, limit);
+        if (locked.isEmpty()) {
+            return new Lease(List.of(), 0);
+        }
+        int leased = relayRepository.markPublishingBatch(
+                locked.stream().map(OutboxMessage::getId).toList(), leaseOwner, now, leaseExpireAt);
+        if (leased != locked.size()) {
+            log.warn("Outbox lease partially applied, channel={}, locked={}, leased={}", channel, locked.size(), leased);
+        }
+        return new Lease(locked, leased);
+    }
+
+    /**
+     * 按状态批量回写发布结果。
+     */
+    @Transactional
+    public void settle(List<OutboxDeliveryOutcome> published,
+                       List<OutboxDeliveryOutcome> retried,
+                       List<OutboxDeliveryOutcome> dead,
+                       String leaseOwner) {
+        int expected = published.size() + retried.size() + dead.size();
+        int updated = relayRepository.markPublishedBatch(published, leaseOwner)
+                + relayRepository.markRetryBatch(retried, leaseOwner)
+                + relayRepository.markDeadBatch(dead, leaseOwner);
+        if (updated != expected) {
+            log.warn("Outbox outcomes partially applied (lease lost), owner={}, expected={}, updated={}",
+                    leaseOwner, expected, updated);
+        }
+    }
+
+    /**
+     * 一批租约：锁定的消息与实际置为 PUBLISHING 的行数。
+     */
+    public record Lease(List<OutboxMessage> messages, int leased) {
+    }
+}
@@ -0,0 +1,169 @@
+package com.patra.ingest.app.outbox;
+
+import com.patra.ingest.app.execution.config.HarvestExecutorProperties;
+import com.patra.ingest.app.outbox.command.OutboxRelayCommand;
+import com.patra.ingest.app.outbox.config.OutboxRelayProperties;
+import com.patra.ingest.app.outbox.dto.OutboxRelayResult;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 进程内常驻 Relay 循环：Outbox 写入事务提交后被唤醒，逐频道连续拉取直至取不满一批。
+ * <p>
+ * 无唤醒时按自适应间隔空闲轮询：有消息转发即回到 loopIdleMin，空轮次间隔翻倍直至 loopIdleMax，
+ * 用于兜住 not_before / next_retry_at 到期的消息与其他节点写入的消息。
+ * XXL 任务 ingestOutboxRelayJob 保留为兜底，多方并发由 SKIP LOCKED 与发布租约隔离。
+ * </p>
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxRelayLoop {
+
+    private final OutboxRelayUseCase relayUseCase;
+    private final OutboxRelayProperties properties;
+    private final HarvestExecutorProperties executorProperties;
+
+    /** 待处理的唤醒信号（频道） */
+    private final BlockingQueue<String> signals = new LinkedBlockingQueue<>();
+    /** 循环关注的频道：配置频道加曾被唤醒的频道 */
+    private final Set<String> channels = ConcurrentHashMap.newKeySet();
+    private volatile boolean running;
+    private Thread worker;
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled() || !properties.isLoopEnabled()) {
+            log.info("Outbox relay loop disabled");
+            return;
+        }
+        channels.addAll(properties.getLoopChannels());
+        running = true;
+        worker = new Thread(this::run, "ingest-outbox-relay");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        Thread current = worker;
+        if (current != null) {
+            current.interrupt();
+            try {
+                current.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * 当前事务提交后唤醒循环；无事务时立即唤醒。
+     */
+    public void wakeAfterCommit(String channel) {
+        if (!running || channel == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    wake(channel);
+                }
+            });
+        } else {
+            wake(channel);
+        }
+    }
+
+    /**
+     * 立即唤醒循环处理指定频道。
+     */
+    public void wake(String channel) {
+        signals.offer(channel);
+    }
+
+    private void run() {
+        long idleMin = Math.max(1L, properties.getLoopIdleMin().toMillis());
+        long idleMax = Math.max(idleMin, properties.getLoopIdleMax().toMillis());
+        long idle = idleMin;
+        while (running) {
+            int relayed = drainAll();
+            idle = relayed > 0 ? idleMin : Math.min(idleMax, idle * 2);
+            try {
+                String signal = signals.poll(idle, TimeUnit.MILLISECONDS);
+                if (signal != null) {
+                    List<String> woken = new ArrayList<>();
+                    woken.add(signal);
+                    signals.drainTo(woken);
+                    channels.addAll(woken);
+                    idle = idleMin;
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        log.info("Outbox relay loop stopped");
+    }
+
+    private int drainAll() {
+        int relayed = 0;
+        for (String channel : channels) {
+            try {
+                relayed += drain(channel);
+            } catch (RuntimeException ex) {
+                log.warn("Outbox relay loop round failed, channel={}, reason={}", channel, ex.getMessage());
+            }
+        }
+        return relayed;
+    }
+
+    /**
+     * 连续转发指定频道，直至一批取不满。
+     *
+     * @return 本次处理（成功/重试/DEAD）的消息数
+     */
+    int drain(String channel) {
+        int batchSize = Math.max(1, properties.getBatchSize());
+        String owner = executorProperties.resolveWorkerId() + "/relay";
+        int relayed = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            OutboxRelayResult result = relayUseCase.relay(new OutboxRelayCommand(
+                    channel,
+                    Instant.now(),
+                    batchSize,
+                    properties.getLeaseDuration(),
+                    properties.getMaxRetry(),
+                    properties.getRetryBackoff(),
+                    owner));
+            relayed += result.succeeded() + result.retried() + result.dead();
+            if (result.fetched() < batchSize) {
+                break;
+            }
+        }
+        if (relayed > 0) {
+            log.debug("Outbox relay loop drained, channel={}, relayed={}", channel, relayed);
+        }
+        return relayed;
+    }
+}
@@ -21,6 +21,8 @@ public class OutboxRelayProperties {
     private int batchSize = 200;
     /** 租约维持时间 */
     private Duration leaseDuration = Duration.ofSeconds(30);
+    /** 租约到期前为结果回写预留的时长，等待回执在此之前截止（至多取租约的一半） */
+    private Duration settleMargin = Duration.ofSeconds(3);
     /** 最大重试次数（含首发） */
     private int maxRetry = 5;
     /** 重试退避初值 */
@@ -29,6 +31,18 @@ public class OutboxRelayProperties {
     private Duration scheduledFixedDelay = Duration.ofSeconds(60);
     /** 定时兜底关注的频道列表 */
     private List<String> scheduledChannels = List.of();
+    /** 是否启用进程内常驻 Relay 循环 */
+    private boolean loopEnabled = true;
+    /** 常驻循环启动即关注的频道；被唤醒的频道会自动加入 */
+    private List<String> loopChannels = List.of();
+    /** 常驻循环最短空闲轮询间隔 */
+    private Duration loopIdleMin = Duration.ofMillis(50);
+    /** 常驻循环最长空闲轮询间隔 */
+    private Duration loopIdleMax = Duration.ofSeconds(5);
+    /** 单批内并行发送的分区数（每个分区同一时刻一条在途消息，吞吐约为 min(分区数, 该值) / 回执往返时延） */
+    private int partitionWorkers = 16;
+    /** 是否以分区键作为哈希键顺序发送（同键进入同一 MQ 队列） */
+    private boolean orderlySend = true;
 
     public boolean isEnabled() {
         return enabled;
@@ -62,6 +76,14 @@ public class OutboxRelayProperties {
         this.leaseDuration = leaseDuration;
     }
 
+    public Duration getSettleMargin() {
+        return settleMargin;
+    }
+
+    public void setSettleMargin(Duration settleMargin) {
+        this.settleMargin = settleMargin;
+    }
+
     public int getMaxRetry() {
         return maxRetry;
     }
@@ -93,4 +115,52 @@ public class OutboxRelayProperties {
     public void setScheduledChannels(List<String> scheduledChannels) {
         this.scheduledChannels = scheduledChannels;
     }
+
+    public boolean isLoopEnabled() {
+        return loopEnabled;
+    }
+
+    public void setLoopEnabled(boolean loopEnabled) {
+        this.loopEnabled = loopEnabled;
+    }
+
+    public List<String> getLoopChannels() {
+        return loopChannels;
+    }
+
+    public void setLoopChannels(List<String> loopChannels) {
+        this.loopChannels = loopChannels == null ? List.of() : loopChannels;
+    }
+
+    public Duration getLoopIdleMin() {
+        return loopIdleMin;
+    }
+
+    public void setLoopIdleMin(Duration loopIdleMin) {
+        this.loopIdleMin = loopIdleMin;
+    }
+
+    public Duration getLoopIdleMax() {
+        return loopIdleMax;
+    }
+
+    public void setLoopIdleMax(Duration loopIdleMax) {
+        this.loopIdleMax = loopIdleMax;
+    }
+
+    public int getPartitionWorkers() {
+        return partitionWorkers;
+    }
+
+    public void setPartitionWorkers(int partitionWorkers) {
+        this.partitionWorkers = partitionWorkers;
+    }
+
+    public boolean isOrderlySend() {
+        return orderlySend;
+    }
+
+    public void setOrderlySend(boolean orderlySend) {
+        this.orderlySend = orderlySend;
+    }
 }
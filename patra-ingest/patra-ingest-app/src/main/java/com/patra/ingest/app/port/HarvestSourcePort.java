@@ -0,0 +1,47 @@
+package com.patra.ingest.app.port;
+
+import com.patra.ingest.app.harvest.model.HarvestDetailBatch;
+import com.patra.ingest.app.harvest.model.HarvestPage;
+import com.patra.ingest.app.harvest.model.HarvestPageRequest;
+import com.patra.ingest.app.harvest.model.HarvestQuery;
+
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * 采集来源访问端口。
+ * <p>应用层通过该端口向外部数据源（PubMed、Crossref 等）发起请求，由适配层负责 HTTP 细节与响应解析。</p>
+ *
+ * @author linqibin
+ * @since 0.1.0
+ */
+public interface HarvestSourcePort {
+
+    /**
+     * 仅计数探测：以最小页大小请求一次，按分页配置中的 totalCount JSONPath/XPath 提取命中总数。
+     *
+     * @param query 已编译的来源查询
+     * @return 命中总数；来源未配置总数路径或请求失败时为空
+     */
+    OptionalLong probeTotalCount(HarvestQuery query);
+
+    /**
+     * 拉取单页：按分页配置写入页码/页大小/令牌参数，并提取总数、下一页令牌与是否还有下一页。
+     *
+     * @param query 已编译的来源查询
+     * @param request 页位置
+     * @return 单页响应
+     * @throws com.patra.ingest.app.harvest.exception.HarvestFetchException 上游返回非 2xx 或网络异常时抛出
+     */
+    HarvestPage fetchPage(HarvestQuery query, HarvestPageRequest request);
+
+    /**
+     * 批量拉取详情：按批量配置将标识列表拼入 DETAIL 端点的 ID 参数。
+     *
+     * @param query 基于 DETAIL 端点配置快照的来源查询
+     * @param ids 记录标识（不超过 maxIdsPerRequest）
+     * @return 详情批次响应
+     * @throws com.patra.ingest.app.harvest.exception.HarvestFetchException 上游返回非 2xx 或网络异常时抛出
+     */
+    HarvestDetailBatch fetchDetails(HarvestQuery query, List<String> ids);
+}
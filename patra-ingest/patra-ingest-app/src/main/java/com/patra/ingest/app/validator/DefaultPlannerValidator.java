@@ -1,11 +1,13 @@
 package com.patra.ingest.app.validator;
 
 import cn.hutool.core.util.StrUtil;
+import com.patra.ingest.app.orchestration.backpressure.QueueBackpressurePolicy;
 import com.patra.ingest.domain.model.command.PlanTriggerNorm;
 import com.patra.ingest.domain.model.snapshot.ProvenanceConfigSnapshot;
 import com.patra.ingest.domain.model.value.PlannerWindow;
 import java.time.Duration;
 import java.util.Objects;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
@@ -25,12 +27,15 @@ import org.springframework.stereotype.Component;
  */
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class DefaultPlannerValidator implements PlannerValidator {
 
-    private static final long DEFAULT_QUEUE_THRESHOLD = 50L;
     private static final Duration MAX_REASONABLE_WINDOW = Duration.ofDays(30);
     private static final Duration MIN_REASONABLE_WINDOW = Duration.ofMinutes(1);
 
+    /** 自适应背压阈值策略 */
+    private final QueueBackpressurePolicy queueBackpressurePolicy;
+
     @Override
     public void validateBeforeAssemble(PlanTriggerNorm triggerNorm,
                                        ProvenanceConfigSnapshot snapshot,
@@ -44,7 +49,7 @@ public class DefaultPlannerValidator implements PlannerValidator {
         validateWindow(triggerNorm, window);
         
         // 2. 验证队列背压
-        validateQueueBackpressure(currentQueuedTasks);
+        validateQueueBackpressure(triggerNorm, currentQueuedTasks);
         
         // 3. 验证来源配置能力
         validateSourceCapabilities(triggerNorm, snapshot, window);
@@ -94,16 +99,19 @@ public class DefaultPlannerValidator implements PlannerValidator {
     }
 
     /**
-     * 验证队列背压。
+     * 验证队列背压（阈值随下游排空速率自适应）。
      */
-    private void validateQueueBackpressure(long currentQueuedTasks) {
-        if (currentQueuedTasks > DEFAULT_QUEUE_THRESHOLD) {
+    private void validateQueueBackpressure(PlanTriggerNorm triggerNorm, long currentQueuedTasks) {
+        long threshold = queueBackpressurePolicy.threshold(
+                triggerNorm.provenanceCode() == null ? null : triggerNorm.provenanceCode().getCode(),
+                triggerNorm.operationCode() == null ? null : triggerNorm.operationCode().getCode());
+        if (currentQueuedTasks > threshold) {
             throw new IllegalStateException(
                     String.format("Too many queued tasks (%d > %d), applying backpressure on plan trigger",
-                            currentQueuedTasks, DEFAULT_QUEUE_THRESHOLD));
+                            currentQueuedTasks, threshold));
         }
         
-        log.debug("Queue backpressure check passed, queuedTasks={}", currentQueuedTasks);
+        log.debug("Queue backpressure check passed, queuedTasks={}, threshold={}", currentQueuedTasks, threshold);
     }
 
     /**
@@ -0,0 +1,263 @@
+package com.patra.ingest.app.cursor;
+
+import com.patra.ingest.app.cursor.config.CursorWriteProperties;
+import com.patra.ingest.domain.model.entity.Cursor;
+import com.patra.ingest.domain.model.entity.CursorEvent;
+import com.patra.ingest.domain.model.enums.CursorDirection;
+import com.patra.ingest.domain.model.enums.CursorType;
+import com.patra.ingest.domain.model.enums.NamespaceScope;
+import com.patra.ingest.domain.model.vo.CursorLineage;
+import com.patra.ingest.domain.model.vo.CursorValue;
+import com.patra.ingest.domain.model.vo.NamespaceKey;
+import com.patra.ingest.domain.port.CursorEventRepository;
+import com.patra.ingest.domain.port.CursorRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+class CursorAdvanceCoordinatorTest {
+
+    private static final CursorSlot SLOT = new CursorSlot("pubmed", "HARVEST", "window_to", NamespaceKey.global());
+    private static final Instant T0 = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Test
+    void shouldCoalesceAdvancesAndRejectStaleValues() {
+        // 同一槽位连续推进三次、回退一次：回退被拒绝，刷盘只写最新游标，事件前后值首尾相接
+        FakeCursorRepository cursors = new FakeCursorRepository();
+        FakeEventRepository events = new FakeEventRepository();
+        CursorAdvanceCoordinator coordinator = coordinator(cursors, events);
+
+        Assertions.assertTrue(coordinator.advance(time(T0.plusSeconds(60), 1L)));
+        Assertions.assertTrue(coordinator.advance(time(T0.plusSeconds(120), 2L)));
+        Assertions.assertFalse(coordinator.advance(time(T0.plusSeconds(90), 3L)));
+        Assertions.assertTrue(coordinator.advance(time(T0.plusSeconds(180), 4L)));
+        Assertions.assertTrue(cursors.upserted.isEmpty());
+
+        coordinator.flush();
+
+        Assertions.assertEquals(1, cursors.upserted.size());
+        Assertions.assertEquals(T0.plusSeconds(180), cursors.upserted.get(0).getValue().instant());
+        Assertions.assertEquals(3, events.appended.size());
+        Assertions.assertEquals(events.appended.get(0).getNewValue(), events.appended.get(1).getPrevValue());
+        Assertions.assertEquals(events.appended.get(1).getNewValue(), events.appended.get(2).getPrevValue());
+        Assertions.assertEquals(0, coordinator.snapshot().get("pendingEvents"));
+        Assertions.assertEquals(1L, coordinator.snapshot().get("rejected"));
+    }
+
+    @Test
+    void shouldStartFromPersistedPosition() {
+        // 首次推进从库中加载当前值：不超过库中水位的推进被拒绝
+        FakeCursorRepository cursors = new FakeCursorRepository();
+        cursors.stored = Cursor.restore(7L, "pubmed", "HARVEST", "window_to", NamespaceScope.GLOBAL, SLOT.namespaceKey(),
+                CursorType.TIME, CursorValue.time(T0.plusSeconds(300)), null, null, null);
+        CursorAdvanceCoordinator coordinator = coordinator(cursors, new FakeEventRepository());
+
+        Assertions.assertFalse(coordinator.advance(time(T0.plusSeconds(300), 1L)));
+        Assertions.assertTrue(coordinator.advance(time(T0.plusSeconds(301), 2L)));
+        Assertions.assertEquals(7L, coordinator.current(SLOT).orElseThrow().getId());
+    }
+
+    @Test
+    void failedFlushShouldKeepPendingWrites() {
+        // 刷盘失败时待写内容放回缓冲，下次刷盘按原顺序补写
+        FakeCursorRepository cursors = new FakeCursorRepository();
+        FakeEventRepository events = new FakeEventRepository();
+        events.failures = 1;
+        CursorAdvanceCoordinator coordinator = coordinator(cursors, events);
+        coordinator.advance(time(T0.plusSeconds(60), 1L));
+        coordinator.advance(time(T0.plusSeconds(120), 2L));
+
+        Assertions.assertThrows(IllegalStateException.class, coordinator::flush);
+        Assertions.assertEquals(2, coordinator.snapshot().get("pendingEvents"));
+        coordinator.advance(time(T0.plusSeconds(180), 3L));
+        coordinator.flush();
+
+        Assertions.assertEquals(List.of(T0.plusSeconds(60), T0.plusSeconds(120), T0.plusSeconds(180)),
+                events.appended.stream().map(CursorEvent::getNewInstant).toList());
+        Assertions.assertEquals(T0.plusSeconds(180), cursors.upserted.get(cursors.upserted.size() - 1).getValue().instant());
+    }
+
+    @Test
+    void latestShouldReadPartitionsAdvancedOnOtherNodes() {
+        // 两个节点各自推进不同分区：latest 回源读取其他节点的推进，不停留在首次加载时的缓存值
+        SharedCursorRepository cursors = new SharedCursorRepository();
+        CursorAdvanceCoordinator nodeA = coordinator(cursors, new FakeEventRepository(), immediate());
+        CursorAdvanceCoordinator nodeB = coordinator(cursors, new FakeEventRepository(), immediate());
+        List<CursorSlot> partitions = CursorPartitions.slots(SLOT, 2);
+
+        Assertions.assertTrue(nodeA.advance(time(partitions.get(0), T0.plusSeconds(600), 1L)));
+        Assertions.assertTrue(nodeA.latest(partitions.get(1)).isEmpty());
+        Assertions.assertTrue(nodeB.advance(time(partitions.get(1), T0.plusSeconds(1200), 2L)));
+        Assertions.assertEquals(T0.plusSeconds(600), instant(nodeB.latest(partitions.get(0))));
+        Assertions.assertTrue(nodeA.advance(time(partitions.get(0), T0.plusSeconds(1800), 3L)));
+
+        Assertions.assertEquals(T0.plusSeconds(1200), instant(nodeA.latest(partitions.get(1))));
+        Assertions.assertEquals(T0.plusSeconds(1800), instant(nodeB.latest(partitions.get(0))));
+    }
+
+    @Test
+    void currentShouldRefreshSlotAfterTtl() {
+        // 槽位缓存过期后再次访问时回源，读到其他节点落库的推进
+        SharedCursorRepository cursors = new SharedCursorRepository();
+        CursorWriteProperties expiring = immediate();
+        expiring.setSlotCacheTtl(Duration.ZERO);
+        CursorAdvanceCoordinator nodeA = coordinator(cursors, new FakeEventRepository(), expiring);
+        CursorAdvanceCoordinator nodeB = coordinator(cursors, new FakeEventRepository(), immediate());
+
+        Assertions.assertTrue(nodeA.current(SLOT).isEmpty());
+        nodeB.advance(time(T0.plusSeconds(60), 1L));
+
+        Assertions.assertEquals(T0.plusSeconds(60), nodeA.current(SLOT).orElseThrow().getValue().instant());
+        Assertions.assertFalse(nodeA.advance(time(T0.plusSeconds(60), 2L)));
+    }
+
+    @Test
+    void isAheadShouldFollowCursorType() {
+        // TIME / ID 比较归一值，TOKEN 只要求值变化
+        Cursor id = Cursor.restore(null, "p", "HARVEST", "seq", NamespaceScope.GLOBAL, SLOT.namespaceKey(),
+                CursorType.ID, CursorValue.id(BigDecimal.TEN), null, null, null);
+        Cursor token = Cursor.restore(null, "p", "HARVEST", "tok", NamespaceScope.GLOBAL, SLOT.namespaceKey(),
+                CursorType.TOKEN, CursorValue.token("abc"), null, null, null);
+
+        Assertions.assertTrue(CursorAdvanceCoordinator.isAhead(CursorValue.id(BigDecimal.valueOf(11)), id));
+        Assertions.assertFalse(CursorAdvanceCoordinator.isAhead(CursorValue.id(BigDecimal.TEN), id));
+        Assertions.assertTrue(CursorAdvanceCoordinator.isAhead(CursorValue.token("abd"), token));
+        Assertions.assertFalse(CursorAdvanceCoordinator.isAhead(CursorValue.token("abc"), token));
+        Assertions.assertTrue(CursorAdvanceCoordinator.isAhead(CursorValue.time(T0), null));
+    }
+
+    private static Instant instant(Optional<Cursor> cursor) {
+        return cursor.map(CursorAdvanceCoordinator::instantOf).orElse(null);
+    }
+
+    private static CursorAdvanceCoordinator coordinator(CursorRepository cursors, CursorEventRepository events) {
+        CursorWriteProperties properties = new CursorWriteProperties();
+        properties.setStatementBatchSize(2);
+        return coordinator(cursors, events, properties);
+    }
+
+    private static CursorAdvanceCoordinator coordinator(CursorRepository cursors,
+                                                        CursorEventRepository events,
+                                                        CursorWriteProperties properties) {
+        return new CursorAdvanceCoordinator(cursors, new CursorWriteCommitter(cursors, events),
+                new CursorWatermarkRegistry(cursors, properties), properties);
+    }
+
+    private static CursorWriteProperties immediate() {
+        CursorWriteProperties properties = new CursorWriteProperties();
+        properties.setWriteBehindEnabled(false);
+        return properties;
+    }
+
+    private static CursorAdvance time(Instant to, Long runId) {
+        return time(SLOT, to, runId);
+    }
+
+    private static CursorAdvance time(CursorSlot slot, Instant to, Long runId) {
+        CursorValue value = CursorValue.time(to);
+        return new CursorAdvance(slot, value, null, to.minusSeconds(60), to, CursorDirection.FORWARD,
+                new CursorLineage(null, null, null, null, runId, null), null);
+    }
+
+    private static final class FakeCursorRepository implements CursorRepository {
+        private Cursor stored;
+        private final List<Cursor> upserted = new ArrayList<>();
+
+        @Override
+        public Optional<Cursor> find(String provenanceCode, String operationCode, String cursorKey, String namespaceScope, String namespaceKey) {
+            return Optional.ofNullable(stored);
+        }
+
+        @Override
+        public Cursor save(Cursor cursor) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void upsertAll(List<Cursor> cursors) {
+            upserted.addAll(cursors);
+        }
+
+        @Override
+        public Optional<Instant> findLatestGlobalTimeWatermark(String provenanceCode, String operationCode) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 多个节点共用的游标表：按命名空间存放，只接受更靠前的时间值。
+     */
+    private static final class SharedCursorRepository implements CursorRepository {
+        private final Map<String, Cursor> rows = new HashMap<>();
+
+        @Override
+        public synchronized Optional<Cursor> find(String provenanceCode, String operationCode, String cursorKey, String namespaceScope, String namespaceKey) {
+            return Optional.ofNullable(rows.get(namespaceScope + ":" + namespaceKey));
+        }
+
+        @Override
+        public Cursor save(Cursor cursor) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public synchronized void upsertAll(List<Cursor> cursors) {
+            for (Cursor cursor : cursors) {
+                String key = cursor.getNamespaceScope().getCode() + ":" + cursor.getNamespaceKey();
+                Cursor existing = rows.get(key);
+                if (existing == null || cursor.getValue().instant().isAfter(existing.getValue().instant())) {
+                    rows.put(key, cursor);
+                }
+            }
+        }
+
+        @Override
+        public Optional<Instant> findLatestGlobalTimeWatermark(String provenanceCode, String operationCode) {
+            return Optional.empty();
+        }
+    }
+
+    private static final class FakeEventRepository implements CursorEventRepository {
+        private int failures;
+        private final List<CursorEvent> appended = new ArrayList<>();
+
+        @Override
+        public CursorEvent save(CursorEvent event) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int appendAll(List<CursorEvent> events) {
+            if (failures > 0) {
+                failures--;
+                throw new IllegalStateException("db down");
+            }
+            appended.addAll(events);
+            return events.size();
+        }
+
+        @Override
+        public List<CursorEvent> lockCompactable(Instant before, int limit) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int deleteByIds(List<Long> ids) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<CursorEvent> findRecent(String provenanceCode, String operationCode, String cursorKey,
+                                            String namespaceScope, String namespaceKey, int limit) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.patra.ingest.app.cursor;
+
+import com.patra.ingest.domain.model.entity.CursorEvent;
+import com.patra.ingest.domain.model.entity.CursorSnapshot;
+import com.patra.ingest.domain.model.enums.CursorDirection;
+import com.patra.ingest.domain.model.enums.CursorType;
+import com.patra.ingest.domain.model.vo.CursorLineage;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+class CursorEventFolderTest {
+
+    private static final Instant DAY = Instant.parse("2025-01-01T00:00:00Z");
+    private static final Duration PERIOD = Duration.ofDays(1);
+
+    @Test
+    void foldShouldChainBaseAndLastWithinPeriod() {
+        // 同一命名空间同一天的事件（乱序给出）折叠为一条快照：起点取最小 ID 的推进前值，终点取最大 ID 的推进后值
+        List<CursorSnapshot> snapshots = CursorEventFolder.fold(List.of(
+                event(3L, "ns", 2, 3, DAY.plusSeconds(300)),
+                event(1L, "ns", 0, 1, DAY.plusSeconds(100)),
+                event(2L, "ns", 1, 2, DAY.plusSeconds(200))), PERIOD);
+
+        Assertions.assertEquals(1, snapshots.size());
+        CursorSnapshot snapshot = snapshots.get(0);
+        Assertions.assertEquals(3L, snapshot.getEventCount());
+        Assertions.assertEquals(1L, snapshot.getFirstEventId());
+        Assertions.assertEquals(3L, snapshot.getLastEventId());
+        Assertions.assertEquals(hour(0).toString(), snapshot.getBaseValue().raw());
+        Assertions.assertEquals(hour(3), snapshot.getLastValue().instant());
+        Assertions.assertEquals(hour(0), snapshot.getWindowFrom());
+        Assertions.assertEquals(hour(3), snapshot.getWindowTo());
+        Assertions.assertEquals(3L, snapshot.getLastLineage().runId());
+        Assertions.assertEquals(DAY, snapshot.getPeriodStart());
+        Assertions.assertEquals(DAY.plus(PERIOD), snapshot.getPeriodEnd());
+    }
+
+    @Test
+    void foldShouldSplitByNamespaceAndPeriod() {
+        // 命名空间不同或跨天的事件落在不同快照；首个事件无推进前值时快照起点为空
+        List<CursorSnapshot> snapshots = CursorEventFolder.fold(List.of(
+                event(1L, "a", null, 1, DAY.plusSeconds(10)),
+                event(2L, "b", 0, 1, DAY.plusSeconds(20)),
+                event(3L, "a", 1, 2, DAY.plus(PERIOD).plusSeconds(5))), PERIOD);
+
+        Assertions.assertEquals(3, snapshots.size());
+        Assertions.assertEquals(List.of("a", "b", "a"), snapshots.stream().map(CursorSnapshot::getNamespaceKey).toList());
+        Assertions.assertNull(snapshots.get(0).getBaseValue());
+        Assertions.assertEquals(DAY.plus(PERIOD), snapshots.get(2).getPeriodStart());
+        Assertions.assertEquals(hour(1), snapshots.get(2).getBaseValue().instant());
+    }
+
+    @Test
+    void periodStartShouldAlignToEpoch() {
+        // 时间段起点按纪元对齐，与时间段内的具体时刻无关
+        Assertions.assertEquals(DAY, CursorEventFolder.periodStart(DAY.plusSeconds(86_399), PERIOD));
+        Assertions.assertEquals(DAY.plusSeconds(3_600), CursorEventFolder.periodStart(DAY.plusSeconds(5_000), Duration.ofHours(1)));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CursorEventFolder.periodStart(DAY, Duration.ZERO));
+    }
+
+    private static CursorEvent event(Long id, String namespaceKey, Integer prevHour, int newHour, Instant createdAt) {
+        Instant prev = prevHour == null ? null : hour(prevHour);
+        Instant next = hour(newHour);
+        return CursorEvent.restore(id, "pubmed", "HARVEST", "window_to", "CUSTOM", namespaceKey, CursorType.TIME,
+                prev == null ? null : prev.toString(), next.toString(), prev, next, CursorDirection.FORWARD,
+                "k" + id, null, prev, next, null, null,
+                new CursorLineage(null, null, null, null, id, null), null, createdAt);
+    }
+
+    private static Instant hour(int hours) {
+        return Instant.parse("2024-12-01T00:00:00Z").plusSeconds(hours * 3_600L);
+    }
+}
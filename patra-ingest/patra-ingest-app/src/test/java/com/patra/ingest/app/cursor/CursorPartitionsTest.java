@@ -0,0 +1,55 @@
+package com.patra.ingest.app.cursor;
+
+import com.patra.ingest.domain.model.enums.NamespaceScope;
+import com.patra.ingest.domain.model.vo.NamespaceKey;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+class CursorPartitionsTest {
+
+    private static final Instant T0 = Instant.parse("2025-01-01T00:00:00Z");
+    private static final Duration HOUR = Duration.ofHours(1);
+
+    @Test
+    void partitionOfShouldFollowStrategy() {
+        // SLICE 按窗口起点所在时间桶取模，QUERY_HASH 按表达式哈希前 8 位取模；不分区时恒为 0
+        Assertions.assertEquals(List.of(0, 1, 2, 0, 1), List.of(0, 1, 2, 3, 4).stream()
+                .map(hour -> CursorPartitions.partitionOf("SLICE", 3, T0.plus(Duration.ofHours(hour)), HOUR, null)).toList());
+        Assertions.assertEquals(3, CursorPartitions.partitionOf("query_hash", 4, T0, HOUR, "0000000f" + "a".repeat(56)));
+        Assertions.assertEquals(0, CursorPartitions.partitionOf("QUERY_HASH", 4, T0, HOUR, null));
+        Assertions.assertEquals(0, CursorPartitions.partitionOf("SLICE", 1, T0.plus(Duration.ofHours(7)), HOUR, null));
+        Assertions.assertEquals(0, CursorPartitions.partitionOf("SLICE", 2, null, HOUR, null));
+        Assertions.assertEquals(1, CursorPartitions.partitionOf(null, 2, T0.plus(Duration.ofHours(7)), null, null));
+    }
+
+    @Test
+    void slicePartitionShouldDependOnlyOnWindowTime() {
+        // 同一时间段无论落在哪个计划、以何种宽度切分，都映射到同一分区；桶内的细分子切片与父切片同分区
+        Instant hour5 = T0.plus(Duration.ofHours(5));
+        int partition = CursorPartitions.partitionOf("SLICE", 4, hour5, HOUR, null);
+
+        Assertions.assertEquals(partition, CursorPartitions.partitionOf("SLICE", 4, hour5.plus(Duration.ofMinutes(30)), HOUR, null));
+        Assertions.assertEquals(1, partition);
+        Assertions.assertEquals(List.of(0, 1, 2, 3), List.of(8, 9, 10, 11).stream()
+                .map(hour -> CursorPartitions.partitionOf("SLICE", 4, T0.plus(Duration.ofHours(hour)), HOUR, null)).toList());
+    }
+
+    @Test
+    void slotsShouldUseDistinctCustomNamespaces() {
+        // 各分区落在互不相同的 CUSTOM 命名空间，分区数变化即换一组命名空间
+        CursorSlot global = new CursorSlot("pubmed", "HARVEST", "window_to", NamespaceKey.global());
+        List<CursorSlot> four = CursorPartitions.slots(global, 4);
+        Set<String> keys = four.stream().map(CursorSlot::namespaceKey).collect(Collectors.toSet());
+
+        Assertions.assertEquals(4, keys.size());
+        Assertions.assertTrue(four.stream().allMatch(slot -> slot.namespace().scope() == NamespaceScope.CUSTOM));
+        Assertions.assertTrue(four.stream().allMatch(slot -> slot.namespaceKey().length() == 64));
+        Assertions.assertFalse(keys.contains(CursorPartitions.slots(global, 2).get(0).namespaceKey()));
+    }
+}
@@ -0,0 +1,93 @@
+package com.patra.ingest.app.cursor;
+
+import com.patra.ingest.app.cursor.config.CursorWriteProperties;
+import com.patra.ingest.domain.model.entity.Cursor;
+import com.patra.ingest.domain.model.enums.CursorType;
+import com.patra.ingest.domain.model.enums.NamespaceScope;
+import com.patra.ingest.domain.model.vo.CursorValue;
+import com.patra.ingest.domain.model.vo.NamespaceKey;
+import com.patra.ingest.domain.port.CursorRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class CursorWatermarkRegistryTest {
+
+    private static final Instant T0 = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Test
+    void shouldServeFromMemoryAndRaiseOnFlush() {
+        // 首次回源后命中内存；刷盘回写只抬高水位，不回退
+        AtomicInteger queries = new AtomicInteger();
+        CursorWatermarkRegistry registry = registry(queries, T0, Duration.ofMinutes(1));
+
+        Assertions.assertEquals(T0, registry.latestGlobalTime("pubmed", "HARVEST").orElseThrow());
+        registry.onFlushed(List.of(cursor(T0.plusSeconds(60), NamespaceScope.GLOBAL)));
+        Assertions.assertEquals(T0.plusSeconds(60), registry.latestGlobalTime("pubmed", "HARVEST").orElseThrow());
+        registry.onFlushed(List.of(cursor(T0.plusSeconds(30), NamespaceScope.GLOBAL)));
+        Assertions.assertEquals(T0.plusSeconds(60), registry.latestGlobalTime("pubmed", "HARVEST").orElseThrow());
+        Assertions.assertEquals(1, queries.get());
+    }
+
+    @Test
+    void shouldIgnoreNonGlobalCursorsAndUnloadedKeys() {
+        // 非 GLOBAL 游标不影响水位；未查询过的键不因回写而登记
+        AtomicInteger queries = new AtomicInteger();
+        CursorWatermarkRegistry registry = registry(queries, T0, Duration.ofMinutes(1));
+
+        registry.onFlushed(List.of(cursor(T0.plusSeconds(60), NamespaceScope.GLOBAL)));
+        Assertions.assertEquals(T0, registry.latestGlobalTime("pubmed", "HARVEST").orElseThrow());
+        registry.onFlushed(List.of(cursor(T0.plusSeconds(90), NamespaceScope.CUSTOM)));
+        Assertions.assertEquals(T0, registry.latestGlobalTime("pubmed", "HARVEST").orElseThrow());
+    }
+
+    @Test
+    void nonPositiveTtlShouldAlwaysQuery() {
+        // 回源间隔不大于 0 时每次都查询仓储
+        AtomicInteger queries = new AtomicInteger();
+        CursorWatermarkRegistry registry = registry(queries, null, Duration.ZERO);
+
+        Assertions.assertTrue(registry.latestGlobalTime("pubmed", null).isEmpty());
+        Assertions.assertTrue(registry.latestGlobalTime("pubmed", null).isEmpty());
+        Assertions.assertEquals(2, queries.get());
+    }
+
+    private static CursorWatermarkRegistry registry(AtomicInteger queries, Instant stored, Duration ttl) {
+        CursorWriteProperties properties = new CursorWriteProperties();
+        properties.setWatermarkCacheTtl(ttl);
+        CursorRepository repository = new CursorRepository() {
+            @Override
+            public Optional<Cursor> find(String provenanceCode, String operationCode, String cursorKey, String namespaceScope, String namespaceKey) {
+                return Optional.empty();
+            }
+
+            @Override
+            public Cursor save(Cursor cursor) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void upsertAll(List<Cursor> cursors) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public Optional<Instant> findLatestGlobalTimeWatermark(String provenanceCode, String operationCode) {
+                queries.incrementAndGet();
+                return Optional.ofNullable(stored);
+            }
+        };
+        return new CursorWatermarkRegistry(repository, properties);
+    }
+
+    private static Cursor cursor(Instant at, NamespaceScope scope) {
+        String namespaceKey = scope == NamespaceScope.GLOBAL ? NamespaceKey.global().key() : "a".repeat(64);
+        return Cursor.restore(null, "pubmed", "HARVEST", "window_to", scope, namespaceKey,
+                CursorType.TIME, CursorValue.time(at), null, null, null);
+    }
+}
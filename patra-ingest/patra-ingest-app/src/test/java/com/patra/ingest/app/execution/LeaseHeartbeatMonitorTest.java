@@ -0,0 +1,117 @@
+package com.patra.ingest.app.execution;
+
+import com.patra.ingest.app.execution.config.HarvestExecutorProperties;
+import com.patra.ingest.domain.model.aggregate.TaskAggregate;
+import com.patra.ingest.domain.model.enums.TaskStatus;
+import com.patra.ingest.domain.port.TaskRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+class LeaseHeartbeatMonitorTest {
+
+    @Test
+    void heartbeatShouldRenewOnlyRegisteredTasks() {
+        // 同名持有者遗留的租约（99）不被续约，也不能抵消已被回收的租约（2），后者应被识别为丢失
+        LeaseTable table = new LeaseTable();
+        table.owners.put(1L, "node-1");
+        table.owners.put(2L, "node-2");
+        table.owners.put(99L, "node-1");
+        LeaseHeartbeatMonitor monitor = new LeaseHeartbeatMonitor(table, new HarvestExecutorProperties());
+        TaskLease kept = monitor.register(1L, "node-1");
+        TaskLease reclaimed = monitor.register(2L, "node-1");
+
+        monitor.heartbeat();
+
+        Assertions.assertEquals(List.of(List.of(1L, 2L)), table.bulkRenewals.stream().map(ids -> ids.stream().sorted().toList()).toList());
+        Assertions.assertEquals(List.of(1L), table.renewedIds.stream().distinct().toList());
+        Assertions.assertFalse(kept.isLost());
+        Assertions.assertTrue(reclaimed.isLost());
+        Assertions.assertEquals(1, monitor.activeLeases());
+    }
+
+    private static final class LeaseTable implements TaskRepository {
+        private final Map<Long, String> owners = new HashMap<>();
+        private final List<List<Long>> bulkRenewals = new ArrayList<>();
+        private final List<Long> renewedIds = new ArrayList<>();
+
+        @Override
+        public int renewLeases(String owner, Collection<Long> taskIds, Instant leasedUntil, Instant now) {
+            bulkRenewals.add(List.copyOf(taskIds));
+            int renewed = 0;
+            for (Long taskId : taskIds) {
+                if (renewLease(taskId, owner, leasedUntil, now)) {
+                    renewed++;
+                }
+            }
+            return renewed;
+        }
+
+        @Override
+        public boolean renewLease(Long taskId, String owner, Instant leasedUntil, Instant now) {
+            if (!owner.equals(owners.get(taskId))) {
+                return false;
+            }
+            renewedIds.add(taskId);
+            return true;
+        }
+
+        @Override
+        public TaskAggregate save(TaskAggregate task) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<TaskAggregate> saveAll(List<TaskAggregate> tasks) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<TaskAggregate> findByPlanId(Long planId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<TaskAggregate> findById(Long taskId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean hasSucceededTask(Long sliceId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long countQueuedTasks(String provenanceCode, String operationCode) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<Long> requeueRetryable(Long planId, Collection<Long> excludedSliceIds) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean acquireLease(Long taskId, String owner, Instant leasedUntil, Instant now, String correlationId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean completeLease(Long taskId, String owner, TaskStatus status, Instant finishedAt, String errorCode, String errorMsg) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<TaskAggregate> claimBatch(String owner, int limit, Duration leaseDuration) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.patra.ingest.app.execution.pipeline;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+class BoundedStageTest {
+
+    @Test
+    void dropShouldRejectWhenQueueFull() throws InterruptedException {
+        // 单消费者处理中、容量 1 的队列已占满时，DROP 丢弃新提交并计数
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> handled = new CopyOnWriteArrayList<>();
+        StageMeter meter = StageMeter.detached();
+        try (BoundedStage<Integer> stage = new BoundedStage<>("test", 1, 1, BackpressureStrategy.DROP, meter, item -> {
+            started.countDown();
+            await(release);
+            handled.add(item);
+        })) {
+            Assertions.assertTrue(stage.submit(1));
+            Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+            Assertions.assertTrue(stage.submit(2));
+            Assertions.assertFalse(stage.submit(3));
+            release.countDown();
+            stage.drain();
+        }
+
+        Assertions.assertEquals(List.of(1, 2), handled);
+        Assertions.assertEquals(1L, meter.stats().dropped());
+        Assertions.assertEquals(2L, meter.stats().processed());
+        Assertions.assertEquals(0L, meter.stats().capacity());
+    }
+
+    @Test
+    void yieldShouldRunOnCallerWhenQueueFull() throws InterruptedException {
+        // 队列已满时 YIELD 由提交方线程直接执行
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> threads = new CopyOnWriteArrayList<>();
+        StageMeter meter = StageMeter.detached();
+        try (BoundedStage<Integer> stage = new BoundedStage<>("test", 1, 1, BackpressureStrategy.YIELD, meter, item -> {
+            if (item == 1) {
+                started.countDown();
+                await(release);
+            }
+            threads.add(item + ":" + Thread.currentThread().getName());
+        })) {
+            stage.submit(1);
+            Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+            stage.submit(2);
+            stage.submit(3);
+            Assertions.assertTrue(threads.contains("3:" + Thread.currentThread().getName()));
+            release.countDown();
+            stage.drain();
+        }
+
+        Assertions.assertEquals(3, threads.size());
+        Assertions.assertEquals(1L, meter.stats().callerRuns());
+    }
+
+    @Test
+    void handlerFailureShouldSurfaceOnDrain() {
+        // 处理器抛出的首个异常在 drain 时抛出
+        try (BoundedStage<Integer> stage = new BoundedStage<>("test", 2, 4, BackpressureStrategy.BLOCK, null, item -> {
+            throw new IllegalArgumentException("bad item " + item);
+        })) {
+            stage.submit(1);
+            IllegalArgumentException ex = Assertions.assertThrows(IllegalArgumentException.class, stage::drain);
+            Assertions.assertEquals("bad item 1", ex.getMessage());
+        }
+    }
+
+    @Test
+    void strategyCodeShouldFallBackToBlock() {
+        // 策略编码不区分大小写，缺失或无法识别时取 BLOCK
+        Assertions.assertEquals(BackpressureStrategy.DROP, BackpressureStrategy.fromCode("drop"));
+        Assertions.assertEquals(BackpressureStrategy.BLOCK, BackpressureStrategy.fromCode(null));
+        Assertions.assertEquals(BackpressureStrategy.BLOCK, BackpressureStrategy.fromCode("SPILL"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.patra.ingest.app.execution.support;
+
+import com.patra.ingest.app.harvest.exception.HarvestFetchException;
+import com.patra.ingest.app.harvest.model.HarvestDetailBatch;
+import com.patra.ingest.app.harvest.model.HarvestPage;
+import com.patra.ingest.app.harvest.model.HarvestPageRequest;
+import com.patra.ingest.app.harvest.model.HarvestQuery;
+import com.patra.ingest.app.port.HarvestSourcePort;
+import com.patra.ingest.domain.model.snapshot.ProvenanceConfigSnapshot;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.function.Function;
+
+class DetailFetchPipelineTest {
+
+    @Test
+    void idsShouldBeCutIntoBatches() {
+        // 7 个标识、批大小 3：切为 3/3/1 三批，剩余标识在 finish 时切出
+        List<List<String>> requested = Collections.synchronizedList(new ArrayList<>());
+        DetailFetchPipeline.Stats stats;
+        try (DetailFetchPipeline pipeline = new DetailFetchPipeline(port(ids -> {
+            requested.add(ids);
+            return new HarvestDetailBatch(200, ids.size(), ids.size(), ids);
+        }), null, 3, 2)) {
+            pipeline.offer(List.of("1", "2", "3", "4"));
+            pipeline.offer(List.of("5", " ", "6", "7"));
+            stats = pipeline.finish();
+        }
+
+        Assertions.assertEquals(3, stats.batches());
+        Assertions.assertEquals(7L, stats.requested());
+        Assertions.assertEquals(0L, stats.missing());
+        Assertions.assertEquals(List.of(3, 3, 1), requested.stream().map(List::size).sorted(Collections.reverseOrder()).toList());
+    }
+
+    @Test
+    void batchFailureShouldSurfaceOnFinish() {
+        // 任一批次失败时 finish 抛出该异常，运行随之失败
+        try (DetailFetchPipeline pipeline = new DetailFetchPipeline(port(ids -> {
+            throw new HarvestFetchException(503, "unavailable");
+        }), null, 2, 1)) {
+            pipeline.offer(List.of("1", "2"));
+            HarvestFetchException ex = Assertions.assertThrows(HarvestFetchException.class, pipeline::finish);
+            Assertions.assertEquals(503, ex.getStatusCode());
+        }
+    }
+
+    @Test
+    void batchSizeShouldRespectMaxIdsPerRequest() {
+        // 批大小取 detailFetchBatchSize 与 maxIdsPerRequest 的较小值，并行度受主机并发约束
+        ProvenanceConfigSnapshot.BatchingConfig batching = new ProvenanceConfigSnapshot.BatchingConfig(
+                1L, 1L, "SOURCE", null, null, null, null, 500, null, null, "id", ",", 200,
+                false, null, 8, 4, null, null, null);
+        Assertions.assertEquals(200, DetailFetchPipeline.batchSize(batching, 100));
+        Assertions.assertEquals(100, DetailFetchPipeline.batchSize(null, 100));
+        Assertions.assertEquals(4, DetailFetchPipeline.parallelism(batching, 2));
+    }
+
+    private static HarvestSourcePort port(Function<List<String>, HarvestDetailBatch> details) {
+        return new HarvestSourcePort() {
+            @Override
+            public OptionalLong probeTotalCount(HarvestQuery query) {
+                return OptionalLong.empty();
+            }
+
+            @Override
+            public HarvestPage fetchPage(HarvestQuery query, HarvestPageRequest request) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public HarvestDetailBatch fetchDetails(HarvestQuery query, List<String> ids) {
+                return details.apply(ids);
+            }
+        };
+    }
+}
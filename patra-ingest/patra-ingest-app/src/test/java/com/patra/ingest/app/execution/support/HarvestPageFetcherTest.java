@@ -0,0 +1,125 @@
+package com.patra.ingest.app.execution.support;
+
+import com.patra.ingest.app.harvest.model.HarvestDetailBatch;
+import com.patra.ingest.app.harvest.model.HarvestPage;
+import com.patra.ingest.app.harvest.model.HarvestPageRequest;
+import com.patra.ingest.app.harvest.model.HarvestQuery;
+import com.patra.ingest.app.port.HarvestSourcePort;
+import com.patra.ingest.domain.model.snapshot.ProvenanceConfigSnapshot;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.Function;
+
+class HarvestPageFetcherTest {
+
+    @Test
+    void pageModeShouldYieldInOrderAndStopAtLastPage() {
+        // 页码模式：总数 450、页大小 100，并行预取仍按页序产出 5 页，不请求第 6 页
+        List<Integer> requested = Collections.synchronizedList(new ArrayList<>());
+        ProvenanceConfigSnapshot.PaginationConfig pagination = pagination("PAGE_NUMBER", 100, null);
+        List<HarvestPageFetcher.FetchedPage> pages = drain(port(request -> {
+            requested.add(request.pageNumber());
+            return new HarvestPage(200, 450L, null, null, null, null);
+        }), pagination, 100);
+
+        Assertions.assertEquals(List.of(1, 2, 3, 4, 5), pages.stream().map(page -> page.request().pageNumber()).toList());
+        Assertions.assertEquals(List.of(100, 100, 100, 100, 50), pages.stream().map(HarvestPageFetcher.FetchedPage::recordCount).toList());
+        Assertions.assertEquals("2", pages.get(0).afterToken());
+        Assertions.assertNull(pages.get(4).afterToken());
+        Assertions.assertEquals(5, requested.size());
+    }
+
+    @Test
+    void maxPagesShouldKeepResumePosition() {
+        // 达到翻页上限时停止，末批次的 afterToken 保留续接位置
+        ProvenanceConfigSnapshot.PaginationConfig pagination = pagination("PAGE_NUMBER", 100, null);
+        List<HarvestPageFetcher.FetchedPage> pages = drain(port(request ->
+                new HarvestPage(200, 450L, null, null, null, null)), pagination, 3);
+
+        Assertions.assertEquals(3, pages.size());
+        Assertions.assertEquals("3", pages.get(2).beforeToken());
+        Assertions.assertEquals("4", pages.get(2).afterToken());
+    }
+
+    @Test
+    void tokenModeShouldChainTokens() {
+        // 令牌模式：before/after 令牌首尾相接，hasMore=false 时结束
+        Map<String, String> next = Map.of("*", "a", "a", "b");
+        ProvenanceConfigSnapshot.PaginationConfig pagination = pagination("CURSOR", 10, "*");
+        List<HarvestPageFetcher.FetchedPage> pages = drain(port(request -> new HarvestPage(
+                200, null, next.getOrDefault(request.token(), "c"), "b".equals(request.token()) ? false : null, 10, null)),
+                pagination, 100);
+
+        Assertions.assertEquals(List.of("*", "a", "b"), pages.stream().map(HarvestPageFetcher.FetchedPage::beforeToken).toList());
+        Assertions.assertEquals("a", pages.get(0).afterToken());
+        Assertions.assertNull(pages.get(2).afterToken());
+    }
+
+    @Test
+    void resumeShouldContinueBatchNumbersAndRecords() {
+        // 从第 3 页续跑（此前已提交 2 批、200 条）：批次序号接续，末页按原始首页推算，不多请求
+        List<Integer> requested = Collections.synchronizedList(new ArrayList<>());
+        ProvenanceConfigSnapshot.PaginationConfig pagination = pagination("PAGE_NUMBER", 100, null);
+        List<HarvestPageFetcher.FetchedPage> pages = new ArrayList<>();
+        try (HarvestPageFetcher fetcher = new HarvestPageFetcher(port(request -> {
+            requested.add(request.pageNumber());
+            return new HarvestPage(200, 450L, null, null, null, null);
+        }), null, pagination, HarvestPaging.resume(pagination, 10, "3").orElseThrow(), 2, 200L, 100, 4, null)) {
+            Optional<HarvestPageFetcher.FetchedPage> next;
+            while ((next = fetcher.next()).isPresent()) {
+                pages.add(next.get());
+            }
+        }
+
+        Assertions.assertEquals(List.of(3, 4, 5), pages.stream().map(HarvestPageFetcher.FetchedPage::batchNo).toList());
+        Assertions.assertEquals(List.of(100, 100, 50), pages.stream().map(HarvestPageFetcher.FetchedPage::recordCount).toList());
+        Assertions.assertEquals(List.of(3, 4, 5), requested.stream().sorted().toList());
+    }
+
+    private static List<HarvestPageFetcher.FetchedPage> drain(HarvestSourcePort port,
+                                                              ProvenanceConfigSnapshot.PaginationConfig pagination,
+                                                              int maxPages) {
+        List<HarvestPageFetcher.FetchedPage> pages = new ArrayList<>();
+        try (HarvestPageFetcher fetcher = new HarvestPageFetcher(
+                port, null, pagination, HarvestPaging.first(pagination, 10), maxPages, 4)) {
+            Optional<HarvestPageFetcher.FetchedPage> next;
+            while ((next = fetcher.next()).isPresent()) {
+                pages.add(next.get());
+            }
+        }
+        return pages;
+    }
+
+    private static HarvestSourcePort port(Function<HarvestPageRequest, HarvestPage> pages) {
+        return new HarvestSourcePort() {
+            @Override
+            public OptionalLong probeTotalCount(HarvestQuery query) {
+                return OptionalLong.empty();
+            }
+
+            @Override
+            public HarvestPage fetchPage(HarvestQuery query, HarvestPageRequest request) {
+                return pages.apply(request);
+            }
+
+            @Override
+            public HarvestDetailBatch fetchDetails(HarvestQuery query, List<String> ids) {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    private static ProvenanceConfigSnapshot.PaginationConfig pagination(String mode, Integer pageSize, String initialCursor) {
+        return new ProvenanceConfigSnapshot.PaginationConfig(
+                1L, 1L, "SOURCE", null, null, null, null,
+                mode, pageSize, null, "page", "size", null, null, null,
+                "cursor", initialCursor, null, null, null, null, null, null);
+    }
+}
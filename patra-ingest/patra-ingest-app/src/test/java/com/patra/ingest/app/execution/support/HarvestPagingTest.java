@@ -0,0 +1,107 @@
+package com.patra.ingest.app.execution.support;
+
+import com.patra.ingest.app.harvest.model.HarvestPage;
+import com.patra.ingest.app.harvest.model.HarvestPageRequest;
+import com.patra.ingest.domain.model.snapshot.ProvenanceConfigSnapshot;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+class HarvestPagingTest {
+
+    @Test
+    void pageModeShouldStopWhenTotalConsumed() {
+        // 页码模式：已知总数 250、页大小 100，第 3 页消费满后停止
+        ProvenanceConfigSnapshot.PaginationConfig pagination = pagination("PAGE_NUMBER", 100, null);
+        HarvestPageRequest first = HarvestPaging.first(pagination, 50);
+        Assertions.assertEquals(1, first.pageNumber());
+        Assertions.assertEquals(100, first.pageSize());
+
+        HarvestPage page = new HarvestPage(200, 250L, null, null, null, null);
+        Assertions.assertEquals(100, HarvestPaging.recordCount(first, page, 0L));
+        Optional<HarvestPageRequest> second = HarvestPaging.next(pagination, first, page, 100L);
+        Assertions.assertEquals(2, second.orElseThrow().pageNumber());
+
+        HarvestPageRequest third = second.get().nextPage();
+        Assertions.assertEquals(50, HarvestPaging.recordCount(third, page, 200L));
+        Assertions.assertTrue(HarvestPaging.next(pagination, third, page, 250L).isEmpty());
+    }
+
+    @Test
+    void pageModeShouldStopWithoutTotalOrHasMore() {
+        // 页码模式：总数与 hasMore 均未知时只拉首页，避免无界翻页
+        ProvenanceConfigSnapshot.PaginationConfig pagination = pagination("PAGE_NUMBER", null, null);
+        HarvestPageRequest first = HarvestPaging.first(pagination, 20);
+        HarvestPage page = new HarvestPage(200, null, null, null, null, null);
+
+        Assertions.assertEquals(20, first.pageSize());
+        Assertions.assertTrue(HarvestPaging.next(pagination, first, page, 20L).isEmpty());
+    }
+
+    @Test
+    void tokenModeShouldFollowNextTokenUntilRepeated() {
+        // 令牌模式：沿响应令牌翻页，令牌重复或 hasMore=false 时停止
+        ProvenanceConfigSnapshot.PaginationConfig pagination = pagination("CURSOR", 100, "*");
+        HarvestPageRequest first = HarvestPaging.first(pagination, 50);
+        Assertions.assertEquals("*", first.token());
+
+        HarvestPageRequest second = HarvestPaging.next(pagination, first,
+                new HarvestPage(200, null, "abc", null, 100, null), 100L).orElseThrow();
+        Assertions.assertEquals("abc", second.token());
+        Assertions.assertTrue(HarvestPaging.next(pagination, second,
+                new HarvestPage(200, null, "abc", null, 100, null), 200L).isEmpty());
+        Assertions.assertTrue(HarvestPaging.next(pagination, second,
+                new HarvestPage(200, null, "def", false, 100, null), 200L).isEmpty());
+    }
+
+    @Test
+    void maxPagesShouldTakeSmallerLimit() {
+        // 翻页上限取分页配置与执行器上限的较小值
+        ProvenanceConfigSnapshot.PaginationConfig pagination = pagination("PAGE_NUMBER", 100, null);
+        Assertions.assertEquals(10_000, HarvestPaging.maxPages(pagination, 10_000));
+        Assertions.assertEquals(1, HarvestPaging.maxPages(null, 0));
+    }
+
+    @Test
+    void lastPageNumberShouldFollowTotalAndMaxPages() {
+        // 已知总数 450、页大小 100 时末页为 5，并受翻页上限约束；总数未知时无法确定
+        HarvestPageRequest first = HarvestPageRequest.ofPage(1, 100);
+        Assertions.assertEquals(5, HarvestPaging.lastPageNumber(first, 450L, 100).orElseThrow());
+        Assertions.assertEquals(3, HarvestPaging.lastPageNumber(first, 450L, 3).orElseThrow());
+        Assertions.assertTrue(HarvestPaging.lastPageNumber(first, null, 100).isEmpty());
+        Assertions.assertTrue(HarvestPaging.lastPageNumber(HarvestPageRequest.ofToken("*", 100), 450L, 100).isEmpty());
+    }
+
+    @Test
+    void prefetchDepthShouldRespectHostConcurrency() {
+        // 预取深度受来源主机并发上限约束，且至少为 1
+        ProvenanceConfigSnapshot.BatchingConfig batching = new ProvenanceConfigSnapshot.BatchingConfig(
+                1L, 1L, "SOURCE", null, null, null, null, null, null, null, null, null, null,
+                false, null, null, 2, null, null, null);
+        Assertions.assertEquals(2, HarvestPaging.prefetchDepth(batching, 4));
+        Assertions.assertEquals(4, HarvestPaging.prefetchDepth(null, 4));
+        Assertions.assertEquals(1, HarvestPaging.prefetchDepth(null, 0));
+    }
+
+    @Test
+    void resumeShouldFollowPaginationMode() {
+        // 续跑起点：页码模式解析页码，令牌模式作为游标；与模式不符的位置不续跑
+        ProvenanceConfigSnapshot.PaginationConfig pages = pagination("PAGE_NUMBER", 100, null);
+        ProvenanceConfigSnapshot.PaginationConfig cursor = pagination("CURSOR", 10, "*");
+
+        HarvestPageRequest page = HarvestPaging.resume(pages, 20, "7").orElseThrow();
+        Assertions.assertEquals(7, page.pageNumber());
+        Assertions.assertEquals(100, page.pageSize());
+        Assertions.assertEquals("AoE=", HarvestPaging.resume(cursor, 20, "AoE=").orElseThrow().token());
+        Assertions.assertTrue(HarvestPaging.resume(pages, 20, "AoE=").isEmpty());
+        Assertions.assertTrue(HarvestPaging.resume(pages, 20, null).isEmpty());
+    }
+
+    private static ProvenanceConfigSnapshot.PaginationConfig pagination(String mode, Integer pageSize, String initialCursor) {
+        return new ProvenanceConfigSnapshot.PaginationConfig(
+                1L, 1L, "SOURCE", null, null, null, null,
+                mode, pageSize, null, "page", "size", null, null, null,
+                "cursor", initialCursor, null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,63 @@
+package com.patra.ingest.app.execution.support;
+
+import com.patra.ingest.domain.model.entity.TaskRun;
+import com.patra.ingest.domain.model.entity.TaskRunBatch;
+import com.patra.ingest.domain.model.vo.RunStats;
+import com.patra.ingest.domain.model.vo.TaskRunCheckpoint;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+class RunCheckpointsTest {
+
+    @Test
+    void checkpointShouldRoundTrip() {
+        // 检查点记录最后批次序号、后继位置与统计，解析后可直接续跑
+        TaskRunCheckpoint checkpoint = RunCheckpoints.of(12, "cursor-13", new RunStats(1200L, 0L, 3L, 12L));
+
+        RunCheckpoints.ResumePoint point = RunCheckpoints.resumePoint(checkpoint).orElseThrow();
+        Assertions.assertEquals(12, point.batchNo());
+        Assertions.assertEquals("cursor-13", point.afterToken());
+        Assertions.assertEquals(new RunStats(1200L, 0L, 3L, 12L), point.stats());
+    }
+
+    @Test
+    void finishedOrMalformedCheckpointShouldNotResume() {
+        // 翻页已走完（afterToken 为空）或结构不符时不续跑
+        Assertions.assertTrue(RunCheckpoints.resumePoint(RunCheckpoints.of(5, null, RunStats.empty())).isEmpty());
+        Assertions.assertTrue(RunCheckpoints.resumePoint(new TaskRunCheckpoint("{\"nextHint\":1}")).isEmpty());
+        Assertions.assertTrue(RunCheckpoints.resumePoint(TaskRunCheckpoint.empty()).isEmpty());
+    }
+
+    @Test
+    void groupCommitShouldCarryLastBatchCheckpoint() {
+        // 缓冲满 2 批即提交一次，检查点取本组最后一批；剩余批次在 flush 时提交
+        TaskRun run = new TaskRun(1L, 1L, 1, "PUBMED", "HARVEST");
+        List<Integer> groupSizes = new ArrayList<>();
+        List<String> checkpoints = new ArrayList<>();
+        BatchGroupCommit commits = new BatchGroupCommit(run, (committed, batches) -> {
+            groupSizes.add(batches.size());
+            checkpoints.add(RunCheckpoints.resumePoint(committed.getCheckpoint())
+                    .map(RunCheckpoints.ResumePoint::afterToken).orElse(null));
+        }, Duration.ofHours(1), 2);
+
+        for (int batchNo = 1; batchNo <= 3; batchNo++) {
+            run.appendStats(new RunStats(100L, 0L, 0L, 1L));
+            commits.add(batch(batchNo), batchNo, batchNo < 3 ? String.valueOf(batchNo + 1) : null);
+        }
+        commits.flush();
+
+        Assertions.assertEquals(List.of(2, 1), groupSizes);
+        Assertions.assertEquals("3", checkpoints.get(0));
+        Assertions.assertNull(checkpoints.get(1));
+        Assertions.assertEquals(2, commits.commits());
+    }
+
+    private static TaskRunBatch batch(int batchNo) {
+        return new TaskRunBatch(null, 1L, 1L, 1L, 1L, "PUBMED", "HARVEST", batchNo, batchNo, 100,
+                String.valueOf(batchNo), "hash", null);
+    }
+}
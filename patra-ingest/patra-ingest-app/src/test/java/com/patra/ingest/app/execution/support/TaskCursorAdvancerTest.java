@@ -0,0 +1,405 @@
+package com.patra.ingest.app.execution.support;
+
+import com.patra.ingest.app.cursor.CursorAdvanceCoordinator;
+import com.patra.ingest.app.cursor.CursorPartitions;
+import com.patra.ingest.app.cursor.CursorSlot;
+import com.patra.ingest.app.cursor.CursorWatermarkRegistry;
+import com.patra.ingest.app.cursor.CursorWriteCommitter;
+import com.patra.ingest.app.cursor.config.CursorPartitionProperties;
+import com.patra.ingest.app.cursor.config.CursorWriteProperties;
+import com.patra.ingest.app.orchestration.slice.support.TimeSliceSpecs;
+import com.patra.ingest.domain.model.aggregate.PlanSliceAggregate;
+import com.patra.ingest.domain.model.aggregate.TaskAggregate;
+import com.patra.ingest.domain.model.entity.Cursor;
+import com.patra.ingest.domain.model.entity.CursorEvent;
+import com.patra.ingest.domain.model.entity.TaskRun;
+import com.patra.ingest.domain.model.enums.SliceStatus;
+import com.patra.ingest.domain.model.enums.TaskRunStatus;
+import com.patra.ingest.domain.model.enums.TaskStatus;
+import com.patra.ingest.domain.model.vo.ExecutionTimeline;
+import com.patra.ingest.domain.model.vo.ExecutionWindow;
+import com.patra.ingest.domain.model.vo.LeaseInfo;
+import com.patra.ingest.domain.model.vo.NamespaceKey;
+import com.patra.ingest.domain.model.vo.RunContext;
+import com.patra.ingest.domain.model.vo.RunStats;
+import com.patra.ingest.domain.model.vo.TaskRunCheckpoint;
+import com.patra.ingest.domain.model.vo.TaskSchedulerContext;
+import com.patra.ingest.domain.port.CursorEventRepository;
+import com.patra.ingest.domain.port.CursorRepository;
+import com.patra.ingest.domain.port.PlanSliceRepository;
+import com.patra.ingest.domain.port.TaskRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+class TaskCursorAdvancerTest {
+
+    private static final Instant T0 = Instant.parse("2025-01-01T00:00:00Z");
+    private static final Instant T1 = T0.plus(Duration.ofDays(1));
+    private static final Instant T2 = T0.plus(Duration.ofDays(2));
+    private static final Instant T3 = T0.plus(Duration.ofDays(3));
+    private static final CursorSlot GLOBAL = new CursorSlot("pubmed", "HARVEST", "window_to", NamespaceKey.global());
+
+    @Test
+    void advanceShouldHoldBackBehindUnfinishedEarlierSlice() {
+        // 后段切片先完成时游标不越过仍在执行的前段切片；前段完成后一次推进到连续成功前缀的终点
+        Plan plan = new Plan(7L);
+        plan.slice(1L, T0, T1, SliceStatus.DISPATCHED);
+        plan.slice(2L, T1, T2, SliceStatus.DISPATCHED);
+        plan.slice(3L, T2, T3, SliceStatus.DISPATCHED);
+        TaskAggregate first = plan.task(11L, 1L, TaskStatus.RUNNING);
+        TaskAggregate second = plan.task(12L, 2L, TaskStatus.RUNNING);
+        plan.task(13L, 3L, TaskStatus.QUEUED);
+        MemoryCursorRepository cursors = new MemoryCursorRepository();
+        TaskCursorAdvancer advancer = advancer(cursors, 1, plan);
+
+        Assertions.assertFalse(advancer.advance(second, plan.slices.get(2L), run(12L, T1, T2), null));
+        Assertions.assertNull(cursors.instant(GLOBAL));
+
+        plan.finish(12L);
+        Assertions.assertTrue(advancer.advance(first, plan.slices.get(1L), run(11L, T0, T1), null));
+        Assertions.assertEquals(T2, cursors.instant(GLOBAL));
+    }
+
+    @Test
+    void advanceShouldSkipSubdividedParentSlices() {
+        // 被细分的父切片不阻塞前缀，由其子切片顶替位置
+        Plan plan = new Plan(7L);
+        plan.slice(1L, T0, T2, SliceStatus.PARTIAL);
+        plan.slice(2L, T0, T1, SliceStatus.DISPATCHED);
+        plan.slice(3L, T1, T2, SliceStatus.DISPATCHED);
+        plan.task(11L, 1L, TaskStatus.CANCELLED);
+        plan.task(12L, 2L, TaskStatus.SUCCEEDED);
+        TaskAggregate last = plan.task(13L, 3L, TaskStatus.RUNNING);
+        MemoryCursorRepository cursors = new MemoryCursorRepository();
+
+        Assertions.assertTrue(advancer(cursors, 1, plan).advance(last, plan.slices.get(3L), run(13L, T1, T2), null));
+        Assertions.assertEquals(T2, cursors.instant(GLOBAL));
+    }
+
+    @Test
+    void partitionShouldSpanPlansWithoutLettingGlobalPassUnfinishedSlices() {
+        // 分区按窗口时间桶划分：同一小时在两个计划中落在同一分区；后一计划从 2 点起步、5–6 点未完成时，
+        // 其余分区先行推进到 7/8/9 点，GLOBAL 仍停在 5 点，直到 5–6 点完成才越过
+        MemoryCursorRepository cursors = new MemoryCursorRepository();
+        Plan planA = new Plan(7L);
+        planA.slice(1L, hour(0), hour(1), SliceStatus.DISPATCHED);
+        planA.slice(2L, hour(1), hour(2), SliceStatus.DISPATCHED);
+        planA.slice(3L, hour(2), hour(3), SliceStatus.DISPATCHED);
+        planA.task(11L, 1L, TaskStatus.SUCCEEDED);
+        TaskAggregate secondHour = planA.task(12L, 2L, TaskStatus.RUNNING);
+        planA.task(13L, 3L, TaskStatus.FAILED);
+        Plan planB = new Plan(8L);
+        for (long h = 2; h < 9; h++) {
+            planB.slice(20 + h, hour(h), hour(h + 1), SliceStatus.DISPATCHED);
+            planB.task(30 + h, 20 + h, TaskStatus.RUNNING);
+        }
+        TaskCursorAdvancer advancer = advancer(cursors, 4, planA, planB);
+        List<CursorSlot> partitions = CursorPartitions.slots(GLOBAL, 4);
+
+        Assertions.assertTrue(advancer.advance(secondHour, planA.slices.get(2L), run(12L, hour(1), hour(2)), null));
+        planA.finish(12L);
+        Assertions.assertEquals(hour(2), cursors.instant(GLOBAL));
+        Assertions.assertEquals(hour(2), cursors.instant(partitions.get(1)));
+
+        for (long h : new long[]{2, 3, 4, 6, 7, 8}) {
+            complete(advancer, planB, 30 + h);
+        }
+        Assertions.assertEquals(hour(5), cursors.instant(GLOBAL));
+        Assertions.assertEquals(hour(2), cursors.instant(partitions.get(1)));
+        Assertions.assertEquals(hour(9), cursors.instant(partitions.get(0)));
+        Assertions.assertEquals(hour(7), cursors.instant(partitions.get(2)));
+        Assertions.assertEquals(hour(8), cursors.instant(partitions.get(3)));
+
+        complete(advancer, planB, 35L);
+        Assertions.assertEquals(hour(9), cursors.instant(GLOBAL));
+        Assertions.assertEquals(hour(6), cursors.instant(partitions.get(1)));
+    }
+
+    @Test
+    void advanceShouldLoadPlanOnceAndProbeOnlyTheBlockingSlice() {
+        // 按序完成 40 个切片：计划切片与任务只加载一次，每次完成只探测挡在前面的下一个切片
+        Plan plan = new Plan(7L);
+        for (long day = 0; day < 40; day++) {
+            plan.slice(day + 1, T0.plus(Duration.ofDays(day)), T0.plus(Duration.ofDays(day + 1)), SliceStatus.DISPATCHED);
+            plan.task(day + 101, day + 1, TaskStatus.RUNNING);
+        }
+        MemoryCursorRepository cursors = new MemoryCursorRepository();
+        TaskTable tasks = new TaskTable(List.of(plan));
+        SliceTable slices = new SliceTable(List.of(plan));
+        TaskCursorAdvancer advancer = advancer(cursors, 1, tasks, slices);
+
+        for (long day = 0; day < 40; day++) {
+            complete(advancer, plan, day + 101);
+        }
+
+        Assertions.assertEquals(T0.plus(Duration.ofDays(40)), cursors.instant(GLOBAL));
+        Assertions.assertEquals(1, tasks.loads);
+        Assertions.assertEquals(1, slices.loads);
+        Assertions.assertEquals(39, tasks.probes);
+    }
+
+    @Test
+    void recheckShouldMoveCursorWhenAdjacentSlicesFinishOnDifferentNodes() {
+        // 两个节点同时完成相邻切片，推进时互相视为未完成；终态落库后再走一次前缀，后落库的一方推进到末端
+        Plan plan = new Plan(7L);
+        plan.slice(1L, T0, T1, SliceStatus.DISPATCHED);
+        plan.slice(2L, T1, T2, SliceStatus.DISPATCHED);
+        TaskAggregate first = plan.task(11L, 1L, TaskStatus.RUNNING);
+        TaskAggregate second = plan.task(12L, 2L, TaskStatus.RUNNING);
+        MemoryCursorRepository cursors = new MemoryCursorRepository();
+        TaskCursorAdvancer nodeA = advancer(cursors, 1, plan);
+        TaskCursorAdvancer nodeB = advancer(cursors, 1, plan);
+
+        Assertions.assertTrue(nodeA.advance(first, plan.slices.get(1L), run(11L, T0, T1), null));
+        Assertions.assertFalse(nodeB.advance(second, plan.slices.get(2L), run(12L, T1, T2), null));
+        Assertions.assertEquals(T1, cursors.instant(GLOBAL));
+
+        plan.finish(11L);
+        plan.finish(12L);
+        Assertions.assertTrue(nodeB.recheck(second, plan.slices.get(2L), run(12L, T1, T2), null));
+        Assertions.assertEquals(T2, cursors.instant(GLOBAL));
+    }
+
+    private static Instant hour(long hours) {
+        return T0.plus(Duration.ofHours(hours));
+    }
+
+    private static void complete(TaskCursorAdvancer advancer, Plan plan, Long taskId) {
+        TaskAggregate task = plan.tasks.get(taskId);
+        PlanSliceAggregate slice = plan.slices.get(task.getSliceId());
+        TimeSliceSpecs.TimeSliceWindow window = TimeSliceSpecs.parse(slice.getSliceSpecJson()).orElseThrow();
+        advancer.advance(task, slice, run(taskId, window.from(), window.to()), null);
+        plan.finish(taskId);
+    }
+
+    private static TaskCursorAdvancer advancer(MemoryCursorRepository cursors, int partitions, Plan... plans) {
+        return advancer(cursors, partitions, new TaskTable(List.of(plans)), new SliceTable(List.of(plans)));
+    }
+
+    private static TaskCursorAdvancer advancer(MemoryCursorRepository cursors, int partitions,
+                                               TaskTable tasks, SliceTable slices) {
+        CursorWriteProperties properties = new CursorWriteProperties();
+        properties.setWriteBehindEnabled(false);
+        CursorAdvanceCoordinator coordinator = new CursorAdvanceCoordinator(cursors,
+                new CursorWriteCommitter(cursors, new MemoryEventRepository()),
+                new CursorWatermarkRegistry(cursors, properties), properties);
+        CursorPartitionProperties partitionProperties = new CursorPartitionProperties();
+        partitionProperties.setEnabled(partitions > 1);
+        partitionProperties.setDefaultPartitions(partitions);
+        return new TaskCursorAdvancer(coordinator, partitionProperties, tasks, slices);
+    }
+
+    private static TaskRun run(Long taskId, Instant from, Instant to) {
+        return TaskRun.restore(taskId * 10, taskId, 1, "pubmed", "HARVEST", TaskRunStatus.RUNNING, RunStats.empty(),
+                from, null, null, TaskRunCheckpoint.empty(), new ExecutionWindow(from, to), RunContext.empty(), null);
+    }
+
+    /**
+     * 单个计划的切片与任务。
+     */
+    private static final class Plan {
+        private final Long id;
+        private final Map<Long, PlanSliceAggregate> slices = new LinkedHashMap<>();
+        private final Map<Long, TaskAggregate> tasks = new LinkedHashMap<>();
+
+        private Plan(Long id) {
+            this.id = id;
+        }
+
+        void slice(Long id, Instant from, Instant to, SliceStatus status) {
+            String spec = TimeSliceSpecs.build(from, to, "UTC").getCanonicalJson();
+            slices.put(id, PlanSliceAggregate.restore(id, this.id, "pubmed", id.intValue(), "sig-" + id, spec,
+                    "expr", null, status, 0L));
+        }
+
+        TaskAggregate task(Long id, Long sliceId, TaskStatus status) {
+            TaskAggregate task = TaskAggregate.restore(id, 1L, this.id, sliceId, "pubmed", "HARVEST", null, "task-" + id,
+                    "expr", 0, T0, null, 0, null, null, status, LeaseInfo.none(), ExecutionTimeline.empty(),
+                    TaskSchedulerContext.empty(), 0L);
+            tasks.put(id, task);
+            return task;
+        }
+
+        void finish(Long id) {
+            task(id, tasks.get(id).getSliceId(), TaskStatus.SUCCEEDED);
+        }
+    }
+
+    private static final class SliceTable implements PlanSliceRepository {
+        private final List<Plan> plans;
+        private int loads;
+
+        private SliceTable(List<Plan> plans) {
+            this.plans = plans;
+        }
+
+        @Override
+        public List<PlanSliceAggregate> findByPlanId(Long planId) {
+            loads++;
+            return plans.stream().filter(plan -> plan.id.equals(planId))
+                    .flatMap(plan -> plan.slices.values().stream()).toList();
+        }
+
+        @Override
+        public Optional<PlanSliceAggregate> findById(Long sliceId) {
+            return plans.stream().map(plan -> plan.slices.get(sliceId)).filter(Objects::nonNull).findFirst();
+        }
+
+        @Override
+        public PlanSliceAggregate save(PlanSliceAggregate slice) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<PlanSliceAggregate> saveAll(List<PlanSliceAggregate> slices) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int findMaxSequence(Long planId) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static final class TaskTable implements TaskRepository {
+        private final List<Plan> plans;
+        private int loads;
+        private int probes;
+
+        private TaskTable(List<Plan> plans) {
+            this.plans = plans;
+        }
+
+        @Override
+        public List<TaskAggregate> findByPlanId(Long planId) {
+            loads++;
+            return plans.stream().filter(plan -> plan.id.equals(planId))
+                    .flatMap(plan -> plan.tasks.values().stream()).toList();
+        }
+
+        @Override
+        public boolean hasSucceededTask(Long sliceId) {
+            probes++;
+            return plans.stream().flatMap(plan -> plan.tasks.values().stream())
+                    .anyMatch(task -> sliceId.equals(task.getSliceId()) && task.getStatus() == TaskStatus.SUCCEEDED);
+        }
+
+        @Override
+        public TaskAggregate save(TaskAggregate task) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<TaskAggregate> saveAll(List<TaskAggregate> tasks) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<TaskAggregate> findById(Long taskId) {
+            return plans.stream().map(plan -> plan.tasks.get(taskId)).filter(Objects::nonNull).findFirst();
+        }
+
+        @Override
+        public long countQueuedTasks(String provenanceCode, String operationCode) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<Long> requeueRetryable(Long planId, Collection<Long> excludedSliceIds) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean acquireLease(Long taskId, String owner, Instant leasedUntil, Instant now, String correlationId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean renewLease(Long taskId, String owner, Instant leasedUntil, Instant now) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean completeLease(Long taskId, String owner, TaskStatus status, Instant finishedAt, String errorCode, String errorMsg) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<TaskAggregate> claimBatch(String owner, int limit, Duration leaseDuration) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int renewLeases(String owner, Collection<Long> taskIds, Instant leasedUntil, Instant now) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static final class MemoryCursorRepository implements CursorRepository {
+        private final Map<String, Cursor> stored = new HashMap<>();
+
+        Instant instant(CursorSlot slot) {
+            Cursor cursor = stored.get(slot.namespaceKey());
+            return cursor == null ? null : cursor.getValue().instant();
+        }
+
+        @Override
+        public Optional<Cursor> find(String provenanceCode, String operationCode, String cursorKey, String namespaceScope, String namespaceKey) {
+            return Optional.ofNullable(stored.get(namespaceKey));
+        }
+
+        @Override
+        public Cursor save(Cursor cursor) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void upsertAll(List<Cursor> cursors) {
+            cursors.forEach(cursor -> stored.put(cursor.getNamespaceKey(), cursor));
+        }
+
+        @Override
+        public Optional<Instant> findLatestGlobalTimeWatermark(String provenanceCode, String operationCode) {
+            return Optional.empty();
+        }
+    }
+
+    private static final class MemoryEventRepository implements CursorEventRepository {
+
+        @Override
+        public CursorEvent save(CursorEvent event) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int appendAll(List<CursorEvent> events) {
+            return events.size();
+        }
+
+        @Override
+        public List<CursorEvent> lockCompactable(Instant before, int limit) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int deleteByIds(List<Long> ids) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<CursorEvent> findRecent(String provenanceCode, String operationCode, String cursorKey,
+                                            String namespaceScope, String namespaceKey, int limit) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
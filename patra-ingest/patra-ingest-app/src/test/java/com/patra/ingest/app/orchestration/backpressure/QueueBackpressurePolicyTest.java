@@ -0,0 +1,34 @@
+package com.patra.ingest.app.orchestration.backpressure;
+
+import java.time.Duration;
+import java.util.OptionalDouble;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class QueueBackpressurePolicyTest {
+
+    @Test
+    void thresholdShouldFollowDrainRate() {
+        // 阈值 = 排空速率 × 目标排队时长：0.5 任务/秒 × 10 分钟 = 300
+        long threshold = QueueBackpressurePolicy.computeThreshold(
+                OptionalDouble.of(0.5d), Duration.ofMinutes(10), 50L, 20L, 2_000L);
+
+        Assertions.assertEquals(300L, threshold);
+    }
+
+    @Test
+    void thresholdShouldBeClampedToBounds() {
+        // 消费停滞时不低于下限，消费极快时不超过上限
+        Assertions.assertEquals(20L, QueueBackpressurePolicy.computeThreshold(
+                OptionalDouble.of(0d), Duration.ofMinutes(10), 50L, 20L, 2_000L));
+        Assertions.assertEquals(2_000L, QueueBackpressurePolicy.computeThreshold(
+                OptionalDouble.of(100d), Duration.ofMinutes(10), 50L, 20L, 2_000L));
+    }
+
+    @Test
+    void thresholdShouldFallBackWithoutSamples() {
+        // 尚无排空速率样本时使用兜底阈值
+        Assertions.assertEquals(50L, QueueBackpressurePolicy.computeThreshold(
+                OptionalDouble.empty(), Duration.ofMinutes(10), 50L, 20L, 2_000L));
+    }
+}
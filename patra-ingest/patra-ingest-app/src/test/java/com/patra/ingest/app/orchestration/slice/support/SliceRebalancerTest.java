@@ -0,0 +1,75 @@
+package com.patra.ingest.app.orchestration.slice.support;
+
+import com.patra.ingest.domain.model.value.PlannerWindow;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class SliceRebalancerTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Test
+    void rebalanceShouldMergeSparseNeighbours() {
+        // 相邻稀疏窗口合计不超过预算×填充率时合并为一个窗口
+        List<SliceRebalancer.WindowVolume> volumes = hourly(100L, 200L, 150L, 4_800L);
+
+        List<PlannerWindow> windows = SliceRebalancer.rebalance(
+                volumes, 10_000L, 0.5d, null, Duration.ofMinutes(1), 32);
+
+        Assertions.assertEquals(2, windows.size());
+        Assertions.assertEquals(new PlannerWindow(START, START.plusSeconds(3 * 3600)), windows.getFirst());
+        Assertions.assertEquals(new PlannerWindow(START.plusSeconds(3 * 3600), START.plusSeconds(4 * 3600)), windows.getLast());
+    }
+
+    @Test
+    void rebalanceShouldSplitDenseWindow() {
+        // 超出预算的窗口按命中量等宽拆分，其余窗口保持不变
+        List<PlannerWindow> windows = SliceRebalancer.rebalance(
+                hourly(25_000L, 9_000L), 10_000L, 0.5d, null, Duration.ofMinutes(1), 32);
+
+        Assertions.assertEquals(4, windows.size());
+        Assertions.assertEquals(START, windows.getFirst().from());
+        Assertions.assertEquals(START.plusSeconds(3600), windows.get(2).to());
+        Assertions.assertEquals(new PlannerWindow(START.plusSeconds(3600), START.plusSeconds(7200)), windows.getLast());
+    }
+
+    @Test
+    void rebalanceShouldKeepUnknownWindowsAsBarriers() {
+        // 命中量未知的窗口不参与合并，两侧稀疏窗口各自保留；合并还受最大跨度约束
+        List<SliceRebalancer.WindowVolume> volumes = hourly(10L, null, 10L, 10L);
+        List<PlannerWindow> windows = SliceRebalancer.rebalance(
+                volumes, 10_000L, 0.5d, Duration.ofHours(1), Duration.ofMinutes(1), 32);
+
+        Assertions.assertEquals(4, windows.size());
+        for (int i = 1; i < windows.size(); i++) {
+            Assertions.assertEquals(windows.get(i - 1).to(), windows.get(i).from());
+        }
+    }
+
+    @Test
+    void coalesceShouldMergeLowVolumeRunsWithoutSplitting() {
+        // 低量窗口按阈值连续合并；超阈值窗口原样保留且不拆分
+        List<PlannerWindow> windows = SliceRebalancer.coalesce(
+                hourly(2L, 0L, 5L, 3L, 900L, 1L, 1L), 10L, null);
+
+        Assertions.assertEquals(3, windows.size());
+        Assertions.assertEquals(new PlannerWindow(START, START.plusSeconds(4 * 3600)), windows.get(0));
+        Assertions.assertEquals(new PlannerWindow(START.plusSeconds(4 * 3600), START.plusSeconds(5 * 3600)), windows.get(1));
+        Assertions.assertEquals(new PlannerWindow(START.plusSeconds(5 * 3600), START.plusSeconds(7 * 3600)), windows.get(2));
+    }
+
+    private static List<SliceRebalancer.WindowVolume> hourly(Long... counts) {
+        List<SliceRebalancer.WindowVolume> volumes = new ArrayList<>(counts.length);
+        for (int i = 0; i < counts.length; i++) {
+            PlannerWindow window = new PlannerWindow(START.plusSeconds(i * 3600L), START.plusSeconds((i + 1) * 3600L));
+            volumes.add(new SliceRebalancer.WindowVolume(window,
+                    counts[i] == null ? OptionalLong.empty() : OptionalLong.of(counts[i])));
+        }
+        return volumes;
+    }
+}
@@ -0,0 +1,59 @@
+package com.patra.ingest.app.orchestration.slice.support;
+
+import com.patra.ingest.domain.model.value.PlannerWindow;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class TimeSliceSubdividerTest {
+
+    private static final Instant FROM = Instant.parse("2024-01-01T00:00:00Z");
+    private static final Instant TO = Instant.parse("2024-01-01T04:00:00Z");
+
+    @Test
+    void subdivideShouldSplitByObservedVolume() {
+        // 命中量为预算的 3.5 倍时拆成 4 个等宽子窗口，且首尾对齐父窗口
+        List<PlannerWindow> windows = TimeSliceSubdivider.subdivide(
+                FROM, TO, 35_000L, 10_000L, null, Duration.ofMinutes(1), 32);
+
+        Assertions.assertEquals(4, windows.size());
+        Assertions.assertEquals(FROM, windows.getFirst().from());
+        Assertions.assertEquals(TO, windows.getLast().to());
+        Assertions.assertEquals(Instant.parse("2024-01-01T01:00:00Z"), windows.getFirst().to());
+        for (int i = 1; i < windows.size(); i++) {
+            Assertions.assertEquals(windows.get(i - 1).to(), windows.get(i).from());
+        }
+    }
+
+    @Test
+    void subdivideShouldRespectFanOutAndMinSpan() {
+        // 扇出上限与最小跨度共同约束子窗口数量
+        List<PlannerWindow> capped = TimeSliceSubdivider.subdivide(
+                FROM, TO, 1_000_000L, 100L, null, Duration.ofMinutes(1), 8);
+        Assertions.assertEquals(8, capped.size());
+
+        List<PlannerWindow> minSpanLimited = TimeSliceSubdivider.subdivide(
+                FROM, TO, 1_000_000L, 100L, null, Duration.ofHours(1), 32);
+        Assertions.assertEquals(4, minSpanLimited.size());
+    }
+
+    @Test
+    void subdivideShouldReturnEmptyWhenWithinBudget() {
+        // 命中量未超预算且跨度合规时无需细分
+        Assertions.assertTrue(TimeSliceSubdivider.subdivide(
+                FROM, TO, 500L, 10_000L, Duration.ofHours(6), Duration.ofMinutes(1), 32).isEmpty());
+        // 窗口已达最小跨度时无法细分
+        Assertions.assertTrue(TimeSliceSubdivider.subdivide(
+                FROM, FROM.plusSeconds(60), 50_000L, 10_000L, null, Duration.ofMinutes(1), 32).isEmpty());
+    }
+
+    @Test
+    void subdivideShouldEnforceMaxWindowSpan() {
+        // 超过最大跨度时即使命中量合规也强制切分
+        List<PlannerWindow> windows = TimeSliceSubdivider.subdivide(
+                FROM, TO, 10L, 10_000L, Duration.ofHours(1), Duration.ofMinutes(1), 32);
+        Assertions.assertEquals(4, windows.size());
+    }
+}
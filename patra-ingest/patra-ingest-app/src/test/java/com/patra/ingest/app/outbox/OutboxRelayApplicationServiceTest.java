@@ -0,0 +1,259 @@
+package com.patra.ingest.app.outbox;
+
+import com.patra.ingest.app.outbox.command.OutboxRelayCommand;
+import com.patra.ingest.app.outbox.config.OutboxRelayProperties;
+import com.patra.ingest.app.outbox.dto.OutboxRelayResult;
+import com.patra.ingest.app.outbox.model.TaskReadyMessage;
+import com.patra.ingest.app.outbox.support.OutboxDestinationResolver;
+import com.patra.ingest.app.outbox.support.TaskReadyMessageMapper;
+import com.patra.ingest.domain.model.entity.OutboxMessage;
+import com.patra.ingest.domain.model.vo.OutboxDeliveryOutcome;
+import com.patra.ingest.domain.port.OutboxRelayRepository;
+import com.patra.starter.rocketmq.config.PatraRocketMQProperties;
+import com.patra.starter.rocketmq.model.PatraMessage;
+import com.patra.starter.rocketmq.publisher.PatraMessagePublisher;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+class OutboxRelayApplicationServiceTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+    private static final String CHANNEL = "ingest.task.ready";
+
+    @Test
+    void relayShouldLeaseOnceAndSettleByStatus() {
+        // 整批一条 UPDATE 租用；发送全部异步发出后再等待回执；成功/重试/DEAD 各一条 UPDATE 回写
+        RecordingRepository repository = new RecordingRepository(List.of(
+                message(1L, "ok", 0), message(2L, "ok", 0), message(3L, "fail", 0),
+                message(4L, "fail", 4), message(5L, "bad", 0)));
+        List<String> sent = new ArrayList<>();
+        PatraMessagePublisher publisher = new PatraMessagePublisher() {
+            @Override
+            public void send(String destination, PatraMessage<?> message) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public CompletableFuture<String> sendAsync(String destination, PatraMessage<?> message) {
+                sent.add(message.getEventId());
+                return message.getEventId().startsWith("fail")
+                        ? CompletableFuture.failedFuture(new RuntimeException("broker down"))
+                        : CompletableFuture.completedFuture("msg-" + message.getEventId());
+            }
+        };
+
+        OutboxRelayResult result = service(repository, publisher).relay(command());
+
+        Assertions.assertEquals(1, repository.leaseCalls);
+        Assertions.assertEquals(List.of(1L, 2L, 3L, 4L, 5L), repository.leasedIds);
+        Assertions.assertEquals(List.of("fail-3", "fail-4", "ok-1", "ok-2"), sent.stream().sorted().toList());
+        Assertions.assertEquals(List.of(1L, 2L), ids(repository.settled.get("PUBLISHED")).stream().sorted().toList());
+        Assertions.assertTrue(repository.settled.get("PUBLISHED").stream()
+                .anyMatch(outcome -> outcome.id() == 1L && "msg-ok-1".equals(outcome.msgId())));
+        Assertions.assertEquals(List.of(3L), ids(repository.settled.get("RETRY")));
+        Assertions.assertEquals(NOW.plusSeconds(5), repository.settled.get("RETRY").get(0).nextRetryAt());
+        Assertions.assertEquals(List.of(4L, 5L), ids(repository.settled.get("DEAD")).stream().sorted().toList());
+        Assertions.assertEquals(new OutboxRelayResult(5, 2, 1, 2, 0), result);
+    }
+
+    @Test
+    void relayShouldRetryUnackedMessagesAfterLease() {
+        // 租约期内未回执的消息按失败进入重试，不阻塞其他消息的回写
+        RecordingRepository repository = new RecordingRepository(List.of(message(1L, "ok", 0), message(2L, "hang", 0)));
+        PatraMessagePublisher publisher = new PatraMessagePublisher() {
+            @Override
+            public void send(String destination, PatraMessage<?> message) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public CompletableFuture<String> sendAsync(String destination, PatraMessage<?> message) {
+                return message.getEventId().startsWith("hang")
+                        ? new CompletableFuture<>()
+                        : CompletableFuture.completedFuture("m");
+            }
+        };
+
+        OutboxRelayResult result = service(repository, publisher).relay(command(Duration.ofMillis(50)));
+
+        Assertions.assertEquals(List.of(1L), ids(repository.settled.get("PUBLISHED")));
+        Assertions.assertEquals(List.of(2L), ids(repository.settled.get("RETRY")));
+        Assertions.assertEquals("TimeoutException", repository.settled.get("RETRY").get(0).errorCode());
+        Assertions.assertEquals(new OutboxRelayResult(2, 1, 1, 0, 0), result);
+    }
+
+    @Test
+    void relayShouldKeepPartitionOrderAndDeferBehindFailure() {
+        // 同一分区键按 ID 串行发送并以分区键为哈希键；前序失败后同分区后续消息顺延到同一时间，其他分区不受影响
+        RecordingRepository repository = new RecordingRepository(List.of(
+                message(1L, "ok", 0, "a"), message(2L, "fail", 1, "a"), message(3L, "ok", 2, "a"),
+                message(4L, "ok", 0, "b"), message(5L, "ok", 0, "b")));
+        List<String> sent = new ArrayList<>();
+        List<String> hashKeys = new ArrayList<>();
+        PatraMessagePublisher publisher = new PatraMessagePublisher() {
+            @Override
+            public void send(String destination, PatraMessage<?> message) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public CompletableFuture<String> sendOrderlyAsync(String destination, PatraMessage<?> message, String hashKey) {
+                sent.add(message.getEventId());
+                hashKeys.add(hashKey);
+                return message.getEventId().startsWith("fail")
+                        ? CompletableFuture.failedFuture(new RuntimeException("broker down"))
+                        : CompletableFuture.completedFuture("msg-" + message.getEventId());
+            }
+        };
+
+        OutboxRelayResult result = service(repository, publisher).relay(command());
+
+        List<String> partitionA = sent.stream().filter(id -> !id.endsWith("-4") && !id.endsWith("-5")).toList();
+        Assertions.assertEquals(List.of("ok-1", "fail-2"), partitionA);
+        Assertions.assertEquals(List.of("ok-4", "ok-5"), sent.stream().filter(id -> id.endsWith("-4") || id.endsWith("-5")).toList());
+        Assertions.assertTrue(hashKeys.stream().allMatch(key -> key.equals("a") || key.equals("b")));
+        Assertions.assertEquals(List.of(1L, 4L, 5L), ids(repository.settled.get("PUBLISHED")).stream().sorted().toList());
+        List<OutboxDeliveryOutcome> retried = repository.settled.get("RETRY").stream()
+                .sorted(Comparator.comparing(OutboxDeliveryOutcome::id)).toList();
+        Assertions.assertEquals(List.of(2L, 3L), ids(retried));
+        Assertions.assertEquals(2, retried.get(0).retryCount());
+        Assertions.assertEquals(2, retried.get(1).retryCount());
+        Assertions.assertEquals("DEFERRED", retried.get(1).errorCode());
+        Assertions.assertEquals(retried.get(0).nextRetryAt(), retried.get(1).nextRetryAt());
+        Assertions.assertEquals(new OutboxRelayResult(5, 3, 2, 0, 0), result);
+    }
+
+    @Test
+    void relayShouldHandOverIdleWorkersToRemainingPartitions() {
+        // 发送链按分区领取：卡住的分区只占一条发送链，其余分区由空出的发送链依次发完
+        RecordingRepository repository = new RecordingRepository(List.of(
+                message(1L, "hang", 0, "a"), message(2L, "ok", 0, "a"),
+                message(3L, "ok", 0, "b"), message(4L, "ok", 0, "b"),
+                message(5L, "ok", 0, "c"), message(6L, "ok", 0, "c")));
+        List<String> sent = new ArrayList<>();
+        PatraMessagePublisher publisher = new PatraMessagePublisher() {
+            @Override
+            public void send(String destination, PatraMessage<?> message) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public CompletableFuture<String> sendOrderlyAsync(String destination, PatraMessage<?> message, String hashKey) {
+                sent.add(message.getEventId());
+                return message.getEventId().startsWith("hang")
+                        ? new CompletableFuture<>()
+                        : CompletableFuture.completedFuture("msg-" + message.getEventId());
+            }
+        };
+        OutboxRelayProperties properties = new OutboxRelayProperties();
+        properties.setPartitionWorkers(2);
+
+        OutboxRelayResult result = service(repository, publisher, properties).relay(command(Duration.ofMillis(50)));
+
+        Assertions.assertEquals(List.of("hang-1", "ok-3", "ok-4", "ok-5", "ok-6"), sent);
+        Assertions.assertEquals(List.of(3L, 4L, 5L, 6L), ids(repository.settled.get("PUBLISHED")).stream().sorted().toList());
+        Assertions.assertEquals(List.of(1L, 2L), ids(repository.settled.get("RETRY")).stream().sorted().toList());
+        Assertions.assertEquals(new OutboxRelayResult(6, 4, 2, 0, 0), result);
+    }
+
+    private static OutboxRelayApplicationService service(RecordingRepository repository, PatraMessagePublisher publisher) {
+        return service(repository, publisher, new OutboxRelayProperties());
+    }
+
+    private static OutboxRelayApplicationService service(RecordingRepository repository, PatraMessagePublisher publisher,
+                                                         OutboxRelayProperties properties) {
+        PatraRocketMQProperties rocketMQProperties = new PatraRocketMQProperties();
+        TaskReadyMessageMapper mapper = new TaskReadyMessageMapper(null) {
+            @Override
+            public TaskReadyMessage map(OutboxMessage message) {
+                if ("bad".equals(message.getPayloadJson())) {
+                    throw new IllegalStateException("failed to parse outbox payload");
+                }
+                return new TaskReadyMessage(null, null);
+            }
+        };
+        return new OutboxRelayApplicationService(new OutboxRelayCommitter(repository), publisher,
+                properties, new OutboxDestinationResolver(rocketMQProperties), mapper);
+    }
+
+    private static OutboxRelayCommand command() {
+        return command(Duration.ofSeconds(30));
+    }
+
+    private static OutboxRelayCommand command(Duration leaseDuration) {
+        return new OutboxRelayCommand(CHANNEL, NOW, 200, leaseDuration, 5, Duration.ofSeconds(5), "node-1");
+    }
+
+    private static OutboxMessage message(Long id, String kind, int retryCount) {
+        return message(id, kind, retryCount, "p" + id);
+    }
+
+    private static OutboxMessage message(Long id, String kind, int retryCount, String partitionKey) {
+        return OutboxMessage.builder()
+                .id(id)
+                .version(0L)
+                .aggregateType("TASK")
+                .aggregateId(id)
+                .channel(CHANNEL)
+                .opType("TASK_READY")
+                .partitionKey(partitionKey)
+                .dedupKey(kind + "-" + id)
+                .payloadJson(kind)
+                .retryCount(retryCount)
+                .build();
+    }
+
+    private static List<Long> ids(List<OutboxDeliveryOutcome> outcomes) {
+        return outcomes.stream().map(OutboxDeliveryOutcome::id).toList();
+    }
+
+    private static final class RecordingRepository implements OutboxRelayRepository {
+        private final List<OutboxMessage> pending;
+        private final List<Long> leasedIds = new ArrayList<>();
+        private final Map<String, List<OutboxDeliveryOutcome>> settled = new HashMap<>();
+        private int leaseCalls;
+
+        private RecordingRepository(List<OutboxMessage> pending) {
+            this.pending = pending;
+        }
+
+        @Override
+        public List<OutboxMessage> lockPending(String channel, Instant available, int limit) {
+            return pending;
+        }
+
+        @Override
+        public int markPublishingBatch(List<Long> ids, String leaseOwner, Instant now, Instant leaseExpireAt) {
+            leaseCalls++;
+            leasedIds.addAll(ids);
+            return ids.size();
+        }
+
+        @Override
+        public int markPublishedBatch(List<OutboxDeliveryOutcome> outcomes, String leaseOwner) {
+            settled.put("PUBLISHED", List.copyOf(outcomes));
+            return outcomes.size();
+        }
+
+        @Override
+        public int markRetryBatch(List<OutboxDeliveryOutcome> outcomes, String leaseOwner) {
+            settled.put("RETRY", List.copyOf(outcomes));
+            return outcomes.size();
+        }
+
+        @Override
+        public int markDeadBatch(List<OutboxDeliveryOutcome> outcomes, String leaseOwner) {
+            settled.put("DEAD", List.copyOf(outcomes));
+            return outcomes.size();
+        }
+    }
+}
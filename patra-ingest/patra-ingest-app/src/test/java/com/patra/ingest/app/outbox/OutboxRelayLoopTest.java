@@ -0,0 +1,60 @@
+package com.patra.ingest.app.outbox;
+
+import com.patra.ingest.app.execution.config.HarvestExecutorProperties;
+import com.patra.ingest.app.outbox.command.OutboxRelayCommand;
+import com.patra.ingest.app.outbox.config.OutboxRelayProperties;
+import com.patra.ingest.app.outbox.dto.OutboxRelayResult;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+class OutboxRelayLoopTest {
+
+    @Test
+    void drainShouldRelayUntilBatchNotFull() {
+        // 满批继续拉取，取不满一批即停止；累计成功、重试与 DEAD 数
+        OutboxRelayProperties properties = new OutboxRelayProperties();
+        properties.setBatchSize(2);
+        Deque<OutboxRelayResult> results = new ArrayDeque<>(List.of(
+                new OutboxRelayResult(2, 2, 0, 0, 0),
+                new OutboxRelayResult(2, 1, 1, 0, 0),
+                new OutboxRelayResult(1, 0, 0, 1, 0),
+                new OutboxRelayResult(2, 2, 0, 0, 0)));
+        List<OutboxRelayCommand> commands = new ArrayList<>();
+        OutboxRelayLoop loop = new OutboxRelayLoop(command -> {
+            commands.add(command);
+            return results.poll();
+        }, properties, executorProperties());
+
+        int relayed = loop.drain("ingest.task.ready");
+
+        Assertions.assertEquals(5, relayed);
+        Assertions.assertEquals(3, commands.size());
+        Assertions.assertEquals("node-1/relay", commands.get(0).leaseOwner());
+        Assertions.assertEquals(2, commands.get(0).batchSize());
+        Assertions.assertEquals(1, results.size());
+    }
+
+    @Test
+    void drainShouldStopOnEmptyChannel() {
+        // 频道为空时只查询一次
+        List<OutboxRelayCommand> commands = new ArrayList<>();
+        OutboxRelayLoop loop = new OutboxRelayLoop(command -> {
+            commands.add(command);
+            return new OutboxRelayResult(0, 0, 0, 0, 0);
+        }, new OutboxRelayProperties(), executorProperties());
+
+        Assertions.assertEquals(0, loop.drain("ingest.task.ready"));
+        Assertions.assertEquals(1, commands.size());
+    }
+
+    private static HarvestExecutorProperties executorProperties() {
+        HarvestExecutorProperties properties = new HarvestExecutorProperties();
+        properties.setWorkerId("node-1");
+        return properties;
+    }
+}
@@ -250,6 +250,7 @@ public class TaskAggregate extends AggregateRoot<Long> {
 
     /**
      * 在补偿场景下重置任务状态，回退到排队态。
+     * 历史运行的检查点保留不动，重新执行时从最近一次已提交的批次续跑。
      */
     public void prepareForRetry() {
         releaseLease();
@@ -31,6 +31,8 @@ public class CursorEvent {
     private final BigDecimal newNumeric;
     private final CursorLineage lineage;
     private final String exprHash;
+    /** 落库时间（仅从库中还原时有值） */
+    private final Instant createdAt;
 
     private CursorEvent(Long id,
                         String provenanceCode,
@@ -51,7 +53,8 @@ public class CursorEvent {
                         BigDecimal prevNumeric,
                         BigDecimal newNumeric,
                         CursorLineage lineage,
-                        String exprHash) {
+                        String exprHash,
+                        Instant createdAt) {
         this.id = id;
         this.provenanceCode = provenanceCode;
         this.operationCode = operationCode;
@@ -72,6 +75,7 @@ public class CursorEvent {
         this.newNumeric = newNumeric;
         this.lineage = lineage == null ? CursorLineage.empty() : lineage;
         this.exprHash = exprHash;
+        this.createdAt = createdAt;
     }
 
     public static CursorEvent restore(Long id,
@@ -113,6 +117,54 @@ public class CursorEvent {
                 prevNumeric,
                 newNumeric,
                 lineage,
-                exprHash);
+                exprHash,
+                null);
+    }
+
+    /**
+     * 从库中还原（携带落库时间，供压缩按时间分段）。
+     */
+    public static CursorEvent restore(Long id,
+                                      String provenanceCode,
+                                      String operationCode,
+                                      String cursorKey,
+                                      String namespaceScopeCode,
+                                      String namespaceKey,
+                                      CursorType cursorType,
+                                      String prevValue,
+                                      String newValue,
+                                      Instant windowFrom,
+                                      Instant windowTo,
+                                      CursorDirection direction,
+                                      String idempotentKey,
+                                      String observedMaxValue,
+                                      Instant prevInstant,
+                                      Instant newInstant,
+                                      BigDecimal prevNumeric,
+                                      BigDecimal newNumeric,
+                                      CursorLineage lineage,
+                                      String exprHash,
+                                      Instant createdAt) {
+        return new CursorEvent(id,
+                provenanceCode,
+                operationCode,
+                cursorKey,
+                namespaceScopeCode,
+                namespaceKey,
+                cursorType,
+                prevValue,
+                newValue,
+                windowFrom,
+                windowTo,
+                direction,
+                idempotentKey,
+                observedMaxValue,
+                prevInstant,
+                newInstant,
+                prevNumeric,
+                newNumeric,
+                lineage,
+                exprHash,
+                createdAt);
     }
 }
@@ -0,0 +1,143 @@
+package com.patra.ingest.domain.model.entity;
+
+import com.patra.ingest.domain.model.enums.CursorType;
+import com.patra.ingest.domain.model.vo.CursorLineage;
+import com.patra.ingest.domain.model.vo.CursorValue;
+import java.time.Instant;
+import lombok.Getter;
+
+/** 游标事件快照：某命名空间在一个时间段内全部推进事件的折叠结果（起点值、终点值与事件区间）。 */
+@Getter
+public class CursorSnapshot {
+    private final Long id;
+    private final String provenanceCode;
+    private final String operationCode;
+    private final String cursorKey;
+    private final String namespaceScopeCode;
+    private final String namespaceKey;
+    private final CursorType cursorType;
+    /** 时间段起（含） */
+    private final Instant periodStart;
+    /** 时间段止（不含） */
+    private final Instant periodEnd;
+    private final long eventCount;
+    private final Long firstEventId;
+    private final Long lastEventId;
+    /** 首个事件推进前的值 */
+    private final CursorValue baseValue;
+    /** 末个事件推进后的值 */
+    private final CursorValue lastValue;
+    private final Instant windowFrom;
+    private final Instant windowTo;
+    /** 末个事件的链路 */
+    private final CursorLineage lastLineage;
+    private final String exprHash;
+
+    private CursorSnapshot(Long id,
+                           String provenanceCode,
+                           String operationCode,
+                           String cursorKey,
+                           String namespaceScopeCode,
+                           String namespaceKey,
+                           CursorType cursorType,
+                           Instant periodStart,
+                           Instant periodEnd,
+                           long eventCount,
+                           Long firstEventId,
+                           Long lastEventId,
+                           CursorValue baseValue,
+                           CursorValue lastValue,
+                           Instant windowFrom,
+                           Instant windowTo,
+                           CursorLineage lastLineage,
+                           String exprHash) {
+        this.id = id;
+        this.provenanceCode = provenanceCode;
+        this.operationCode = operationCode;
+        this.cursorKey = cursorKey;
+        this.namespaceScopeCode = namespaceScopeCode;
+        this.namespaceKey = namespaceKey;
+        this.cursorType = cursorType;
+        this.periodStart = periodStart;
+        this.periodEnd = periodEnd;
+        this.eventCount = eventCount;
+        this.firstEventId = firstEventId;
+        this.lastEventId = lastEventId;
+        this.baseValue = baseValue;
+        this.lastValue = lastValue;
+        this.windowFrom = windowFrom;
+        this.windowTo = windowTo;
+        this.lastLineage = lastLineage == null ? CursorLineage.empty() : lastLineage;
+        this.exprHash = exprHash;
+    }
+
+    public static CursorSnapshot restore(Long id,
+                                         String provenanceCode,
+                                         String operationCode,
+                                         String cursorKey,
+                                         String namespaceScopeCode,
+                                         String namespaceKey,
+                                         CursorType cursorType,
+                                         Instant periodStart,
+                                         Instant periodEnd,
+                                         long eventCount,
+                                         Long firstEventId,
+                                         Long lastEventId,
+                                         CursorValue baseValue,
+                                         CursorValue lastValue,
+                                         Instant windowFrom,
+                                         Instant windowTo,
+                                         CursorLineage lastLineage,
+                                         String exprHash) {
+        return new CursorSnapshot(id, provenanceCode, operationCode, cursorKey, namespaceScopeCode, namespaceKey,
+                cursorType, periodStart, periodEnd, eventCount, firstEventId, lastEventId, baseValue, lastValue,
+                windowFrom, windowTo, lastLineage, exprHash);
+    }
+
+    /**
+     * 以单个事件开启一个时间段的快照。
+     */
+    public static CursorSnapshot of(CursorEvent event, Instant periodStart, Instant periodEnd) {
+        CursorType type = event.getCursorType();
+        return new CursorSnapshot(null, event.getProvenanceCode(), event.getOperationCode(), event.getCursorKey(),
+                event.getNamespaceScopeCode(), event.getNamespaceKey(), type, periodStart, periodEnd, 1L,
+                event.getId(), event.getId(),
+                event.getPrevValue() == null ? null
+                        : new CursorValue(type, event.getPrevValue(), event.getPrevInstant(), event.getPrevNumeric()),
+                new CursorValue(type, event.getNewValue(), event.getNewInstant(), event.getNewNumeric()),
+                event.getWindowFrom(), event.getWindowTo(), event.getLineage(), event.getExprHash());
+    }
+
+    /**
+     * 折叠同一命名空间、同一时间段中 ID 更大的事件。
+     */
+    public CursorSnapshot fold(CursorEvent event) {
+        boolean later = lastEventId == null || (event.getId() != null && event.getId() > lastEventId);
+        boolean earlier = firstEventId == null || (event.getId() != null && event.getId() < firstEventId);
+        CursorSnapshot single = of(event, periodStart, periodEnd);
+        return new CursorSnapshot(id, provenanceCode, operationCode, cursorKey, namespaceScopeCode, namespaceKey,
+                cursorType, periodStart, periodEnd, eventCount + 1,
+                earlier ? single.firstEventId : firstEventId,
+                later ? single.lastEventId : lastEventId,
+                earlier ? single.baseValue : baseValue,
+                later ? single.lastValue : lastValue,
+                earliest(windowFrom, single.windowFrom),
+                latest(windowTo, single.windowTo),
+                later ? single.lastLineage : lastLineage,
+                later && single.exprHash != null ? single.exprHash : exprHash);
+    }
+
+    private static Instant earliest(Instant left, Instant right) {
+        if (left == null) {
+            return right;
+        }
+        return right == null || !right.isBefore(left) ? left : right;
+    }
+
+    private static Instant latest(Instant left, Instant right) {
+        if (left == null) {
+            return right;
+        }
+        return right == null || !right.isAfter(left) ? left : right;
+    }
+}
@@ -143,4 +143,10 @@ public class TaskRun {
         error = err;
         finishedAt = now;
     }
+
+    public void cancel(String reason, Instant now) {
+        status = TaskRunStatus.CANCELLED;
+        error = reason;
+        finishedAt = now;
+    }
 }
@@ -3,11 +3,12 @@ package com.patra.ingest.domain.model.enums;
 import lombok.Getter;
 
 /** 采集端点（非DICT，字段：endpoint_name）。
- * <p>目前仅 SEARCH；如扩展请同步注释与使用点。</p>
+ * <p>SEARCH 产出记录标识，DETAIL 按标识批量拉取详情；如扩展请同步注释与使用点。</p>
  */
 @Getter
 public enum Endpoint {
-    SEARCH("SEARCH", "搜索端点");
+    SEARCH("SEARCH", "搜索端点"),
+    DETAIL("DETAIL", "详情端点");
 
     private final String code; private final String description;
     Endpoint(String code, String description){ this.code=code; this.description=description; }
@@ -0,0 +1,26 @@
+package com.patra.ingest.domain.model.vo;
+
+import java.time.Instant;
+
+/**
+ * Outbox 单条消息的发布结果，供按状态批量回写。
+ */
+public record OutboxDeliveryOutcome(Long id,
+                                    int retryCount,
+                                    Instant nextRetryAt,
+                                    String msgId,
+                                    String errorCode,
+                                    String errorMsg) {
+
+    public static OutboxDeliveryOutcome published(Long id, String msgId) {
+        return new OutboxDeliveryOutcome(id, 0, null, msgId, null, null);
+    }
+
+    public static OutboxDeliveryOutcome retry(Long id, int retryCount, Instant nextRetryAt, String errorCode, String errorMsg) {
+        return new OutboxDeliveryOutcome(id, retryCount, nextRetryAt, null, errorCode, errorMsg);
+    }
+
+    public static OutboxDeliveryOutcome dead(Long id, int retryCount, String errorCode, String errorMsg) {
+        return new OutboxDeliveryOutcome(id, retryCount, null, null, errorCode, errorMsg);
+    }
+}
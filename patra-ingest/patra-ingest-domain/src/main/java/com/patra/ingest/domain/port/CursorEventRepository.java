@@ -1,6 +1,35 @@
 package com.patra.ingest.domain.port;
 
 import com.patra.ingest.domain.model.entity.CursorEvent;
+
+import java.time.Instant;
+import java.util.List;
+
 public interface CursorEventRepository {
     CursorEvent save(CursorEvent event);
+
+    /**
+     * 批量追加推进事件；幂等键已存在的事件被忽略。
+     * @return 实际写入的事件数
+     */
+    int appendAll(List<CursorEvent> events);
+
+    /**
+     * 按落库先后锁定早于指定时间的事件（跳过其他节点已锁定的行），供压缩折叠。
+     * @param before 截止时间（不含）
+     * @param limit 单批上限
+     */
+    List<CursorEvent> lockCompactable(Instant before, int limit);
+
+    /**
+     * 物理删除已折叠进快照的事件。
+     * @return 实际删除的行数
+     */
+    int deleteByIds(List<Long> ids);
+
+    /**
+     * 命名空间最近的推进事件，按 ID 倒序。
+     */
+    List<CursorEvent> findRecent(String provenanceCode, String operationCode, String cursorKey,
+                                 String namespaceScope, String namespaceKey, int limit);
 }
@@ -3,6 +3,7 @@ package com.patra.ingest.domain.port;
 import com.patra.ingest.domain.model.entity.Cursor;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 public interface CursorRepository {
@@ -10,10 +11,16 @@ public interface CursorRepository {
     Cursor save(Cursor cursor);
 
     /**
-     * 查询 GLOBAL 命名空间、TIME 类型游标的最新标准化时间水位。
+     * 按 (provenance, operation, cursor_key, namespace) 批量插入或推进游标；库中水位已不低于新值时保持原值，保证只进不退。
+     * @param cursors 待写入的游标（同一命名空间至多一条）
+     */
+    void upsertAll(List<Cursor> cursors);
+
+    /**
+     * 查询 GLOBAL 命名空间、TIME 类型游标的最大标准化时间水位。
      * @param provenanceCode 来源编码
-     * @param operationCode 操作编码（可空时忽略条件）
-     * @return 最新水位时间（不存在则 empty）
+     * @param operationCode 操作编码（可空时忽略条件，取该来源各操作水位的最大值）
+     * @return 最大水位时间（不存在则 empty）
      */
     Optional<Instant> findLatestGlobalTimeWatermark(String provenanceCode, String operationCode);
 }
@@ -0,0 +1,21 @@
+package com.patra.ingest.domain.port;
+
+import com.patra.ingest.domain.model.entity.CursorSnapshot;
+
+import java.util.List;
+
+public interface CursorSnapshotRepository {
+
+    /**
+     * 按 (provenance, operation, cursor_key, namespace, period_start) 批量合并快照：
+     * 事件数累加，起点取事件 ID 更小的一侧，终点取事件 ID 更大的一侧。
+     * @param snapshots 待合并的快照（同一命名空间同一时间段至多一条）
+     */
+    void mergeAll(List<CursorSnapshot> snapshots);
+
+    /**
+     * 命名空间最近的快照，按时间段倒序。
+     */
+    List<CursorSnapshot> findRecent(String provenanceCode, String operationCode, String cursorKey,
+                                    String namespaceScope, String namespaceKey, int limit);
+}
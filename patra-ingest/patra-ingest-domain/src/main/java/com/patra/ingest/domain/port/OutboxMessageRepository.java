@@ -15,4 +15,9 @@ public interface OutboxMessageRepository {
     void saveOrUpdate(OutboxMessage message);
 
     Optional<OutboxMessage> findByChannelAndDedup(String channel, String dedupKey);
+
+    /**
+     * 按 (channel, dedup_key) 批量插入；已存在的记录重置为 PENDING 并刷新载荷。
+     */
+    void upsertAll(List<OutboxMessage> messages);
 }
@@ -1,6 +1,7 @@
 package com.patra.ingest.domain.port;
 
 import com.patra.ingest.domain.model.entity.OutboxMessage;
+import com.patra.ingest.domain.model.vo.OutboxDeliveryOutcome;
 
 import java.time.Instant;
 import java.util.List;
@@ -11,7 +12,8 @@ import java.util.List;
 public interface OutboxRelayRepository {
 
     /**
-     * 按频道锁定可发布的 Outbox 记录，采用 FOR UPDATE SKIP LOCKED 防止重复消费。
+     * 按频道锁定可发布的 Outbox 记录（含租约已过期的 PUBLISHING 记录），采用 FOR UPDATE SKIP LOCKED 防止重复消费。
+     * 同分区键存在更早且尚未放行的记录（等待重试或租约未过期的在途记录）时，该分区的后续记录不在本次结果内。
      *
      * @param channel   出站频道
      * @param available 当前可发布时间基准
@@ -21,38 +23,34 @@ public interface OutboxRelayRepository {
     List<OutboxMessage> lockPending(String channel, Instant available, int limit);
 
     /**
-     * 抢占租约并标记为发布中。
+     * 一次性抢占一批记录的租约并标记为发布中（PENDING 或租约已过期的 PUBLISHING）。
      *
-     * @param id             Outbox 主键
-     * @param expectedStatus 预期状态
-     * @param expectedVersion 乐观锁版本
-     * @param leaseOwner     租约持有者
-     * @param leaseExpireAt  租约到期时间
-     * @return 是否抢占成功
+     * @param ids           Outbox 主键
+     * @param leaseOwner    租约持有者
+     * @param now           当前时间，用于判定租约过期
+     * @param leaseExpireAt 租约到期时间
+     * @return 实际抢占的行数
      */
-    boolean markPublishing(Long id, String expectedStatus, Long expectedVersion, String leaseOwner, Instant leaseExpireAt);
+    int markPublishingBatch(List<Long> ids, String leaseOwner, Instant now, Instant leaseExpireAt);
 
     /**
-     * 发布成功，标记为 PUBLISHED。
+     * 批量标记发布成功；仅更新仍由该持有者租用的记录。
+     *
+     * @return 实际更新的行数
      */
-    void markPublished(Long id, Long expectedVersion, String msgId);
+    int markPublishedBatch(List<OutboxDeliveryOutcome> outcomes, String leaseOwner);
 
     /**
-     * 发布失败，计算下一次重试。
+     * 批量写回重试；仅更新仍由该持有者租用的记录。
+     *
+     * @return 实际更新的行数
      */
-    void markRetry(Long id,
-                   Long expectedVersion,
-                   int retryCount,
-                   Instant nextRetryAt,
-                   String errorCode,
-                   String errorMsg);
+    int markRetryBatch(List<OutboxDeliveryOutcome> outcomes, String leaseOwner);
 
     /**
-     * 达到重试上限，标记为 DEAD。
+     * 批量标记 DEAD；仅更新仍由该持有者租用的记录。
+     *
+     * @return 实际更新的行数
      */
-    void markDead(Long id,
-                  Long expectedVersion,
-                  int retryCount,
-                  String errorCode,
-                  String errorMsg);
+    int markDeadBatch(List<OutboxDeliveryOutcome> outcomes, String leaseOwner);
 }
@@ -2,6 +2,7 @@ package com.patra.ingest.domain.port;
 
 import com.patra.ingest.domain.model.aggregate.PlanAggregate;
 
+import java.time.Instant;
 import java.util.Optional;
 
 /**
@@ -14,9 +15,15 @@ public interface PlanRepository {
     /** 保存或更新计划聚合 */
     PlanAggregate save(PlanAggregate plan);
 
+    /** 根据计划 ID 查询计划 */
+    Optional<PlanAggregate> findById(Long planId);
+
     /** 根据 planKey 查询计划 */
     Optional<PlanAggregate> findByPlanKey(String planKey);
 
     /** 判断 planKey 是否存在 */
     boolean existsByPlanKey(String planKey);
+
+    /** 查询落在 [rangeFrom, rangeTo] 内的计划的最大窗口终点，用于流式回灌续接 */
+    Optional<Instant> findMaxWindowTo(String provenanceCode, String operationCode, Instant rangeFrom, Instant rangeTo);
 }
@@ -3,6 +3,7 @@ package com.patra.ingest.domain.port;
 import com.patra.ingest.domain.model.aggregate.PlanSliceAggregate;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface PlanSliceRepository {
     PlanSliceAggregate save(PlanSliceAggregate slice);
@@ -10,4 +11,10 @@ public interface PlanSliceRepository {
     List<PlanSliceAggregate> saveAll(List<PlanSliceAggregate> slices);
 
     List<PlanSliceAggregate> findByPlanId(Long planId);
+
+    /** 根据切片 ID 查询切片 */
+    Optional<PlanSliceAggregate> findById(Long sliceId);
+
+    /** 查询计划下当前最大的切片序号，无切片时返回 0 */
+    int findMaxSequence(Long planId);
 }
@@ -2,6 +2,10 @@ package com.patra.ingest.domain.port;
 
 import com.patra.ingest.domain.model.aggregate.ScheduleInstanceAggregate;
 
+import java.util.Optional;
+
 public interface ScheduleInstanceRepository {
     ScheduleInstanceAggregate saveOrUpdateInstance(ScheduleInstanceAggregate instance);
+
+    Optional<ScheduleInstanceAggregate> findById(Long id);
 }
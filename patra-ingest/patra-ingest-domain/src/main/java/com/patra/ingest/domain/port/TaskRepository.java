@@ -1,8 +1,13 @@
 package com.patra.ingest.domain.port;
 
 import com.patra.ingest.domain.model.aggregate.TaskAggregate;
+import com.patra.ingest.domain.model.enums.TaskStatus;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * 任务仓储端口定义。
@@ -20,8 +25,43 @@ public interface TaskRepository {
     /** 根据计划 ID 查询任务 */
     List<TaskAggregate> findByPlanId(Long planId);
 
+    /** 根据任务 ID 查询任务 */
+    Optional<TaskAggregate> findById(Long taskId);
+
+    /**
+     * 切片下是否已有成功（SUCCEEDED）的任务。
+     */
+    boolean hasSucceededTask(Long sliceId);
+
     /**
      * 统计排队中的任务数量（status_code=QUEUED），可按来源/操作可选过滤。
      */
     long countQueuedTasks(String provenanceCode, String operationCode);
+
+    /**
+     * 集合式补偿：将计划下 FAILED/CANCELLED 的任务一次性回退为 QUEUED（排除指定切片），返回受影响的任务 ID。
+     */
+    List<Long> requeueRetryable(Long planId, Collection<Long> excludedSliceIds);
+
+    /**
+     * 条件抢占租约：任务处于 QUEUED（或 RUNNING 但租约已过期）时置为 RUNNING 并写入租约，返回是否抢占成功。
+     */
+    boolean acquireLease(Long taskId, String owner, Instant leasedUntil, Instant now, String correlationId);
+
+    /**
+     * 续约：仅当租约仍由 owner 持有时延长到期时间并刷新心跳，返回是否续约成功。
+     */
+    boolean renewLease(Long taskId, String owner, Instant leasedUntil, Instant now);
+
+    /**
+     * 结束租约：仅当租约仍由 owner 持有时写入终态与错误信息并释放租约，返回是否生效。
+     */
+    boolean completeLease(Long taskId, String owner, TaskStatus status, Instant finishedAt, String errorCode, String errorMsg);
+
+    List<TaskAggregate> claimBatch(String owner, int limit, Duration leaseDuration);
+
+    /**
+     * 批量续约：仅续约给定任务中仍由 owner 持有的租约，返回续约行数。
+     */
+    int renewLeases(String owner, Collection<Long> taskIds, Instant leasedUntil, Instant now);
 }
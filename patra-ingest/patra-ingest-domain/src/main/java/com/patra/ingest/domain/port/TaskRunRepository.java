@@ -8,4 +8,5 @@ public interface TaskRunRepository {
     TaskRun save(TaskRun run);
     Optional<TaskRun> findLatest(Long taskId); // 按 attemptNo DESC 取 1
     List<TaskRun> findAll(Long taskId);
+    List<TaskRun> findRecentSucceeded(String provenanceCode, String operationCode, int limit); // 带窗口的成功运行，按 finishedAt DESC
 }
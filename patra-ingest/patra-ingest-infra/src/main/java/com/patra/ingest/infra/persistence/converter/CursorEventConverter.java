@@ -80,6 +80,7 @@ public interface CursorEventConverter {
                 entity.getPrevNumeric(),
                 entity.getNewNumeric(),
                 lineage,
-                entity.getExprHash());
+                entity.getExprHash(),
+                entity.getCreatedAt());
     }
 }
@@ -0,0 +1,94 @@
+package com.patra.ingest.infra.persistence.converter;
+
+import com.patra.ingest.domain.model.entity.CursorSnapshot;
+import com.patra.ingest.domain.model.enums.CursorType;
+import com.patra.ingest.domain.model.vo.CursorLineage;
+import com.patra.ingest.domain.model.vo.CursorValue;
+import com.patra.ingest.infra.persistence.entity.CursorSnapshotDO;
+import org.mapstruct.Mapper;
+import org.mapstruct.ReportingPolicy;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface CursorSnapshotConverter {
+
+    default CursorSnapshotDO toDO(CursorSnapshot source) {
+        if (source == null) {
+            return null;
+        }
+        CursorSnapshotDO entity = new CursorSnapshotDO();
+        entity.setId(source.getId());
+        entity.setProvenanceCode(source.getProvenanceCode());
+        entity.setOperationCode(source.getOperationCode());
+        entity.setCursorKey(source.getCursorKey());
+        entity.setNamespaceScopeCode(source.getNamespaceScopeCode());
+        entity.setNamespaceKey(source.getNamespaceKey());
+        entity.setCursorTypeCode(source.getCursorType() == null ? null : source.getCursorType().getCode());
+        entity.setPeriodStart(source.getPeriodStart());
+        entity.setPeriodEnd(source.getPeriodEnd());
+        entity.setEventCount(source.getEventCount());
+        entity.setFirstEventId(source.getFirstEventId());
+        entity.setLastEventId(source.getLastEventId());
+        CursorValue base = source.getBaseValue();
+        if (base != null) {
+            entity.setBaseValue(base.raw());
+            entity.setBaseInstant(base.instant());
+            entity.setBaseNumeric(base.numeric());
+        }
+        CursorValue last = source.getLastValue();
+        if (last != null) {
+            entity.setLastValue(last.raw());
+            entity.setLastInstant(last.instant());
+            entity.setLastNumeric(last.numeric());
+        }
+        entity.setWindowFrom(source.getWindowFrom());
+        entity.setWindowTo(source.getWindowTo());
+        CursorLineage lineage = source.getLastLineage();
+        if (lineage != null) {
+            entity.setScheduleInstanceId(lineage.scheduleInstanceId());
+            entity.setPlanId(lineage.planId());
+            entity.setSliceId(lineage.sliceId());
+            entity.setTaskId(lineage.taskId());
+            entity.setRunId(lineage.runId());
+            entity.setBatchId(lineage.batchId());
+        }
+        entity.setExprHash(source.getExprHash());
+        return entity;
+    }
+
+    default CursorSnapshot toDomain(CursorSnapshotDO entity) {
+        if (entity == null) {
+            return null;
+        }
+        CursorType type = entity.getCursorTypeCode() == null ? null : CursorType.fromCode(entity.getCursorTypeCode());
+        CursorValue base = entity.getBaseValue() == null ? null
+                : new CursorValue(type, entity.getBaseValue(), entity.getBaseInstant(), entity.getBaseNumeric());
+        CursorValue last = entity.getLastValue() == null ? null
+                : new CursorValue(type, entity.getLastValue(), entity.getLastInstant(), entity.getLastNumeric());
+        CursorLineage lineage = new CursorLineage(
+                entity.getScheduleInstanceId(),
+                entity.getPlanId(),
+                entity.getSliceId(),
+                entity.getTaskId(),
+                entity.getRunId(),
+                entity.getBatchId());
+        return CursorSnapshot.restore(
+                entity.getId(),
+                entity.getProvenanceCode(),
+                entity.getOperationCode(),
+                entity.getCursorKey(),
+                entity.getNamespaceScopeCode(),
+                entity.getNamespaceKey(),
+                type,
+                entity.getPeriodStart(),
+                entity.getPeriodEnd(),
+                entity.getEventCount() == null ? 0L : entity.getEventCount(),
+                entity.getFirstEventId(),
+                entity.getLastEventId(),
+                base,
+                last,
+                entity.getWindowFrom(),
+                entity.getWindowTo(),
+                lineage,
+                entity.getExprHash());
+    }
+}
@@ -0,0 +1,131 @@
+package com.patra.ingest.infra.persistence.entity;
+
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.patra.starter.mybatis.entity.BaseDO.BaseDO;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * <p><b>游标事件快照 DO</b> —— 映射表：<code>ing_cursor_snapshot</code></p>
+ * <p>语义：某命名空间在一个时间段内推进事件的折叠结果，替代已压缩删除的 <code>ing_cursor_event</code> 行。</p>
+ * <p>要点：
+ * <ul>
+ *   <li>命名空间 + <code>period_start</code> 唯一（UK：uk_cur_snap_period），多次压缩同一时间段时合并。</li>
+ *   <li><code>base_*</code> 为首个事件推进前的值，<code>last_*</code> 为末个事件推进后的值，回放时与其后的事件首尾相接。</li>
+ *   <li>链路冗余字段记录末个事件的 schedule/plan/slice/task/run/batch。</li>
+ * </ul>
+ * </p>
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@TableName("ing_cursor_snapshot")
+public class CursorSnapshotDO extends BaseDO {
+
+    /** 来源代码 */
+    @TableField("provenance_code")
+    private String provenanceCode;
+
+    /** 操作类型编码 */
+    @TableField("operation_code")
+    private String operationCode;
+
+    /** 游标逻辑键 */
+    @TableField("cursor_key")
+    private String cursorKey;
+
+    /** 命名空间作用域 */
+    @TableField("namespace_scope_code")
+    private String namespaceScopeCode;
+
+    /** 命名空间键 */
+    @TableField("namespace_key")
+    private String namespaceKey;
+
+    /** 游标类型（DICT：ing_cursor_type） */
+    @TableField("cursor_type_code")
+    private String cursorTypeCode;
+
+    /** 时间段起（UTC，含） */
+    @TableField("period_start")
+    private Instant periodStart;
+
+    /** 时间段止（UTC，不含） */
+    @TableField("period_end")
+    private Instant periodEnd;
+
+    /** 折叠的事件数 */
+    @TableField("event_count")
+    private Long eventCount;
+
+    /** 折叠的最小事件 ID */
+    @TableField("first_event_id")
+    private Long firstEventId;
+
+    /** 折叠的最大事件 ID */
+    @TableField("last_event_id")
+    private Long lastEventId;
+
+    /** 首个事件推进前的原始值 */
+    @TableField("base_value")
+    private String baseValue;
+
+    /** 首个事件推进前的归一化时间 */
+    @TableField("base_instant")
+    private Instant baseInstant;
+
+    /** 首个事件推进前的归一化数值 */
+    @TableField("base_numeric")
+    private BigDecimal baseNumeric;
+
+    /** 末个事件推进后的原始值 */
+    @TableField("last_value")
+    private String lastValue;
+
+    /** 末个事件推进后的归一化时间 */
+    @TableField("last_instant")
+    private Instant lastInstant;
+
+    /** 末个事件推进后的归一化数值 */
+    @TableField("last_numeric")
+    private BigDecimal lastNumeric;
+
+    /** 覆盖窗口起点（UTC，含） */
+    @TableField("window_from")
+    private Instant windowFrom;
+
+    /** 覆盖窗口终点（UTC，不含） */
+    @TableField("window_to")
+    private Instant windowTo;
+
+    /** 末个事件关联的调度实例 */
+    @TableField("schedule_instance_id")
+    private Long scheduleInstanceId;
+
+    /** 末个事件关联的计划 */
+    @TableField("plan_id")
+    private Long planId;
+
+    /** 末个事件关联的切片 */
+    @TableField("slice_id")
+    private Long sliceId;
+
+    /** 末个事件关联的任务 */
+    @TableField("task_id")
+    private Long taskId;
+
+    /** 末个事件关联的运行 */
+    @TableField("run_id")
+    private Long runId;
+
+    /** 末个事件关联的批次 */
+    @TableField("batch_id")
+    private Long batchId;
+
+    /** 末个事件的表达式哈希 */
+    @TableField("expr_hash")
+    private String exprHash;
+}
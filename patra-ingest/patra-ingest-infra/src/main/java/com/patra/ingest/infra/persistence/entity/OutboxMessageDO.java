@@ -20,8 +20,8 @@ import java.time.Instant;
  * 关键规则：
  * <ul>
  *   <li>幂等：(<code>channel</code>, <code>dedup_key</code>) 唯一（UK：uk_outbox_channel_dedup），保障源端去重；可安全重试。</li>
- *   <li>顺序/分区：<code>partition_key</code> 建议取值 "<code>provenance:operation</code>"，
- *       通过索引 <code>idx_outbox_partition(channel, partition_key, status_code)</code> 控制并发与保序（例如：<code>PUBMED:HARVEST</code>）。</li>
+ *   <li>顺序/分区：<code>partition_key</code> 取需要保序的最小范围，任务消息取 "<code>provenance:operation:taskId</code>"，
+ *       通过索引 <code>idx_outbox_partition(channel, partition_key, status_code)</code> 控制并发与保序（例如：<code>PUBMED:HARVEST:1024</code>）。</li>
  *   <li>定时/延时：<code>not_before</code> 为最早可发布时间（UTC），NULL 表示随时可发；
  *       Relay 扫描通常按 <code>status_code</code> + 时间游标（<code>idx_outbox_status_time</code>）批量拉取。</li>
  *   <li>租约：<code>pub_lease_owner</code>/<code>pub_leased_until</code> 防止多 Relay 并发同一行；
@@ -85,7 +85,8 @@ public class OutboxMessageDO extends BaseDO {
 
     /**
      * 分片/顺序路由键。
-     * <p>建议格式：<code>"provenance:operation"</code>，例如 <code>PUBMED:HARVEST</code>。</p>
+     * <p>任务消息格式：<code>"provenance:operation:taskId"</code>，例如 <code>PUBMED:HARVEST:1024</code>；
+     * 同一分区键同一时刻只有一条在途消息，键越粗 Relay 越接近串行。</p>
      * <p>用途：在相同 <code>channel</code> 下控制分区并发与<strong>保序</strong>发布；
      * 命中索引 <code>idx_outbox_partition(channel, partition_key, status_code)</code>。</p>
      * <p>注意：不参与唯一去重；与 {@link #dedupKey} 语义独立。</p>
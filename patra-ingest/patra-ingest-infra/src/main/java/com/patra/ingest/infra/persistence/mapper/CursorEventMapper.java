@@ -3,7 +3,27 @@ package com.patra.ingest.infra.persistence.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.patra.ingest.infra.persistence.entity.CursorEventDO;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.Instant;
+import java.util.List;
 
 
 public interface CursorEventMapper extends BaseMapper<CursorEventDO> {
+
+    /**
+     * 多行追加推进事件，命中 uk_cur_evt_idem 的行保持不变。
+     */
+    int insertBatch(@Param("rows") List<CursorEventDO> rows);
+
+    /**
+     * 沿 idx_cur_evt_compact 按 created_at 锁定早于截止时间的事件，与折叠分段所用时间列一致。
+     */
+    List<CursorEventDO> lockCompactable(@Param("before") Instant before,
+                                        @Param("limit") int limit);
+
+    /**
+     * 物理删除指定事件（绕开逻辑删除）。
+     */
+    int deleteByIds(@Param("ids") List<Long> ids);
 }
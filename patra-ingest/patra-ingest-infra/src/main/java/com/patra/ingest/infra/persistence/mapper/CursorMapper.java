@@ -3,7 +3,15 @@ package com.patra.ingest.infra.persistence.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.patra.ingest.infra.persistence.entity.CursorDO;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
 
 
 public interface CursorMapper extends BaseMapper<CursorDO> {
+
+    /**
+     * 多行插入游标，命中 uk_cursor_ns 时仅在新水位更靠前时覆盖当前值与 lineage。
+     */
+    int upsertBatch(@Param("rows") List<CursorDO> rows);
 }
@@ -0,0 +1,16 @@
+package com.patra.ingest.infra.persistence.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.patra.ingest.infra.persistence.entity.CursorSnapshotDO;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+
+public interface CursorSnapshotMapper extends BaseMapper<CursorSnapshotDO> {
+
+    /**
+     * 多行插入快照，命中 uk_cur_snap_period 时与库中快照合并。
+     */
+    int mergeBatch(@Param("rows") List<CursorSnapshotDO> rows);
+}
@@ -1,6 +1,7 @@
 package com.patra.ingest.infra.persistence.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.patra.ingest.domain.model.vo.OutboxDeliveryOutcome;
 import com.patra.ingest.infra.persistence.entity.OutboxMessageDO;
 import org.apache.ibatis.annotations.Param;
 
@@ -12,31 +13,28 @@ public interface OutboxMessageMapper extends BaseMapper<OutboxMessageDO> {
     OutboxMessageDO findByChannelAndDedup(@Param("channel") String channel,
                                           @Param("dedupKey") String dedupKey);
 
+    int upsertBatch(@Param("messages") List<OutboxMessageDO> messages);
+
     List<OutboxMessageDO> lockPending(@Param("channel") String channel,
                                       @Param("status") String status,
                                       @Param("available") Instant available,
                                       @Param("limit") int limit);
 
-    int markPublishing(@Param("id") Long id,
-                       @Param("expectedStatus") String expectedStatus,
-                       @Param("expectedVersion") Long expectedVersion,
-                       @Param("leaseOwner") String leaseOwner,
-                       @Param("leaseExpireAt") Instant leaseExpireAt);
-
-    int markPublished(@Param("id") Long id,
-                      @Param("expectedVersion") Long expectedVersion,
-                      @Param("msgId") String msgId);
-
-    int markRetry(@Param("id") Long id,
-                  @Param("expectedVersion") Long expectedVersion,
-                  @Param("retryCount") int retryCount,
-                  @Param("nextRetryAt") Instant nextRetryAt,
-                  @Param("errorCode") String errorCode,
-                  @Param("errorMsg") String errorMsg);
-
-    int markDead(@Param("id") Long id,
-                 @Param("expectedVersion") Long expectedVersion,
-                 @Param("retryCount") int retryCount,
-                 @Param("errorCode") String errorCode,
-                 @Param("errorMsg") String errorMsg);
+    List<OutboxMessageDO> lockExpired(@Param("channel") String channel,
+                                      @Param("available") Instant available,
+                                      @Param("limit") int limit);
+
+    int markPublishingBatch(@Param("ids") List<Long> ids,
+                            @Param("leaseOwner") String leaseOwner,
+                            @Param("now") Instant now,
+                            @Param("leaseExpireAt") Instant leaseExpireAt);
+
+    int markPublishedBatch(@Param("outcomes") List<OutboxDeliveryOutcome> outcomes,
+                           @Param("leaseOwner") String leaseOwner);
+
+    int markRetryBatch(@Param("outcomes") List<OutboxDeliveryOutcome> outcomes,
+                       @Param("leaseOwner") String leaseOwner);
+
+    int markDeadBatch(@Param("outcomes") List<OutboxDeliveryOutcome> outcomes,
+                      @Param("leaseOwner") String leaseOwner);
 }
@@ -2,8 +2,72 @@ package com.patra.ingest.infra.persistence.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.patra.ingest.infra.persistence.entity.TaskDO;
-import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 
 
 public interface TaskMapper extends BaseMapper<TaskDO> {
+
+    /**
+     * 锁定计划下可重试（FAILED/CANCELLED）的任务 ID，排除指定切片。
+     */
+    List<Long> lockRetryableIds(@Param("planId") Long planId,
+                                @Param("excludedSliceIds") Collection<Long> excludedSliceIds);
+
+    /**
+     * 将指定任务一次性回退为 QUEUED，并清理租约与执行期上下文。
+     */
+    int requeueByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 条件抢占租约（QUEUED 或租约已过期的 RUNNING）。
+     */
+    int acquireLease(@Param("taskId") Long taskId,
+                     @Param("owner") String owner,
+                     @Param("leasedUntil") Instant leasedUntil,
+                     @Param("now") Instant now,
+                     @Param("correlationId") String correlationId);
+
+    /**
+     * 续约（不递增乐观锁版本，避免与聚合保存冲突）。
+     */
+    int renewLease(@Param("taskId") Long taskId,
+                   @Param("owner") String owner,
+                   @Param("leasedUntil") Instant leasedUntil,
+                   @Param("now") Instant now);
+
+    /**
+     * 写入终态并释放租约。
+     */
+    int completeLease(@Param("taskId") Long taskId,
+                      @Param("owner") String owner,
+                      @Param("statusCode") String statusCode,
+                      @Param("finishedAt") Instant finishedAt,
+                      @Param("errorCode") String errorCode,
+                      @Param("errorMsg") String errorMsg);
+
+    /**
+     * 强制走 idx_task_claim（V0.1.3）按 priority、scheduled_at、id 顺序锁定可领取的排队任务，跳过其他节点已锁定的行。
+     */
+    List<Long> lockClaimableIds(@Param("now") Instant now,
+                                @Param("limit") int limit);
+
+    /**
+     * 将已锁定的排队任务批量置为 RUNNING 并写入租约。
+     */
+    int claimByIds(@Param("ids") Collection<Long> ids,
+                   @Param("owner") String owner,
+                   @Param("leasedUntil") Instant leasedUntil,
+                   @Param("now") Instant now);
+
+    /**
+     * 批量续约给定任务中仍由持有者持有的租约（不递增乐观锁版本）。
+     */
+    int renewLeasesByIds(@Param("ids") Collection<Long> ids,
+                         @Param("owner") String owner,
+                         @Param("leasedUntil") Instant leasedUntil,
+                         @Param("now") Instant now);
 }
@@ -1,6 +1,6 @@
 package com.patra.ingest.infra.persistence.repository;
 
-import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.patra.ingest.domain.model.entity.CursorEvent;
 import com.patra.ingest.domain.port.CursorEventRepository;
 import com.patra.ingest.infra.persistence.converter.CursorEventConverter;
@@ -9,6 +9,7 @@ import com.patra.ingest.infra.persistence.mapper.CursorEventMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -26,4 +27,45 @@ public class CursorEventRepositoryMpImpl implements CursorEventRepository {
         CursorEventDO persisted = mapper.selectById(dto.getId());
         return converter.toDomain(persisted);
     }
+
+    @Override
+    public int appendAll(List<CursorEvent> events) {
+        if (events == null || events.isEmpty()) {
+            return 0;
+        }
+        return mapper.insertBatch(events.stream().map(converter::toDO).collect(Collectors.toList()));
+    }
+
+    @Override
+    public List<CursorEvent> lockCompactable(Instant before, int limit) {
+        if (before == null || limit <= 0) {
+            return List.of();
+        }
+        return mapper.lockCompactable(before, limit).stream().map(converter::toDomain).collect(Collectors.toList());
+    }
+
+    @Override
+    public int deleteByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        return mapper.deleteByIds(ids);
+    }
+
+    @Override
+    public List<CursorEvent> findRecent(String provenanceCode, String operationCode, String cursorKey,
+                                        String namespaceScope, String namespaceKey, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        List<CursorEventDO> rows = mapper.selectList(new QueryWrapper<CursorEventDO>()
+            .eq("provenance_code", provenanceCode)
+            .eq("operation_code", operationCode)
+            .eq("cursor_key", cursorKey)
+            .eq("namespace_scope_code", namespaceScope)
+            .eq("namespace_key", namespaceKey)
+            .orderByDesc("id")
+            .last("LIMIT " + limit));
+        return rows.stream().map(converter::toDomain).collect(Collectors.toList());
+    }
 }
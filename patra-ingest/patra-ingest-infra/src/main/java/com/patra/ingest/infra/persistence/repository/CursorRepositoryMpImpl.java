@@ -9,6 +9,7 @@ import com.patra.ingest.infra.persistence.mapper.CursorMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.time.Instant;
 
@@ -27,6 +28,14 @@ public class CursorRepositoryMpImpl implements CursorRepository {
         return converter.toDomain(persisted);
     }
 
+    @Override
+    public void upsertAll(List<Cursor> cursors) {
+        if (cursors == null || cursors.isEmpty()) {
+            return;
+        }
+        mapper.upsertBatch(cursors.stream().map(converter::toDO).toList());
+    }
+
     @Override
     public Optional<Cursor> find(String provenanceCode, String operationCode, String cursorKey, String namespaceScopeCode, String namespaceKey) {
         CursorDO found = mapper.selectOne(new QueryWrapper<CursorDO>()
@@ -40,14 +49,16 @@ public class CursorRepositoryMpImpl implements CursorRepository {
 
     @Override
     public Optional<Instant> findLatestGlobalTimeWatermark(String provenanceCode, String operationCode) {
+        // 仅取 normalized_instant 并按其取最大值（与水位注册表一致），配合 idx_cursor_watermark 覆盖查询
         QueryWrapper<CursorDO> wrapper = new QueryWrapper<>();
+        wrapper.select("normalized_instant");
         wrapper.eq("provenance_code", provenanceCode);
         if (operationCode != null) {
             wrapper.eq("operation_code", operationCode);
         }
         wrapper.eq("cursor_type_code", "TIME")
                .eq("namespace_scope_code", "GLOBAL")
-               .orderByDesc("updated_at")
+               .orderByDesc("normalized_instant")
                .last("LIMIT 1");
         CursorDO one = mapper.selectOne(wrapper);
         return Optional.ofNullable(one).map(CursorDO::getNormalizedInstant);
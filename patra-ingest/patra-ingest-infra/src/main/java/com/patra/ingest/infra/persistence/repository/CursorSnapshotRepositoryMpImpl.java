@@ -0,0 +1,46 @@
+package com.patra.ingest.infra.persistence.repository;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.patra.ingest.domain.model.entity.CursorSnapshot;
+import com.patra.ingest.domain.port.CursorSnapshotRepository;
+import com.patra.ingest.infra.persistence.converter.CursorSnapshotConverter;
+import com.patra.ingest.infra.persistence.entity.CursorSnapshotDO;
+import com.patra.ingest.infra.persistence.mapper.CursorSnapshotMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Repository
+@RequiredArgsConstructor
+public class CursorSnapshotRepositoryMpImpl implements CursorSnapshotRepository {
+
+    private final CursorSnapshotMapper mapper;
+    private final CursorSnapshotConverter converter;
+
+    @Override
+    public void mergeAll(List<CursorSnapshot> snapshots) {
+        if (snapshots == null || snapshots.isEmpty()) {
+            return;
+        }
+        mapper.mergeBatch(snapshots.stream().map(converter::toDO).collect(Collectors.toList()));
+    }
+
+    @Override
+    public List<CursorSnapshot> findRecent(String provenanceCode, String operationCode, String cursorKey,
+                                           String namespaceScope, String namespaceKey, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        List<CursorSnapshotDO> rows = mapper.selectList(new QueryWrapper<CursorSnapshotDO>()
+            .eq("provenance_code", provenanceCode)
+            .eq("operation_code", operationCode)
+            .eq("cursor_key", cursorKey)
+            .eq("namespace_scope_code", namespaceScope)
+            .eq("namespace_key", namespaceKey)
+            .orderByDesc("period_start")
+            .last("LIMIT " + limit));
+        return rows.stream().map(converter::toDomain).collect(Collectors.toList());
+    }
+}
@@ -2,6 +2,7 @@ package com.patra.ingest.infra.persistence.repository;
 
 import com.patra.ingest.domain.model.entity.OutboxMessage;
 import com.patra.ingest.domain.model.enums.OutboxStatus;
+import com.patra.ingest.domain.model.vo.OutboxDeliveryOutcome;
 import com.patra.ingest.domain.port.OutboxMessageRepository;
 import com.patra.ingest.domain.port.OutboxRelayRepository;
 import com.patra.ingest.infra.persistence.converter.OutboxMessageConverter;
@@ -11,7 +12,9 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,6 +25,9 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class OutboxMessageRepositoryMpImpl implements OutboxMessageRepository, OutboxRelayRepository {
 
+    /** 单条 upsert 语句的最大行数 */
+    private static final int UPSERT_CHUNK_SIZE = 500;
+
     private final OutboxMessageMapper mapper;
     private final OutboxMessageConverter converter;
 
@@ -55,45 +61,71 @@ public class OutboxMessageRepositoryMpImpl implements OutboxMessageRepository, O
         return Optional.ofNullable(entity).map(converter::toDomain);
     }
 
+    @Override
+    public void upsertAll(List<OutboxMessage> messages) {
+        if (messages == null || messages.isEmpty()) {
+            return;
+        }
+        List<OutboxMessageDO> entities = messages.stream().map(converter::toEntity).toList();
+        for (int from = 0; from < entities.size(); from += UPSERT_CHUNK_SIZE) {
+            mapper.upsertBatch(entities.subList(from, Math.min(from + UPSERT_CHUNK_SIZE, entities.size())));
+        }
+    }
+
     @Override
     public List<OutboxMessage> lockPending(String channel, Instant available, int limit) {
         if (limit <= 0) {
             return Collections.emptyList();
         }
-        List<OutboxMessageDO> entities = mapper.lockPending(channel, OutboxStatus.PENDING.name(), available, limit);
-        if (entities == null || entities.isEmpty()) {
+        // 两个分支各走自己的索引，按 ID 合并后取前 limit 条；多锁的尾部行在事务结束时释放
+        List<OutboxMessageDO> entities = new ArrayList<>();
+        List<OutboxMessageDO> pending = mapper.lockPending(channel, OutboxStatus.PENDING.name(), available, limit);
+        List<OutboxMessageDO> expired = mapper.lockExpired(channel, available, limit);
+        if (pending != null) {
+            entities.addAll(pending);
+        }
+        if (expired != null) {
+            entities.addAll(expired);
+        }
+        if (entities.isEmpty()) {
             return Collections.emptyList();
         }
-        return entities.stream().map(converter::toDomain).toList();
+        return entities.stream()
+                .sorted(Comparator.comparing(OutboxMessageDO::getId))
+                .limit(limit)
+                .map(converter::toDomain)
+                .toList();
     }
 
     @Override
-    public boolean markPublishing(Long id, String expectedStatus, Long expectedVersion, String leaseOwner, Instant leaseExpireAt) {
-        int updated = mapper.markPublishing(id, expectedStatus, expectedVersion, leaseOwner, leaseExpireAt);
-        return updated == 1;
+    public int markPublishingBatch(List<Long> ids, String leaseOwner, Instant now, Instant leaseExpireAt) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        return mapper.markPublishingBatch(ids, leaseOwner, now, leaseExpireAt);
     }
 
     @Override
-    public void markPublished(Long id, Long expectedVersion, String msgId) {
-        int updated = mapper.markPublished(id, expectedVersion, msgId);
-        if (updated != 1) {
-            throw new IllegalStateException("更新 Outbox 状态失败，id=" + id);
+    public int markPublishedBatch(List<OutboxDeliveryOutcome> outcomes, String leaseOwner) {
+        if (outcomes == null || outcomes.isEmpty()) {
+            return 0;
         }
+        return mapper.markPublishedBatch(outcomes, leaseOwner);
     }
 
     @Override
-    public void markRetry(Long id, Long expectedVersion, int retryCount, Instant nextRetryAt, String errorCode, String errorMsg) {
-        int updated = mapper.markRetry(id, expectedVersion, retryCount, nextRetryAt, errorCode, errorMsg);
-        if (updated != 1) {
-            throw new IllegalStateException("写回 Outbox 重试失败，id=" + id);
+    public int markRetryBatch(List<OutboxDeliveryOutcome> outcomes, String leaseOwner) {
+        if (outcomes == null || outcomes.isEmpty()) {
+            return 0;
         }
+        return mapper.markRetryBatch(outcomes, leaseOwner);
     }
 
     @Override
-    public void markDead(Long id, Long expectedVersion, int retryCount, String errorCode, String errorMsg) {
-        int updated = mapper.markDead(id, expectedVersion, retryCount, errorCode, errorMsg);
-        if (updated != 1) {
-            throw new IllegalStateException("标记 Outbox DEAD 失败，id=" + id);
+    public int markDeadBatch(List<OutboxDeliveryOutcome> outcomes, String leaseOwner) {
+        if (outcomes == null || outcomes.isEmpty()) {
+            return 0;
         }
+        return mapper.markDeadBatch(outcomes, leaseOwner);
     }
 }
@@ -1,5 +1,6 @@
 package com.patra.ingest.infra.persistence.repository;
 
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.patra.ingest.domain.model.aggregate.PlanAggregate;
 import com.patra.ingest.domain.port.PlanRepository;
 import com.patra.ingest.infra.persistence.converter.PlanConverter;
@@ -9,6 +10,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.Optional;
 
 /**
@@ -41,6 +43,17 @@ public class PlanRepositoryMpImpl implements PlanRepository {
         return planConverter.toAggregate(entity);
     }
 
+    /**
+     * 根据计划 ID 查询计划。
+     */
+    @Override
+    public Optional<PlanAggregate> findById(Long planId) {
+        if (planId == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(planMapper.selectById(planId)).map(planConverter::toAggregate);
+    }
+
     /**
      * 根据 planKey 查询计划。
      */
@@ -63,4 +76,20 @@ public class PlanRepositoryMpImpl implements PlanRepository {
         }
         return planMapper.countByPlanKey(planKey) > 0;
     }
+
+    /**
+     * 查询范围内计划的最大窗口终点。
+     */
+    @Override
+    public Optional<Instant> findMaxWindowTo(String provenanceCode, String operationCode, Instant rangeFrom, Instant rangeTo) {
+        PlanDO entity = planMapper.selectOne(new QueryWrapper<PlanDO>()
+                .select("window_to")
+                .eq("provenance_code", provenanceCode)
+                .eq("operation_code", operationCode)
+                .ge("window_from", rangeFrom)
+                .le("window_to", rangeTo)
+                .orderByDesc("window_to")
+                .last("LIMIT 1"));
+        return Optional.ofNullable(entity).map(PlanDO::getWindowTo);
+    }
 }
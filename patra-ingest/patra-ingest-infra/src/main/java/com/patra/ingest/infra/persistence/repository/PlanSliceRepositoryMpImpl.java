@@ -11,6 +11,7 @@ import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Repository
@@ -47,4 +48,25 @@ public class PlanSliceRepositoryMpImpl implements PlanSliceRepository {
                 .map(converter::toAggregate)
                 .collect(Collectors.toList());
     }
+
+    @Override
+    public Optional<PlanSliceAggregate> findById(Long sliceId) {
+        if (sliceId == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(mapper.selectById(sliceId)).map(converter::toAggregate);
+    }
+
+    @Override
+    public int findMaxSequence(Long planId) {
+        if (planId == null) {
+            return 0;
+        }
+        PlanSliceDO latest = mapper.selectOne(new QueryWrapper<PlanSliceDO>()
+                .select("slice_no")
+                .eq("plan_id", planId)
+                .orderByDesc("slice_no")
+                .last("LIMIT 1"));
+        return latest == null || latest.getSliceNo() == null ? 0 : latest.getSliceNo();
+    }
 }
@@ -10,6 +10,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Slf4j
 @Repository
 @RequiredArgsConstructor
@@ -31,4 +33,12 @@ public class ScheduleInstanceRepositoryMpImpl implements ScheduleInstanceReposit
         mapper.insert(entity);
         return converter.toDomain(entity);
     }
+
+    @Override
+    public Optional<ScheduleInstanceAggregate> findById(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(mapper.selectById(id)).map(converter::toDomain);
+    }
 }
@@ -1,14 +1,21 @@
 package com.patra.ingest.infra.persistence.repository;
 
 import com.patra.ingest.domain.model.aggregate.TaskAggregate;
+import com.patra.ingest.domain.model.enums.TaskStatus;
 import com.patra.ingest.domain.port.TaskRepository;
 import com.patra.ingest.infra.persistence.converter.TaskConverter;
 import com.patra.ingest.infra.persistence.mapper.TaskMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.patra.ingest.infra.persistence.entity.TaskDO;
 
@@ -75,6 +82,30 @@ public class TaskRepositoryMpImpl implements TaskRepository {
         return aggregates;
     }
 
+    /**
+     * 根据任务 ID 查询任务。
+     */
+    @Override
+    public Optional<TaskAggregate> findById(Long taskId) {
+        if (taskId == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(mapper.selectById(taskId)).map(converter::toAggregate);
+    }
+
+    /**
+     * 沿 idx_task_slice (slice_id, status_code) 判断切片下是否存在成功任务。
+     */
+    @Override
+    public boolean hasSucceededTask(Long sliceId) {
+        if (sliceId == null) {
+            return false;
+        }
+        return mapper.exists(new QueryWrapper<TaskDO>()
+                .eq("slice_id", sliceId)
+                .eq("status_code", TaskStatus.SUCCEEDED.getCode()));
+    }
+
     /**
      * 统计排队中的任务数量。
      */
@@ -90,4 +121,88 @@ public class TaskRepositoryMpImpl implements TaskRepository {
         }
         return mapper.selectCount(wrapper);
     }
+
+    /**
+     * 锁定可重试任务后以单条 UPDATE 回退为 QUEUED（MySQL 无 RETURNING，需在同一事务内先锁定 ID）。
+     */
+    @Override
+    public List<Long> requeueRetryable(Long planId, Collection<Long> excludedSliceIds) {
+        if (planId == null) {
+            return List.of();
+        }
+        List<Long> ids = mapper.lockRetryableIds(planId, excludedSliceIds);
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        mapper.requeueByIds(ids);
+        return ids;
+    }
+
+    /**
+     * 条件 UPDATE 抢占租约，影响行数即抢占结果。
+     */
+    @Override
+    public boolean acquireLease(Long taskId, String owner, Instant leasedUntil, Instant now, String correlationId) {
+        if (taskId == null) {
+            return false;
+        }
+        return mapper.acquireLease(taskId, owner, leasedUntil, now, correlationId) == 1;
+    }
+
+    /**
+     * 按持有者续约。
+     */
+    @Override
+    public boolean renewLease(Long taskId, String owner, Instant leasedUntil, Instant now) {
+        if (taskId == null) {
+            return false;
+        }
+        return mapper.renewLease(taskId, owner, leasedUntil, now) == 1;
+    }
+
+    /**
+     * 按持有者写入终态并释放租约。
+     */
+    @Override
+    public boolean completeLease(Long taskId, String owner, TaskStatus status, Instant finishedAt, String errorCode, String errorMsg) {
+        if (taskId == null || status == null) {
+            return false;
+        }
+        return mapper.completeLease(taskId, owner, status.getCode(), finishedAt, errorCode, errorMsg) == 1;
+    }
+
+    /**
+     * 批量领取排队任务：SKIP LOCKED 锁定一批 ID 后以单条 UPDATE 写入租约，锁与更新须在同一事务内完成。
+     */
+    @Override
+    @Transactional
+    public List<TaskAggregate> claimBatch(String owner, int limit, Duration leaseDuration) {
+        if (owner == null || limit <= 0) {
+            return List.of();
+        }
+        Instant now = Instant.now();
+        List<Long> ids = mapper.lockClaimableIds(now, limit);
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        mapper.claimByIds(ids, owner, now.plus(leaseDuration), now);
+        List<TaskDO> entities = new ArrayList<>(mapper.selectBatchIds(ids));
+        entities.sort(Comparator.comparingInt(entity -> ids.indexOf(entity.getId())));
+        List<TaskAggregate> claimed = new ArrayList<>(entities.size());
+        for (TaskDO entity : entities) {
+            claimed.add(converter.toAggregate(entity));
+        }
+        return claimed;
+    }
+
+    /**
+     * 单条 UPDATE 续约本进程登记的、仍由持有者持有的租约。
+     */
+    @Override
+    public int renewLeases(String owner, Collection<Long> taskIds, Instant leasedUntil, Instant now) {
+        if (owner == null || taskIds == null || taskIds.isEmpty()) {
+            return 0;
+        }
+        return mapper.renewLeasesByIds(taskIds, owner, leasedUntil, now);
+    }
 }
@@ -2,6 +2,7 @@ package com.patra.ingest.infra.persistence.repository;
 
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.patra.ingest.domain.model.entity.TaskRun;
+import com.patra.ingest.domain.model.enums.TaskRunStatus;
 import com.patra.ingest.domain.port.TaskRunRepository;
 import com.patra.ingest.infra.persistence.converter.TaskRunConverter;
 import com.patra.ingest.infra.persistence.entity.TaskRunDO;
@@ -45,4 +46,17 @@ public class TaskRunRepositoryMpImpl implements TaskRunRepository {
         .orderByAsc("attempt_no"))
             .stream().map(converter::toDomain).collect(Collectors.toList());
     }
+
+    @Override
+    public List<TaskRun> findRecentSucceeded(String provenanceCode, String operationCode, int limit) {
+        return mapper.selectList(new QueryWrapper<TaskRunDO>()
+                        .eq("provenance_code", provenanceCode)
+                        .eq("operation_code", operationCode)
+                        .eq("status_code", TaskRunStatus.SUCCEEDED.getCode())
+                        .isNotNull("window_from")
+                        .isNotNull("window_to")
+                        .orderByDesc("finished_at")
+                        .last("limit " + Math.max(1, limit)))
+                .stream().map(converter::toDomain).collect(Collectors.toList());
+    }
 }
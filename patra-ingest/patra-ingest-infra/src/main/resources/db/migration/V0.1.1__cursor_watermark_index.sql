@@ -0,0 +1,9 @@
+-- ======================================================================
+-- ing_cursor：GLOBAL TIME 水位查询的覆盖索引
+-- 查询：provenance_code = ? [AND operation_code = ?] AND cursor_type_code = 'TIME'
+--       AND namespace_scope_code = 'GLOBAL' AND deleted = 0 ORDER BY updated_at DESC LIMIT 1
+-- 等值列在前、排序列其后、取值列收尾：按索引倒序读首行即得结果，无需回表与排序。
+-- ======================================================================
+ALTER TABLE `ing_cursor`
+    ADD KEY `idx_cursor_watermark` (`provenance_code`, `operation_code`, `cursor_type_code`, `namespace_scope_code`,
+                                    `deleted`, `updated_at`, `normalized_instant`);
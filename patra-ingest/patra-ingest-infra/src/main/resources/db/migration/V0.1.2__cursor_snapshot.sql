@@ -0,0 +1,71 @@
+-- ======================================================================
+-- 水位事件快照：按命名空间 + 时间段折叠 ing_cursor_event 的历史事件
+-- 压缩任务将早于保留期的事件折叠为快照后物理删除；回放时以快照 last_* 衔接其后的事件尾部。
+-- ======================================================================
+/* ====================================================================
+ * 表：ing_cursor_snapshot —— 水位推进事件快照
+ * 语义：一个命名空间在 [period_start, period_end) 内全部推进事件的折叠结果。
+ * 关键点：
+ *  - 唯一：(provenance_code, operation_code, cursor_key, namespace_scope_code, namespace_key, period_start)，
+ *    同一时间段分多批压缩时合并（事件数累加、起点取最小事件 ID、终点取最大事件 ID）；
+ *  - base_*：首个事件推进前的值；last_*：末个事件推进后的值；
+ *  - lineage：末个事件的 schedule/plan/slice/task/run/batch 逻辑关联（不建 FK）。
+ * 索引：uk_cur_snap_period / idx_cur_snap_lineage。
+ * ==================================================================== */
+CREATE TABLE IF NOT EXISTS `ing_cursor_snapshot`
+(
+    `id`                   BIGINT UNSIGNED NOT NULL AUTO_INCREMENT COMMENT 'PK',
+
+    `provenance_code`      VARCHAR(64)     NOT NULL,
+    `operation_code`       VARCHAR(32)     NOT NULL COMMENT 'DICT CODE(type=ing_operation)：HARVEST/BACKFILL/UPDATE/METRICS',
+    `cursor_key`           VARCHAR(64)     NOT NULL,
+    `namespace_scope_code` VARCHAR(32)     NOT NULL COMMENT 'DICT CODE(type=ing_namespace_scope)：GLOBAL/EXPR/CUSTOM',
+    `namespace_key`        CHAR(64)        NOT NULL,
+
+    `cursor_type_code`     VARCHAR(32)     NOT NULL COMMENT 'DICT CODE(type=ing_cursor_type)：TIME/ID/TOKEN',
+    `period_start`         TIMESTAMP(6)    NOT NULL COMMENT '时间段起(UTC)[含]',
+    `period_end`           TIMESTAMP(6)    NOT NULL COMMENT '时间段止(UTC)[不含]',
+    `event_count`          BIGINT UNSIGNED NOT NULL DEFAULT 0 COMMENT '折叠的事件数',
+    `first_event_id`       BIGINT UNSIGNED NOT NULL COMMENT '折叠的最小事件 ID',
+    `last_event_id`        BIGINT UNSIGNED NOT NULL COMMENT '折叠的最大事件 ID',
+
+    `base_value`           VARCHAR(1024)   NULL COMMENT '首个事件推进前的原始值',
+    `base_instant`         TIMESTAMP(6)    NULL,
+    `base_numeric`         DECIMAL(38, 0)  NULL,
+    `last_value`           VARCHAR(1024)   NOT NULL COMMENT '末个事件推进后的原始值',
+    `last_instant`         TIMESTAMP(6)    NULL,
+    `last_numeric`         DECIMAL(38, 0)  NULL,
+
+    `window_from`          TIMESTAMP(6)    NULL COMMENT '覆盖窗口起(UTC)[含]',
+    `window_to`            TIMESTAMP(6)    NULL COMMENT '覆盖窗口止(UTC)[不含]',
+
+    `schedule_instance_id` BIGINT UNSIGNED NULL,
+    `plan_id`              BIGINT UNSIGNED NULL,
+    `slice_id`             BIGINT UNSIGNED NULL,
+    `task_id`              BIGINT UNSIGNED NULL,
+    `run_id`               BIGINT UNSIGNED NULL,
+    `batch_id`             BIGINT UNSIGNED NULL,
+    `expr_hash`            CHAR(64)        NULL,
+
+    -- 审计字段
+    `record_remarks`       JSON            NULL COMMENT 'json数组,备注/变更说明 [{"time":"2025-08-18 15:00:00","by":"王五","note":"xxx"}]',
+    `version`              BIGINT UNSIGNED NOT NULL DEFAULT 0 COMMENT '乐观锁版本号',
+    `ip_address`           VARBINARY(16)   NULL COMMENT '请求方 IP(二进制,支持 IPv4/IPv6)',
+    `created_at`           TIMESTAMP(6)    NOT NULL DEFAULT CURRENT_TIMESTAMP(6) COMMENT '创建时间(UTC)',
+    `created_by`           BIGINT UNSIGNED NULL COMMENT '创建人ID',
+    `created_by_name`      VARCHAR(100)    NULL COMMENT '创建人姓名',
+    `updated_at`           TIMESTAMP(6)    NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6) COMMENT '更新时间(UTC)',
+    `updated_by`           BIGINT UNSIGNED NULL COMMENT '更新人ID',
+    `updated_by_name`      VARCHAR(100)    NULL COMMENT '更新人姓名',
+    `deleted`              TINYINT(1)      NOT NULL DEFAULT 0 COMMENT '逻辑删除：0=未删,1=已删',
+
+    PRIMARY KEY (`id`),
+
+    UNIQUE KEY `uk_cur_snap_period` (`provenance_code`, `operation_code`, `cursor_key`, `namespace_scope_code`,
+                                     `namespace_key`, `period_start`),
+    KEY `idx_cur_snap_lineage` (`schedule_instance_id`, `plan_id`, `slice_id`, `task_id`, `run_id`, `batch_id`),
+    KEY `idx_audit_deleted_upd` (`deleted`, `updated_at`)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4
+  COLLATE = utf8mb4_0900_ai_ci
+    COMMENT ='水位推进事件快照：按命名空间与时间段折叠历史事件；同段多次压缩合并；不创建物理外键';
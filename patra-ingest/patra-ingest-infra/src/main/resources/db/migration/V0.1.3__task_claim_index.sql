@@ -0,0 +1,11 @@
+-- ======================================================================
+-- ing_task：批量认领的出队索引
+-- 查询：status_code = 'QUEUED' AND (leased_until IS NULL OR leased_until < ?)
+--       AND (scheduled_at IS NULL OR scheduled_at <= ?) AND deleted = 0
+--       ORDER BY priority, scheduled_at, id LIMIT ? FOR UPDATE SKIP LOCKED
+-- idx_task_queue 中 leased_until 位于 priority 之前，其上的 OR/范围条件使排序无法走索引，
+-- 只能 filesort 并锁住扫描到的全部 QUEUED 行。此索引等值列后紧跟排序列，按索引顺序读取到 LIMIT 即停；
+-- leased_until 与 deleted 置于末尾，供索引条件下推在加锁前过滤。
+-- ======================================================================
+ALTER TABLE `ing_task`
+    ADD KEY `idx_task_claim` (`status_code`, `priority`, `scheduled_at`, `id`, `leased_until`, `deleted`);
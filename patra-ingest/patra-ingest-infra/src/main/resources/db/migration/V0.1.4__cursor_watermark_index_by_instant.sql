@@ -0,0 +1,12 @@
+-- ======================================================================
+-- ing_cursor：GLOBAL TIME 水位查询改按水位取最大值
+-- 查询：provenance_code = ? [AND operation_code = ?] AND cursor_type_code = 'TIME'
+--       AND namespace_scope_code = 'GLOBAL' AND deleted = 0 ORDER BY normalized_instant DESC LIMIT 1
+-- 原索引以 updated_at 排序，取到的是最近更新的一行，与写入侧注册表维护的最大水位不一致。
+-- 新索引等值列后紧跟 normalized_instant：指定操作时倒序读首行即得结果；不指定操作时
+-- 每个操作仅一行 GLOBAL TIME 游标，按来源前缀扫描少量索引行后排序，均无需回表。
+-- ======================================================================
+ALTER TABLE `ing_cursor`
+    DROP KEY `idx_cursor_watermark`,
+    ADD KEY `idx_cursor_watermark` (`provenance_code`, `operation_code`, `cursor_type_code`, `namespace_scope_code`,
+                                    `deleted`, `normalized_instant`);
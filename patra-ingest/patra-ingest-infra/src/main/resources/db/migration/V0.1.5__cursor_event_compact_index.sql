@@ -0,0 +1,9 @@
+-- ======================================================================
+-- ing_cursor_event：压缩选取按创建时间
+-- 查询：deleted = 0 AND created_at < ? ORDER BY created_at, id LIMIT ? FOR UPDATE SKIP LOCKED
+-- 折叠按 created_at 划分时间段，选取若按 updated_at 过滤，二者不一致时会把保留期内的事件折叠进快照，
+-- 或让已过期的事件迟迟不被选中。此索引等值列后紧跟 created_at（InnoDB 二级索引隐含主键 id），
+-- 按索引顺序读取到 LIMIT 即停，无需 filesort。
+-- ======================================================================
+ALTER TABLE `ing_cursor_event`
+    ADD KEY `idx_cur_evt_compact` (`deleted`, `created_at`);
@@ -2,10 +2,32 @@ package com.patra.starter.rocketmq.publisher;
 
 import com.patra.starter.rocketmq.model.PatraMessage;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * 统一消息发布接口，隐藏底层 MQ 细节。
  */
 public interface PatraMessagePublisher {
 
     void send(String destination, PatraMessage<?> message);
+
+    /**
+     * 异步发送，结果为 MQ 消息 ID；默认退化为同步发送。
+     */
+    default CompletableFuture<String> sendAsync(String destination, PatraMessage<?> message) {
+        try {
+            send(destination, message);
+            return CompletableFuture.completedFuture(null);
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    /**
+     * 顺序异步发送：相同 hashKey 的消息进入同一队列；默认退化为普通异步发送。
+     * 调用方需在前一条回执后再发送同一 hashKey 的下一条，才能保证队列内顺序。
+     */
+    default CompletableFuture<String> sendOrderlyAsync(String destination, PatraMessage<?> message, String hashKey) {
+        return sendAsync(destination, message);
+    }
 }
@@ -5,10 +5,14 @@ import com.patra.starter.rocketmq.model.PatraMessage;
 import com.patra.starter.rocketmq.support.TopicNameValidator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.rocketmq.client.producer.SendCallback;
+import org.apache.rocketmq.client.producer.SendResult;
 import org.apache.rocketmq.spring.core.RocketMQTemplate;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.support.MessageBuilder;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * 基于 RocketMQ 官方 starter 的发布实现。
  */
@@ -22,14 +26,59 @@ public class RocketMQMessagePublisher implements PatraMessagePublisher {
     @Override
     public void send(String destination, PatraMessage<?> message) {
         TopicNameValidator.validate(destination, properties.getNaming());
-        Message<PatraMessage<?>> mqMessage = (Message<PatraMessage<?>>) (Message<?>) MessageBuilder.withPayload(message)
+        if (log.isDebugEnabled()) {
+            log.debug("发送 MQ 消息 destination={} eventId={}", destination, message.getEventId());
+        }
+        rocketMQTemplate.convertAndSend(destination, toMessage(message));
+    }
+
+    @Override
+    public CompletableFuture<String> sendAsync(String destination, PatraMessage<?> message) {
+        return doSendAsync(destination, message, null);
+    }
+
+    @Override
+    public CompletableFuture<String> sendOrderlyAsync(String destination, PatraMessage<?> message, String hashKey) {
+        return doSendAsync(destination, message, hashKey == null ? "" : hashKey);
+    }
+
+    /**
+     * hashKey 为空时普通异步发送，否则按 hashKey 选择队列顺序发送。
+     */
+    private CompletableFuture<String> doSendAsync(String destination, PatraMessage<?> message, String hashKey) {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        try {
+            TopicNameValidator.validate(destination, properties.getNaming());
+            if (log.isDebugEnabled()) {
+                log.debug("异步发送 MQ 消息 destination={} eventId={} hashKey={}", destination, message.getEventId(), hashKey);
+            }
+            SendCallback callback = new SendCallback() {
+                @Override
+                public void onSuccess(SendResult sendResult) {
+                    future.complete(sendResult.getMsgId());
+                }
+
+                @Override
+                public void onException(Throwable throwable) {
+                    future.completeExceptionally(throwable);
+                }
+            };
+            if (hashKey == null) {
+                rocketMQTemplate.asyncSend(destination, toMessage(message), callback);
+            } else {
+                rocketMQTemplate.asyncSendOrderly(destination, toMessage(message), hashKey, callback);
+            }
+        } catch (RuntimeException ex) {
+            future.completeExceptionally(ex);
+        }
+        return future;
+    }
+
+    private Message<PatraMessage<?>> toMessage(PatraMessage<?> message) {
+        return (Message<PatraMessage<?>>) (Message<?>) MessageBuilder.withPayload(message)
                 .setHeaderIfAbsent("eventId", message.getEventId())
                 .setHeaderIfAbsent("traceId", message.getTraceId())
                 .setHeaderIfAbsent("occurredAt", message.getOccurredAt())
                 .build();
-        if (log.isDebugEnabled()) {
-            log.debug("发送 MQ 消息 destination={} eventId={}", destination, message.getEventId());
-        }
-        rocketMQTemplate.convertAndSend(destination, mqMessage);
     }
 }